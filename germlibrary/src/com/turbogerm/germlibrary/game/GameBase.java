@@ -31,9 +31,9 @@ public abstract class GameBase implements ApplicationListener {
     
     private static final float MAX_DELTA = 0.1f;
     private static final float UPDATE_RATE = 60.0f;
-    private static final float UPDATE_STEP = 1.0f / UPDATE_RATE;
+    public static final float UPDATE_STEP = 1.0f / UPDATE_RATE;
     
-    private static final float UPDATE_STEP_MAX = UPDATE_STEP * 1.1f;
+    private static final int MAX_UPDATE_STEPS = 5;
     
     private Screen mScreen;
     
@@ -76,14 +76,21 @@ public abstract class GameBase implements ApplicationListener {
             
             float delta = Math.min(Gdx.graphics.getDeltaTime(), MAX_DELTA);
             
+            // simulation always advances in fixed steps, and rendering interpolates between last two steps
             mDeltaAccumulator += delta;
-            while (mDeltaAccumulator > 0.0f) {
-                float deltaStep = mDeltaAccumulator <= UPDATE_STEP_MAX ? mDeltaAccumulator : UPDATE_STEP;
-                screen.update(deltaStep);
-                mDeltaAccumulator -= deltaStep;
+            int numUpdateSteps = 0;
+            while (mDeltaAccumulator >= UPDATE_STEP && numUpdateSteps < MAX_UPDATE_STEPS) {
+                screen.update(UPDATE_STEP);
+                mDeltaAccumulator -= UPDATE_STEP;
+                numUpdateSteps++;
             }
             
-            screen.render();
+            // if simulation can't keep up, remaining time is dropped instead of being carried over
+            if (mDeltaAccumulator >= UPDATE_STEP) {
+                mDeltaAccumulator = 0.0f;
+            }
+            
+            screen.render(mDeltaAccumulator / UPDATE_STEP);
         }
     }
     
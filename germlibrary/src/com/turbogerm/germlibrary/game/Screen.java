@@ -27,7 +27,7 @@ package com.turbogerm.germlibrary.game;
 public interface Screen {
     public void update(float delta);
     
-    public void render();
+    public void render(float alpha);
     
     public void resize(int width, int height);
     
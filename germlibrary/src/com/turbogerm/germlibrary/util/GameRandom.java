@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.germlibrary.util;
+
+import com.badlogic.gdx.utils.Array;
+
+// xorshift128+ generator, with state seeded through splitmix64; it is not synchronized,
+// so every game (or thread) owns its own instances; methods mirror random methods in MathUtils
+public final class GameRandom {
+    
+    private static final float FLOAT_UNIT = 1.0f / (1 << 24);
+    
+    private long mState0;
+    private long mState1;
+    
+    public GameRandom(long seed) {
+        setSeed(seed);
+    }
+    
+    public void setSeed(long seed) {
+        mState0 = splitMix(seed);
+        mState1 = splitMix(seed + 0x9E3779B97F4A7C15L);
+        // all zero state would only produce zeros
+        if (mState0 == 0L && mState1 == 0L) {
+            mState1 = 1L;
+        }
+    }
+    
+    public void set(GameRandom random) {
+        mState0 = random.mState0;
+        mState1 = random.mState1;
+    }
+    
+    public void writeState(StateWriter writer) {
+        writer.writeLong(mState0);
+        writer.writeLong(mState1);
+    }
+    
+    public void readState(StateReader reader) {
+        mState0 = reader.readLong();
+        mState1 = reader.readLong();
+    }
+    
+    public long nextLong() {
+        long s1 = mState0;
+        long s0 = mState1;
+        mState0 = s0;
+        s1 ^= s1 << 23;
+        mState1 = s1 ^ s0 ^ (s1 >>> 17) ^ (s0 >>> 26);
+        return mState1 + s0;
+    }
+    
+    // returns integer in [0, bound)
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            ExceptionThrower.throwException("Random bound must be positive: %d", bound);
+        }
+        
+        return (int) (((nextLong() >>> 33) * bound) >>> 31);
+    }
+    
+    // returns float in [0, 1)
+    public float random() {
+        return (nextLong() >>> 40) * FLOAT_UNIT;
+    }
+    
+    // returns integer in [0, range]
+    public int random(int range) {
+        return nextInt(range + 1);
+    }
+    
+    // returns integer in [start, end]
+    public int random(int start, int end) {
+        return start + nextInt(end - start + 1);
+    }
+    
+    public float random(float range) {
+        return random() * range;
+    }
+    
+    public float random(float start, float end) {
+        return start + random() * (end - start);
+    }
+    
+    public boolean randomBoolean() {
+        return nextLong() < 0L;
+    }
+    
+    public <T> T random(Array<T> array) {
+        if (array.size == 0) {
+            return null;
+        }
+        
+        return array.get(nextInt(array.size));
+    }
+    
+    private static long splitMix(long seed) {
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -23,10 +23,11 @@
  */
 package com.turbogerm.germlibrary.util;
 
+import java.util.BitSet;
+
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 
 public final class GameUtils {
     
@@ -41,38 +42,37 @@ public final class GameUtils {
         return ((value % mod) + mod) % mod;
     }
     
-    public static int[] getRandomIntegers(int range, int count) {
+    public static int[] getRandomIntegers(int range, int count, GameRandom random) {
         int[] values = new int[count];
         for (int i = 0; i < values.length; i++) {
-            values[i] = MathUtils.random(range - 1);
+            values[i] = random.random(range - 1);
         }
         
         return values;
     }
     
-    public static Array<Integer> getRandomIndexes(int range, int numberOfIndexes, int offset) {
-        return getRandomIndexes(range, numberOfIndexes, offset, null);
+    public static IntArray getRandomIndexes(int range, int numberOfIndexes, int offset, GameRandom random) {
+        return getRandomIndexes(range, numberOfIndexes, offset, null, random);
     }
     
-    public static Array<Integer> getRandomIndexes(int range, int numberOfIndexes, int offset,
-            Array<Integer> excludedIndexes) {
+    // indexes are sampled with a partial Fisher-Yates shuffle of the indexes that are not excluded
+    public static IntArray getRandomIndexes(int range, int numberOfIndexes, int offset,
+            BitSet excludedIndexes, GameRandom random) {
         
-        Array<Integer> selectedList = new Array<Integer>(numberOfIndexes);
+        IntArray selectedList = new IntArray(numberOfIndexes);
         
         if (numberOfIndexes > 0) {
-            Array<Integer> availableList = getRange(range);
-            
-            if (excludedIndexes != null) {
-                for (Integer excludedIndex : excludedIndexes) {
-                    availableList.removeValue(excludedIndex, false);
+            IntArray availableList = new IntArray(range);
+            for (int i = 0; i < range; i++) {
+                if (excludedIndexes == null || !excludedIndexes.get(i)) {
+                    availableList.add(i);
                 }
             }
             
             for (int i = 0; i < numberOfIndexes; i++) {
-                int selectedIndex = MathUtils.random(availableList.size - 1);
-                int selected = availableList.get(selectedIndex);
-                selectedList.add(selected + offset);
-                availableList.removeIndex(selectedIndex);
+                int selectedIndex = random.random(i, availableList.size - 1);
+                availableList.swap(i, selectedIndex);
+                selectedList.add(availableList.get(i) + offset);
             }
             
             selectedList.sort();
@@ -81,12 +81,12 @@ public final class GameUtils {
         return selectedList;
     }
     
-    public static Array<Integer> getRange(int range) {
+    public static IntArray getRange(int range) {
        return getRange(0, range);
     }
     
-    public static Array<Integer> getRange(int start, int range) {
-        Array<Integer> rangeList = new Array<Integer>(true, range);
+    public static IntArray getRange(int start, int range) {
+        IntArray rangeList = new IntArray(true, range);
         int end = start + range;
         for (int i = start; i < end; i++) {
             rangeList.add(i);
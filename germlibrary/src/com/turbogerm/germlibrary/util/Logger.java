@@ -25,12 +25,17 @@ package com.turbogerm.germlibrary.util;
 
 import com.badlogic.gdx.Gdx;
 
+// command-line tools run without application, so their messages go to standard streams
 public final class Logger {
     
     private static final String TAG = "GermDefense";
     
     public static void debug(String message) {
-        Gdx.app.debug(TAG, message);
+        if (Gdx.app != null) {
+            Gdx.app.debug(TAG, message);
+        } else {
+            System.out.println(TAG + ": " + message);
+        }
     }
     
     public static void debug(String format, Object... args) {
@@ -39,7 +44,11 @@ public final class Logger {
     }
     
     public static void info(String message) {
-        Gdx.app.log(TAG, message);
+        if (Gdx.app != null) {
+            Gdx.app.log(TAG, message);
+        } else {
+            System.out.println(TAG + ": " + message);
+        }
     }
     
     public static void info(String format, Object... args) {
@@ -48,7 +57,11 @@ public final class Logger {
     }
     
     public static void error(String message) {
-        Gdx.app.error(TAG, message);
+        if (Gdx.app != null) {
+            Gdx.app.error(TAG, message);
+        } else {
+            System.err.println(TAG + ": " + message);
+        }
     }
     
     public static void error(String format, Object... args) {
@@ -27,43 +27,54 @@ import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Pool;
 
+// pools are per thread, so simulations running on different threads don't share temporary objects
 public final class Pools {
     
     private static final int VECTORS_CAPACITY = 16;
     private static final int RECTANGLES_CAPACITY = 16;
     
-    private static final Pool<Vector2> mVectorsPool;
-    private static final Pool<Rectangle> mRectanglesPool;
+    private static final ThreadLocal<Pool<Vector2>> mVectorsPool;
+    private static final ThreadLocal<Pool<Rectangle>> mRectanglesPool;
     
     static {
-        mVectorsPool = new Pool<Vector2>(VECTORS_CAPACITY, VECTORS_CAPACITY) {
+        mVectorsPool = new ThreadLocal<Pool<Vector2>>() {
             @Override
-            protected Vector2 newObject () {
-                return new Vector2();
+            protected Pool<Vector2> initialValue() {
+                return new Pool<Vector2>(VECTORS_CAPACITY, VECTORS_CAPACITY) {
+                    @Override
+                    protected Vector2 newObject () {
+                        return new Vector2();
+                    }
+                };
             }
         };
         
-        mRectanglesPool = new Pool<Rectangle>(RECTANGLES_CAPACITY, RECTANGLES_CAPACITY) {
+        mRectanglesPool = new ThreadLocal<Pool<Rectangle>>() {
             @Override
-            protected Rectangle newObject () {
-                return new Rectangle();
+            protected Pool<Rectangle> initialValue() {
+                return new Pool<Rectangle>(RECTANGLES_CAPACITY, RECTANGLES_CAPACITY) {
+                    @Override
+                    protected Rectangle newObject () {
+                        return new Rectangle();
+                    }
+                };
             }
         };
     }
     
     public static Vector2 obtainVector() {
-        return mVectorsPool.obtain();
+        return mVectorsPool.get().obtain();
     }
     
     public static void freeVector(Vector2 v) {
-        mVectorsPool.free(v);
+        mVectorsPool.get().free(v);
     }
     
     public static Rectangle obtainRectangle() {
-        return mRectanglesPool.obtain();
+        return mRectanglesPool.get().obtain();
     }
     
     public static void freeRectangle(Rectangle r) {
-        mRectanglesPool.free(r);
+        mRectanglesPool.get().free(r);
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.germlibrary.util;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Sort;
+
+// Array.sort() goes through one shared sort instance, so sorting from several threads needs a sort per thread
+public final class Sorting {
+    
+    private static final ThreadLocal<Sort> mSort;
+    
+    static {
+        mSort = new ThreadLocal<Sort>() {
+            @Override
+            protected Sort initialValue() {
+                return new Sort();
+            }
+        };
+    }
+    
+    public static <T> void sort(Array<T> array) {
+        mSort.get().sort(array);
+    }
+    
+    public static <T> void sort(Array<T> array, Comparator<T> comparator) {
+        mSort.get().sort(array, comparator);
+    }
+}
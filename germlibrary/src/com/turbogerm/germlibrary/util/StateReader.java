@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.germlibrary.util;
+
+// reads state written by StateWriter, values must be read in the same order they were written
+public final class StateReader {
+    
+    private byte[] mBytes;
+    private int mPosition;
+    private int mEnd;
+    
+    public StateReader() {
+        mBytes = null;
+        mPosition = 0;
+        mEnd = 0;
+    }
+    
+    public void setData(byte[] bytes, int offset, int length) {
+        mBytes = bytes;
+        mPosition = offset;
+        mEnd = offset + length;
+    }
+    
+    public int readByte() {
+        checkAvailable(1);
+        int value = mBytes[mPosition] & 0xFF;
+        mPosition++;
+        return value;
+    }
+    
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+    
+    public int readInt() {
+        checkAvailable(4);
+        int value = ((mBytes[mPosition] & 0xFF) << 24) |
+                ((mBytes[mPosition + 1] & 0xFF) << 16) |
+                ((mBytes[mPosition + 2] & 0xFF) << 8) |
+                (mBytes[mPosition + 3] & 0xFF);
+        mPosition += 4;
+        return value;
+    }
+    
+    public int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                ExceptionThrower.throwException("State data has invalid variable length integer at position %d",
+                        mPosition);
+            }
+            b = readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        
+        return value;
+    }
+    
+    public long readLong() {
+        long high = readInt();
+        long low = readInt() & 0xFFFFFFFFL;
+        return (high << 32) | low;
+    }
+    
+    public float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+    
+    public String readString() {
+        int length = readInt();
+        checkAvailable(length * 2);
+        
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ((readByte() << 8) | readByte());
+        }
+        
+        return new String(chars);
+    }
+    
+    public boolean isAtEnd() {
+        return mPosition == mEnd;
+    }
+    
+    private void checkAvailable(int count) {
+        if (count < 0 || mEnd - mPosition < count) {
+            ExceptionThrower.throwException("State data ended unexpectedly at position %d", mPosition);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.germlibrary.util;
+
+// growable byte buffer for game state; it is reused between snapshots, so once it has grown
+// to the size of the state, writing a snapshot does not allocate
+public final class StateWriter {
+    
+    private static final int DEFAULT_INITIAL_CAPACITY = 4096;
+    
+    private byte[] mBytes;
+    private int mSize;
+    
+    public StateWriter() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+    
+    public StateWriter(int initialCapacity) {
+        mBytes = new byte[initialCapacity];
+        mSize = 0;
+    }
+    
+    public void reset() {
+        mSize = 0;
+    }
+    
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        mBytes[mSize] = (byte) value;
+        mSize++;
+    }
+    
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+    
+    public void writeInt(int value) {
+        ensureCapacity(4);
+        mBytes[mSize] = (byte) (value >>> 24);
+        mBytes[mSize + 1] = (byte) (value >>> 16);
+        mBytes[mSize + 2] = (byte) (value >>> 8);
+        mBytes[mSize + 3] = (byte) value;
+        mSize += 4;
+    }
+    
+    // small non-negative values take a single byte
+    public void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+    
+    public void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+    
+    // floats are written as raw bits, so restored state is exactly the same as the saved one
+    public void writeFloat(float value) {
+        writeInt(Float.floatToRawIntBits(value));
+    }
+    
+    public void writeString(String value) {
+        int length = value.length();
+        writeInt(length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            writeByte(c >>> 8);
+            writeByte(c);
+        }
+    }
+    
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, mBytes, mSize, length);
+        mSize += length;
+    }
+    
+    public byte[] getBytes() {
+        return mBytes;
+    }
+    
+    public int getSize() {
+        return mSize;
+    }
+    
+    private void ensureCapacity(int additionalSize) {
+        int requiredCapacity = mSize + additionalSize;
+        if (requiredCapacity > mBytes.length) {
+            byte[] bytes = new byte[Math.max(requiredCapacity, mBytes.length * 2)];
+            System.arraycopy(mBytes, 0, bytes, 0, mSize);
+            mBytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.germlibrary.util;
+
+import com.badlogic.gdx.utils.Array;
+
+// hashed timer wheel, timers are bucketed by their deadline tick, so only timers
+// in the slot of the current tick are looked at, and idle timers cost nothing per tick
+public final class TimerWheel {
+    
+    private static final int EXPIRED_TIMERS_INITIAL_CAPACITY = 8;
+    
+    private final float mTickDuration;
+    private final WheelTimer[] mSlots;
+    private final int mSlotMask;
+    
+    private long mCurrentTick;
+    private float mTickTime;
+    
+    private final Array<WheelTimer> mExpiredTimers;
+    
+    public TimerWheel(float tickDuration, int slotCount) {
+        if (slotCount <= 0 || (slotCount & (slotCount - 1)) != 0) {
+            ExceptionThrower.throwException("Timer wheel slot count must be a power of two: %d", slotCount);
+        }
+        
+        mTickDuration = tickDuration;
+        mSlots = new WheelTimer[slotCount];
+        mSlotMask = slotCount - 1;
+        
+        mExpiredTimers = new Array<WheelTimer>(true, EXPIRED_TIMERS_INITIAL_CAPACITY);
+        
+        reset();
+    }
+    
+    public void reset() {
+        for (int i = 0; i < mSlots.length; i++) {
+            while (mSlots[i] != null) {
+                unlink(mSlots[i]);
+            }
+        }
+        
+        mCurrentTick = 0L;
+        mTickTime = 0.0f;
+        mExpiredTimers.clear();
+    }
+    
+    public void update(float delta) {
+        mTickTime += delta;
+        while (mTickTime >= mTickDuration) {
+            mTickTime -= mTickDuration;
+            mCurrentTick++;
+            expireTimers();
+        }
+    }
+    
+    public void schedule(WheelTimer timer, float duration) {
+        schedule(timer, getTime(), duration);
+    }
+    
+    // next period starts where the previous one ended, so chained timers do not drift by tick rounding
+    public void scheduleNext(WheelTimer timer, float duration) {
+        schedule(timer, timer.getEndTime(), duration);
+    }
+    
+    public void cancel(WheelTimer timer) {
+        if (timer.mWheel == this && timer.mIsScheduled) {
+            unlink(timer);
+        }
+    }
+    
+    // restoring the wheel drops all scheduled timers, they are restored afterwards with their owners
+    public void writeState(StateWriter writer) {
+        writer.writeLong(mCurrentTick);
+        writer.writeFloat(mTickTime);
+    }
+    
+    public void readState(StateReader reader) {
+        reset();
+        mCurrentTick = reader.readLong();
+        mTickTime = reader.readFloat();
+    }
+    
+    public void writeTimerState(WheelTimer timer, StateWriter writer) {
+        boolean isScheduled = timer.mWheel == this && timer.mIsScheduled;
+        writer.writeBoolean(isScheduled);
+        writer.writeFloat(timer.mStartTime);
+        writer.writeFloat(timer.mDuration);
+        writer.writeLong(timer.mDeadlineTick);
+    }
+    
+    // deadline is restored as it was saved, and is not recalculated from the current tick
+    public void readTimerState(WheelTimer timer, StateReader reader) {
+        if (timer.mWheel != null && timer.mIsScheduled) {
+            timer.mWheel.unlink(timer);
+        }
+        
+        boolean isScheduled = reader.readBoolean();
+        timer.mWheel = this;
+        timer.mStartTime = reader.readFloat();
+        timer.mDuration = reader.readFloat();
+        timer.mDeadlineTick = reader.readLong();
+        if (isScheduled) {
+            link(timer);
+        }
+    }
+    
+    public float getTime() {
+        return mCurrentTick * mTickDuration + mTickTime;
+    }
+    
+    private void schedule(WheelTimer timer, float startTime, float duration) {
+        if (timer.mWheel != null && timer.mIsScheduled) {
+            timer.mWheel.unlink(timer);
+        }
+        
+        long deadlineTick = (long) Math.ceil((startTime + duration) / mTickDuration);
+        if (deadlineTick <= mCurrentTick) {
+            deadlineTick = mCurrentTick + 1L;
+        }
+        
+        timer.mWheel = this;
+        timer.mStartTime = startTime;
+        timer.mDuration = duration;
+        timer.mDeadlineTick = deadlineTick;
+        link(timer);
+    }
+    
+    private void expireTimers() {
+        int slotIndex = (int) (mCurrentTick & mSlotMask);
+        
+        // timers are collected first, because listeners are free to reschedule or cancel any timer
+        for (WheelTimer timer = mSlots[slotIndex]; timer != null; timer = timer.mNext) {
+            if (timer.mDeadlineTick <= mCurrentTick) {
+                mExpiredTimers.add(timer);
+            }
+        }
+        
+        for (int i = 0; i < mExpiredTimers.size; i++) {
+            WheelTimer timer = mExpiredTimers.get(i);
+            if (timer.mIsScheduled && timer.mWheel == this && timer.mDeadlineTick <= mCurrentTick) {
+                unlink(timer);
+                timer.expire();
+            }
+        }
+        
+        mExpiredTimers.clear();
+    }
+    
+    private void link(WheelTimer timer) {
+        int slotIndex = (int) (timer.mDeadlineTick & mSlotMask);
+        WheelTimer head = mSlots[slotIndex];
+        
+        timer.mPrev = null;
+        timer.mNext = head;
+        if (head != null) {
+            head.mPrev = timer;
+        }
+        mSlots[slotIndex] = timer;
+        
+        timer.mIsScheduled = true;
+    }
+    
+    private void unlink(WheelTimer timer) {
+        if (timer.mPrev != null) {
+            timer.mPrev.mNext = timer.mNext;
+        } else {
+            mSlots[(int) (timer.mDeadlineTick & mSlotMask)] = timer.mNext;
+        }
+        
+        if (timer.mNext != null) {
+            timer.mNext.mPrev = timer.mPrev;
+        }
+        
+        timer.mPrev = null;
+        timer.mNext = null;
+        timer.mIsScheduled = false;
+    }
+}
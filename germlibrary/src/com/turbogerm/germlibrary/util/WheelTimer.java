@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.germlibrary.util;
+
+public final class WheelTimer {
+    
+    private final WheelTimerListener mListener;
+    
+    TimerWheel mWheel;
+    boolean mIsScheduled;
+    float mStartTime;
+    float mDuration;
+    long mDeadlineTick;
+    WheelTimer mPrev;
+    WheelTimer mNext;
+    
+    public WheelTimer() {
+        this(null);
+    }
+    
+    public WheelTimer(WheelTimerListener listener) {
+        mListener = listener;
+        mIsScheduled = false;
+    }
+    
+    public void cancel() {
+        if (mWheel != null) {
+            mWheel.cancel(this);
+        }
+    }
+    
+    public boolean isScheduled() {
+        return mIsScheduled;
+    }
+    
+    public float getDuration() {
+        return mDuration;
+    }
+    
+    public float getElapsed() {
+        if (!mIsScheduled) {
+            return mDuration;
+        }
+        
+        float elapsed = mWheel.getTime() - mStartTime;
+        return Math.max(Math.min(elapsed, mDuration), 0.0f);
+    }
+    
+    public float getRemaining() {
+        return mDuration - getElapsed();
+    }
+    
+    public float getElapsedFraction() {
+        return mDuration > 0.0f ? getElapsed() / mDuration : 1.0f;
+    }
+    
+    float getEndTime() {
+        return mStartTime + mDuration;
+    }
+    
+    void expire() {
+        if (mListener != null) {
+            mListener.onTimerExpired(this);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.turbogerm.germlibrary.game.GameBase;
+import com.turbogerm.helljump.game.GameSimulation;
+import com.turbogerm.helljump.game.generator.RiseGenerator;
+import com.turbogerm.helljump.game.replay.ReplayData;
+import com.turbogerm.helljump.game.replay.ReplayPlayer;
+import com.turbogerm.helljump.game.replay.ReplayReader;
+import com.turbogerm.helljump.resources.HeadlessGameAssets;
+
+// replays every recorded run in a directory without graphics, and reports runs whose score differs from claimed one;
+// usage: ReplayVerifierMain <replay directory>
+public class ReplayVerifierMain {
+    
+    private static final String REPLAY_FILE_EXTENSION = "hjr";
+    
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        if (args.length != 1) {
+            System.err.println("Usage: ReplayVerifierMain <replay directory>");
+            System.exit(1);
+        }
+        
+        // camera math is native, so natives are needed even without graphics
+        GdxNativesLoader.load();
+        Gdx.files = new LwjglFiles();
+        
+        Array<FileHandle> replayFiles = getReplayFiles(Gdx.files.absolute(args[0]));
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        
+        long startTime = System.nanoTime();
+        Array<String> divergences = verify(replayFiles, numThreads);
+        float duration = (System.nanoTime() - startTime) / 1e9f;
+        
+        for (String divergence : divergences) {
+            System.out.println(divergence);
+        }
+        System.out.println(String.format("Verified %d replays on %d threads in %.2f s (%.1f replays/s), %d diverged",
+                replayFiles.size, numThreads, duration, replayFiles.size / duration, divergences.size));
+        
+        System.exit(divergences.size == 0 ? 0 : 2);
+    }
+    
+    private static Array<FileHandle> getReplayFiles(FileHandle directory) {
+        Array<FileHandle> replayFiles = new Array<FileHandle>();
+        for (FileHandle fileHandle : directory.list()) {
+            if (REPLAY_FILE_EXTENSION.equals(fileHandle.extension())) {
+                replayFiles.add(fileHandle);
+            }
+        }
+        
+        return replayFiles;
+    }
+    
+    // workers take next replay from shared counter, so a thread that drew short runs keeps taking more
+    private static Array<String> verify(final Array<FileHandle> replayFiles, int numThreads)
+            throws InterruptedException, ExecutionException {
+        
+        final AtomicInteger nextReplayIndex = new AtomicInteger();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        Array<Future<Array<String>>> results = new Array<Future<Array<String>>>(true, numThreads);
+        for (int i = 0; i < numThreads; i++) {
+            results.add(executor.submit(new Callable<Array<String>>() {
+                @Override
+                public Array<String> call() {
+                    return verifyWorker(replayFiles, nextReplayIndex);
+                }
+            }));
+        }
+        
+        Array<String> divergences = new Array<String>();
+        for (int i = 0; i < results.size; i++) {
+            divergences.addAll(results.get(i).get());
+        }
+        
+        executor.shutdown();
+        return divergences;
+    }
+    
+    private static Array<String> verifyWorker(Array<FileHandle> replayFiles, AtomicInteger nextReplayIndex) {
+        Array<String> divergences = new Array<String>();
+        GameSimulation gameSimulation = null;
+        
+        int replayIndex;
+        while ((replayIndex = nextReplayIndex.getAndIncrement()) < replayFiles.size) {
+            FileHandle replayFile = replayFiles.get(replayIndex);
+            try {
+                ReplayData replayData = ReplayReader.read(replayFile);
+                if (replayData.getGeneratorVersion() != RiseGenerator.GENERATOR_VERSION) {
+                    divergences.add(String.format("%s: recorded with generator version %d, current is %d",
+                            replayFile.name(), replayData.getGeneratorVersion(), RiseGenerator.GENERATOR_VERSION));
+                    continue;
+                }
+                if (replayData.getSimulationVersion() != GameSimulation.SIMULATION_VERSION) {
+                    divergences.add(String.format("%s: recorded with simulation version %d, current is %d",
+                            replayFile.name(), replayData.getSimulationVersion(), GameSimulation.SIMULATION_VERSION));
+                    continue;
+                }
+                
+                if (gameSimulation == null) {
+                    gameSimulation = new GameSimulation(
+                            new CameraData(HellJump.VIEWPORT_WIDTH, HellJump.VIEWPORT_HEIGHT),
+                            new HeadlessGameAssets());
+                }
+                int score = ReplayPlayer.play(replayData, gameSimulation, GameBase.UPDATE_STEP);
+                
+                if (score != replayData.getScore()) {
+                    divergences.add(String.format("%s: claimed score %d, replayed score %d",
+                            replayFile.name(), replayData.getScore(), score));
+                }
+            } catch (RuntimeException e) {
+                divergences.add(String.format("%s: %s", replayFile.name(), e.getMessage()));
+            }
+        }
+        
+        return divergences;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump;
+
+import java.util.concurrent.ExecutionException;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.turbogerm.germlibrary.game.GameBase;
+import com.turbogerm.helljump.game.GameSimulation;
+import com.turbogerm.helljump.game.host.SimulationHost;
+import com.turbogerm.helljump.game.host.SimulationSession;
+import com.turbogerm.helljump.game.input.BotGameInputSource;
+import com.turbogerm.helljump.resources.HeadlessGameAssets;
+
+// runs bot played games without graphics, and reports aggregate simulation throughput;
+// usage: SimulationHostMain <number of sessions> <duration in seconds> [number of threads]
+public class SimulationHostMain {
+    
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        if (args.length != 2 && args.length != 3) {
+            System.err.println("Usage: SimulationHostMain <number of sessions> <duration in seconds> " +
+                    "[number of threads]");
+            System.exit(1);
+        }
+        
+        int numSessions = Integer.parseInt(args[0]);
+        float durationSeconds = Float.parseFloat(args[1]);
+        int numThreads = args.length == 3 ?
+                Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        
+        // camera math is native, so natives are needed even without graphics
+        GdxNativesLoader.load();
+        Gdx.files = new LwjglFiles();
+        
+        Array<SimulationSession> sessions = new Array<SimulationSession>(true, numSessions);
+        for (int i = 0; i < numSessions; i++) {
+            GameSimulation gameSimulation = new GameSimulation(
+                    new CameraData(HellJump.VIEWPORT_WIDTH, HellJump.VIEWPORT_HEIGHT), new HeadlessGameAssets());
+            sessions.add(new SimulationSession(gameSimulation, new BotGameInputSource()));
+        }
+        
+        SimulationHost simulationHost = new SimulationHost(sessions, numThreads, GameBase.UPDATE_STEP);
+        long numTicks = simulationHost.run((long) (durationSeconds * 1000.0f));
+        
+        int numFinishedGames = 0;
+        for (int i = 0; i < sessions.size; i++) {
+            numFinishedGames += sessions.get(i).getNumFinishedGames();
+        }
+        
+        System.out.println(String.format(
+                "Ran %d sessions on %d threads for %.1f s: %d ticks (%.0f ticks/s), %d games finished",
+                numSessions, numThreads, durationSeconds, numTicks, numTicks / durationSeconds, numFinishedGames));
+        
+        System.exit(0);
+    }
+}
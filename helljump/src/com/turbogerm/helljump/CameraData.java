@@ -32,6 +32,7 @@ public final class CameraData {
     
     private final Rectangle mGuiCameraRect;
     private final Rectangle mNonOffsetedGameCameraRect;
+    private final Rectangle mGameAreaCameraRect;
     
     private final OrthographicCamera mGuiCamera;
     private final OrthographicCamera mGameAreaCamera;
@@ -41,6 +42,7 @@ public final class CameraData {
     public CameraData(float screenWidth, float screenHeight) {
         mGuiCameraRect = new Rectangle();
         mNonOffsetedGameCameraRect = new Rectangle();
+        mGameAreaCameraRect = new Rectangle();
         
         mGuiCamera = new OrthographicCamera();
         mGameAreaCamera = new OrthographicCamera();
@@ -77,11 +79,15 @@ public final class CameraData {
         mGameAreaCamera.update();
         
         mInitialGameAreaCameraY = mGameAreaCamera.position.y;
+        
+        mGameAreaCameraRect.set(mNonOffsetedGameCameraRect);
     }
     
     public void setGameAreaPosition(float gameAreaPosition) {
         mGameAreaCamera.position.y = mInitialGameAreaCameraY + gameAreaPosition;
         mGameAreaCamera.update();
+        
+        mGameAreaCameraRect.y = mNonOffsetedGameCameraRect.y + gameAreaPosition;
     }
     
     public Rectangle getGuiCameraRect() {
@@ -92,6 +98,10 @@ public final class CameraData {
         return mNonOffsetedGameCameraRect;
     }
     
+    public Rectangle getGameAreaCameraRect() {
+        return mGameAreaCameraRect;
+    }
+    
     public OrthographicCamera getGuiCamera() {
         return mGuiCamera;
     }
@@ -28,6 +28,7 @@ import com.badlogic.gdx.utils.ArrayMap;
 import com.badlogic.gdx.utils.Logger;
 import com.turbogerm.germlibrary.game.GameBase;
 import com.turbogerm.germlibrary.game.Screen;
+import com.turbogerm.helljump.game.generator.RisePreparer;
 import com.turbogerm.helljump.gamedata.GameData;
 import com.turbogerm.helljump.init.InitData;
 import com.turbogerm.helljump.resources.Resources;
@@ -57,6 +58,7 @@ public class HellJump extends GameBase {
     
     private Resources mResources;
     private GameData mGameData;
+    private RisePreparer mRisePreparer;
     private InitData mInitData;
     private CameraData mCameraData;
     
@@ -81,6 +83,7 @@ public class HellJump extends GameBase {
     public void dispose() {
         super.dispose();
         mGameData.dispose();
+        mRisePreparer.dispose();
         mResources.dispose();
     }
     
@@ -113,6 +116,10 @@ public class HellJump extends GameBase {
         return mGameData;
     }
     
+    public RisePreparer getRisePreparer() {
+        return mRisePreparer;
+    }
+    
     public InitData getInitData() {
         return mInitData;
     }
@@ -125,6 +132,7 @@ public class HellJump extends GameBase {
         
         mResources = new Resources();
         mGameData = new GameData();
+        mRisePreparer = new RisePreparer();
     }
     
     private void initializeScreens() {
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.dataaccess;
+
+public final class BasicGeneratorParameters implements RiseSectionGeneratorParameters {
+    
+    private final float mNormalPlatformWeight;
+    private final float mMovingPlatformWeight;
+    private final float mRepositionPlatformWeight;
+    private final float mJumpBoostFraction;
+    private final float mJumpBoostLowWeight;
+    private final float mJumpBoostMediumWeight;
+    private final float mJumpBoostHighWeight;
+    private final float mMinMovingSpeed;
+    private final float mMaxMovingSpeed;
+    private final float mMinMovingRange;
+    private final float mMaxMovingRange;
+    private final float mMinRepositionRange;
+    private final float mMaxRepositionRange;
+    
+    BasicGeneratorParameters(float normalPlatformWeight, float movingPlatformWeight, float repositionPlatformWeight,
+            float jumpBoostFraction, float jumpBoostLowWeight, float jumpBoostMediumWeight, float jumpBoostHighWeight,
+            float minMovingSpeed, float maxMovingSpeed, float minMovingRange, float maxMovingRange,
+            float minRepositionRange, float maxRepositionRange) {
+        mNormalPlatformWeight = normalPlatformWeight;
+        mMovingPlatformWeight = movingPlatformWeight;
+        mRepositionPlatformWeight = repositionPlatformWeight;
+        mJumpBoostFraction = jumpBoostFraction;
+        mJumpBoostLowWeight = jumpBoostLowWeight;
+        mJumpBoostMediumWeight = jumpBoostMediumWeight;
+        mJumpBoostHighWeight = jumpBoostHighWeight;
+        mMinMovingSpeed = minMovingSpeed;
+        mMaxMovingSpeed = maxMovingSpeed;
+        mMinMovingRange = minMovingRange;
+        mMaxMovingRange = maxMovingRange;
+        mMinRepositionRange = minRepositionRange;
+        mMaxRepositionRange = maxRepositionRange;
+    }
+    
+    public float getNormalPlatformWeight() {
+        return mNormalPlatformWeight;
+    }
+    
+    public float getMovingPlatformWeight() {
+        return mMovingPlatformWeight;
+    }
+    
+    public float getRepositionPlatformWeight() {
+        return mRepositionPlatformWeight;
+    }
+    
+    public float getJumpBoostFraction() {
+        return mJumpBoostFraction;
+    }
+    
+    public float getJumpBoostLowWeight() {
+        return mJumpBoostLowWeight;
+    }
+    
+    public float getJumpBoostMediumWeight() {
+        return mJumpBoostMediumWeight;
+    }
+    
+    public float getJumpBoostHighWeight() {
+        return mJumpBoostHighWeight;
+    }
+    
+    public float getMinMovingSpeed() {
+        return mMinMovingSpeed;
+    }
+    
+    public float getMaxMovingSpeed() {
+        return mMaxMovingSpeed;
+    }
+    
+    public float getMinMovingRange() {
+        return mMinMovingRange;
+    }
+    
+    public float getMaxMovingRange() {
+        return mMaxMovingRange;
+    }
+    
+    public float getMinRepositionRange() {
+        return mMinRepositionRange;
+    }
+    
+    public float getMaxRepositionRange() {
+        return mMaxRepositionRange;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.dataaccess;
+
+public final class CrumbleGeneratorParameters implements RiseSectionGeneratorParameters {
+    
+    private final float mCrumbleFraction;
+    private final float mJumpBoostFraction;
+    private final float mJumpBoostLowWeight;
+    private final float mJumpBoostMediumWeight;
+    private final float mJumpBoostHighWeight;
+    
+    CrumbleGeneratorParameters(float crumbleFraction, float jumpBoostFraction,
+            float jumpBoostLowWeight, float jumpBoostMediumWeight, float jumpBoostHighWeight) {
+        mCrumbleFraction = crumbleFraction;
+        mJumpBoostFraction = jumpBoostFraction;
+        mJumpBoostLowWeight = jumpBoostLowWeight;
+        mJumpBoostMediumWeight = jumpBoostMediumWeight;
+        mJumpBoostHighWeight = jumpBoostHighWeight;
+    }
+    
+    public float getCrumbleFraction() {
+        return mCrumbleFraction;
+    }
+    
+    public float getJumpBoostFraction() {
+        return mJumpBoostFraction;
+    }
+    
+    public float getJumpBoostLowWeight() {
+        return mJumpBoostLowWeight;
+    }
+    
+    public float getJumpBoostMediumWeight() {
+        return mJumpBoostMediumWeight;
+    }
+    
+    public float getJumpBoostHighWeight() {
+        return mJumpBoostHighWeight;
+    }
+}
@@ -30,10 +30,36 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.XmlReader;
 import com.badlogic.gdx.utils.XmlReader.Element;
+import com.turbogerm.germlibrary.util.ExceptionThrower;
 import com.turbogerm.germlibrary.util.Logger;
 
+// generator parameters are parsed and checked here, so bad metadata fails when it is loaded, and generators
+// don't parse anything while rises are generated
 public final class RiseSectionMetadataReader {
     
+    private static final String NORMAL_PLATFORM_WEIGHT_PROPERTY = "normalplatformweight";
+    private static final String MOVING_PLATFORM_WEIGHT_PROPERTY = "movingplatformweight";
+    private static final String REPOSITION_PLATFORM_WEIGHT_PROPERTY = "repositionplatformweight";
+    private static final String VISIBLE_ON_JUMP_PLATFORM_WEIGHT_PROPERTY = "visibleonjumpplatformweight";
+    private static final String MIN_MOVING_SPEED_PROPERTY = "minmovingspeed";
+    private static final String MAX_MOVING_SPEED_PROPERTY = "maxmovingspeed";
+    private static final String MIN_MOVING_RANGE_PROPERTY = "minmovingrange";
+    private static final String MAX_MOVING_RANGE_PROPERTY = "maxmovingrange";
+    private static final String MIN_REPOSITION_RANGE_PROPERTY = "minrepositionrange";
+    private static final String MAX_REPOSITION_RANGE_PROPERTY = "maxrepositionrange";
+    private static final String JUMP_BOOST_FRACTION_PROPERTY = "jumpboostfraction";
+    private static final String JUMP_BOOST_LOW_WEIGHT_PROPERTY = "jumpboostlowweight";
+    private static final String JUMP_BOOST_MEDIUM_WEIGHT_PROPERTY = "jumpboostmediumweight";
+    private static final String JUMP_BOOST_HIGH_WEIGHT_PROPERTY = "jumpboosthighweight";
+    private static final String CRUMBLE_PROPERTY = "crumble";
+    private static final String CRUMBLE_FRACTION_PROPERTY = "crumblefraction";
+    private static final String PLATFORMS_PER_STEP_PROPERTY = "platformsperstep";
+    private static final String FLAME_CYCLE_TIME_SLICE_PROPERTY = "flamecycletimeslice";
+    
+    // platforms of a step have to fit side by side
+    private static final int MAX_PLATFORMS_PER_STEP = (PlatformData.MAX_PLATFORM_OFFSET +
+            PlatformData.PLATFORM_WIDTH_OFFSETS) / PlatformData.PLATFORM_WIDTH_OFFSETS;
+    
     public static RiseSectionsMetadata read(FileHandle fileHandle) {
         
         XmlReader reader = new XmlReader();
@@ -69,11 +95,179 @@ public final class RiseSectionMetadataReader {
         int maxStepDistance = ReaderUtilities.getIntAttribute(riseSectionNode, "maxstepdistance");
         int difficulty = ReaderUtilities.getIntAttribute(riseSectionNode, "difficulty");
         
+        if (minStepRange <= 0 || minStepRange > maxStepRange) {
+            ExceptionThrower.throwException("Invalid step range of rise section %s: %d-%d",
+                    name, minStepRange, maxStepRange);
+        }
+        if (minStepDistance <= 0 || minStepDistance > maxStepDistance) {
+            ExceptionThrower.throwException("Invalid step distance of rise section %s: %d-%d",
+                    name, minStepDistance, maxStepDistance);
+        }
+        
         ObjectMap<String, String> properties =  ReaderUtilities.getProperties(
                 riseSectionNode.getChildByName("properties"));
+        if (properties == null) {
+            properties = new ObjectMap<String, String>(0);
+        }
+        
+        RiseSectionGeneratorParameters generatorParameters = getGeneratorParameters(generatorType, name, properties);
         
         return new RiseSectionMetadata(generatorType, type, name,
                 minStepRange, maxStepRange, minStepDistance, maxStepDistance,
-                difficulty, properties);
+                difficulty, generatorParameters);
+    }
+    
+    private static RiseSectionGeneratorParameters getGeneratorParameters(String generatorType, String name,
+            ObjectMap<String, String> properties) {
+        if (RiseSectionMetadata.BASIC_GENERATOR_TYPE.equals(generatorType)) {
+            return getBasicGeneratorParameters(name, properties);
+        } else if (RiseSectionMetadata.JUMP_BOOST_GENERATOR_TYPE.equals(generatorType)) {
+            return getJumpBoostGeneratorParameters(name, properties);
+        } else if (RiseSectionMetadata.VISIBLE_ON_JUMP_GENERATOR_TYPE.equals(generatorType)) {
+            return getVisibleOnJumpGeneratorParameters(name, properties);
+        } else if (RiseSectionMetadata.CRUMBLE_GENERATOR_TYPE.equals(generatorType)) {
+            return getCrumbleGeneratorParameters(name, properties);
+        } else if (RiseSectionMetadata.FLAME_GENERATOR_TYPE.equals(generatorType)) {
+            return getFlameGeneratorParameters(name, properties);
+        } else {
+            ExceptionThrower.throwException("Invalid generator type of rise section %s: %s", name, generatorType);
+            return null;
+        }
+    }
+    
+    private static BasicGeneratorParameters getBasicGeneratorParameters(String name,
+            ObjectMap<String, String> properties) {
+        float minMovingSpeed = getNonNegativeFloat(name, properties, MIN_MOVING_SPEED_PROPERTY);
+        float maxMovingSpeed = getNonNegativeFloat(name, properties, MAX_MOVING_SPEED_PROPERTY);
+        float minMovingRange = getNonNegativeFloat(name, properties, MIN_MOVING_RANGE_PROPERTY);
+        float maxMovingRange = getNonNegativeFloat(name, properties, MAX_MOVING_RANGE_PROPERTY);
+        float minRepositionRange = getNonNegativeFloat(name, properties, MIN_REPOSITION_RANGE_PROPERTY);
+        float maxRepositionRange = getNonNegativeFloat(name, properties, MAX_REPOSITION_RANGE_PROPERTY);
+        checkRange(name, MIN_MOVING_SPEED_PROPERTY, minMovingSpeed, MAX_MOVING_SPEED_PROPERTY, maxMovingSpeed);
+        checkRange(name, MIN_MOVING_RANGE_PROPERTY, minMovingRange, MAX_MOVING_RANGE_PROPERTY, maxMovingRange);
+        checkRange(name, MIN_REPOSITION_RANGE_PROPERTY, minRepositionRange,
+                MAX_REPOSITION_RANGE_PROPERTY, maxRepositionRange);
+        
+        return new BasicGeneratorParameters(
+                getNonNegativeFloat(name, properties, NORMAL_PLATFORM_WEIGHT_PROPERTY),
+                getNonNegativeFloat(name, properties, MOVING_PLATFORM_WEIGHT_PROPERTY),
+                getNonNegativeFloat(name, properties, REPOSITION_PLATFORM_WEIGHT_PROPERTY),
+                getFraction(name, properties, JUMP_BOOST_FRACTION_PROPERTY),
+                getNonNegativeFloat(name, properties, JUMP_BOOST_LOW_WEIGHT_PROPERTY),
+                getNonNegativeFloat(name, properties, JUMP_BOOST_MEDIUM_WEIGHT_PROPERTY),
+                getNonNegativeFloat(name, properties, JUMP_BOOST_HIGH_WEIGHT_PROPERTY),
+                minMovingSpeed, maxMovingSpeed, minMovingRange, maxMovingRange,
+                minRepositionRange, maxRepositionRange);
+    }
+    
+    private static JumpBoostGeneratorParameters getJumpBoostGeneratorParameters(String name,
+            ObjectMap<String, String> properties) {
+        return new JumpBoostGeneratorParameters(
+                getNonNegativeFloat(name, properties, JUMP_BOOST_LOW_WEIGHT_PROPERTY),
+                getNonNegativeFloat(name, properties, JUMP_BOOST_MEDIUM_WEIGHT_PROPERTY),
+                getNonNegativeFloat(name, properties, JUMP_BOOST_HIGH_WEIGHT_PROPERTY),
+                getBoolean(name, properties, CRUMBLE_PROPERTY));
+    }
+    
+    private static VisibleOnJumpGeneratorParameters getVisibleOnJumpGeneratorParameters(String name,
+            ObjectMap<String, String> properties) {
+        return new VisibleOnJumpGeneratorParameters(
+                getNonNegativeFloat(name, properties, NORMAL_PLATFORM_WEIGHT_PROPERTY),
+                getNonNegativeFloat(name, properties, VISIBLE_ON_JUMP_PLATFORM_WEIGHT_PROPERTY),
+                getBoolean(name, properties, CRUMBLE_PROPERTY));
+    }
+    
+    private static CrumbleGeneratorParameters getCrumbleGeneratorParameters(String name,
+            ObjectMap<String, String> properties) {
+        return new CrumbleGeneratorParameters(
+                getFraction(name, properties, CRUMBLE_FRACTION_PROPERTY),
+                getFraction(name, properties, JUMP_BOOST_FRACTION_PROPERTY),
+                getNonNegativeFloat(name, properties, JUMP_BOOST_LOW_WEIGHT_PROPERTY),
+                getNonNegativeFloat(name, properties, JUMP_BOOST_MEDIUM_WEIGHT_PROPERTY),
+                getNonNegativeFloat(name, properties, JUMP_BOOST_HIGH_WEIGHT_PROPERTY));
+    }
+    
+    private static FlameGeneratorParameters getFlameGeneratorParameters(String name,
+            ObjectMap<String, String> properties) {
+        int platformsPerStep = 0;
+        try {
+            platformsPerStep = Integer.parseInt(getProperty(name, properties, PLATFORMS_PER_STEP_PROPERTY));
+        } catch (NumberFormatException e) {
+            throwInvalidProperty(name, properties, PLATFORMS_PER_STEP_PROPERTY);
+        }
+        if (platformsPerStep < 1 || platformsPerStep > MAX_PLATFORMS_PER_STEP) {
+            throwInvalidProperty(name, properties, PLATFORMS_PER_STEP_PROPERTY);
+        }
+        
+        float flameCycleTimeSlice = getFloat(name, properties, FLAME_CYCLE_TIME_SLICE_PROPERTY);
+        if (flameCycleTimeSlice <= 0.0f) {
+            throwInvalidProperty(name, properties, FLAME_CYCLE_TIME_SLICE_PROPERTY);
+        }
+        
+        return new FlameGeneratorParameters(platformsPerStep, flameCycleTimeSlice);
+    }
+    
+    private static float getNonNegativeFloat(String name, ObjectMap<String, String> properties, String propertyName) {
+        float value = getFloat(name, properties, propertyName);
+        if (value < 0.0f) {
+            throwInvalidProperty(name, properties, propertyName);
+        }
+        
+        return value;
+    }
+    
+    private static float getFraction(String name, ObjectMap<String, String> properties, String propertyName) {
+        float fraction = getFloat(name, properties, propertyName);
+        if (fraction < 0.0f || fraction > 1.0f) {
+            throwInvalidProperty(name, properties, propertyName);
+        }
+        
+        return fraction;
+    }
+    
+    private static float getFloat(String name, ObjectMap<String, String> properties, String propertyName) {
+        float value = 0.0f;
+        try {
+            value = Float.parseFloat(getProperty(name, properties, propertyName));
+        } catch (NumberFormatException e) {
+            throwInvalidProperty(name, properties, propertyName);
+        }
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            throwInvalidProperty(name, properties, propertyName);
+        }
+        
+        return value;
+    }
+    
+    private static boolean getBoolean(String name, ObjectMap<String, String> properties, String propertyName) {
+        String value = getProperty(name, properties, propertyName);
+        if (!"true".equals(value) && !"false".equals(value)) {
+            throwInvalidProperty(name, properties, propertyName);
+        }
+        
+        return Boolean.parseBoolean(value);
+    }
+    
+    private static String getProperty(String name, ObjectMap<String, String> properties, String propertyName) {
+        String value = properties.get(propertyName);
+        if (value == null) {
+            ExceptionThrower.throwException("Rise section %s is missing property %s", name, propertyName);
+        }
+        
+        return value;
+    }
+    
+    private static void checkRange(String name, String minPropertyName, float min, String maxPropertyName,
+            float max) {
+        if (min > max) {
+            ExceptionThrower.throwException("Rise section %s has %s greater than %s",
+                    name, minPropertyName, maxPropertyName);
+        }
+    }
+    
+    private static void throwInvalidProperty(String name, ObjectMap<String, String> properties,
+            String propertyName) {
+        ExceptionThrower.throwException("Rise section %s has invalid property %s: %s",
+                name, propertyName, properties.get(propertyName));
     }
 }
@@ -35,7 +35,8 @@ public final class RiseSectionsData {
     
     public RiseSectionData getRiseSection(String name) {
         
-        for (RiseSectionData riseSectionData : mRiseSections) {
+        for (int i = 0; i < mRiseSections.size; i++) {
+            RiseSectionData riseSectionData = mRiseSections.get(i);
             if (riseSectionData.getName().equals(name)) {
                 return riseSectionData;
             }
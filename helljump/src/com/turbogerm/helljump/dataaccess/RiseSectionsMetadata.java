@@ -24,6 +24,7 @@
 package com.turbogerm.helljump.dataaccess;
 
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.GameRandom;
 
 public final class RiseSectionsMetadata {
     
@@ -31,12 +32,8 @@ public final class RiseSectionsMetadata {
     
     private final Array<RiseSectionMetadata> mRiseSectionMetadataList;
     
-    private final Array<RiseSectionMetadata> mSelectionList;
-    
     public RiseSectionsMetadata(Array<RiseSectionMetadata> riseSectionMetadataList) {
         mRiseSectionMetadataList = riseSectionMetadataList;
-        
-        mSelectionList = new Array<RiseSectionMetadata>(INITIAL_SELECTION_LIST_CAPACITY);
     }
     
     public Array<RiseSectionMetadata> getAllRiseSections() {
@@ -48,7 +45,8 @@ public final class RiseSectionsMetadata {
     }
     
     public RiseSectionMetadata getByName(String name) {
-        for (RiseSectionMetadata riseSection : mRiseSectionMetadataList) {
+        for (int i = 0; i < mRiseSectionMetadataList.size; i++) {
+            RiseSectionMetadata riseSection = mRiseSectionMetadataList.get(i);
             if (riseSection.getName().equals(name)) {
                 return riseSection;
             }
@@ -57,24 +55,26 @@ public final class RiseSectionsMetadata {
         return null;
     }
     
-    public RiseSectionMetadata getRandomRiseSection(String generatorType, int minDifficulty, int maxDifficulty) {
+    public RiseSectionMetadata getRandomRiseSection(String generatorType, int minDifficulty, int maxDifficulty,
+            GameRandom random) {
         if (maxDifficulty < 0) {
             return null;
         }
         
-        mSelectionList.clear();
-        
-        for (RiseSectionMetadata riseSection : mRiseSectionMetadataList) {
+        // metadata is shared by all generators, so nothing here is cached between calls
+        Array<RiseSectionMetadata> selectionList = new Array<RiseSectionMetadata>(INITIAL_SELECTION_LIST_CAPACITY);
+        for (int i = 0; i < mRiseSectionMetadataList.size; i++) {
+            RiseSectionMetadata riseSection = mRiseSectionMetadataList.get(i);
             int difficulty = riseSection.getDifficulty();
             if (riseSection.getGeneratorType().equals(generatorType) && minDifficulty <= difficulty && difficulty <= maxDifficulty) {
-                mSelectionList.add(riseSection);
+                selectionList.add(riseSection);
             }
         }
         
-        if (mSelectionList.size > 0) {
-            return mSelectionList.random();
+        if (selectionList.size > 0) {
+            return random.random(selectionList);
         } else {
-            return getRandomRiseSection(generatorType, minDifficulty - 1, minDifficulty - 1); 
+            return getRandomRiseSection(generatorType, minDifficulty - 1, minDifficulty - 1, random); 
         }
     }
 }
@@ -33,17 +33,22 @@ public final class DebugData {
     private int mFps;
     private int mRenderCalls;
     private int mMaxSpritesInBatch;
+    private int mDrawnObjects;
+    private int mCulledObjects;
     private String mRiseSectionName;
     private int mRiseSectionDifficulty;
     
     public DebugData() {
     }
     
-    public void update(SpriteBatch batch, RiseSection riseSection, GameCharacter character) {
+    public void update(SpriteBatch batch, int drawnObjects, int culledObjects,
+            RiseSection riseSection, GameCharacter character) {
         mFps = Gdx.graphics.getFramesPerSecond();
         mRenderCalls = batch.renderCalls;
         mMaxSpritesInBatch = batch.maxSpritesInBatch;
         batch.maxSpritesInBatch = 0;
+        mDrawnObjects = drawnObjects;
+        mCulledObjects = culledObjects;
         if (riseSection != null) {
             mRiseSectionName = riseSection.getName();
             mRiseSectionDifficulty = riseSection.getDifficulty();
@@ -55,7 +60,8 @@ public final class DebugData {
     
     @Override
     public String toString() {
-        return String.format("Fps: %d; Calls: %d; Max Batch: %d\nSection: %s\nDiffic: %d",
-                mFps, mRenderCalls, mMaxSpritesInBatch, mRiseSectionName, mRiseSectionDifficulty);
+        return String.format("Fps: %d; Calls: %d; Max Batch: %d\nDrawn: %d; Culled: %d\nSection: %s\nDiffic: %d",
+                mFps, mRenderCalls, mMaxSpritesInBatch, mDrawnObjects, mCulledObjects,
+                mRiseSectionName, mRiseSectionDifficulty);
     }
 }
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.ExceptionThrower;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+
+// rise sections are sorted by start y, and visible area only moves up,
+// so active sections form a window that is only ever extended at the head and shrunk at the tail
+final class ActiveRiseSectionWindow {
+    
+    private static final int ACTIVE_RISE_SECTIONS_INITIAL_CAPACITY = 5;
+    private static final int CHANGED_RISE_SECTIONS_INITIAL_CAPACITY = 2;
+    
+    private Rise mRise;
+    private int mHead;
+    private int mTail;
+    
+    private final Array<RiseSection> mActiveRiseSections;
+    private final Array<RiseSection> mEnteredRiseSections;
+    private final Array<RiseSection> mLeftRiseSections;
+    
+    public ActiveRiseSectionWindow() {
+        mActiveRiseSections = new Array<RiseSection>(true, ACTIVE_RISE_SECTIONS_INITIAL_CAPACITY);
+        mEnteredRiseSections = new Array<RiseSection>(true, CHANGED_RISE_SECTIONS_INITIAL_CAPACITY);
+        mLeftRiseSections = new Array<RiseSection>(true, CHANGED_RISE_SECTIONS_INITIAL_CAPACITY);
+    }
+    
+    public void reset(Rise rise) {
+        mRise = rise;
+        mHead = 0;
+        mTail = 0;
+        
+        mActiveRiseSections.clear();
+        mEnteredRiseSections.clear();
+        mLeftRiseSections.clear();
+    }
+    
+    public void update(float areaStart, float areaEnd) {
+        mEnteredRiseSections.clear();
+        mLeftRiseSections.clear();
+        
+        while (mHead < mRise.getEndRiseSectionIndex() && mRise.getRiseSection(mHead).getStartY() < areaEnd) {
+            RiseSection riseSection = mRise.getRiseSection(mHead);
+            mActiveRiseSections.add(riseSection);
+            mEnteredRiseSections.add(riseSection);
+            mHead++;
+        }
+        
+        while (mTail < mHead && mRise.getRiseSection(mTail).getEndY() <= areaStart) {
+            RiseSection riseSection = mRise.getRiseSection(mTail);
+            mActiveRiseSections.removeIndex(0);
+            mLeftRiseSections.add(riseSection);
+            mTail++;
+        }
+    }
+    
+    // sections above the head are still untouched, and the ones below the tail never return,
+    // so the window bounds are all that is needed to tell which sections have state worth saving
+    public void writeState(StateWriter writer) {
+        writer.writeInt(mTail);
+        writer.writeInt(mHead);
+    }
+    
+    public void readState(StateReader reader) {
+        int tail = reader.readInt();
+        int head = reader.readInt();
+        if (tail < mRise.getFirstRiseSectionIndex() || tail > head || head > mRise.getEndRiseSectionIndex()) {
+            ExceptionThrower.throwException("Invalid active rise section window in saved state: %d-%d", tail, head);
+        }
+        
+        mTail = tail;
+        mHead = head;
+        
+        mActiveRiseSections.clear();
+        for (int i = mTail; i < mHead; i++) {
+            mActiveRiseSections.add(mRise.getRiseSection(i));
+        }
+        mEnteredRiseSections.clear();
+        mLeftRiseSections.clear();
+    }
+    
+    public boolean isChanged() {
+        return mEnteredRiseSections.size > 0 || mLeftRiseSections.size > 0;
+    }
+    
+    // index of the lowest section in the window
+    public int getTail() {
+        return mTail;
+    }
+    
+    // index of the first section above the window
+    public int getHead() {
+        return mHead;
+    }
+    
+    public Array<RiseSection> getActiveRiseSections() {
+        return mActiveRiseSections;
+    }
+    
+    public Array<RiseSection> getEnteredRiseSections() {
+        return mEnteredRiseSections;
+    }
+    
+    public Array<RiseSection> getLeftRiseSections() {
+        return mLeftRiseSections;
+    }
+}
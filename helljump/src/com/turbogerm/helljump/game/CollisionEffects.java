@@ -29,7 +29,7 @@ public final class CollisionEffects {
     public static final int BURN = 1;
     public static final int REPOSITION_PLATFORMS = 2;
     public static final int VISIBLE_ON_JUMP = 3;
-    private static final int NUM_EFFECTS = 4;
+    public static final int NUM_EFFECTS = 4;
     
     public static final int JUMP_BOOST_SPEED_INDEX = 0;
     public static final int JUMP_BOOST_SOUND_VOLUME_INDEX = 1; 
@@ -0,0 +1,205 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+// coarse uniform grid over the active area; rows wrap around, so objects far apart vertically
+// can share a cell, which only adds candidates and never hides one
+public final class CollisionGrid<T extends CollisionGridObject> {
+    
+    private static final int ROW_COUNT = 64;
+    private static final int ROW_MASK = ROW_COUNT - 1;
+    private static final int COLUMN_COUNT = 4;
+    
+    private static final float CELL_HEIGHT = GameAreaUtils.STEP_HEIGHT;
+    private static final float CELL_WIDTH = GameArea.GAME_AREA_WIDTH / COLUMN_COUNT;
+    
+    private static final int ENTRIES_INITIAL_CAPACITY = 20;
+    private static final int CELL_INITIAL_CAPACITY = 2;
+    
+    private final Array<Entry<T>> mEntries;
+    private final Array<Array<Entry<T>>> mCells;
+    
+    private int mQueryStamp;
+    
+    public CollisionGrid() {
+        mEntries = new Array<Entry<T>>(true, ENTRIES_INITIAL_CAPACITY);
+        
+        mCells = new Array<Array<Entry<T>>>(true, ROW_COUNT * COLUMN_COUNT);
+        for (int i = 0; i < ROW_COUNT * COLUMN_COUNT; i++) {
+            mCells.add(new Array<Entry<T>>(false, CELL_INITIAL_CAPACITY));
+        }
+        
+        mQueryStamp = 0;
+    }
+    
+    public void clear() {
+        for (Array<Entry<T>> cell : mCells) {
+            cell.clear();
+        }
+        mEntries.clear();
+    }
+    
+    public void add(T object) {
+        Entry<T> entry = new Entry<T>(object);
+        mEntries.add(entry);
+        updateEntry(entry);
+    }
+    
+    public void addAll(Array<T> objects) {
+        for (T object : objects) {
+            add(object);
+        }
+    }
+    
+    // objects leave the grid in the same order they were added
+    public void removeFirst(int count) {
+        for (int i = 0; i < count; i++) {
+            removeFromCells(mEntries.get(i));
+        }
+        
+        int remaining = mEntries.size - count;
+        System.arraycopy(mEntries.items, count, mEntries.items, 0, remaining);
+        mEntries.truncate(remaining);
+    }
+    
+    public void update() {
+        for (Entry<T> entry : mEntries) {
+            updateEntry(entry);
+        }
+    }
+    
+    public void getCandidates(Rectangle rect, Array<T> candidates) {
+        candidates.clear();
+        
+        mQueryStamp++;
+        
+        int minRow = getRow(rect.y);
+        int maxRow = getRow(rect.y + rect.height);
+        int minColumn = getColumn(rect.x);
+        int maxColumn = getColumn(rect.x + rect.width);
+        
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                Array<Entry<T>> cell = getCell(row, column);
+                for (int i = 0; i < cell.size; i++) {
+                    Entry<T> entry = cell.get(i);
+                    if (entry.queryStamp != mQueryStamp) {
+                        entry.queryStamp = mQueryStamp;
+                        candidates.add(entry.object);
+                    }
+                }
+            }
+        }
+    }
+    
+    private void updateEntry(Entry<T> entry) {
+        if (!entry.object.isCollidable()) {
+            if (entry.isInCells) {
+                removeFromCells(entry);
+            }
+            return;
+        }
+        
+        Rectangle bounds = entry.object.getCollisionBounds();
+        int minRow = getRow(bounds.y);
+        int maxRow = getRow(bounds.y + bounds.height);
+        int minColumn = getColumn(bounds.x);
+        int maxColumn = getColumn(bounds.x + bounds.width);
+        
+        if (entry.isInCells && minRow == entry.minRow && maxRow == entry.maxRow &&
+                minColumn == entry.minColumn && maxColumn == entry.maxColumn) {
+            return;
+        }
+        
+        if (entry.isInCells) {
+            removeFromCells(entry);
+        }
+        
+        entry.minRow = minRow;
+        entry.maxRow = maxRow;
+        entry.minColumn = minColumn;
+        entry.maxColumn = maxColumn;
+        
+        // objects taller than the whole grid are still only added once per cell
+        int lastRow = Math.min(maxRow, minRow + ROW_COUNT - 1);
+        for (int row = minRow; row <= lastRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                getCell(row, column).add(entry);
+            }
+        }
+        entry.isInCells = true;
+    }
+    
+    private void removeFromCells(Entry<T> entry) {
+        if (!entry.isInCells) {
+            return;
+        }
+        
+        int lastRow = Math.min(entry.maxRow, entry.minRow + ROW_COUNT - 1);
+        for (int row = entry.minRow; row <= lastRow; row++) {
+            for (int column = entry.minColumn; column <= entry.maxColumn; column++) {
+                getCell(row, column).removeValue(entry, true);
+            }
+        }
+        entry.isInCells = false;
+    }
+    
+    private Array<Entry<T>> getCell(int row, int column) {
+        return mCells.get((row & ROW_MASK) * COLUMN_COUNT + column);
+    }
+    
+    private static int getRow(float y) {
+        return (int) Math.floor(y / CELL_HEIGHT);
+    }
+    
+    private static int getColumn(float x) {
+        int column = (int) Math.floor(x / CELL_WIDTH);
+        if (column < 0) {
+            return 0;
+        } else if (column >= COLUMN_COUNT) {
+            return COLUMN_COUNT - 1;
+        } else {
+            return column;
+        }
+    }
+    
+    private static class Entry<T> {
+        public final T object;
+        public boolean isInCells;
+        public int minRow;
+        public int maxRow;
+        public int minColumn;
+        public int maxColumn;
+        public int queryStamp;
+        
+        public Entry(T object) {
+            this.object = object;
+            isInCells = false;
+            queryStamp = 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game;
+
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Rectangle;
+
+// shapes are tested over a whole tick, so fast objects can't pass through each other between two ticks;
+// rect is at its end position, and movement is how far it moved during the tick relative to the other shape
+public final class CollisionUtils {
+    
+    public static boolean overlapSweptRectangles(Rectangle rect, float movementX, float movementY,
+            Rectangle other) {
+        
+        // other rect is grown by the size of the moving one, so only the path of its corner is tested
+        return intersectSegmentBox(rect.x - movementX, rect.y - movementY, movementX, movementY,
+                other.x - rect.width, other.y - rect.height,
+                other.x + other.width, other.y + other.height);
+    }
+    
+    public static boolean overlapSweptRectangleCircle(Rectangle rect, float movementX, float movementY,
+            Circle circle) {
+        
+        // circle center moves the other way relative to the rect, whose grown shape has rounded corners
+        float startX = circle.x + movementX;
+        float startY = circle.y + movementY;
+        float radius = circle.radius;
+        float minX = rect.x;
+        float minY = rect.y;
+        float maxX = rect.x + rect.width;
+        float maxY = rect.y + rect.height;
+        
+        return intersectSegmentBox(startX, startY, -movementX, -movementY, minX - radius, minY, maxX + radius, maxY) ||
+                intersectSegmentBox(startX, startY, -movementX, -movementY, minX, minY - radius, maxX, maxY + radius) ||
+                intersectSegmentCircle(startX, startY, -movementX, -movementY, minX, minY, radius) ||
+                intersectSegmentCircle(startX, startY, -movementX, -movementY, maxX, minY, radius) ||
+                intersectSegmentCircle(startX, startY, -movementX, -movementY, minX, maxY, radius) ||
+                intersectSegmentCircle(startX, startY, -movementX, -movementY, maxX, maxY, radius);
+    }
+    
+    // box edges don't count as overlap, same as with overlapping rectangles
+    private static boolean intersectSegmentBox(float startX, float startY, float deltaX, float deltaY,
+            float minX, float minY, float maxX, float maxY) {
+        
+        float enter = 0.0f;
+        float exit = 1.0f;
+        
+        if (deltaX == 0.0f) {
+            if (startX <= minX || startX >= maxX) {
+                return false;
+            }
+        } else {
+            float t1 = (minX - startX) / deltaX;
+            float t2 = (maxX - startX) / deltaX;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        
+        if (deltaY == 0.0f) {
+            if (startY <= minY || startY >= maxY) {
+                return false;
+            }
+        } else {
+            float t1 = (minY - startY) / deltaY;
+            float t2 = (maxY - startY) / deltaY;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        
+        return enter < exit;
+    }
+    
+    private static boolean intersectSegmentCircle(float startX, float startY, float deltaX, float deltaY,
+            float centerX, float centerY, float radius) {
+        
+        float lengthSquared = deltaX * deltaX + deltaY * deltaY;
+        float t = 0.0f;
+        if (lengthSquared > 0.0f) {
+            t = ((centerX - startX) * deltaX + (centerY - startY) * deltaY) / lengthSquared;
+            t = Math.max(0.0f, Math.min(1.0f, t));
+        }
+        
+        float distanceX = startX + deltaX * t - centerX;
+        float distanceY = startY + deltaY * t - centerY;
+        return distanceX * distanceX + distanceY * distanceY < radius * radius;
+    }
+}
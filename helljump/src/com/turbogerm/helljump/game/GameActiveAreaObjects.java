@@ -25,9 +25,13 @@ package com.turbogerm.helljump.game;
 
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import com.turbogerm.germlibrary.util.Pools;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.TimerWheel;
 import com.turbogerm.helljump.dataaccess.PlatformData;
 import com.turbogerm.helljump.game.character.GameCharacter;
 import com.turbogerm.helljump.game.enemies.EnemyBase;
@@ -36,91 +40,215 @@ import com.turbogerm.helljump.game.platforms.PlatformBase;
 
 final class GameActiveAreaObjects {
     
-    private static final int ACTIVE_RISE_SECTIONS_INITIAL_CAPACITY = 5;
     private static final int VISIBLE_PLATFORMS_INITIAL_CAPACITY = 50;
     private static final int VISIBLE_ENEMIES_INITIAL_CAPACITY = 10;
     private static final int VISIBLE_ITEMS_INITIAL_CAPACITY = 5;
     
     private static final float VISIBLE_PLATFORMS_AREA_PADDING = 2.0f;
+    private static final float TEXT_CULLING_PADDING = 1.0f;
+    // must not be smaller than visible platforms padding, so that all visible objects are up to date
+    private static final float UPDATE_HORIZON_PADDING = VISIBLE_PLATFORMS_AREA_PADDING;
     
-    private final Array<RiseSection> mActiveRiseSections;
+    private final ActiveRiseSectionWindow mActiveRiseSectionWindow;
+    private PlatformIndex mPlatformIndex;
     private final Array<PlatformBase> mVisiblePlatforms;
     private final Array<EnemyBase> mVisibleEnemies;
     private final Array<ItemBase> mVisibleItems;
     
+    private final CollisionGrid<EnemyBase> mEnemyCollisionGrid;
+    private final CollisionGrid<ItemBase> mItemCollisionGrid;
+    
     private final PlatformToCharCollisionData mPlatformToCharCollisionData;
     
-    public GameActiveAreaObjects() {
-        mActiveRiseSections = new Array<RiseSection>(true, ACTIVE_RISE_SECTIONS_INITIAL_CAPACITY);
+    private final TimerWheel mTimerWheel;
+    private RiseSectionEntryListener mRiseSectionEntryListener;
+    
+    private int mDrawnObjectCount;
+    private int mCulledObjectCount;
+    
+    private float mGameTime;
+    private float mUpdateHorizonLower;
+    private float mUpdateHorizonUpper;
+    
+    public GameActiveAreaObjects(TimerWheel timerWheel) {
+        mTimerWheel = timerWheel;
+        
+        mActiveRiseSectionWindow = new ActiveRiseSectionWindow();
         mVisiblePlatforms = new Array<PlatformBase>(true, VISIBLE_PLATFORMS_INITIAL_CAPACITY);
         mVisibleEnemies = new Array<EnemyBase>(true, VISIBLE_ENEMIES_INITIAL_CAPACITY);
         mVisibleItems = new Array<ItemBase>(true, VISIBLE_ITEMS_INITIAL_CAPACITY);
         
+        mEnemyCollisionGrid = new CollisionGrid<EnemyBase>();
+        mItemCollisionGrid = new CollisionGrid<ItemBase>();
+        
         mPlatformToCharCollisionData = new PlatformToCharCollisionData();
     }
     
-    public void render(SpriteBatch batch) {
+    public void reset(Rise rise) {
+        mActiveRiseSectionWindow.reset(rise);
+        mPlatformIndex = rise.getPlatformIndex();
+        mVisiblePlatforms.clear();
+        mVisibleEnemies.clear();
+        mVisibleItems.clear();
+        mEnemyCollisionGrid.clear();
+        mItemCollisionGrid.clear();
+        mGameTime = 0.0f;
+    }
+    
+    public void writeState(StateWriter writer) {
+        writer.writeFloat(mGameTime);
+        mActiveRiseSectionWindow.writeState(writer);
+        
+        Array<RiseSection> activeRiseSections = mActiveRiseSectionWindow.getActiveRiseSections();
+        for (int i = 0; i < activeRiseSections.size; i++) {
+            activeRiseSections.get(i).writeState(writer);
+        }
+    }
+    
+    // objects of active sections are activated as usual, and then get their saved state over the initial one
+    public void readState(StateReader reader, float visibleAreaPosition) {
+        mGameTime = reader.readFloat();
+        mActiveRiseSectionWindow.readState(reader);
+        
+        mVisibleEnemies.clear();
+        mVisibleItems.clear();
+        mEnemyCollisionGrid.clear();
+        mItemCollisionGrid.clear();
+        
+        Array<RiseSection> activeRiseSections = mActiveRiseSectionWindow.getActiveRiseSections();
+        for (int i = 0; i < activeRiseSections.size; i++) {
+            RiseSection riseSection = activeRiseSections.get(i);
+            activate(riseSection);
+            riseSection.readState(reader);
+            
+            mVisibleEnemies.addAll(riseSection.getEnemies());
+            mVisibleItems.addAll(riseSection.getItems());
+            mEnemyCollisionGrid.addAll(riseSection.getEnemies());
+            mItemCollisionGrid.addAll(riseSection.getItems());
+        }
+        
+        updateVisiblePlatforms(visibleAreaPosition);
+    }
+    
+    public void render(SpriteBatch batch, Rectangle cameraRect, float alpha) {
+        mDrawnObjectCount = 0;
+        mCulledObjectCount = 0;
+        
         for (PlatformBase platform : mVisiblePlatforms) {
-            platform.render(batch);
+            platform.render(batch, alpha);
         }
         
         for (EnemyBase enemy : mVisibleEnemies) {
-            enemy.render(batch);
+            if (cameraRect.overlaps(enemy.getRenderBounds())) {
+                enemy.render(batch, alpha);
+                mDrawnObjectCount++;
+            } else {
+                mCulledObjectCount++;
+            }
         }
         
         for (ItemBase item : mVisibleItems) {
-            item.render(batch);
+            if (cameraRect.overlaps(item.getRenderBounds())) {
+                item.render(batch, alpha);
+                mDrawnObjectCount++;
+            } else {
+                mCulledObjectCount++;
+            }
         }
     }
     
-    public void renderText(SpriteBatch batch, float visibleAreaPosition, BitmapFont itemFont) {
+    public void renderText(SpriteBatch batch, Rectangle cameraRect, float visibleAreaPosition, BitmapFont itemFont) {
+        float textCullingLower = cameraRect.y - TEXT_CULLING_PADDING;
+        float textCullingUpper = cameraRect.y + cameraRect.height + TEXT_CULLING_PADDING;
+        
         for (ItemBase item : mVisibleItems) {
-            item.renderText(batch, visibleAreaPosition, itemFont);
+            // text is clamped horizontally to the screen, so it is only culled vertically
+            Rectangle bounds = item.getRenderBounds();
+            if (bounds.y + bounds.height >= textCullingLower && bounds.y <= textCullingUpper) {
+                item.renderText(batch, visibleAreaPosition, itemFont);
+            }
         }
     }
     
-    public void update(Rise rise, GameCharacter character, float visibleAreaPosition, float delta) {
-        upadteActiveAndVisibleObjects(rise, visibleAreaPosition);
+    public void update(GameCharacter character, float visibleAreaPosition, float delta) {
+        upadteActiveAndVisibleObjects(visibleAreaPosition);
+        
+        // objects outside of update horizon are dormant, and are fast-forwarded when they enter it again
+        mUpdateHorizonLower = visibleAreaPosition - UPDATE_HORIZON_PADDING;
+        mUpdateHorizonUpper = visibleAreaPosition + GameArea.GAME_AREA_HEIGHT + UPDATE_HORIZON_PADDING;
+        float updateStartTime = mGameTime;
+        mGameTime = updateStartTime + delta;
         
-        updatePlatforms(character, delta);
-        updateEnemies(character, delta);
-        updateItems(character, delta);
+        updatePlatforms(character, updateStartTime, delta);
+        updateEnemies(character, updateStartTime, delta);
+        updateItems(character, updateStartTime, delta);
     }
     
-    private void upadteActiveAndVisibleObjects(Rise rise, float visibleAreaPosition) {
-        mActiveRiseSections.clear();
-        mVisiblePlatforms.clear();
-        mVisibleEnemies.clear();
-        mVisibleItems.clear();
+    private void upadteActiveAndVisibleObjects(float visibleAreaPosition) {
+        mActiveRiseSectionWindow.update(visibleAreaPosition, visibleAreaPosition + GameArea.GAME_AREA_HEIGHT);
         
-        Array<RiseSection> allRiseSections = rise.getRiseSections();
-        
-        for (RiseSection riseSection : allRiseSections) {
-            if (riseSection.getEndY() > visibleAreaPosition &&
-                    riseSection.getStartY() < visibleAreaPosition + GameArea.GAME_AREA_HEIGHT) {
-                mActiveRiseSections.add(riseSection);
-                
-                Array<PlatformBase> allPlatforms = riseSection.getPlatforms();
-                for (PlatformBase platform : allPlatforms) {
-                    if (platform.isActive(visibleAreaPosition, VISIBLE_PLATFORMS_AREA_PADDING)) {
-                        mVisiblePlatforms.add(platform);
-                    }
-                }
-                
-                Array<EnemyBase> allEnemies = riseSection.getEnemies();
-                for (EnemyBase enemy : allEnemies) {
-                    mVisibleEnemies.add(enemy);
-                }
-                
-                Array<ItemBase> allItems = riseSection.getItems();
-                for (ItemBase item : allItems) {
-                    mVisibleItems.add(item);
+        if (mActiveRiseSectionWindow.isChanged()) {
+            // sections leave the window in the same order they entered it,
+            // so their enemies and items are always at the start of the visible lists
+            for (RiseSection riseSection : mActiveRiseSectionWindow.getLeftRiseSections()) {
+                removeFirst(mVisibleEnemies, riseSection.getEnemies().size);
+                removeFirst(mVisibleItems, riseSection.getItems().size);
+                mEnemyCollisionGrid.removeFirst(riseSection.getEnemies().size);
+                mItemCollisionGrid.removeFirst(riseSection.getItems().size);
+            }
+            
+            Array<RiseSection> enteredRiseSections = mActiveRiseSectionWindow.getEnteredRiseSections();
+            int firstEnteredIndex = mActiveRiseSectionWindow.getHead() - enteredRiseSections.size;
+            for (int i = 0; i < enteredRiseSections.size; i++) {
+                RiseSection riseSection = enteredRiseSections.get(i);
+                activate(riseSection);
+                if (mRiseSectionEntryListener != null) {
+                    mRiseSectionEntryListener.onRiseSectionEntered(riseSection, firstEnteredIndex + i);
                 }
+                mVisibleEnemies.addAll(riseSection.getEnemies());
+                mVisibleItems.addAll(riseSection.getItems());
+                mEnemyCollisionGrid.addAll(riseSection.getEnemies());
+                mItemCollisionGrid.addAll(riseSection.getItems());
+            }
+        }
+        
+        updateVisiblePlatforms(visibleAreaPosition);
+    }
+    
+    private void updateVisiblePlatforms(float visibleAreaPosition) {
+        mVisiblePlatforms.clear();
+        float activeRangeLower = visibleAreaPosition - PlatformData.PLATFORM_HEIGHT - VISIBLE_PLATFORMS_AREA_PADDING;
+        float activeRangeUpper = visibleAreaPosition + GameArea.GAME_AREA_HEIGHT + VISIBLE_PLATFORMS_AREA_PADDING;
+        mPlatformIndex.getPlatforms(activeRangeLower, activeRangeUpper, mVisiblePlatforms);
+        
+        // index is built on movement ranges, so exact current positions still need to be checked
+        int visiblePlatformCount = 0;
+        for (int i = 0; i < mVisiblePlatforms.size; i++) {
+            PlatformBase platform = mVisiblePlatforms.get(i);
+            if (platform.isActive(visibleAreaPosition, VISIBLE_PLATFORMS_AREA_PADDING)) {
+                mVisiblePlatforms.set(visiblePlatformCount, platform);
+                visiblePlatformCount++;
             }
         }
+        mVisiblePlatforms.truncate(visiblePlatformCount);
+    }
+    
+    // objects of newly active section start counting their time from the moment section becomes active
+    private void activate(RiseSection riseSection) {
+        for (PlatformBase platform : riseSection.getPlatforms()) {
+            platform.activate(mGameTime, mTimerWheel);
+        }
+        
+        for (EnemyBase enemy : riseSection.getEnemies()) {
+            enemy.activate(mGameTime);
+        }
+        
+        for (ItemBase item : riseSection.getItems()) {
+            item.activate(mGameTime, mTimerWheel);
+        }
     }
     
-    private void updatePlatforms(GameCharacter character, float delta) {
+    private void updatePlatforms(GameCharacter character, float updateStartTime, float delta) {
         Vector2 c1 = Pools.obtainVector();
         Vector2 c2 = Pools.obtainVector();
         mPlatformToCharCollisionData.reset();
@@ -133,10 +261,16 @@ final class GameActiveAreaObjects {
         // only check for collision when character is going down
         mPlatformToCharCollisionData.isEnabled = character.getSpeed().y < 0.0f;
         
-        for (RiseSection riseSection : mActiveRiseSections) {
+        for (RiseSection riseSection : mActiveRiseSectionWindow.getActiveRiseSections()) {
+            // periodic movements are cheap to advance in a batch, so they are never dormant
+            riseSection.getPlatformMovementStore().update(delta);
+            
             Array<PlatformBase> platforms = riseSection.getPlatforms();
             for (PlatformBase platform : platforms) {
-                platform.update(delta, c1, c2, mPlatformToCharCollisionData);
+                float platformMaxY = platform.getMaxPositionY() + PlatformData.PLATFORM_HEIGHT;
+                if (isInUpdateHorizon(platform.getMinPositionY(), platformMaxY)) {
+                    platform.update(updateStartTime, delta, c1, c2, mPlatformToCharCollisionData);
+                }
             }
         }
         
@@ -144,26 +278,49 @@ final class GameActiveAreaObjects {
         Pools.freeVector(c2);
     }
     
-    private void updateEnemies(GameCharacter character, float delta) {
-        for (RiseSection riseSection : mActiveRiseSections) {
+    private void updateEnemies(GameCharacter character, float updateStartTime, float delta) {
+        for (RiseSection riseSection : mActiveRiseSectionWindow.getActiveRiseSections()) {
             Array<EnemyBase> enemies = riseSection.getEnemies();
             for (EnemyBase enemy : enemies) {
-                enemy.update(delta);
+                Rectangle bounds = enemy.getRenderBounds();
+                if (isInUpdateHorizon(bounds.y, bounds.y + bounds.height)) {
+                    enemy.update(updateStartTime, delta);
+                }
             }
         }
+        
+        mEnemyCollisionGrid.update();
     }
     
-    private void updateItems(GameCharacter character, float delta) {
-        for (RiseSection riseSection : mActiveRiseSections) {
+    private void updateItems(GameCharacter character, float updateStartTime, float delta) {
+        for (RiseSection riseSection : mActiveRiseSectionWindow.getActiveRiseSections()) {
             Array<ItemBase> items = riseSection.getItems();
             for (ItemBase item : items) {
-                item.update(delta);
+                Rectangle bounds = item.getRenderBounds();
+                if (isInUpdateHorizon(bounds.y, bounds.y + bounds.height)) {
+                    item.update(updateStartTime, delta);
+                }
             }
         }
+        
+        mItemCollisionGrid.update();
+    }
+    
+    private boolean isInUpdateHorizon(float lowerY, float upperY) {
+        return upperY >= mUpdateHorizonLower && lowerY <= mUpdateHorizonUpper;
+    }
+    
+    public void setRiseSectionEntryListener(RiseSectionEntryListener riseSectionEntryListener) {
+        mRiseSectionEntryListener = riseSectionEntryListener;
     }
     
     public Array<RiseSection> getActiveRiseSections() {
-        return mActiveRiseSections;
+        return mActiveRiseSectionWindow.getActiveRiseSections();
+    }
+    
+    // sections below this one are not active any more
+    public int getLowestActiveRiseSectionIndex() {
+        return mActiveRiseSectionWindow.getTail();
     }
     
     public Array<PlatformBase> getVisiblePlatforms() {
@@ -178,8 +335,34 @@ final class GameActiveAreaObjects {
         return mVisibleItems;
     }
     
+    public CollisionGrid<EnemyBase> getEnemyCollisionGrid() {
+        return mEnemyCollisionGrid;
+    }
+    
+    public CollisionGrid<ItemBase> getItemCollisionGrid() {
+        return mItemCollisionGrid;
+    }
+    
+    public int getDrawnObjectCount() {
+        return mDrawnObjectCount;
+    }
+    
+    public int getCulledObjectCount() {
+        return mCulledObjectCount;
+    }
+    
     public PlatformToCharCollisionData getPlatformToCharCollisionData() {
         return mPlatformToCharCollisionData;
     }
     
+    private static <T> void removeFirst(Array<T> array, int count) {
+        if (count <= 0) {
+            return;
+        }
+        
+        int remaining = array.size - count;
+        System.arraycopy(array.items, count, array.items, 0, remaining);
+        array.truncate(remaining);
+    }
+    
 }
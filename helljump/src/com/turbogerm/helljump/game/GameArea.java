@@ -23,11 +23,17 @@
  */
 package com.turbogerm.helljump.game;
 
+import java.io.OutputStream;
+
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.game.GameBase;
+import com.turbogerm.germlibrary.util.GameRandom;
+import com.turbogerm.germlibrary.util.Logger;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.CameraData;
 import com.turbogerm.helljump.HellJump;
 import com.turbogerm.helljump.debug.DebugData;
@@ -35,7 +41,13 @@ import com.turbogerm.helljump.game.background.EndBackgroundScene;
 import com.turbogerm.helljump.game.background.GameBackground;
 import com.turbogerm.helljump.game.background.GameForeground;
 import com.turbogerm.helljump.game.character.GameCharacter;
+import com.turbogerm.helljump.game.generator.PreparedRise;
 import com.turbogerm.helljump.game.generator.RiseGenerator;
+import com.turbogerm.helljump.game.input.GameInputSource;
+import com.turbogerm.helljump.game.replay.ReplayFormat;
+import com.turbogerm.helljump.game.replay.ReplayRecorder;
+import com.turbogerm.helljump.game.snapshot.SnapshotFormat;
+import com.turbogerm.helljump.resources.LoadedGameAssets;
 
 public final class GameArea {
     
@@ -44,84 +56,139 @@ public final class GameArea {
     
     public static final float GAME_AREA_WIDTH_OFFSETS = GAME_AREA_WIDTH / GameAreaUtils.OFFSET_WIDTH;
     
-    private static final float CHARACTER_POSITION_AREA_FRACTION = 0.4f;
-    private static final float VISIBLE_AREA_MINIMUM_DISTANCE_TO_RISE = 2.0f;
-    
     private static final float END_BACKGROUND_APPEARANCE_DISTANCE_FROM_END = 10.0f + GAME_AREA_HEIGHT;
     private static final float GAME_BACKGROUND_VANISHING_DISTANCE_FROM_END = 3.0f;
     
+    // background colors of an endless rise go through the spectrum and back over this height
+    private static final float ENDLESS_SPECTRUM_HEIGHT = 1000.0f;
+    
     private static final int SPRITE_BATCH_SIZE = 100;
     
-    private final AssetManager mAssetManager;
+    private static final float REWIND_DURATION = 5.0f;
+    private static final int REWIND_BUFFER_CAPACITY = 512 * 1024;
+    private static final int REWIND_KEYFRAME_INTERVAL = 30;
+    
     private final SpriteBatch mBatch;
     private final DebugData mDebugData;
     private final BitmapFont mItemFont;
     private final CameraData mCameraData;
     
-    private Rise mRise;
-    private float mRiseHeight;
-    
-    private int mRiseScore;
-    
-    private float mVisibleAreaPosition;
-    private final GameCharacter mCharacter;
-    private final GameActiveAreaObjects mActiveAreaObjects;
-    
-    private boolean mIsGameOver;
+    private final GameSimulation mGameSimulation;
+    private final GameInputSource mInputSource;
+    private final ReplayRecorder mReplayRecorder;
+    private final RewindBuffer mRewindBuffer;
     
     private final GameBackground mGameBackground;
     private final EndBackgroundScene mEndBackgroundScene;
     private final GameForeground mGameForeground;
     
-    public GameArea(CameraData cameraData, AssetManager assetManager, BitmapFont itemFont) {
+    public GameArea(CameraData cameraData, AssetManager assetManager, BitmapFont itemFont,
+            GameInputSource inputSource) {
         
-        mAssetManager = assetManager;
         mBatch = new SpriteBatch(SPRITE_BATCH_SIZE);
         mDebugData = new DebugData();
         mItemFont = itemFont;
         mCameraData = cameraData;
         
-        mCharacter = new GameCharacter(mCameraData, mAssetManager);
-        mActiveAreaObjects = new GameActiveAreaObjects();
+        mGameSimulation = new GameSimulation(mCameraData, new LoadedGameAssets(assetManager));
+        mInputSource = inputSource;
+        mReplayRecorder = new ReplayRecorder();
+        mRewindBuffer = new RewindBuffer(mGameSimulation, (int) (REWIND_DURATION / GameBase.UPDATE_STEP),
+                REWIND_BUFFER_CAPACITY, REWIND_KEYFRAME_INTERVAL);
         
         mGameBackground = new GameBackground(
                 GameAreaUtils.getBackgroundColorSpectrum(), true, mCameraData, assetManager);
         mEndBackgroundScene = new EndBackgroundScene(cameraData, assetManager);
-        mGameForeground = new GameForeground(mCameraData, mAssetManager);
+        mGameForeground = new GameForeground(mCameraData, assetManager);
         
-        reset();
+        resetRenderLayer();
     }
     
-    public void reset() {
-        mIsGameOver = false;
-        
-        mRise = RiseGenerator.generate(mAssetManager);
-        mRiseHeight = mRise.getHeight();
-        
-        mRiseScore = 0;
-        
-        mVisibleAreaPosition = 0.0f;
-        mCharacter.reset(mRiseHeight);
+    public void reset(boolean isEndless) {
+        mGameSimulation.reset(isEndless);
+        resetGame();
+    }
+    
+    public void reset(PreparedRise preparedRise) {
+        mGameSimulation.reset(preparedRise);
+        resetGame();
+    }
+    
+    private void resetGame() {
+        mInputSource.reset();
+        mRewindBuffer.reset();
+        resetRenderLayer();
+    }
+    
+    // recording covers the rise generated by the last reset
+    public void startRecording(OutputStream outputStream) {
+        mReplayRecorder.start(outputStream, mGameSimulation.getRiseSeed(), mGameSimulation.isEndless(),
+                RiseGenerator.GENERATOR_VERSION, GameSimulation.SIMULATION_VERSION);
+    }
+    
+    public void finishRecording() {
+        mReplayRecorder.finish(mGameSimulation.getScore());
+    }
+    
+    public void writeSnapshot(StateWriter writer) {
+        SnapshotFormat.write(mGameSimulation, writer);
+    }
+    
+    // game that failed to restore is started anew
+    public boolean restoreSnapshot(byte[] snapshot) {
+        try {
+            StateReader reader = new StateReader();
+            reader.setData(snapshot, 0, snapshot.length);
+            SnapshotFormat.read(mGameSimulation, reader);
+        } catch (RuntimeException e) {
+            Logger.error("Failed to restore snapshot: %s", e.getMessage());
+            reset(false);
+            return false;
+        }
         
-        mEndBackgroundScene.reset(mRiseHeight);
-        mGameForeground.reset(mRiseHeight);
+        mInputSource.reset();
+        mRewindBuffer.reset();
+        resetRenderLayer();
+        mGameBackground.setSpectrumFraction(getSpectrumFraction());
+        return true;
+    }
+    
+    public int getNumRewindFrames() {
+        return mRewindBuffer.getNumFrames();
+    }
+    
+    // rewound game no longer follows the recorded input, so recording ends with the game as it was
+    public void rewind(int numFramesBack) {
+        finishRecording();
+        mRewindBuffer.rewind(numFramesBack);
+        mGameBackground.setSpectrumFraction(getSpectrumFraction());
+    }
+    
+    private void resetRenderLayer() {
+        float riseHeight = mGameSimulation.getRiseHeight();
+        GameRandom cosmeticRandom = mGameSimulation.getRandomStreams().getCosmeticRandom();
+        mEndBackgroundScene.reset(riseHeight, cosmeticRandom);
+        mGameForeground.reset(riseHeight, cosmeticRandom);
     }
     
     public void update(float delta) {
         
-        mIsGameOver = mCharacter.isFinished();
-        if (mIsGameOver) {
+        // simulation gets quantized input, so replay of the recorded input reproduces the game exactly
+        int quantizedHorizontalSpeed = ReplayFormat.quantizeHorizontalSpeed(
+                mInputSource.getHorizontalSpeed(mGameSimulation));
+        mReplayRecorder.record(quantizedHorizontalSpeed);
+        
+        mGameSimulation.update(ReplayFormat.dequantizeHorizontalSpeed(quantizedHorizontalSpeed), delta);
+        if (mGameSimulation.isGameOver()) {
+            finishRecording();
             return;
         }
         
-        float horizontalSpeed = GameInput.getHorizontalSpeed();
+        mRewindBuffer.capture();
+        // rise sections still needed to rewind are kept by the simulation
+        mGameSimulation.setRetainedRiseSectionIndex(mRewindBuffer.getLowestRetainedRiseSectionIndex());
         
-        updateGameArea(horizontalSpeed, delta);
-        
-        float effectiveCharPositionY = Math.min(mCharacter.getPosition().y, mRiseHeight);
-        mRiseScore = Math.max(mRiseScore, (int) (effectiveCharPositionY * GameAreaUtils.METER_TO_PIXEL));
-        
-        mGameBackground.setSpectrumFraction(mVisibleAreaPosition / mRiseHeight);
+        mGameBackground.setSpectrumFraction(getSpectrumFraction());
         
         if (isEndBackgroundVisible()) {
             mEndBackgroundScene.update(delta);
@@ -129,66 +196,66 @@ public final class GameArea {
         
     }
     
-    public void render() {
+    public void render(float alpha) {
+        
+        // simulation doesn't advance after game is over, so there is nothing to interpolate
+        if (mGameSimulation.isGameOver()) {
+            alpha = 1.0f;
+        }
+        
+        float visibleAreaPosition = mGameSimulation.getVisibleAreaPosition(alpha);
+        GameActiveAreaObjects activeAreaObjects = mGameSimulation.getActiveAreaObjects();
+        GameCharacter character = mGameSimulation.getCharacter();
         
-        mCameraData.setGameAreaPosition(mVisibleAreaPosition);
+        mCameraData.setGameAreaPosition(visibleAreaPosition);
         mBatch.setProjectionMatrix(mCameraData.getGameAreaMatrix());
         mBatch.begin();
         
         if (isGameBackgroundVisible()) {
-            mGameBackground.render(mBatch, mVisibleAreaPosition);
+            mGameBackground.render(mBatch, visibleAreaPosition);
         }
         if (isEndBackgroundVisible()) {
             mEndBackgroundScene.render(mBatch);
         }
         
-        mActiveAreaObjects.render(mBatch);
-        mCharacter.render(mBatch);
+        activeAreaObjects.render(mBatch, mCameraData.getGameAreaCameraRect(), alpha);
+        character.render(mBatch, alpha);
         
-        mGameForeground.render(mBatch, mVisibleAreaPosition, mGameBackground.getBackgroundColor());
+        mGameForeground.render(mBatch, visibleAreaPosition, mGameBackground.getBackgroundColor());
         mBatch.end();
         
         // TODO: for debugging, remove
-        mDebugData.update(mBatch, getCurrentRiseSection(), mCharacter);
+        mDebugData.update(mBatch, activeAreaObjects.getDrawnObjectCount(), activeAreaObjects.getCulledObjectCount(),
+                getCurrentRiseSection(), character);
         
         mBatch.setProjectionMatrix(mCameraData.getGuiMatrix());
         mBatch.begin();
-        mActiveAreaObjects.renderText(mBatch, mVisibleAreaPosition, mItemFont);
+        activeAreaObjects.renderText(mBatch, mCameraData.getGameAreaCameraRect(), visibleAreaPosition, mItemFont);
         mBatch.end();
     }
     
-    private void updateGameArea(float horizontalSpeed, float delta) {
-        
-        mActiveAreaObjects.update(mRise, mCharacter, mVisibleAreaPosition, delta);
-        
-        mCharacter.update(
-                horizontalSpeed,
-                mActiveAreaObjects.getPlatformToCharCollisionData(),
-                mActiveAreaObjects.getActiveRiseSections(),
-                mActiveAreaObjects.getVisiblePlatforms(),
-                mActiveAreaObjects.getVisibleEnemies(),
-                mActiveAreaObjects.getVisibleItems(),
-                mVisibleAreaPosition,
-                delta);
+    private float getSpectrumFraction() {
+        if (mGameSimulation.isEndless()) {
+            float fraction = (getVisibleAreaPosition() / ENDLESS_SPECTRUM_HEIGHT) % 2.0f;
+            return fraction <= 1.0f ? fraction : 2.0f - fraction;
+        }
         
-        mVisibleAreaPosition = MathUtils.clamp(
-                mCharacter.getPosition().y - GAME_AREA_HEIGHT * CHARACTER_POSITION_AREA_FRACTION,
-                mVisibleAreaPosition, mRiseHeight - VISIBLE_AREA_MINIMUM_DISTANCE_TO_RISE);
+        return getVisibleAreaPosition() / getRiseHeight();
     }
     
     private boolean isGameBackgroundVisible() {
-        return mVisibleAreaPosition <= mRiseHeight - GAME_BACKGROUND_VANISHING_DISTANCE_FROM_END;
+        return getVisibleAreaPosition() <= getRiseHeight() - GAME_BACKGROUND_VANISHING_DISTANCE_FROM_END;
     }
     
     private boolean isEndBackgroundVisible() {
-        return mVisibleAreaPosition >= mRiseHeight - END_BACKGROUND_APPEARANCE_DISTANCE_FROM_END;
+        return getVisibleAreaPosition() >= getRiseHeight() - END_BACKGROUND_APPEARANCE_DISTANCE_FROM_END;
     }
     
     // TODO: only for debugging
     private RiseSection getCurrentRiseSection() {
-        Array<RiseSection> allRiseSections = mRise.getRiseSections();
+        Array<RiseSection> allRiseSections = mGameSimulation.getRise().getRiseSections();
         
-        float characterY = mCharacter.getPosition().y;
+        float characterY = mGameSimulation.getCharacter().getPosition().y;
         for (RiseSection riseSection : allRiseSections) {
             if (riseSection.getStartY() <= characterY && characterY < riseSection.getEndY()) {
                 return riseSection;
@@ -199,23 +266,27 @@ public final class GameArea {
     }
     
     public int getScore() {
-        return mRiseScore + mCharacter.getScore();
+        return mGameSimulation.getScore();
     }
     
     public int getLives() {
-        return mCharacter.getLives();
+        return mGameSimulation.getLives();
     }
     
     public boolean isGameOver() {
-        return mIsGameOver;
+        return mGameSimulation.isGameOver();
+    }
+    
+    public boolean isEndless() {
+        return mGameSimulation.isEndless();
     }
     
     public float getRiseHeight() {
-        return mRiseHeight;
+        return mGameSimulation.getRiseHeight();
     }
     
     public float getVisibleAreaPosition() {
-        return mVisibleAreaPosition;
+        return mGameSimulation.getVisibleAreaPosition();
     }
     
     public DebugData getDebugData() {
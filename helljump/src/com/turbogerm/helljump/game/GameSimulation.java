@@ -0,0 +1,267 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.ExceptionThrower;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.TimerWheel;
+import com.turbogerm.helljump.CameraData;
+import com.turbogerm.helljump.game.character.GameCharacter;
+import com.turbogerm.helljump.game.generator.PreparedRise;
+import com.turbogerm.helljump.game.generator.RiseGenerator;
+import com.turbogerm.helljump.game.platforms.PlatformBase;
+import com.turbogerm.helljump.resources.GameAssets;
+
+// complete game logic, without anything that needs to be rendered; with headless assets it runs without GL context
+public final class GameSimulation {
+    
+    // has to be increased whenever the same rise and input would play out differently, because replays depend on it
+    public static final int SIMULATION_VERSION = 1;
+    
+    private static final float CHARACTER_POSITION_AREA_FRACTION = 0.4f;
+    private static final float VISIBLE_AREA_MINIMUM_DISTANCE_TO_RISE = 2.0f;
+    // has to reach further than any platform can move down from its section
+    private static final float RISE_SECTION_CREATION_DISTANCE = GameArea.GAME_AREA_HEIGHT;
+    // sections that start below this height above the visible area position are created
+    public static final float RISE_SECTION_CREATION_HEIGHT = GameArea.GAME_AREA_HEIGHT + RISE_SECTION_CREATION_DISTANCE;
+    
+    private static final float TIMER_WHEEL_TICK_DURATION = 1.0f / 60.0f;
+    private static final int TIMER_WHEEL_SLOT_COUNT = 256;
+    
+    private final GameAssets mGameAssets;
+    private final RandomStreams mRandomStreams;
+    
+    private long mRiseSeed;
+    private boolean mIsEndless;
+    private Rise mRise;
+    private float mRiseHeight;
+    
+    private int mRiseScore;
+    
+    private float mVisibleAreaPosition;
+    private float mPreviousVisibleAreaPosition;
+    private final TimerWheel mTimerWheel;
+    private final GameCharacter mCharacter;
+    private final GameActiveAreaObjects mActiveAreaObjects;
+    private int mRetainedRiseSectionIndex;
+    
+    private boolean mIsGameOver;
+    
+    public GameSimulation(CameraData cameraData, GameAssets gameAssets) {
+        mGameAssets = gameAssets;
+        mRandomStreams = new RandomStreams(0L);
+        
+        mTimerWheel = new TimerWheel(TIMER_WHEEL_TICK_DURATION, TIMER_WHEEL_SLOT_COUNT);
+        mCharacter = new GameCharacter(cameraData, mTimerWheel, mGameAssets, mRandomStreams.getCosmeticRandom());
+        mActiveAreaObjects = new GameActiveAreaObjects(mTimerWheel);
+        
+        reset(false);
+    }
+    
+    // global random is only used to pick seeds of new games
+    public void reset(boolean isEndless) {
+        reset(MathUtils.random.nextLong(), isEndless);
+    }
+    
+    // rise is generated from the seed, so the same seed and the same input always produce the same game
+    public void reset(long riseSeed, boolean isEndless) {
+        reset(RiseGenerator.prepare(riseSeed, isEndless, 0.0f));
+    }
+    
+    public void reset(PreparedRise preparedRise) {
+        mIsGameOver = false;
+        
+        mRiseSeed = preparedRise.getRiseSeed();
+        mIsEndless = preparedRise.isEndless();
+        mRandomStreams.set(preparedRise.getRandomStreams());
+        mRise = new Rise(preparedRise.getRiseSectionSource(), mGameAssets);
+        mRiseHeight = mRise.getHeight();
+        mRetainedRiseSectionIndex = Integer.MAX_VALUE;
+        
+        mVisibleAreaPosition = 0.0f;
+        mPreviousVisibleAreaPosition = 0.0f;
+        
+        createRiseSections();
+        mTimerWheel.reset();
+        mActiveAreaObjects.reset(mRise);
+        
+        mRiseScore = 0;
+        
+        mCharacter.reset(mRiseHeight);
+    }
+    
+    public void writeState(StateWriter writer) {
+        writer.writeLong(mRiseSeed);
+        writer.writeBoolean(mIsEndless);
+        writer.writeBoolean(mIsGameOver);
+        writer.writeInt(mRiseScore);
+        writer.writeFloat(mVisibleAreaPosition);
+        writer.writeFloat(mPreviousVisibleAreaPosition);
+        mTimerWheel.writeState(writer);
+        mCharacter.writeState(writer);
+        mActiveAreaObjects.writeState(writer);
+        mRandomStreams.writeState(writer);
+    }
+    
+    // rise is generated again from the saved seed, so only state that changed during the game is read
+    public void readState(StateReader reader) {
+        long riseSeed = reader.readLong();
+        reset(riseSeed, reader.readBoolean());
+        readRiseState(reader, true);
+    }
+    
+    // state was saved earlier in the same game, so the rise is kept; sections that entered active area
+    // after the state was saved must already be back in the state they had when they entered
+    public void rewindState(StateReader reader) {
+        long riseSeed = reader.readLong();
+        if (riseSeed != mRiseSeed) {
+            ExceptionThrower.throwException("Rewound state belongs to another rise: %d", riseSeed);
+        }
+        if (reader.readBoolean() != mIsEndless) {
+            ExceptionThrower.throwException("Rewound state belongs to another rise mode");
+        }
+        readRiseState(reader, false);
+    }
+    
+    // sections up to the saved position are created before the state of active ones is read; in a new rise
+    // sections that already left the window when the state was saved aren't created at all, they ended below
+    // the position from which the window was last updated
+    private void readRiseState(StateReader reader, boolean isNewRise) {
+        mIsGameOver = reader.readBoolean();
+        mRiseScore = reader.readInt();
+        mVisibleAreaPosition = reader.readFloat();
+        mPreviousVisibleAreaPosition = reader.readFloat();
+        if (isNewRise) {
+            mRise.dropRiseSectionsBelow(mPreviousVisibleAreaPosition);
+        }
+        createRiseSections();
+        mTimerWheel.readState(reader);
+        mCharacter.readState(reader);
+        // visible platforms were last found before the last update, from the previous position
+        mActiveAreaObjects.readState(reader, mPreviousVisibleAreaPosition);
+        mRandomStreams.readState(reader);
+    }
+    
+    public void update(float horizontalSpeed, float delta) {
+        
+        mIsGameOver = mCharacter.isFinished();
+        if (mIsGameOver) {
+            return;
+        }
+        
+        mPreviousVisibleAreaPosition = mVisibleAreaPosition;
+        
+        createRiseSections();
+        mTimerWheel.update(delta);
+        mActiveAreaObjects.update(mCharacter, mVisibleAreaPosition, delta);
+        mRise.dropRiseSections(Math.min(
+                mActiveAreaObjects.getLowestActiveRiseSectionIndex(), mRetainedRiseSectionIndex));
+        
+        mCharacter.update(
+                horizontalSpeed,
+                mActiveAreaObjects.getPlatformToCharCollisionData(),
+                mActiveAreaObjects.getActiveRiseSections(),
+                mActiveAreaObjects.getVisiblePlatforms(),
+                mActiveAreaObjects.getEnemyCollisionGrid(),
+                mActiveAreaObjects.getItemCollisionGrid(),
+                mVisibleAreaPosition,
+                delta);
+        
+        mVisibleAreaPosition = MathUtils.clamp(
+                mCharacter.getPosition().y - GameArea.GAME_AREA_HEIGHT * CHARACTER_POSITION_AREA_FRACTION,
+                mVisibleAreaPosition, mRiseHeight - VISIBLE_AREA_MINIMUM_DISTANCE_TO_RISE);
+        
+        float effectiveCharPositionY = Math.min(mCharacter.getPosition().y, mRiseHeight);
+        mRiseScore = Math.max(mRiseScore, (int) (effectiveCharPositionY * GameAreaUtils.METER_TO_PIXEL));
+    }
+    
+    // every section draws from its own random streams, so the moment of its creation doesn't change the game
+    private void createRiseSections() {
+        mRise.createRiseSections(mVisibleAreaPosition + RISE_SECTION_CREATION_HEIGHT);
+    }
+    
+    // sections that left the active area are dropped, unless something may still return to them
+    public void setRetainedRiseSectionIndex(int riseSectionIndex) {
+        mRetainedRiseSectionIndex = riseSectionIndex;
+    }
+    
+    public void setRiseSectionEntryListener(RiseSectionEntryListener riseSectionEntryListener) {
+        mActiveAreaObjects.setRiseSectionEntryListener(riseSectionEntryListener);
+    }
+    
+    public int getScore() {
+        return mRiseScore + mCharacter.getScore();
+    }
+    
+    public int getLives() {
+        return mCharacter.getLives();
+    }
+    
+    public boolean isGameOver() {
+        return mIsGameOver;
+    }
+    
+    public long getRiseSeed() {
+        return mRiseSeed;
+    }
+    
+    public boolean isEndless() {
+        return mIsEndless;
+    }
+    
+    public RandomStreams getRandomStreams() {
+        return mRandomStreams;
+    }
+    
+    public Rise getRise() {
+        return mRise;
+    }
+    
+    public float getRiseHeight() {
+        return mRiseHeight;
+    }
+    
+    public float getVisibleAreaPosition() {
+        return mVisibleAreaPosition;
+    }
+    
+    public float getVisibleAreaPosition(float alpha) {
+        return mPreviousVisibleAreaPosition + (mVisibleAreaPosition - mPreviousVisibleAreaPosition) * alpha;
+    }
+    
+    public GameCharacter getCharacter() {
+        return mCharacter;
+    }
+    
+    public Array<PlatformBase> getVisiblePlatforms() {
+        return mActiveAreaObjects.getVisiblePlatforms();
+    }
+    
+    GameActiveAreaObjects getActiveAreaObjects() {
+        return mActiveAreaObjects;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+public final class MotionUtils {
+    
+    private static final float RIGHT_ANGLE = 90.0f;
+    private static final float FULL_ANGLE = 360.0f;
+    
+    // distance travelled back and forth over range is folded into offset from range start
+    public static float getPingPongOffset(float distance, float range) {
+        if (range <= 0.0f) {
+            return 0.0f;
+        }
+        
+        float cycleDistance = distance % (2.0f * range);
+        return cycleDistance <= range ? cycleDistance : 2.0f * range - cycleDistance;
+    }
+    
+    public static boolean isPingPongForward(float distance, float range) {
+        return range <= 0.0f || distance % (2.0f * range) < range;
+    }
+    
+    // x is minimum and y is maximum offset reached while travelling from start to end distance
+    public static Vector2 getPingPongExtent(float startDistance, float endDistance, float range, Vector2 extent) {
+        if (range <= 0.0f) {
+            return extent.set(0.0f, 0.0f);
+        }
+        
+        if (endDistance - startDistance >= 2.0f * range) {
+            return extent.set(0.0f, range);
+        }
+        
+        float startOffset = getPingPongOffset(startDistance, range);
+        float endOffset = getPingPongOffset(endDistance, range);
+        extent.set(Math.min(startOffset, endOffset), Math.max(startOffset, endOffset));
+        
+        // turning points are at multiples of range, even ones at range start and odd ones at range end
+        long firstTurn = (long) Math.floor(startDistance / range) + 1L;
+        long lastTurn = (long) Math.floor(endDistance / range);
+        for (long turn = firstTurn; turn <= lastTurn; turn++) {
+            if (turn % 2L == 0L) {
+                extent.x = 0.0f;
+            } else {
+                extent.y = range;
+            }
+        }
+        
+        return extent;
+    }
+    
+    // merges into bounds the arc going counterclockwise from start angle, angles are in degrees
+    public static void mergeArcBounds(float centerX, float centerY, float radius,
+            float startAngle, float sweepAngle, Rectangle bounds) {
+        
+        if (sweepAngle >= FULL_ANGLE) {
+            mergePoint(centerX - radius, centerY - radius, bounds);
+            mergePoint(centerX + radius, centerY + radius, bounds);
+            return;
+        }
+        
+        float endAngle = startAngle + sweepAngle;
+        mergePoint(centerX + MathUtils.cosDeg(startAngle) * radius,
+                centerY + MathUtils.sinDeg(startAngle) * radius, bounds);
+        mergePoint(centerX + MathUtils.cosDeg(endAngle) * radius,
+                centerY + MathUtils.sinDeg(endAngle) * radius, bounds);
+        
+        // extremes of the circle are at right angles
+        float angle = (float) Math.ceil(startAngle / RIGHT_ANGLE) * RIGHT_ANGLE;
+        while (angle < endAngle) {
+            int quadrant = (int) Math.floor(angle / RIGHT_ANGLE) & 3;
+            switch (quadrant) {
+                case 0:
+                    mergePoint(centerX + radius, centerY, bounds);
+                    break;
+                case 1:
+                    mergePoint(centerX, centerY + radius, bounds);
+                    break;
+                case 2:
+                    mergePoint(centerX - radius, centerY, bounds);
+                    break;
+                default:
+                    mergePoint(centerX, centerY - radius, bounds);
+                    break;
+            }
+            angle += RIGHT_ANGLE;
+        }
+    }
+    
+    public static void mergePoint(float x, float y, Rectangle bounds) {
+        float minX = Math.min(bounds.x, x);
+        float minY = Math.min(bounds.y, y);
+        float maxX = Math.max(bounds.x + bounds.width, x);
+        float maxY = Math.max(bounds.y + bounds.height, y);
+        bounds.set(minX, minY, maxX - minX, maxY - minY);
+    }
+}
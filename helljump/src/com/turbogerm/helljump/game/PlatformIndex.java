@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.Sorting;
+import com.turbogerm.helljump.game.platforms.PlatformBase;
+
+// platforms of the retained sections of a rise sorted by the lower edge of their vertical movement range
+public final class PlatformIndex {
+    
+    private static final int PLATFORMS_INITIAL_CAPACITY = 200;
+    
+    private static final Comparator<PlatformBase> PLATFORM_MIN_Y_COMPARATOR;
+    
+    private PlatformBase[] mPlatforms;
+    private float[] mMinPositionsY;
+    private float[] mMaxPositionsY;
+    private int mPlatformCount;
+    private float mMaxRangeY;
+    
+    private final Array<PlatformBase> mSortedPlatforms;
+    
+    static {
+        PLATFORM_MIN_Y_COMPARATOR = new Comparator<PlatformBase>() {
+            @Override
+            public int compare(PlatformBase p1, PlatformBase p2) {
+                return Float.compare(p1.getMinPositionY(), p2.getMinPositionY());
+            }
+        };
+    }
+    
+    public PlatformIndex() {
+        mPlatforms = new PlatformBase[PLATFORMS_INITIAL_CAPACITY];
+        mMinPositionsY = new float[PLATFORMS_INITIAL_CAPACITY];
+        mMaxPositionsY = new float[PLATFORMS_INITIAL_CAPACITY];
+        mPlatformCount = 0;
+        mMaxRangeY = 0.0f;
+        
+        mSortedPlatforms = new Array<PlatformBase>(true, PLATFORMS_INITIAL_CAPACITY);
+    }
+    
+    // platforms of a new section are mostly above all existing ones, so they are merged from the top down
+    public void addPlatforms(Array<PlatformBase> platforms) {
+        mSortedPlatforms.clear();
+        mSortedPlatforms.addAll(platforms);
+        Sorting.sort(mSortedPlatforms, PLATFORM_MIN_Y_COMPARATOR);
+        
+        ensureCapacity(mPlatformCount + mSortedPlatforms.size);
+        
+        int existingIndex = mPlatformCount - 1;
+        int addedIndex = mSortedPlatforms.size - 1;
+        int targetIndex = mPlatformCount + mSortedPlatforms.size - 1;
+        while (addedIndex >= 0) {
+            PlatformBase platform = mSortedPlatforms.get(addedIndex);
+            float minPositionY = platform.getMinPositionY();
+            if (existingIndex >= 0 && mMinPositionsY[existingIndex] > minPositionY) {
+                mPlatforms[targetIndex] = mPlatforms[existingIndex];
+                mMinPositionsY[targetIndex] = mMinPositionsY[existingIndex];
+                mMaxPositionsY[targetIndex] = mMaxPositionsY[existingIndex];
+                existingIndex--;
+            } else {
+                float maxPositionY = platform.getMaxPositionY();
+                mPlatforms[targetIndex] = platform;
+                mMinPositionsY[targetIndex] = minPositionY;
+                mMaxPositionsY[targetIndex] = maxPositionY;
+                mMaxRangeY = Math.max(mMaxRangeY, maxPositionY - minPositionY);
+                addedIndex--;
+            }
+            targetIndex--;
+        }
+        
+        mPlatformCount += mSortedPlatforms.size;
+        mSortedPlatforms.clear();
+    }
+    
+    public void removePlatforms(int riseSectionId) {
+        int platformCount = 0;
+        for (int i = 0; i < mPlatformCount; i++) {
+            if (mPlatforms[i].getRiseSectionId() != riseSectionId) {
+                mPlatforms[platformCount] = mPlatforms[i];
+                mMinPositionsY[platformCount] = mMinPositionsY[i];
+                mMaxPositionsY[platformCount] = mMaxPositionsY[i];
+                platformCount++;
+            }
+        }
+        
+        for (int i = platformCount; i < mPlatformCount; i++) {
+            mPlatforms[i] = null;
+        }
+        mPlatformCount = platformCount;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity <= mPlatforms.length) {
+            return;
+        }
+        
+        int newCapacity = Math.max(capacity, mPlatforms.length * 2);
+        PlatformBase[] platforms = new PlatformBase[newCapacity];
+        float[] minPositionsY = new float[newCapacity];
+        float[] maxPositionsY = new float[newCapacity];
+        System.arraycopy(mPlatforms, 0, platforms, 0, mPlatformCount);
+        System.arraycopy(mMinPositionsY, 0, minPositionsY, 0, mPlatformCount);
+        System.arraycopy(mMaxPositionsY, 0, maxPositionsY, 0, mPlatformCount);
+        mPlatforms = platforms;
+        mMinPositionsY = minPositionsY;
+        mMaxPositionsY = maxPositionsY;
+    }
+    
+    // adds all platforms whose vertical movement range overlaps [lowerY, upperY]
+    public void getPlatforms(float lowerY, float upperY, Array<PlatformBase> platforms) {
+        // no platform starting below this can reach lowerY
+        int index = getFirstIndexAtOrAbove(lowerY - mMaxRangeY);
+        
+        while (index < mPlatformCount && mMinPositionsY[index] <= upperY) {
+            if (mMaxPositionsY[index] >= lowerY) {
+                platforms.add(mPlatforms[index]);
+            }
+            index++;
+        }
+    }
+    
+    public int getPlatformCount() {
+        return mPlatformCount;
+    }
+    
+    private int getFirstIndexAtOrAbove(float y) {
+        int low = 0;
+        int high = mPlatformCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mMinPositionsY[mid] < y) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        
+        return low;
+    }
+}
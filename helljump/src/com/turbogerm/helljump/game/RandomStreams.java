@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game;
+
+import com.turbogerm.germlibrary.util.GameRandom;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+
+// gameplay stream decides everything that affects the outcome of the game, and cosmetic stream only what is seen
+// or heard, so visual effects can draw random values without changing rises or replays
+public final class RandomStreams {
+    
+    private static final long COSMETIC_SEED_SALT = 0x2545F4914F6CDD1DL;
+    
+    private final GameRandom mGameplayRandom;
+    private final GameRandom mCosmeticRandom;
+    
+    public RandomStreams(long seed) {
+        mGameplayRandom = new GameRandom(seed);
+        mCosmeticRandom = new GameRandom(seed ^ COSMETIC_SEED_SALT);
+    }
+    
+    public void setSeed(long seed) {
+        mGameplayRandom.setSeed(seed);
+        mCosmeticRandom.setSeed(seed ^ COSMETIC_SEED_SALT);
+    }
+    
+    public void set(RandomStreams randomStreams) {
+        mGameplayRandom.set(randomStreams.mGameplayRandom);
+        mCosmeticRandom.set(randomStreams.mCosmeticRandom);
+    }
+    
+    public void writeState(StateWriter writer) {
+        mGameplayRandom.writeState(writer);
+        mCosmeticRandom.writeState(writer);
+    }
+    
+    public void readState(StateReader reader) {
+        mGameplayRandom.readState(reader);
+        mCosmeticRandom.readState(reader);
+    }
+    
+    public GameRandom getGameplayRandom() {
+        return mGameplayRandom;
+    }
+    
+    public GameRandom getCosmeticRandom() {
+        return mCosmeticRandom;
+    }
+}
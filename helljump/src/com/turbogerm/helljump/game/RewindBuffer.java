@@ -0,0 +1,340 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game;
+
+import com.turbogerm.germlibrary.util.ExceptionThrower;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+
+// recent game states, for rewinding the game tick by tick; every few ticks complete state is kept as a keyframe,
+// and in between only the bytes that differ from the last keyframe; all records share a fixed byte ring, and the
+// oldest ones are dropped to make room, so memory is bounded, and capturing a state doesn't allocate
+final class RewindBuffer implements RiseSectionEntryListener {
+    
+    private static final int KEYFRAME_RECORD = 0;
+    private static final int DELTA_RECORD = 1;
+    // state of a rise section right after it entered active area; rewinding to a tick before that
+    // puts the section back to it, since sections outside of the window aren't part of the saved states
+    private static final int ENTRY_RECORD = 2;
+    
+    private static final int RECORDS_PER_FRAME = 2;
+    
+    private final GameSimulation mGameSimulation;
+    private final int mMaxFrames;
+    private final int mKeyframeInterval;
+    
+    private final byte[] mRing;
+    private int mWritePosition;
+    
+    // records are numbered in the order they were added, and are kept in slots by their number
+    private final int[] mRecordTypes;
+    private final int[] mRecordOffsets;
+    private final int[] mRecordLengths;
+    // lowest active rise section of a keyframe, keyframe number of a delta, or rise section index of an entry
+    private final int[] mRecordValues;
+    private int mFirstRecord;
+    private int mEndRecord;
+    private int mNumFrames;
+    
+    private int mKeyframeRecord;
+    private int mFramesSinceKeyframe;
+    // later records are dropped once the game continues from the rewound state
+    private int mRewoundRecord;
+    
+    private final StateWriter mStateWriter;
+    private final StateWriter mKeyframeWriter;
+    private final StateWriter mDeltaWriter;
+    private final StateWriter mDecodeWriter;
+    private final StateReader mStateReader;
+    
+    public RewindBuffer(GameSimulation gameSimulation, int maxFrames, int capacity, int keyframeInterval) {
+        mGameSimulation = gameSimulation;
+        mMaxFrames = maxFrames;
+        mKeyframeInterval = keyframeInterval;
+        
+        mRing = new byte[capacity];
+        
+        // every frame can be accompanied by an entry, though sections enter far less often
+        int maxRecords = maxFrames * RECORDS_PER_FRAME;
+        mRecordTypes = new int[maxRecords];
+        mRecordOffsets = new int[maxRecords];
+        mRecordLengths = new int[maxRecords];
+        mRecordValues = new int[maxRecords];
+        
+        mStateWriter = new StateWriter();
+        mKeyframeWriter = new StateWriter();
+        mDeltaWriter = new StateWriter();
+        mDecodeWriter = new StateWriter();
+        mStateReader = new StateReader();
+        
+        mGameSimulation.setRiseSectionEntryListener(this);
+        
+        reset();
+    }
+    
+    public void reset() {
+        mWritePosition = 0;
+        mFirstRecord = 0;
+        mEndRecord = 0;
+        mNumFrames = 0;
+        mKeyframeRecord = -1;
+        mFramesSinceKeyframe = 0;
+        mRewoundRecord = -1;
+    }
+    
+    // called after each update
+    public void capture() {
+        dropRewoundFuture();
+        
+        mStateWriter.reset();
+        mGameSimulation.writeState(mStateWriter);
+        
+        boolean isKeyframe = mKeyframeRecord < 0 || mFramesSinceKeyframe >= mKeyframeInterval ||
+                mStateWriter.getSize() != mKeyframeWriter.getSize();
+        if (!isKeyframe) {
+            encodeDelta(mStateWriter.getBytes(), mKeyframeWriter.getBytes(), mStateWriter.getSize(), mDeltaWriter);
+            int deltaRecord = addRecord(DELTA_RECORD, mDeltaWriter, mKeyframeRecord);
+            if (deltaRecord < 0) {
+                return;
+            }
+            
+            // keyframe may have been dropped to make room for the delta, and then the state is kept whole instead
+            if (mKeyframeRecord < 0) {
+                mEndRecord--;
+                mWritePosition = mRecordOffsets[getSlot(deltaRecord)];
+                isKeyframe = true;
+            } else {
+                mFramesSinceKeyframe++;
+            }
+        }
+        
+        if (isKeyframe) {
+            mKeyframeWriter.reset();
+            mKeyframeWriter.writeBytes(mStateWriter.getBytes(), 0, mStateWriter.getSize());
+            mKeyframeRecord = addRecord(KEYFRAME_RECORD, mStateWriter,
+                    mGameSimulation.getActiveAreaObjects().getLowestActiveRiseSectionIndex());
+            mFramesSinceKeyframe = 0;
+            if (mKeyframeRecord < 0) {
+                return;
+            }
+        }
+        
+        mNumFrames++;
+        while (mNumFrames > mMaxFrames) {
+            dropFirstRecord();
+        }
+        dropOrphanedRecords();
+    }
+    
+    @Override
+    public void onRiseSectionEntered(RiseSection riseSection, int riseSectionIndex) {
+        dropRewoundFuture();
+        
+        mStateWriter.reset();
+        riseSection.writeState(mStateWriter);
+        addRecord(ENTRY_RECORD, mStateWriter, riseSectionIndex);
+        dropOrphanedRecords();
+    }
+    
+    public int getNumFrames() {
+        return mNumFrames;
+    }
+    
+    // oldest frame is always a keyframe, and sections only leave the window going forward,
+    // so no frame needs a section below the one that was lowest in the oldest frame
+    public int getLowestRetainedRiseSectionIndex() {
+        if (mFirstRecord == mEndRecord) {
+            return Integer.MAX_VALUE;
+        }
+        
+        return mRecordValues[getSlot(mFirstRecord)];
+    }
+    
+    // frame 0 is the last captured one; rewinding again to a later frame is allowed until the game continues
+    public void rewind(int numFramesBack) {
+        if (numFramesBack < 0 || numFramesBack >= mNumFrames) {
+            ExceptionThrower.throwException("Rewind past the recorded frames: %d of %d", numFramesBack, mNumFrames);
+        }
+        
+        int frameRecord = findFrameRecord(numFramesBack);
+        
+        Rise rise = mGameSimulation.getRise();
+        for (int record = frameRecord + 1; record < mEndRecord; record++) {
+            int slot = getSlot(record);
+            if (mRecordTypes[slot] == ENTRY_RECORD) {
+                mStateReader.setData(mRing, mRecordOffsets[slot], mRecordLengths[slot]);
+                rise.getRiseSection(mRecordValues[slot]).readState(mStateReader);
+            }
+        }
+        
+        decodeFrame(frameRecord);
+        mStateReader.setData(mDecodeWriter.getBytes(), 0, mDecodeWriter.getSize());
+        mGameSimulation.rewindState(mStateReader);
+        
+        mRewoundRecord = frameRecord;
+    }
+    
+    private void dropRewoundFuture() {
+        if (mRewoundRecord < 0) {
+            return;
+        }
+        
+        while (mEndRecord - 1 > mRewoundRecord) {
+            mEndRecord--;
+            if (mRecordTypes[getSlot(mEndRecord)] != ENTRY_RECORD) {
+                mNumFrames--;
+            }
+        }
+        
+        // keyframe that following frames were compared to may have been dropped as well
+        mKeyframeRecord = -1;
+        int slot = getSlot(mEndRecord - 1);
+        mWritePosition = mRecordOffsets[slot] + mRecordLengths[slot];
+        mRewoundRecord = -1;
+    }
+    
+    private int findFrameRecord(int numFramesBack) {
+        int framesLeft = numFramesBack;
+        for (int record = mEndRecord - 1; record >= mFirstRecord; record--) {
+            if (mRecordTypes[getSlot(record)] != ENTRY_RECORD) {
+                if (framesLeft == 0) {
+                    return record;
+                }
+                framesLeft--;
+            }
+        }
+        
+        return -1;
+    }
+    
+    private void decodeFrame(int frameRecord) {
+        int slot = getSlot(frameRecord);
+        int keyframeSlot = mRecordTypes[slot] == KEYFRAME_RECORD ? slot : getSlot(mRecordValues[slot]);
+        
+        mDecodeWriter.reset();
+        mDecodeWriter.writeBytes(mRing, mRecordOffsets[keyframeSlot], mRecordLengths[keyframeSlot]);
+        
+        if (mRecordTypes[slot] == DELTA_RECORD) {
+            byte[] bytes = mDecodeWriter.getBytes();
+            mStateReader.setData(mRing, mRecordOffsets[slot], mRecordLengths[slot]);
+            int position = 0;
+            while (!mStateReader.isAtEnd()) {
+                position += mStateReader.readVarInt();
+                int length = mStateReader.readVarInt();
+                for (int i = 0; i < length; i++) {
+                    bytes[position] = (byte) mStateReader.readByte();
+                    position++;
+                }
+            }
+        }
+    }
+    
+    // delta is a sequence of runs, each being the number of unchanged bytes followed by changed bytes
+    private static void encodeDelta(byte[] bytes, byte[] keyframeBytes, int size, StateWriter deltaWriter) {
+        deltaWriter.reset();
+        
+        int position = 0;
+        while (position < size) {
+            int unchangedStart = position;
+            while (position < size && bytes[position] == keyframeBytes[position]) {
+                position++;
+            }
+            if (position == size) {
+                break;
+            }
+            
+            int changedStart = position;
+            while (position < size && bytes[position] != keyframeBytes[position]) {
+                position++;
+            }
+            
+            deltaWriter.writeVarInt(changedStart - unchangedStart);
+            deltaWriter.writeVarInt(position - changedStart);
+            deltaWriter.writeBytes(bytes, changedStart, position - changedStart);
+        }
+    }
+    
+    private int addRecord(int type, StateWriter writer, int value) {
+        int length = writer.getSize();
+        if (length > mRing.length) {
+            // state doesn't fit at all, so nothing older can be rewound to either
+            reset();
+            return -1;
+        }
+        
+        // records that follow the write position in the ring are always the oldest ones,
+        // so those left at the end of the ring, and those overlapping the new one, are dropped
+        if (mWritePosition + length > mRing.length) {
+            while (mFirstRecord < mEndRecord && mRecordOffsets[getSlot(mFirstRecord)] >= mWritePosition) {
+                dropFirstRecord();
+            }
+            mWritePosition = 0;
+        }
+        
+        while (mFirstRecord < mEndRecord && isOverlapping(getSlot(mFirstRecord), mWritePosition, length)) {
+            dropFirstRecord();
+        }
+        if (mEndRecord - mFirstRecord == mRecordTypes.length) {
+            dropFirstRecord();
+        }
+        
+        int record = mEndRecord;
+        int slot = getSlot(record);
+        System.arraycopy(writer.getBytes(), 0, mRing, mWritePosition, length);
+        mRecordTypes[slot] = type;
+        mRecordOffsets[slot] = mWritePosition;
+        mRecordLengths[slot] = length;
+        mRecordValues[slot] = value;
+        mEndRecord++;
+        
+        mWritePosition += length;
+        return record;
+    }
+    
+    // deltas without their keyframe, and entries older than every frame, are of no use
+    private void dropOrphanedRecords() {
+        while (mFirstRecord < mEndRecord && mRecordTypes[getSlot(mFirstRecord)] != KEYFRAME_RECORD) {
+            dropFirstRecord();
+        }
+    }
+    
+    private void dropFirstRecord() {
+        if (mRecordTypes[getSlot(mFirstRecord)] != ENTRY_RECORD) {
+            mNumFrames--;
+        }
+        if (mFirstRecord == mKeyframeRecord) {
+            mKeyframeRecord = -1;
+        }
+        mFirstRecord++;
+    }
+    
+    private boolean isOverlapping(int slot, int offset, int length) {
+        int recordOffset = mRecordOffsets[slot];
+        return recordOffset < offset + length && offset < recordOffset + mRecordLengths[slot];
+    }
+    
+    private int getSlot(int record) {
+        return record % mRecordTypes.length;
+    }
+}
@@ -24,27 +24,90 @@
 package com.turbogerm.helljump.game;
 
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.helljump.resources.GameAssets;
 
+// sections are only created when they come close, and are dropped once they are left far enough behind,
+// so neither starting a rise nor climbing an endless one keeps more than a few sections around;
+// sections are referred to by their index in the whole rise, which stays the same after lower ones are dropped
 public final class Rise {
     
+    private static final int RISE_SECTIONS_INITIAL_CAPACITY = 10;
+    
+    private final RiseSectionSource mRiseSectionSource;
+    private final GameAssets mGameAssets;
     private final Array<RiseSection> mRiseSections;
+    private int mFirstRiseSectionIndex;
     private final float mHeight;
+    private final PlatformIndex mPlatformIndex;
+    
+    public Rise(RiseSectionSource riseSectionSource, GameAssets gameAssets) {
+        mRiseSectionSource = riseSectionSource;
+        mGameAssets = gameAssets;
+        mRiseSections = new Array<RiseSection>(true, RISE_SECTIONS_INITIAL_CAPACITY);
+        mFirstRiseSectionIndex = 0;
+        mHeight = riseSectionSource.getRiseHeight();
+        mPlatformIndex = new PlatformIndex();
+    }
+    
+    // creates all sections that start below upperY
+    public void createRiseSections(float upperY) {
+        while (mRiseSectionSource.hasNextRiseSection() && mRiseSectionSource.getNextRiseSectionStartY() < upperY) {
+            RiseSection riseSection = mRiseSectionSource.createNextRiseSection(mGameAssets);
+            mRiseSections.add(riseSection);
+            mPlatformIndex.addPlatforms(riseSection.getPlatforms());
+        }
+    }
     
-    public Rise(Array<RiseSection> riseSections) {
-        mRiseSections = riseSections;
+    // drops all sections below the given index
+    public void dropRiseSections(int endIndex) {
+        while (mFirstRiseSectionIndex < endIndex && mRiseSections.size > 0) {
+            RiseSection riseSection = mRiseSections.removeIndex(0);
+            riseSection.deactivate();
+            mPlatformIndex.removePlatforms(riseSection.getId());
+            mFirstRiseSectionIndex++;
+        }
+    }
+    
+    // drops, or doesn't create at all, all lowest sections that end at or below lowerY
+    public void dropRiseSectionsBelow(float lowerY) {
+        while (mRiseSections.size > 0 && mRiseSections.first().getEndY() <= lowerY) {
+            dropRiseSections(mFirstRiseSectionIndex + 1);
+        }
         
-        float height = 0.0f;
-        for (RiseSection riseSection : riseSections) {
-            height += riseSection.getHeight();
+        while (mRiseSections.size == 0 && mRiseSectionSource.hasNextRiseSection() &&
+                mRiseSectionSource.getNextRiseSectionEndY() <= lowerY) {
+            mRiseSectionSource.skipNextRiseSection();
+            mFirstRiseSectionIndex++;
         }
-        mHeight = height;
     }
     
     public float getHeight() {
         return mHeight;
     }
     
+    public boolean isEndless() {
+        return Float.isInfinite(mHeight);
+    }
+    
+    public RiseSection getRiseSection(int index) {
+        return mRiseSections.get(index - mFirstRiseSectionIndex);
+    }
+    
+    public int getFirstRiseSectionIndex() {
+        return mFirstRiseSectionIndex;
+    }
+    
+    // index after the last created section
+    public int getEndRiseSectionIndex() {
+        return mFirstRiseSectionIndex + mRiseSections.size;
+    }
+    
+    // only sections created and not yet dropped
     public Array<RiseSection> getRiseSections() {
         return mRiseSections;
     }
+    
+    public PlatformIndex getPlatformIndex() {
+        return mPlatformIndex;
+    }
 }
@@ -41,6 +41,9 @@ public final class RisePositionScroll {
     private static final float MIN_POSITION_SCROLL_BOX_SIZE = 5.0f;
     private static final float POSITION_SCROLL_END_LINE_HEIGHT = 4.0f;
     
+    // endless rise has no end to show, so the box wraps around over this height
+    private static final float ENDLESS_POSITION_SCROLL_HEIGHT = 200.0f;
+    
     private final Sprite mPositionScrollLineSprite;
     private final Sprite mPositionScrollLineAboveSprite;
     private final Sprite mPositionScrollBoxSprite;
@@ -49,6 +52,7 @@ public final class RisePositionScroll {
     private final Rectangle mCameraRect;
     
     private float mRiseHeight;
+    private boolean mIsEndless;
     private float mEffectivePositionScrollLineHeight;
     
     public RisePositionScroll(CameraData cameraData, AssetManager assetManager) {
@@ -64,9 +68,10 @@ public final class RisePositionScroll {
     }
     
     public void setRiseHeight(float riseHeight) {
-        mRiseHeight = riseHeight;
-        mEffectivePositionScrollLineHeight = (mRiseHeight / (mRiseHeight + GameArea.GAME_AREA_HEIGHT)) *
-                POSITION_SCROLL_LINE_HEIGHT;
+        mIsEndless = Float.isInfinite(riseHeight);
+        mRiseHeight = mIsEndless ? ENDLESS_POSITION_SCROLL_HEIGHT : riseHeight;
+        mEffectivePositionScrollLineHeight = mIsEndless ? POSITION_SCROLL_LINE_HEIGHT :
+                (mRiseHeight / (mRiseHeight + GameArea.GAME_AREA_HEIGHT)) * POSITION_SCROLL_LINE_HEIGHT;
         
         mPositionScrollLineSprite.setBounds(
                 POSITION_SCROLL_LINE_X, POSITION_SCROLL_LINE_Y,
@@ -101,12 +106,15 @@ public final class RisePositionScroll {
         mPositionScrollLineSprite.draw(batch);
         mPositionScrollLineAboveSprite.draw(batch);
         
+        float relativePosition = mIsEndless ? visibleAreaPosition % mRiseHeight : visibleAreaPosition;
         float positionScrollBoxY = POSITION_SCROLL_LINE_Y +
-                visibleAreaPosition / mRiseHeight * mEffectivePositionScrollLineHeight;
+                relativePosition / mRiseHeight * mEffectivePositionScrollLineHeight;
         mPositionScrollBoxSprite.setY(positionScrollBoxY);
         mPositionScrollBoxSprite.draw(batch);
         
-        mPositionScrollEndLineSprite.draw(batch);
+        if (!mIsEndless) {
+            mPositionScrollEndLineSprite.draw(batch);
+        }
     }
     
 }
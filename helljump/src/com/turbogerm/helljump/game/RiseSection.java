@@ -24,9 +24,12 @@
 package com.turbogerm.helljump.game;
 
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.game.enemies.EnemyBase;
 import com.turbogerm.helljump.game.items.ItemBase;
 import com.turbogerm.helljump.game.platforms.PlatformBase;
+import com.turbogerm.helljump.game.platforms.movement.PlatformMovementStore;
 
 public final class RiseSection {
     
@@ -38,11 +41,18 @@ public final class RiseSection {
     private final float mEndY; 
     private final float mHeight;
     private final Array<PlatformBase> mPlatforms;
+    private final PlatformMovementStore mPlatformMovementStore;
     private final Array<EnemyBase> mEnemies;
     private final Array<ItemBase> mItems;
+    // section objects draw only from streams of their own section, so sections don't depend on each other
+    private final RandomStreams mRandomStreams;
+    
+    // only few movements and features react to each effect, so they are collected up front
+    private final Array<Array<CollisionEffectHandler>> mEffectHandlers;
     
     public RiseSection(int id, String name, int difficulty, float startY, float height,
-            Array<PlatformBase> platforms, Array<EnemyBase> enemies, Array<ItemBase> items) {
+            Array<PlatformBase> platforms, PlatformMovementStore platformMovementStore,
+            Array<EnemyBase> enemies, Array<ItemBase> items, RandomStreams randomStreams) {
         mId = id;
         mName = name;
         mDifficulty = difficulty;
@@ -50,14 +60,65 @@ public final class RiseSection {
         mHeight = height;
         mEndY = mStartY + mHeight;
         mPlatforms = platforms;
+        mPlatformMovementStore = platformMovementStore;
         mEnemies = enemies;
         mItems = items;
+        mRandomStreams = randomStreams;
+        
+        mEffectHandlers = new Array<Array<CollisionEffectHandler>>(true, CollisionEffects.NUM_EFFECTS);
+        for (int collisionEffect = 0; collisionEffect < CollisionEffects.NUM_EFFECTS; collisionEffect++) {
+            Array<CollisionEffectHandler> effectHandlers = new Array<CollisionEffectHandler>(true, 0);
+            for (PlatformBase platform : mPlatforms) {
+                platform.getEffectHandlers(collisionEffect, effectHandlers);
+            }
+            effectHandlers.shrink();
+            mEffectHandlers.add(effectHandlers);
+        }
     }
     
     public void applyEffect(int collisionEffect) {
-        for (PlatformBase platform : mPlatforms) {
-            platform.applyEffect(collisionEffect);
+        Array<CollisionEffectHandler> effectHandlers = mEffectHandlers.get(collisionEffect);
+        for (int i = 0; i < effectHandlers.size; i++) {
+            effectHandlers.get(i).applyEffect(collisionEffect);
+        }
+    }
+    
+    // dropped section must not leave its timers scheduled on the shared wheel
+    public void deactivate() {
+        for (int i = 0; i < mPlatforms.size; i++) {
+            mPlatforms.get(i).deactivate();
+        }
+        for (int i = 0; i < mItems.size; i++) {
+            mItems.get(i).deactivate();
+        }
+    }
+    
+    public void writeState(StateWriter writer) {
+        mPlatformMovementStore.writeState(writer);
+        for (int i = 0; i < mPlatforms.size; i++) {
+            mPlatforms.get(i).writeState(writer);
         }
+        for (int i = 0; i < mEnemies.size; i++) {
+            mEnemies.get(i).writeState(writer);
+        }
+        for (int i = 0; i < mItems.size; i++) {
+            mItems.get(i).writeState(writer);
+        }
+        mRandomStreams.writeState(writer);
+    }
+    
+    public void readState(StateReader reader) {
+        mPlatformMovementStore.readState(reader);
+        for (int i = 0; i < mPlatforms.size; i++) {
+            mPlatforms.get(i).readState(reader);
+        }
+        for (int i = 0; i < mEnemies.size; i++) {
+            mEnemies.get(i).readState(reader);
+        }
+        for (int i = 0; i < mItems.size; i++) {
+            mItems.get(i).readState(reader);
+        }
+        mRandomStreams.readState(reader);
     }
     
     public int getId() {
@@ -88,6 +149,10 @@ public final class RiseSection {
         return mPlatforms;
     }
     
+    public PlatformMovementStore getPlatformMovementStore() {
+        return mPlatformMovementStore;
+    }
+    
     public Array<EnemyBase> getEnemies() {
         return mEnemies;
     }
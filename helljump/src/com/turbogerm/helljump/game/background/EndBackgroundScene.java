@@ -27,8 +27,8 @@ import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
+import com.turbogerm.germlibrary.util.GameRandom;
 import com.turbogerm.germlibrary.util.GameUtils;
 import com.turbogerm.helljump.CameraData;
 import com.turbogerm.helljump.game.GameAreaUtils;
@@ -86,14 +86,14 @@ public final class EndBackgroundScene {
         }
     }
     
-    public void reset(float riseHeight) {
+    public void reset(float riseHeight, GameRandom cosmeticRandom) {
         mRiseHeight = riseHeight;
         
         for (int i = 0; i < MAX_SHEEP; i++) {
-            mSheep[i].reset(riseHeight);
+            mSheep[i].reset(riseHeight, cosmeticRandom);
         }
         
-        mNumSheep = MathUtils.random(MIN_SHEEP, MAX_SHEEP);
+        mNumSheep = cosmeticRandom.random(MIN_SHEEP, MAX_SHEEP);
     }
     
     public void update(float delta) {
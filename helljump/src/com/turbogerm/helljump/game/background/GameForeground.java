@@ -31,6 +31,7 @@ import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
+import com.turbogerm.germlibrary.util.GameRandom;
 import com.turbogerm.germlibrary.util.GameUtils;
 import com.turbogerm.helljump.CameraData;
 import com.turbogerm.helljump.game.GameArea;
@@ -63,9 +64,9 @@ public final class GameForeground {
                 spriteWidth, spriteHeight, false);
     }
     
-    public void reset(float riseHeight) {
-        mLeftSideSprites.reset(riseHeight);
-        mRightSideSprites.reset(riseHeight);
+    public void reset(float riseHeight, GameRandom cosmeticRandom) {
+        mLeftSideSprites.reset(riseHeight, cosmeticRandom);
+        mRightSideSprites.reset(riseHeight, cosmeticRandom);
     }
     
     public void render(SpriteBatch batch, float visibleAreaPosition, Color backgroundColor) {
@@ -81,6 +82,8 @@ public final class GameForeground {
     private static class SideSprites {
         
         private static final float FADE_OUT_RANGE = 30.0f;
+        // endless rise repeats this many sprites
+        private static final int ENDLESS_NUM_SPRITES = 256;
         
         private final Sprite[][] mSprites;
         private final int[] mNextAvailableIndexesForImage;
@@ -94,6 +97,7 @@ public final class GameForeground {
         private final Color mColor;
         
         private float mRiseHeight;
+        private boolean mIsEndless;
         private float mFadeOutStart;
         
         public SideSprites(TextureAtlas atlas, int numDisplayedSprites,
@@ -125,18 +129,21 @@ public final class GameForeground {
             mColor = new Color();
         }
         
-        public void reset(float riseHeight) {
+        public void reset(float riseHeight, GameRandom cosmeticRandom) {
             mRiseHeight = riseHeight;
+            mIsEndless = Float.isInfinite(mRiseHeight);
             mFadeOutStart = mRiseHeight - FADE_OUT_RANGE;
             
-            int numSprites = MathUtils.round(mRiseHeight / mSpriteHeight);
-            mImageIndexes = GameUtils.getRandomIntegers(mSprites.length, numSprites);
+            int numSprites = mIsEndless ? ENDLESS_NUM_SPRITES : MathUtils.round(mRiseHeight / mSpriteHeight);
+            mImageIndexes = GameUtils.getRandomIntegers(mSprites.length, numSprites, cosmeticRandom);
         }
         
         public void render(SpriteBatch batch, float visibleAreaPosition, Color backgroundColor) {
             int firstDisplayedSpriteIndex = Math.max((int) (visibleAreaPosition / mSpriteHeight), 0);
-            int lastDisplayedSpriteIndex = Math.min(
-                    firstDisplayedSpriteIndex + mNumDisplayedSprites - 1, mImageIndexes.length - 1);
+            int lastDisplayedSpriteIndex = firstDisplayedSpriteIndex + mNumDisplayedSprites - 1;
+            if (!mIsEndless) {
+                lastDisplayedSpriteIndex = Math.min(lastDisplayedSpriteIndex, mImageIndexes.length - 1);
+            }
             
             float firstDisplayedSpriteY = firstDisplayedSpriteIndex * mSpriteHeight;
             resetNextAvailableIndexesForImage();
@@ -144,7 +151,7 @@ public final class GameForeground {
             mColor.set(backgroundColor);
             
             for (int i = firstDisplayedSpriteIndex; i <= lastDisplayedSpriteIndex; i++) {
-                int imageIndex = mImageIndexes[i];
+                int imageIndex = mImageIndexes[i % mImageIndexes.length];
                 Sprite sprite = mSprites[imageIndex][mNextAvailableIndexesForImage[imageIndex]];
                 mNextAvailableIndexesForImage[imageIndex]++;
                 
@@ -27,9 +27,9 @@ import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.GameRandom;
 import com.turbogerm.germlibrary.util.GameUtils;
 import com.turbogerm.helljump.CameraData;
 import com.turbogerm.helljump.game.GameAreaUtils;
@@ -81,16 +81,17 @@ final class Sheep {
         mIsFlippedSprite = false;
     }
     
-    public void reset(float riseHeight) {
+    public void reset(float riseHeight, GameRandom cosmeticRandom) {
         mRiseHeight = riseHeight;
         
-        mPosition.x = MathUtils.random(getMinPosition() + GameUtils.EPSILON, getMaxPosition() - GameUtils.EPSILON);
+        mPosition.x = cosmeticRandom.random(
+                getMinPosition() + GameUtils.EPSILON, getMaxPosition() - GameUtils.EPSILON);
         mPosition.y = mRiseHeight;
         
-        mJumpSpeed = MathUtils.random(MIN_JUMP_SPEED, MAX_JUMP_SPEED);
-        mHorizontalSpeed = MathUtils.random(MIN_HORIZONTAL_SPEED, MAX_HORIZONTAL_SPEED);
+        mJumpSpeed = cosmeticRandom.random(MIN_JUMP_SPEED, MAX_JUMP_SPEED);
+        mHorizontalSpeed = cosmeticRandom.random(MIN_HORIZONTAL_SPEED, MAX_HORIZONTAL_SPEED);
         
-        mIsLeftDirection = MathUtils.randomBoolean();
+        mIsLeftDirection = cosmeticRandom.randomBoolean();
         
         mSpeed.x = mIsLeftDirection ? -mHorizontalSpeed : mHorizontalSpeed;
         mSpeed.y = mJumpSpeed;
@@ -23,17 +23,26 @@
  */
 package com.turbogerm.helljump.game.character;
 
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.TimerWheel;
+import com.turbogerm.germlibrary.util.WheelTimer;
+
 public final class CharacterEffects {
     
     private int mLives;
     private int mScore;
     private int mNumSignets;
     
-    private float mShieldRemaining;
+    private final TimerWheel mTimerWheel;
+    private final WheelTimer mShieldTimer;
     private int mFartsRemaining;
-    private float mHighJumpRemaining;
+    private final WheelTimer mHighJumpTimer;
     
-    public CharacterEffects() {
+    public CharacterEffects(TimerWheel timerWheel) {
+        mTimerWheel = timerWheel;
+        mShieldTimer = new WheelTimer();
+        mHighJumpTimer = new WheelTimer();
     }
     
     public void reset() {
@@ -41,18 +50,33 @@ public final class CharacterEffects {
         mScore = 0;
         mNumSignets = 0;
         
-        mShieldRemaining = 0.0f;
+        mShieldTimer.cancel();
         mFartsRemaining = 0;
-        mHighJumpRemaining = 0.0f;
+        mHighJumpTimer.cancel();
     }
     
-    public void update(float delta) {
-        mShieldRemaining = Math.max(mShieldRemaining - delta, 0.0f);
-        mHighJumpRemaining = Math.max(mHighJumpRemaining - delta, 0.0f);
-        
+    public void writeState(StateWriter writer) {
+        writer.writeInt(mLives);
+        writer.writeInt(mScore);
+        writer.writeInt(mNumSignets);
+        mTimerWheel.writeTimerState(mShieldTimer, writer);
+        writer.writeInt(mFartsRemaining);
+        mTimerWheel.writeTimerState(mHighJumpTimer, writer);
+    }
+    
+    public void readState(StateReader reader) {
+        mLives = reader.readInt();
+        mScore = reader.readInt();
+        mNumSignets = reader.readInt();
+        mTimerWheel.readTimerState(mShieldTimer, reader);
+        mFartsRemaining = reader.readInt();
+        mTimerWheel.readTimerState(mHighJumpTimer, reader);
+    }
+    
+    public void update() {
         // fart and high jump movement should always be shielded
         if (isFarting() || isHighJump()) {
-            mShieldRemaining = Math.max(mShieldRemaining, 1.0f);
+            setShield(1.0f);
         }
     }
     
@@ -69,11 +93,11 @@ public final class CharacterEffects {
     }
     
     public boolean isShielded() {
-        return mShieldRemaining > 0.0f;
+        return mShieldTimer.isScheduled();
     }
     
     public float getShieldRemaining() {
-        return mShieldRemaining;
+        return mShieldTimer.getRemaining();
     }
     
     public boolean isFarting() {
@@ -81,7 +105,7 @@ public final class CharacterEffects {
     }
     
     public boolean isHighJump() {
-        return mHighJumpRemaining > 0.0f;
+        return mHighJumpTimer.isScheduled();
     }
     
     public void addLife() {
@@ -101,7 +125,9 @@ public final class CharacterEffects {
     }
     
     public void setShield(float duration) {
-        mShieldRemaining = Math.max(mShieldRemaining, duration);
+        if (duration > mShieldTimer.getRemaining()) {
+            mTimerWheel.schedule(mShieldTimer, duration);
+        }
     }
     
     public void setFarts(int farts) {
@@ -113,6 +139,8 @@ public final class CharacterEffects {
     }
     
     public void setHighJump(float duration) {
-        mHighJumpRemaining = Math.max(mHighJumpRemaining, duration);
+        if (duration > mHighJumpTimer.getRemaining()) {
+            mTimerWheel.schedule(mHighJumpTimer, duration);
+        }
     }
 }
@@ -23,11 +23,15 @@
  */
 package com.turbogerm.helljump.game.character;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.GameRandom;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.TimerWheel;
 import com.turbogerm.helljump.CameraData;
+import com.turbogerm.helljump.game.CollisionGrid;
 import com.turbogerm.helljump.game.GameArea;
 import com.turbogerm.helljump.game.PlatformToCharCollisionData;
 import com.turbogerm.helljump.game.RiseSection;
@@ -37,6 +41,7 @@ import com.turbogerm.helljump.game.character.states.CharacterStateUpdateData;
 import com.turbogerm.helljump.game.enemies.EnemyBase;
 import com.turbogerm.helljump.game.items.ItemBase;
 import com.turbogerm.helljump.game.platforms.PlatformBase;
+import com.turbogerm.helljump.resources.GameAssets;
 
 public final class GameCharacter {
     
@@ -51,6 +56,8 @@ public final class GameCharacter {
     public static final float GRAVITY = 35.0f;
     
     private final Vector2 mPosition;
+    private final Vector2 mPreviousPosition;
+    private final Vector2 mRenderPosition;
     private final Vector2 mSpeed;
     
     private float mRiseHeight;
@@ -61,13 +68,16 @@ public final class GameCharacter {
     private final CharacterStateUpdateData mCharacterStateUpdateData;
     private final CharacterStateRenderData mCharacterStateRenderData;
     
-    public GameCharacter(CameraData cameraData, AssetManager assetManager) {
+    public GameCharacter(CameraData cameraData, TimerWheel timerWheel, GameAssets gameAssets,
+            GameRandom cosmeticRandom) {
         
         mPosition = new Vector2();
+        mPreviousPosition = new Vector2();
+        mRenderPosition = new Vector2();
         mSpeed = new Vector2();
         
-        mCharacterStateManager = new CharacterStateManager(cameraData, assetManager);
-        mCharacterEffects = new CharacterEffects();
+        mCharacterStateManager = new CharacterStateManager(cameraData, gameAssets, cosmeticRandom);
+        mCharacterEffects = new CharacterEffects(timerWheel);
         
         mCharacterStateUpdateData = new CharacterStateUpdateData();
         mCharacterStateRenderData = new CharacterStateRenderData();
@@ -77,29 +87,55 @@ public final class GameCharacter {
         mRiseHeight = riseHeight;
         
         mPosition.set(GameArea.GAME_AREA_WIDTH / 2.0f - CHARACTER_CENTER_X_OFFSET, 0.0f);
+        mPreviousPosition.set(mPosition);
         mSpeed.set(0.0f, JUMP_SPEED);
         
         mCharacterStateManager.reset();
         mCharacterEffects.reset();
     }
     
+    public void writeState(StateWriter writer) {
+        writer.writeFloat(mPosition.x);
+        writer.writeFloat(mPosition.y);
+        writer.writeFloat(mPreviousPosition.x);
+        writer.writeFloat(mPreviousPosition.y);
+        writer.writeFloat(mSpeed.x);
+        writer.writeFloat(mSpeed.y);
+        mCharacterStateManager.writeState(writer);
+        mCharacterEffects.writeState(writer);
+    }
+    
+    public void readState(StateReader reader) {
+        mPosition.x = reader.readFloat();
+        mPosition.y = reader.readFloat();
+        mPreviousPosition.x = reader.readFloat();
+        mPreviousPosition.y = reader.readFloat();
+        mSpeed.x = reader.readFloat();
+        mSpeed.y = reader.readFloat();
+        mCharacterStateManager.readState(reader);
+        mCharacterEffects.readState(reader);
+    }
+    
     public void update(float horizontalSpeed,
             PlatformToCharCollisionData platformToCharCollisionData,
             Array<RiseSection> activeRiseSections,
             Array<PlatformBase> visiblePlatforms,
-            Array<EnemyBase> visibleEnemies,
-            Array<ItemBase> visibleItems,
+            CollisionGrid<EnemyBase> enemyCollisionGrid,
+            CollisionGrid<ItemBase> itemCollisionGrid,
             float visibleAreaPosition,
             float delta) {
         
+        mPreviousPosition.set(mPosition);
+        
         mCharacterStateUpdateData.characterPosition = mPosition;
+        mCharacterStateUpdateData.characterPreviousPosition = mPreviousPosition;
         mCharacterStateUpdateData.characterSpeed = mSpeed;
         mCharacterStateUpdateData.horizontalSpeed = horizontalSpeed;
         mCharacterStateUpdateData.platformToCharCollisionData = platformToCharCollisionData;
         mCharacterStateUpdateData.activeRiseSections = activeRiseSections;
         mCharacterStateUpdateData.visiblePlatforms = visiblePlatforms;
-        mCharacterStateUpdateData.visibleEnemies = visibleEnemies;
-        mCharacterStateUpdateData.visibleItems = visibleItems;
+        mCharacterStateUpdateData.enemyCollisionGrid = enemyCollisionGrid;
+        mCharacterStateUpdateData.itemCollisionGrid = itemCollisionGrid;
         mCharacterStateUpdateData.riseHeight = mRiseHeight;
         mCharacterStateUpdateData.visibleAreaPosition = visibleAreaPosition;
         mCharacterStateUpdateData.characterEffects = mCharacterEffects;
@@ -108,9 +144,11 @@ public final class GameCharacter {
         mCharacterStateManager.getCurrentState().update(mCharacterStateUpdateData);
     }
     
-    public void render(SpriteBatch batch) {
+    public void render(SpriteBatch batch, float alpha) {
+        mRenderPosition.set(mPreviousPosition).lerp(mPosition, alpha);
+        
         mCharacterStateRenderData.batch = batch;
-        mCharacterStateRenderData.characterPosition = mPosition;
+        mCharacterStateRenderData.characterPosition = mRenderPosition;
         mCharacterStateRenderData.characterEffects = mCharacterEffects;
         
         mCharacterStateManager.getCurrentState().render(mCharacterStateRenderData);
@@ -23,12 +23,11 @@
  */
 package com.turbogerm.helljump.game.character.graphics;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class CharacterBodyGraphics extends CharacterGraphicsBase {
@@ -47,10 +46,11 @@ public final class CharacterBodyGraphics extends CharacterGraphicsBase {
         DEFAULT_COLOR = new Color(0.14f, 0.36f, 0.43f, 1.0f);
     }
     
-    public CharacterBodyGraphics(AssetManager assetManager) {
+    public CharacterBodyGraphics(GameAssets gameAssets) {
         
-        TextureAtlas atlas = assetManager.get(ResourceNames.CHARACTER_ATLAS);
-        mSprite = atlas.createSprite(ResourceNames.CHARACTER_BODY_IMAGE_NAME);
+        mSprite = gameAssets.createSprite(ResourceNames.CHARACTER_ATLAS,
+        
+                ResourceNames.CHARACTER_BODY_IMAGE_NAME);
         mSprite.setSize(WIDTH, HEIGHT);
         
         mColor = new Color();
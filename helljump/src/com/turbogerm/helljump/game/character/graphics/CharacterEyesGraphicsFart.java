@@ -23,12 +23,11 @@
  */
 package com.turbogerm.helljump.game.character.graphics;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class CharacterEyesGraphicsFart extends CharacterGraphicsBase {
@@ -56,15 +55,17 @@ public final class CharacterEyesGraphicsFart extends CharacterGraphicsBase {
         DEFAULT_COLOR = new Color(1.0f, 0.5f, 0.0f, 1.0f);
     }
     
-    public CharacterEyesGraphicsFart(AssetManager assetManager) {
+    public CharacterEyesGraphicsFart(GameAssets gameAssets) {
         
-        TextureAtlas atlas = assetManager.get(ResourceNames.CHARACTER_ATLAS);
+        mOpenedSprite = gameAssets.createSprite(ResourceNames.CHARACTER_ATLAS,
         
-        mOpenedSprite = atlas.createSprite(ResourceNames.CHARACTER_EYES_FART_OPENED_IMAGE_NAME);
+                ResourceNames.CHARACTER_EYES_FART_OPENED_IMAGE_NAME);
         mOpenedSprite.setSize(OPENED_WIDTH, OPENED_HEIGHT);
         mOpenedSprite.setColor(DEFAULT_COLOR);
         
-        mClosedSprite = atlas.createSprite(ResourceNames.CHARACTER_EYES_FART_CLOSED_IMAGE_NAME);
+        mClosedSprite = gameAssets.createSprite(ResourceNames.CHARACTER_ATLAS,
+        
+                ResourceNames.CHARACTER_EYES_FART_CLOSED_IMAGE_NAME);
         mClosedSprite.setSize(CLOSED_WIDTH, CLOSED_HEIGHT);
         mClosedSprite.setColor(DEFAULT_COLOR);
     }
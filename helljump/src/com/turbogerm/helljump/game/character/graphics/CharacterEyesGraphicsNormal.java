@@ -23,13 +23,14 @@
  */
 package com.turbogerm.helljump.game.character.graphics;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.GameRandom;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class CharacterEyesGraphicsNormal extends CharacterGraphicsBase {
@@ -49,22 +50,31 @@ public final class CharacterEyesGraphicsNormal extends CharacterGraphicsBase {
         DEFAULT_COLOR = new Color(1.0f, 0.5f, 0.0f, 1.0f);
     }
     
-    public CharacterEyesGraphicsNormal(AssetManager assetManager) {
-        
-        TextureAtlas atlas = assetManager.get(ResourceNames.CHARACTER_ATLAS);
+    public CharacterEyesGraphicsNormal(GameAssets gameAssets, GameRandom cosmeticRandom) {
         
         mSprites = new Sprite[ResourceNames.CHARACTER_EYES_NORMAL_IMAGE_COUNT];
         for (int i = 0; i < mSprites.length; i++) {
-            mSprites[i] = atlas.createSprite(ResourceNames.getCharacterEyesNormalImageName(i));
+            mSprites[i] = gameAssets.createSprite(ResourceNames.CHARACTER_ATLAS,
+                    ResourceNames.getCharacterEyesNormalImageName(i));
             mSprites[i].setSize(WIDTH, HEIGHT);
             mSprites[i].setColor(DEFAULT_COLOR);
         }
         
-        mBlinkingStateMachine = new BlinkingStateMachine();
+        mBlinkingStateMachine = new BlinkingStateMachine(cosmeticRandom);
     }
     
     @Override
     public void reset() {
+        mBlinkingStateMachine.reset();
+    }
+    
+    // blinking draws from the cosmetic random, so it is saved to keep the draws in the same order
+    public void writeState(StateWriter writer) {
+        mBlinkingStateMachine.writeState(writer);
+    }
+    
+    public void readState(StateReader reader) {
+        mBlinkingStateMachine.readState(reader);
     }
     
     @Override
@@ -97,16 +107,35 @@ public final class CharacterEyesGraphicsNormal extends CharacterGraphicsBase {
         
         private static final float DOUBLE_BLINK_CHANCE = 0.3f;
         
+        private final GameRandom mRandom;
+        
         private int mCurrentState;
         private float mCurrentStateDuration;
         private float mCurrentStateElapsed;
         
-        public BlinkingStateMachine() {
+        public BlinkingStateMachine(GameRandom random) {
+            mRandom = random;
+            reset();
+        }
+        
+        public void reset() {
             mCurrentState = OPEN;
             mCurrentStateElapsed = 0.0f;
             updateStateDuration();
         }
         
+        public void writeState(StateWriter writer) {
+            writer.writeInt(mCurrentState);
+            writer.writeFloat(mCurrentStateDuration);
+            writer.writeFloat(mCurrentStateElapsed);
+        }
+        
+        public void readState(StateReader reader) {
+            mCurrentState = reader.readInt();
+            mCurrentStateDuration = reader.readFloat();
+            mCurrentStateElapsed = reader.readFloat();
+        }
+        
         public void update(float delta) {
             mCurrentStateElapsed += delta;
             
@@ -129,7 +158,7 @@ public final class CharacterEyesGraphicsNormal extends CharacterGraphicsBase {
             mCurrentState = getNextState(mCurrentState);
         }
         
-        private static int getNextState(int currentState) {
+        private int getNextState(int currentState) {
             switch (currentState) {
                 case OPEN:
                     if (isDoubleBlink()) {
@@ -159,10 +188,10 @@ public final class CharacterEyesGraphicsNormal extends CharacterGraphicsBase {
             mCurrentStateDuration = getStateDuration(mCurrentState);
         }
         
-        private static float getStateDuration(int state) {
+        private float getStateDuration(int state) {
             switch (state) {
                 case OPEN:
-                    return MathUtils.random(MIN_OPEN_DURATION, MAX_OPEN_DURATION);
+                    return mRandom.random(MIN_OPEN_DURATION, MAX_OPEN_DURATION);
                     
                 case CLOSED:
                     return CLOSED_DURATION;
@@ -179,8 +208,8 @@ public final class CharacterEyesGraphicsNormal extends CharacterGraphicsBase {
             }
         }
         
-        private static boolean isDoubleBlink() {
-            return MathUtils.random() < DOUBLE_BLINK_CHANCE;
+        private boolean isDoubleBlink() {
+            return mRandom.random() < DOUBLE_BLINK_CHANCE;
         }
     }
 }
@@ -23,12 +23,11 @@
  */
 package com.turbogerm.helljump.game.character.graphics;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class CharacterEyesGraphicsStunned extends CharacterGraphicsBase {
@@ -46,10 +45,11 @@ public final class CharacterEyesGraphicsStunned extends CharacterGraphicsBase {
         DEFAULT_COLOR = new Color(1.0f, 0.5f, 0.0f, 1.0f);
     }
     
-    public CharacterEyesGraphicsStunned(AssetManager assetManager) {
+    public CharacterEyesGraphicsStunned(GameAssets gameAssets) {
         
-        TextureAtlas atlas = assetManager.get(ResourceNames.CHARACTER_ATLAS);
-        mSprite = atlas.createSprite(ResourceNames.CHARACTER_EYES_STUNNED_IMAGE_NAME);
+        mSprite = gameAssets.createSprite(ResourceNames.CHARACTER_ATLAS,
+        
+                ResourceNames.CHARACTER_EYES_STUNNED_IMAGE_NAME);
         mSprite.setSize(WIDTH, HEIGHT);
         mSprite.setColor(DEFAULT_COLOR);
     }
@@ -23,12 +23,11 @@
  */
 package com.turbogerm.helljump.game.character.graphics;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class FartDischargeGraphics extends CharacterGraphicsBase {
@@ -44,10 +43,11 @@ public final class FartDischargeGraphics extends CharacterGraphicsBase {
     
     private float mDischargeElapsed;
     
-    public FartDischargeGraphics(AssetManager assetManager) {
+    public FartDischargeGraphics(GameAssets gameAssets) {
         
-        TextureAtlas atlas = assetManager.get(ResourceNames.CHARACTER_ATLAS);
-        mSprite = atlas.createSprite(ResourceNames.CHARACTER_FART_DISCHARGE_IMAGE_NAME);
+        mSprite = gameAssets.createSprite(ResourceNames.CHARACTER_ATLAS,
+        
+                ResourceNames.CHARACTER_FART_DISCHARGE_IMAGE_NAME);
         mSprite.setSize(WIDTH, HEIGHT);
     }
     
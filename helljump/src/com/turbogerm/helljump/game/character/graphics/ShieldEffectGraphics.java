@@ -23,13 +23,12 @@
  */
 package com.turbogerm.helljump.game.character.graphics;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class ShieldEffectGraphics extends CharacterGraphicsBase {
@@ -52,10 +51,11 @@ public final class ShieldEffectGraphics extends CharacterGraphicsBase {
     private float mInternalAnimationTime;
     private float mShieldEffectRemaining;
     
-    public ShieldEffectGraphics(AssetManager assetManager) {
+    public ShieldEffectGraphics(GameAssets gameAssets) {
         
-        TextureAtlas atlas = assetManager.get(ResourceNames.CHARACTER_ATLAS);
-        mSprite = atlas.createSprite(ResourceNames.CHARACTER_SHIELD_EFFECT_IMAGE_NAME);
+        mSprite = gameAssets.createSprite(ResourceNames.CHARACTER_ATLAS,
+        
+                ResourceNames.CHARACTER_SHIELD_EFFECT_IMAGE_NAME);
         mSprite.setSize(WIDTH, HEIGHT);
     }
     
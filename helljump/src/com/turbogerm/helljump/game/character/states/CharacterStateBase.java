@@ -25,6 +25,8 @@ package com.turbogerm.helljump.game.character.states;
 
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.game.GameArea;
 import com.turbogerm.helljump.game.character.GameCharacter;
 
@@ -42,6 +44,13 @@ public abstract class CharacterStateBase {
     public void update(CharacterStateUpdateData updateData) {
     }
     
+    // graphics animations are cosmetic, so only state that affects the game is saved
+    public void writeState(StateWriter writer) {
+    }
+    
+    public void readState(StateReader reader) {
+    }
+    
     public void render(CharacterStateRenderData renderData) {
     }
     
@@ -23,9 +23,13 @@
  */
 package com.turbogerm.helljump.game.character.states;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.turbogerm.germlibrary.util.ExceptionThrower;
+import com.turbogerm.germlibrary.util.GameRandom;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.CameraData;
+import com.turbogerm.helljump.resources.GameAssets;
 
 public final class CharacterStateManager {
     
@@ -38,17 +42,21 @@ public final class CharacterStateManager {
     
     private static final int NUM_CHARACTER_STATES = 5;
     
+    private static final String[] CHARACTER_STATE_NAMES = {
+            NORMAL_CHARACTER_STATE, END_CHARACTER_STATE, DYING_FALL_CHARACTER_STATE,
+            DYING_ENEMY_CHARACTER_STATE, DYING_FIRE_CHARACTER_STATE, FINISHED_CHARACTER_STATE };
+    
     private final ObjectMap<String, CharacterStateBase> mCharacterStates;
     
     private CharacterStateBase mCurrentState;
     
-    public CharacterStateManager(CameraData cameraData, AssetManager assetManager) {
+    public CharacterStateManager(CameraData cameraData, GameAssets gameAssets, GameRandom cosmeticRandom) {
         mCharacterStates = new ObjectMap<String, CharacterStateBase>(NUM_CHARACTER_STATES);
-        mCharacterStates.put(NORMAL_CHARACTER_STATE, new NormalCharacterState(this, assetManager));
-        mCharacterStates.put(END_CHARACTER_STATE, new EndCharacterState(this, cameraData, assetManager));
-        mCharacterStates.put(DYING_FALL_CHARACTER_STATE, new DyingFallCharacterState(this, assetManager));
-        mCharacterStates.put(DYING_ENEMY_CHARACTER_STATE, new DyingEnemyCharacterState(this, assetManager));
-        mCharacterStates.put(DYING_FIRE_CHARACTER_STATE, new DyingFireCharacterState(this, assetManager));
+        mCharacterStates.put(NORMAL_CHARACTER_STATE, new NormalCharacterState(this, gameAssets, cosmeticRandom));
+        mCharacterStates.put(END_CHARACTER_STATE, new EndCharacterState(this, cameraData, gameAssets, cosmeticRandom));
+        mCharacterStates.put(DYING_FALL_CHARACTER_STATE, new DyingFallCharacterState(this, gameAssets, cosmeticRandom));
+        mCharacterStates.put(DYING_ENEMY_CHARACTER_STATE, new DyingEnemyCharacterState(this, gameAssets));
+        mCharacterStates.put(DYING_FIRE_CHARACTER_STATE, new DyingFireCharacterState(this, gameAssets));
         mCharacterStates.put(FINISHED_CHARACTER_STATE, new FinishedCharacterState(this));
     }
     
@@ -61,6 +69,27 @@ public final class CharacterStateManager {
         mCurrentState.start(null);
     }
     
+    // current state is restored directly, without start and end, which only play sounds and reset graphics
+    public void writeState(StateWriter writer) {
+        writer.writeString(mCharacterStates.findKey(mCurrentState, true));
+        for (int i = 0; i < CHARACTER_STATE_NAMES.length; i++) {
+            mCharacterStates.get(CHARACTER_STATE_NAMES[i]).writeState(writer);
+        }
+    }
+    
+    public void readState(StateReader reader) {
+        String currentStateName = reader.readString();
+        CharacterStateBase currentState = mCharacterStates.get(currentStateName);
+        if (currentState == null) {
+            ExceptionThrower.throwException("Invalid character state in saved state: %s", currentStateName);
+        }
+        mCurrentState = currentState;
+        
+        for (int i = 0; i < CHARACTER_STATE_NAMES.length; i++) {
+            mCharacterStates.get(CHARACTER_STATE_NAMES[i]).readState(reader);
+        }
+    }
+    
     public void changeState(String state) {
         changeState(state, null);
     }
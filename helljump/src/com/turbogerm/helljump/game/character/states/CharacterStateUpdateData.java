@@ -25,6 +25,7 @@ package com.turbogerm.helljump.game.character.states;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.helljump.game.CollisionGrid;
 import com.turbogerm.helljump.game.PlatformToCharCollisionData;
 import com.turbogerm.helljump.game.RiseSection;
 import com.turbogerm.helljump.game.character.CharacterEffects;
@@ -35,13 +36,14 @@ import com.turbogerm.helljump.game.platforms.PlatformBase;
 public final class CharacterStateUpdateData {
     
     public Vector2 characterPosition;
+    public Vector2 characterPreviousPosition;
     public Vector2 characterSpeed;
     public float horizontalSpeed;
     public PlatformToCharCollisionData platformToCharCollisionData;
     public Array<RiseSection> activeRiseSections;
     public Array<PlatformBase> visiblePlatforms;
-    public Array<EnemyBase> visibleEnemies;
-    public Array<ItemBase> visibleItems;
+    public CollisionGrid<EnemyBase> enemyCollisionGrid;
+    public CollisionGrid<ItemBase> itemCollisionGrid;
     public float riseHeight;
     public float visibleAreaPosition;
     public CharacterEffects characterEffects;
@@ -23,13 +23,15 @@
  */
 package com.turbogerm.helljump.game.character.states;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.game.character.graphics.CharacterBodyGraphics;
 import com.turbogerm.helljump.game.character.graphics.CharacterEyesGraphicsStunned;
 import com.turbogerm.helljump.game.character.graphics.CharacterHeadGraphics;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class DyingEnemyCharacterState extends CharacterStateBase {
@@ -52,15 +54,15 @@ final class DyingEnemyCharacterState extends CharacterStateBase {
     
     private boolean mIsSawDeath;
     
-    public DyingEnemyCharacterState(CharacterStateManager characterStateManager, AssetManager assetManager) {
+    public DyingEnemyCharacterState(CharacterStateManager characterStateManager, GameAssets gameAssets) {
         super(characterStateManager);
         
-        mCharacterBodyGraphics = new CharacterBodyGraphics(assetManager);
-        mCharacterHeadGraphics = new CharacterHeadGraphics(assetManager);
-        mCharacterEyesGraphics = new CharacterEyesGraphicsStunned(assetManager);
+        mCharacterBodyGraphics = new CharacterBodyGraphics(gameAssets);
+        mCharacterHeadGraphics = new CharacterHeadGraphics(gameAssets);
+        mCharacterEyesGraphics = new CharacterEyesGraphicsStunned(gameAssets);
         
-        mSawSound = assetManager.get(ResourceNames.SOUND_SAW);
-        mEnemySound = assetManager.get(ResourceNames.SOUND_ENEMY);
+        mSawSound = gameAssets.getSound(ResourceNames.SOUND_SAW);
+        mEnemySound = gameAssets.getSound(ResourceNames.SOUND_ENEMY);
     }
     
     @Override
@@ -75,6 +77,24 @@ final class DyingEnemyCharacterState extends CharacterStateBase {
         mHorizontalSpeed = 0.0f;
     }
     
+    @Override
+    public void writeState(StateWriter writer) {
+        writer.writeFloat(mDyingElapsed);
+        writer.writeBoolean(mIsStaticPhaseStarted);
+        writer.writeBoolean(mIsMovingPhaseStarted);
+        writer.writeFloat(mHorizontalSpeed);
+        writer.writeBoolean(mIsSawDeath);
+    }
+    
+    @Override
+    public void readState(StateReader reader) {
+        mDyingElapsed = reader.readFloat();
+        mIsStaticPhaseStarted = reader.readBoolean();
+        mIsMovingPhaseStarted = reader.readBoolean();
+        mHorizontalSpeed = reader.readFloat();
+        mIsSawDeath = reader.readBoolean();
+    }
+    
     @Override
     public void update(CharacterStateUpdateData updateData) {
         
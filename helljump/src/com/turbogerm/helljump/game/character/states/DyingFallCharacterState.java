@@ -23,13 +23,16 @@
  */
 package com.turbogerm.helljump.game.character.states;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.GameRandom;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.game.character.graphics.CharacterBodyGraphics;
 import com.turbogerm.helljump.game.character.graphics.CharacterEyesGraphicsNormal;
 import com.turbogerm.helljump.game.character.graphics.CharacterHeadGraphics;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class DyingFallCharacterState extends CharacterStateBase {
@@ -45,14 +48,15 @@ final class DyingFallCharacterState extends CharacterStateBase {
     
     private final Sound mFallSound;
     
-    public DyingFallCharacterState(CharacterStateManager characterStateManager, AssetManager assetManager) {
+    public DyingFallCharacterState(CharacterStateManager characterStateManager, GameAssets gameAssets,
+            GameRandom cosmeticRandom) {
         super(characterStateManager);
         
-        mCharacterBodyGraphics = new CharacterBodyGraphics(assetManager);
-        mCharacterHeadGraphics = new CharacterHeadGraphics(assetManager);
-        mCharacterEyesGraphics = new CharacterEyesGraphicsNormal(assetManager);
+        mCharacterBodyGraphics = new CharacterBodyGraphics(gameAssets);
+        mCharacterHeadGraphics = new CharacterHeadGraphics(gameAssets);
+        mCharacterEyesGraphics = new CharacterEyesGraphicsNormal(gameAssets, cosmeticRandom);
         
-        mFallSound = assetManager.get(ResourceNames.SOUND_FALL);
+        mFallSound = gameAssets.getSound(ResourceNames.SOUND_FALL);
     }
     
     @Override
@@ -64,6 +68,18 @@ final class DyingFallCharacterState extends CharacterStateBase {
         mDyingCountdown = DYING_DURATION;
     }
     
+    @Override
+    public void writeState(StateWriter writer) {
+        writer.writeFloat(mDyingCountdown);
+        mCharacterEyesGraphics.writeState(writer);
+    }
+    
+    @Override
+    public void readState(StateReader reader) {
+        mDyingCountdown = reader.readFloat();
+        mCharacterEyesGraphics.readState(reader);
+    }
+    
     @Override
     public void update(CharacterStateUpdateData updateData) {
         
@@ -23,16 +23,18 @@
  */
 package com.turbogerm.helljump.game.character.states;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.germlibrary.util.ColorInterpolator;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.game.character.graphics.CharacterBodyGraphics;
 import com.turbogerm.helljump.game.character.graphics.CharacterEyesGraphicsStunned;
 import com.turbogerm.helljump.game.character.graphics.CharacterHeadGraphics;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 
@@ -58,16 +60,16 @@ final class DyingFireCharacterState extends CharacterStateBase {
         CHARRED_COLOR = new Color(0.0f, 0.0f, 0.0f, 1.0f);
     }
     
-    public DyingFireCharacterState(CharacterStateManager characterStateManager, AssetManager assetManager) {
+    public DyingFireCharacterState(CharacterStateManager characterStateManager, GameAssets gameAssets) {
         super(characterStateManager);
         
-        mCharacterBodyGraphics = new CharacterBodyGraphics(assetManager);
-        mCharacterHeadGraphics = new CharacterHeadGraphics(assetManager);
-        mCharacterEyesGraphics = new CharacterEyesGraphicsStunned(assetManager);
+        mCharacterBodyGraphics = new CharacterBodyGraphics(gameAssets);
+        mCharacterHeadGraphics = new CharacterHeadGraphics(gameAssets);
+        mCharacterEyesGraphics = new CharacterEyesGraphicsStunned(gameAssets);
         
         mColorInterpolator = new ColorInterpolator();
         
-        mFireSound = assetManager.get(ResourceNames.SOUND_FIRE);
+        mFireSound = gameAssets.getSound(ResourceNames.SOUND_FIRE);
     }
     
     @Override
@@ -79,6 +81,16 @@ final class DyingFireCharacterState extends CharacterStateBase {
         mDyingElapsed = 0.0f;
     }
     
+    @Override
+    public void writeState(StateWriter writer) {
+        writer.writeFloat(mDyingElapsed);
+    }
+    
+    @Override
+    public void readState(StateReader reader) {
+        mDyingElapsed = reader.readFloat();
+    }
+    
     @Override
     public void update(CharacterStateUpdateData updateData) {
         
@@ -23,19 +23,21 @@
  */
 package com.turbogerm.helljump.game.character.states;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.GameRandom;
 import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.CameraData;
 import com.turbogerm.helljump.game.character.GameCharacter;
 import com.turbogerm.helljump.game.character.graphics.CharacterBodyGraphics;
 import com.turbogerm.helljump.game.character.graphics.CharacterEyesGraphicsNormal;
 import com.turbogerm.helljump.game.character.graphics.CharacterHeadGraphics;
 import com.turbogerm.helljump.game.character.graphics.CharacterMouthGraphicsSmile;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class EndCharacterState extends CharacterStateBase {
@@ -67,21 +69,25 @@ final class EndCharacterState extends CharacterStateBase {
     private float mNextSheepSoundInteval;
     private float mElapsedSinceLastSheepSound;
     
+    private final GameRandom mCosmeticRandom;
+    
     public EndCharacterState(CharacterStateManager characterStateManager,
-            CameraData cameraData, AssetManager assetManager) {
+            CameraData cameraData, GameAssets gameAssets, GameRandom cosmeticRandom) {
         
         super(characterStateManager);
         
+        mCosmeticRandom = cosmeticRandom;
+        
         mCameraRect = cameraData.getNonOffsetedGameCameraRect();
         
-        mCharacterBodyGraphics = new CharacterBodyGraphics(assetManager);
-        mCharacterHeadGraphics = new CharacterHeadGraphics(assetManager);
-        mCharacterEyesGraphics = new CharacterEyesGraphicsNormal(assetManager);
-        mCharacterMouthGraphics = new CharacterMouthGraphicsSmile(assetManager);
+        mCharacterBodyGraphics = new CharacterBodyGraphics(gameAssets);
+        mCharacterHeadGraphics = new CharacterHeadGraphics(gameAssets);
+        mCharacterEyesGraphics = new CharacterEyesGraphicsNormal(gameAssets, cosmeticRandom);
+        mCharacterMouthGraphics = new CharacterMouthGraphicsSmile(gameAssets);
         
         mSheepSounds = new Sound[ResourceNames.SOUND_SHEEP_COUNT];
         for (int i = 0; i < mSheepSounds.length; i++) {
-            mSheepSounds[i] = assetManager.get(ResourceNames.getSoundSheep(i));
+            mSheepSounds[i] = gameAssets.getSound(ResourceNames.getSoundSheep(i));
         }
     }
     
@@ -95,10 +101,30 @@ final class EndCharacterState extends CharacterStateBase {
         mIsFirstEndJump = true;
         mIsCharacterStopped = false;
         mCharacterStoppedCountdown = CHARACTER_STOPPED_DURATION;
-        mNextSheepSoundInteval = MathUtils.random(MIN_SHEEP_SOUND_INTERVAL, MAX_SHEEP_SOUND_INTERVAL);
+        mNextSheepSoundInteval = mCosmeticRandom.random(MIN_SHEEP_SOUND_INTERVAL, MAX_SHEEP_SOUND_INTERVAL);
         mElapsedSinceLastSheepSound = 0.0f;
     }
     
+    @Override
+    public void writeState(StateWriter writer) {
+        writer.writeBoolean(mIsFirstEndJump);
+        writer.writeBoolean(mIsCharacterStopped);
+        writer.writeFloat(mCharacterStoppedCountdown);
+        writer.writeFloat(mNextSheepSoundInteval);
+        writer.writeFloat(mElapsedSinceLastSheepSound);
+        mCharacterEyesGraphics.writeState(writer);
+    }
+    
+    @Override
+    public void readState(StateReader reader) {
+        mIsFirstEndJump = reader.readBoolean();
+        mIsCharacterStopped = reader.readBoolean();
+        mCharacterStoppedCountdown = reader.readFloat();
+        mNextSheepSoundInteval = reader.readFloat();
+        mElapsedSinceLastSheepSound = reader.readFloat();
+        mCharacterEyesGraphics.readState(reader);
+    }
+    
     @Override
     public void update(CharacterStateUpdateData updateData) {
         
@@ -140,8 +166,8 @@ final class EndCharacterState extends CharacterStateBase {
         
         mElapsedSinceLastSheepSound += delta;
         if (mElapsedSinceLastSheepSound >= mNextSheepSoundInteval) {
-            mSheepSounds[MathUtils.random(ResourceNames.SOUND_SHEEP_COUNT - 1)].play();
-            mNextSheepSoundInteval = MathUtils.random(MIN_SHEEP_SOUND_INTERVAL, MAX_SHEEP_SOUND_INTERVAL);
+            mSheepSounds[mCosmeticRandom.random(ResourceNames.SOUND_SHEEP_COUNT - 1)].play();
+            mNextSheepSoundInteval = mCosmeticRandom.random(MIN_SHEEP_SOUND_INTERVAL, MAX_SHEEP_SOUND_INTERVAL);
             mElapsedSinceLastSheepSound = 0.0f;
         }
     }
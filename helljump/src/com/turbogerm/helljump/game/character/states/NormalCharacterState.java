@@ -23,17 +23,20 @@
  */
 package com.turbogerm.helljump.game.character.states;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.GameRandom;
 import com.turbogerm.germlibrary.util.GameUtils;
 import com.turbogerm.germlibrary.util.Pools;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.dataaccess.EnemyData;
 import com.turbogerm.helljump.game.CollisionEffects;
+import com.turbogerm.helljump.game.CollisionGrid;
 import com.turbogerm.helljump.game.GameArea;
 import com.turbogerm.helljump.game.PlatformToCharCollisionData;
 import com.turbogerm.helljump.game.RiseSection;
@@ -48,6 +51,7 @@ import com.turbogerm.helljump.game.character.graphics.ShieldEffectGraphics;
 import com.turbogerm.helljump.game.enemies.EnemyBase;
 import com.turbogerm.helljump.game.items.ItemBase;
 import com.turbogerm.helljump.game.platforms.PlatformBase;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class NormalCharacterState extends CharacterStateBase {
@@ -62,6 +66,8 @@ final class NormalCharacterState extends CharacterStateBase {
     private static final float FART_POWER_MULTIPLIER = 1.3f;
     private static final float FART_JUMP_SPEED = GameCharacter.JUMP_SPEED * FART_POWER_MULTIPLIER;
     
+    private static final int COLLISION_CANDIDATES_INITIAL_CAPACITY = 4;
+    
     private static final Color JUMP_SUIT_COLOR;
     
     private final CharacterBodyGraphics mCharacterBodyGraphics;
@@ -74,8 +80,12 @@ final class NormalCharacterState extends CharacterStateBase {
     private boolean mIsDying;
     
     private final Rectangle mRect;
+    private final Vector2 mMovement;
+    private final Rectangle mSweptRect;
     
     private final CharCollisionData mCharCollisionData;
+    private final Array<EnemyBase> mEnemyCandidates;
+    private final Array<ItemBase> mItemCandidates;
     private final CollisionEffects mCollisionEffects;
     
     private final CharacterStateChangeData mCharacterStateChangeData;
@@ -90,28 +100,33 @@ final class NormalCharacterState extends CharacterStateBase {
         JUMP_SUIT_COLOR = Color.RED;
     }
     
-    public NormalCharacterState(CharacterStateManager characterStateManager, AssetManager assetManager) {
+    public NormalCharacterState(CharacterStateManager characterStateManager, GameAssets gameAssets,
+            GameRandom cosmeticRandom) {
         super(characterStateManager);
         
-        mCharacterBodyGraphics = new CharacterBodyGraphics(assetManager);
-        mCharacterHeadGraphics = new CharacterHeadGraphics(assetManager);
-        mCharacterEyesGraphicsNormal = new CharacterEyesGraphicsNormal(assetManager);
-        mCharacterEyesGraphicsFart = new CharacterEyesGraphicsFart(assetManager);
-        mShieldEffectGraphics = new ShieldEffectGraphics(assetManager);
-        mFartDischargeGraphics = new FartDischargeGraphics(assetManager);
+        mCharacterBodyGraphics = new CharacterBodyGraphics(gameAssets);
+        mCharacterHeadGraphics = new CharacterHeadGraphics(gameAssets);
+        mCharacterEyesGraphicsNormal = new CharacterEyesGraphicsNormal(gameAssets, cosmeticRandom);
+        mCharacterEyesGraphicsFart = new CharacterEyesGraphicsFart(gameAssets);
+        mShieldEffectGraphics = new ShieldEffectGraphics(gameAssets);
+        mFartDischargeGraphics = new FartDischargeGraphics(gameAssets);
         
         mRect = new Rectangle(0.0f, 0.0f, GameCharacter.WIDTH, GameCharacter.HEIGHT);
+        mMovement = new Vector2();
+        mSweptRect = new Rectangle();
         
         mCharCollisionData = new CharCollisionData();
+        mEnemyCandidates = new Array<EnemyBase>(false, COLLISION_CANDIDATES_INITIAL_CAPACITY);
+        mItemCandidates = new Array<ItemBase>(false, COLLISION_CANDIDATES_INITIAL_CAPACITY);
         mCollisionEffects = new CollisionEffects();
         
         mCharacterStateChangeData = new CharacterStateChangeData();
         
-        mJumpSound = assetManager.get(ResourceNames.SOUND_JUMP);
-        mJumpBoostSound = assetManager.get(ResourceNames.SOUND_JUMP_BOOST);
-        mCoinSound = assetManager.get(ResourceNames.SOUND_COIN);
-        mItemSound = assetManager.get(ResourceNames.SOUND_ITEM);
-        mFartSound = assetManager.get(ResourceNames.SOUND_FART);
+        mJumpSound = gameAssets.getSound(ResourceNames.SOUND_JUMP);
+        mJumpBoostSound = gameAssets.getSound(ResourceNames.SOUND_JUMP_BOOST);
+        mCoinSound = gameAssets.getSound(ResourceNames.SOUND_COIN);
+        mItemSound = gameAssets.getSound(ResourceNames.SOUND_ITEM);
+        mFartSound = gameAssets.getSound(ResourceNames.SOUND_FART);
     }
     
     @Override
@@ -126,6 +141,18 @@ final class NormalCharacterState extends CharacterStateBase {
         mIsDying = false;
     }
     
+    @Override
+    public void writeState(StateWriter writer) {
+        writer.writeBoolean(mIsDying);
+        mCharacterEyesGraphicsNormal.writeState(writer);
+    }
+    
+    @Override
+    public void readState(StateReader reader) {
+        mIsDying = reader.readBoolean();
+        mCharacterEyesGraphicsNormal.readState(reader);
+    }
+    
     @Override
     public void update(CharacterStateUpdateData updateData) {
         
@@ -173,20 +200,21 @@ final class NormalCharacterState extends CharacterStateBase {
         
         mRect.x = position.x;
         mRect.y = position.y;
+        updateMovement(position, updateData.characterPreviousPosition);
         
         if (!mIsDying) {
-            handleCollisionWithEnemies(position, updateData.visibleEnemies, characterEffects);
+            handleCollisionWithEnemies(position, updateData.enemyCollisionGrid, characterEffects);
         }
         
         if (!mIsDying) {
-            handleCollisionWithItems(position, updateData.visibleItems, characterEffects);
+            handleCollisionWithItems(position, updateData.itemCollisionGrid, characterEffects);
         }
         
         if (!mIsDying && position.y > updateData.riseHeight) {
             changeState(CharacterStateManager.END_CHARACTER_STATE);
         }
         
-        characterEffects.update(delta);
+        characterEffects.update();
         
         if (characterEffects.isHighJump()) {
             mCharacterBodyGraphics.setColor(JUMP_SUIT_COLOR);
@@ -339,15 +367,30 @@ final class NormalCharacterState extends CharacterStateBase {
         }
     }
     
-    private void handleCollisionWithEnemies(Vector2 position, Array<EnemyBase> visibleEnemies,
+    // character x wraps around game area, so movement across its edge is taken the short way
+    private void updateMovement(Vector2 position, Vector2 previousPosition) {
+        mMovement.set(position).sub(previousPosition);
+        if (mMovement.x > GameArea.GAME_AREA_WIDTH / 2.0f) {
+            mMovement.x -= GameArea.GAME_AREA_WIDTH;
+        } else if (mMovement.x < -GameArea.GAME_AREA_WIDTH / 2.0f) {
+            mMovement.x += GameArea.GAME_AREA_WIDTH;
+        }
+        
+        float minX = Math.min(mRect.x, mRect.x - mMovement.x);
+        float minY = Math.min(mRect.y, mRect.y - mMovement.y);
+        mSweptRect.set(minX, minY, mRect.width + Math.abs(mMovement.x), mRect.height + Math.abs(mMovement.y));
+    }
+    
+    private void handleCollisionWithEnemies(Vector2 position, CollisionGrid<EnemyBase> enemyCollisionGrid,
             CharacterEffects characterEffects) {
         
         if (characterEffects.isShielded()) {
             return;
         }
         
-        for (EnemyBase enemy : visibleEnemies) {
-            if (enemy.isCollision(mRect)) {
+        enemyCollisionGrid.getCandidates(mSweptRect, mEnemyCandidates);
+        for (EnemyBase enemy : mEnemyCandidates) {
+            if (enemy.isCollision(mRect, mMovement)) {
                 if (characterEffects.getLives() <= 0) {
                     mIsDying = true;
                     mCharacterStateChangeData.clear();
@@ -363,10 +406,12 @@ final class NormalCharacterState extends CharacterStateBase {
         }
     }
     
-    private void handleCollisionWithItems(Vector2 position, Array<ItemBase> visibleItems,
+    private void handleCollisionWithItems(Vector2 position, CollisionGrid<ItemBase> itemCollisionGrid,
             CharacterEffects characterEffects) {
-        for (ItemBase item : visibleItems) {
-            if (item.isExisting() && item.isCollision(mRect)) {
+        
+        itemCollisionGrid.getCandidates(mSweptRect, mItemCandidates);
+        for (ItemBase item : mItemCandidates) {
+            if (item.isExisting() && item.isCollision(mRect, mMovement)) {
                 handleItemPickUp(item, characterEffects);
                 item.pickUp();
                 return;
@@ -426,7 +471,18 @@ final class NormalCharacterState extends CharacterStateBase {
             return false;
         }
         
+        // character x is wrapped only after the move, so c2 can be outside of game area;
+        // candidates are tested in the same unwrapped space as the segment itself
+        float segmentMinX = Math.min(c1.x, c2.x);
+        float segmentMaxX = Math.max(c1.x, c2.x);
+        float segmentMinY = c2.y;
+        float segmentMaxY = c1.y;
+        
         for (PlatformBase platform : platforms) {
+            if (!platform.isCollisionCandidate(segmentMinX, segmentMaxX, segmentMinY, segmentMaxY)) {
+                continue;
+            }
+            
             if (platform.isCollision(c1, c2, intersection)) {
                 charCollisionData.collisionPlatform = platform;
                 charCollisionData.collisionPointX = intersection.x;
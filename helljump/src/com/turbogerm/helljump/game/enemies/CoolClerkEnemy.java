@@ -23,15 +23,19 @@
  */
 package com.turbogerm.helljump.game.enemies;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.math.Intersector;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.Pools;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.dataaccess.EnemyData;
+import com.turbogerm.helljump.game.CollisionUtils;
+import com.turbogerm.helljump.game.MotionUtils;
+import com.turbogerm.helljump.game.PeriodicMotion;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-final class CoolClerkEnemy extends EnemyBase {
+final class CoolClerkEnemy extends EnemyBase implements PeriodicMotion {
     
     private static final float COLLISION_PADDING = 0.05f;
     
@@ -39,33 +43,32 @@ final class CoolClerkEnemy extends EnemyBase {
     private final float mRange;
     
     private final float mLeftLimit;
-    private final float mRightLimit;
-    private boolean mIsRightMovement;
-    private float mPositionX;
+    private final float mPositionY;
+    private final float mInitialDistance;
+    private float mTime;
     
     private final Rectangle mCollisionRect;
     
-    public CoolClerkEnemy(EnemyData enemyData, int startStep, AssetManager assetManager) {
-        super(enemyData, ResourceNames.ENEMY_COOL_CLERK_IMAGE_NAME, startStep, assetManager);
+    public CoolClerkEnemy(EnemyData enemyData, int startStep, GameAssets gameAssets) {
+        super(enemyData, ResourceNames.ENEMY_COOL_CLERK_IMAGE_NAME, startStep, gameAssets);
         
         Vector2 initialPosition = enemyData.getPosition(startStep);
         mSpeed = Float.parseFloat(enemyData.getProperty(EnemyData.SPEED_PROPERTY));
         mRange = Float.parseFloat(enemyData.getProperty(EnemyData.RANGE_PROPERTY));
         
         mLeftLimit = initialPosition.x;
-        mRightLimit = initialPosition.x + mRange;
-        
-        mPositionX = initialPosition.x;
+        mPositionY = initialPosition.y;
         
+        // initial offset past the range means clerk starts on its way back
         float initialOffset = Float.parseFloat(enemyData.getProperty(EnemyData.INITIAL_OFFSET_PROPERTY));
         if (initialOffset <= mRange) {
-            changePosition(initialOffset);
-            mIsRightMovement = true;
+            mInitialDistance = initialOffset;
         } else {
-            changePosition(mRange - initialOffset % mRange);
-            mIsRightMovement = false;
+            mInitialDistance = mRange + initialOffset % mRange;
         }
         
+        mTime = 0.0f;
+        
         float x = mSprite.getX() + COLLISION_PADDING;
         float y = mSprite.getY() + COLLISION_PADDING;
         float width = mSprite.getWidth() - 2.0f * COLLISION_PADDING;
@@ -74,31 +77,44 @@ final class CoolClerkEnemy extends EnemyBase {
     }
     
     @Override
-    public void update(float delta) {
-        float travelled = mSpeed * delta;
-        if (!mIsRightMovement) {
-            travelled = -travelled;
-        }
+    protected void updateImpl(float delta) {
+        mTime += delta;
         
-        changePosition(travelled);
-        
-        mSprite.setX(mPositionX);
+        Vector2 position = getPositionAt(mTime, Pools.obtainVector());
+        mSprite.setX(position.x);
         mCollisionRect.setX(mSprite.getX() + COLLISION_PADDING);
+        Pools.freeVector(position);
     }
     
     @Override
-    public boolean isCollision(Rectangle rect) {
-        return Intersector.overlapRectangles(rect, mCollisionRect);
+    protected void writeStateImpl(StateWriter writer) {
+        writer.writeFloat(mTime);
     }
     
-    private void changePosition(float change) {
-        mPositionX += change;
-        if (mPositionX <= mLeftLimit) {
-            mIsRightMovement = true;
-        } else if (mPositionX >= mRightLimit) {
-            mIsRightMovement = false;
-        }
-        
-        mPositionX = MathUtils.clamp(mPositionX, mLeftLimit, mRightLimit);
+    @Override
+    protected void readStateImpl(StateReader reader) {
+        mTime = reader.readFloat();
+        mCollisionRect.setX(mSprite.getX() + COLLISION_PADDING);
+    }
+    
+    @Override
+    public Vector2 getPositionAt(float time, Vector2 position) {
+        float offset = MotionUtils.getPingPongOffset(mInitialDistance + mSpeed * time, mRange);
+        return position.set(mLeftLimit + offset, mPositionY);
+    }
+    
+    @Override
+    public Rectangle getBoundsOver(float startTime, float endTime, Rectangle bounds) {
+        Vector2 extent = MotionUtils.getPingPongExtent(
+                mInitialDistance + mSpeed * startTime, mInitialDistance + mSpeed * endTime, mRange,
+                Pools.obtainVector());
+        bounds.set(mLeftLimit + extent.x, mPositionY, extent.y - extent.x, 0.0f);
+        Pools.freeVector(extent);
+        return bounds;
+    }
+    
+    @Override
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
+        return CollisionUtils.overlapSweptRectangles(rect, movementX, movementY, mCollisionRect);
     }
 }
@@ -23,46 +23,138 @@
  */
 package com.turbogerm.helljump.game.enemies;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.dataaccess.EnemyData;
+import com.turbogerm.helljump.game.CollisionGridObject;
 import com.turbogerm.helljump.game.GameAreaUtils;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-public abstract class EnemyBase {
+public abstract class EnemyBase implements CollisionGridObject {
     
     protected final Sprite mSprite;
     
     private final String mType;
     
-    public EnemyBase(EnemyData enemyData, String imageName, int startStep, AssetManager assetManager) {
+    private final Rectangle mCollisionBounds;
+    
+    private float mUpdatedTime;
+    private float mPreviousX;
+    private float mPreviousY;
+    
+    public EnemyBase(EnemyData enemyData, String imageName, int startStep, GameAssets gameAssets) {
         
         Vector2 initialPosition = enemyData.getPosition(startStep);
         mType = enemyData.getType();
         
-        TextureAtlas atlas = assetManager.get(ResourceNames.ENEMIES_ATLAS);
-        mSprite = atlas.createSprite(imageName);
+        mSprite = gameAssets.createSprite(ResourceNames.ENEMIES_ATLAS, imageName);
         mSprite.setPosition(initialPosition.x, initialPosition.y);
         GameUtils.multiplySpriteSize(mSprite, GameAreaUtils.PIXEL_TO_METER);
         GameUtils.setSpriteOriginCenter(mSprite);
+        
+        mCollisionBounds = new Rectangle();
+    }
+    
+    public final void update(float updateStartTime, float delta) {
+        // enemy was dormant, so it is fast-forwarded before the regular update
+        if (mUpdatedTime < updateStartTime) {
+            catchUpImpl(updateStartTime - mUpdatedTime);
+        }
+        mUpdatedTime = updateStartTime + delta;
+        
+        mPreviousX = mSprite.getX();
+        mPreviousY = mSprite.getY();
+        updateImpl(delta);
+    }
+    
+    protected void updateImpl(float delta) {
+    }
+    
+    protected void catchUpImpl(float delta) {
+        updateImpl(delta);
+    }
+    
+    // enemy starts as dormant
+    public void activate(float gameTime) {
+        mUpdatedTime = gameTime;
+        mPreviousX = mSprite.getX();
+        mPreviousY = mSprite.getY();
+    }
+    
+    // positions of moving enemies are derived from their time, and are kept in the sprite
+    public final void writeState(StateWriter writer) {
+        writer.writeFloat(mUpdatedTime);
+        writer.writeFloat(mPreviousX);
+        writer.writeFloat(mPreviousY);
+        writer.writeFloat(mSprite.getX());
+        writer.writeFloat(mSprite.getY());
+        writer.writeFloat(mSprite.getRotation());
+        writeStateImpl(writer);
+    }
+    
+    public final void readState(StateReader reader) {
+        mUpdatedTime = reader.readFloat();
+        mPreviousX = reader.readFloat();
+        mPreviousY = reader.readFloat();
+        float x = reader.readFloat();
+        float y = reader.readFloat();
+        mSprite.setPosition(x, y);
+        mSprite.setRotation(reader.readFloat());
+        readStateImpl(reader);
     }
     
-    public void update(float delta) {
+    protected void writeStateImpl(StateWriter writer) {
     }
     
-    public void render(SpriteBatch batch) {
+    protected void readStateImpl(StateReader reader) {
+    }
+    
+    // sprite is drawn between its last two positions, and is then returned to current position
+    public void render(SpriteBatch batch, float alpha) {
+        float offsetX = (mPreviousX - mSprite.getX()) * (1.0f - alpha);
+        float offsetY = (mPreviousY - mSprite.getY()) * (1.0f - alpha);
+        mSprite.translate(offsetX, offsetY);
         mSprite.draw(batch);
+        mSprite.translate(-offsetX, -offsetY);
+    }
+    
+    // rect moved by the given movement during the tick, and is tested against the path of the enemy
+    public final boolean isCollision(Rectangle rect, Vector2 rectMovement) {
+        return isCollision(rect,
+                rectMovement.x - (mSprite.getX() - mPreviousX),
+                rectMovement.y - (mSprite.getY() - mPreviousY));
     }
     
-    public boolean isCollision(Rectangle rect) {
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
         return false;
     }
     
+    public Rectangle getRenderBounds() {
+        return mSprite.getBoundingRectangle();
+    }
+    
+    // bounds cover both positions of the last tick, so swept collision finds the enemy wherever it was
+    @Override
+    public Rectangle getCollisionBounds() {
+        float minX = Math.min(mSprite.getX(), mPreviousX);
+        float minY = Math.min(mSprite.getY(), mPreviousY);
+        float maxX = Math.max(mSprite.getX(), mPreviousX) + mSprite.getWidth();
+        float maxY = Math.max(mSprite.getY(), mPreviousY) + mSprite.getHeight();
+        mCollisionBounds.set(minX, minY, maxX - minX, maxY - minY);
+        return mCollisionBounds;
+    }
+    
+    @Override
+    public boolean isCollidable() {
+        return true;
+    }
+    
     public String getType() {
         return mType;
     }
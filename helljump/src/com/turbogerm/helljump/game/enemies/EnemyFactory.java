@@ -23,27 +23,29 @@
  */
 package com.turbogerm.helljump.game.enemies;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.turbogerm.germlibrary.util.ExceptionThrower;
 import com.turbogerm.helljump.dataaccess.EnemyData;
+import com.turbogerm.helljump.game.RandomStreams;
+import com.turbogerm.helljump.resources.GameAssets;
 
 public final class EnemyFactory {
     
-    public static EnemyBase create(EnemyData enemyData, int startStep, AssetManager assetManager) {
+    public static EnemyBase create(EnemyData enemyData, int startStep, GameAssets gameAssets,
+            RandomStreams randomStreams) {
         
         String enemyType = enemyData.getType();
         if (EnemyData.SAW_TYPE.equals(enemyType)) {
-            return new SawEnemy(enemyData, startStep, assetManager);
+            return new SawEnemy(enemyData, startStep, gameAssets);
         } else if (EnemyData.IMP_TYPE.equals(enemyType)) {
-            return new ImpEnemy(enemyData, startStep, assetManager);
+            return new ImpEnemy(enemyData, startStep, gameAssets);
         } else if (EnemyData.LOCO_TYPE.equals(enemyType)) {
-            return new LocoEnemy(enemyData, startStep, assetManager);
+            return new LocoEnemy(enemyData, startStep, gameAssets);
         } else if (EnemyData.KNIGHT_TYPE.equals(enemyType)) {
-            return new KnightEnemy(enemyData, startStep, assetManager);
+            return new KnightEnemy(enemyData, startStep, gameAssets, randomStreams.getCosmeticRandom());
         } else if (EnemyData.EVIL_TWIN_TYPE.equals(enemyType)) {
-            return new EvilTwinEnemy(enemyData, startStep, assetManager);
+            return new EvilTwinEnemy(enemyData, startStep, gameAssets);
         } else if (EnemyData.COOL_CLERK_TYPE.equals(enemyType)) {
-            return new CoolClerkEnemy(enemyData, startStep, assetManager);
+            return new CoolClerkEnemy(enemyData, startStep, gameAssets);
         } else {
             ExceptionThrower.throwException("Invalid enemy type: %s", enemyType);
             return null;
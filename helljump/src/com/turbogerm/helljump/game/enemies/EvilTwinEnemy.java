@@ -23,41 +23,45 @@
  */
 package com.turbogerm.helljump.game.enemies;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.germlibrary.util.Pools;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.dataaccess.EnemyData;
+import com.turbogerm.helljump.game.CollisionUtils;
+import com.turbogerm.helljump.game.MotionUtils;
+import com.turbogerm.helljump.game.PeriodicMotion;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-final class EvilTwinEnemy extends EnemyBase {
+final class EvilTwinEnemy extends EnemyBase implements PeriodicMotion {
     
     private static final float COLLISION_PADDING = 0.05f;
     
-    private final float[] mAngleSpeeds;
     private final float[] mRadiuses;
     private final Vector2[] mRotationCenters;
     
-    private float mAngleParameter;
-    private final float mHalfMaxAngleParameter;
-    private final float mMaxAngleParameter;
+    // each curve is travelled forward and then backward, so there are two segments per curve
+    private final float[] mSegmentStartTimes;
+    private final float mCycleDuration;
+    private float mTime;
     
     private final Vector2 mPosition;
     private final Vector2 mCenterOffset;
     
     private final Rectangle mCollisionRect;
+    private final Rectangle mMovementEnvelope;
     
-    public EvilTwinEnemy(EnemyData enemyData, int startStep, AssetManager assetManager) {
-        super(enemyData, ResourceNames.ENEMY_EVIL_TWIN_IMAGE_NAME, startStep, assetManager);
+    public EvilTwinEnemy(EnemyData enemyData, int startStep, GameAssets gameAssets) {
+        super(enemyData, ResourceNames.ENEMY_EVIL_TWIN_IMAGE_NAME, startStep, gameAssets);
         
         Vector2 initialPosition = enemyData.getPosition(startStep);
         float speed = Float.parseFloat(enemyData.getProperty(EnemyData.SPEED_PROPERTY));
         float[] ranges = getRanges(enemyData.getProperty(EnemyData.RANGES_PROPERTY));
         int numCurves = ranges.length;
         
-        mAngleSpeeds = new float[numCurves];
         mRadiuses = new float[numCurves];
         mRotationCenters = new Vector2[numCurves];
         
@@ -68,7 +72,6 @@ final class EvilTwinEnemy extends EnemyBase {
         float rotationCenterY = initialPosition.y + mCenterOffset.y;
         for (int i = 0; i < numCurves; i++) {
             mRadiuses[i] = ranges[i] / 2.0f;
-            mAngleSpeeds[i] = speed / mRadiuses[i] * MathUtils.radDeg;
             
             float rotationCenterX = i == 0 ?
                     initialPosition.x + mCenterOffset.x + mRadiuses[i] :
@@ -76,15 +79,32 @@ final class EvilTwinEnemy extends EnemyBase {
             mRotationCenters[i] = new Vector2(rotationCenterX, rotationCenterY);
         }
         
-        mAngleParameter = 0.0f;
-        mHalfMaxAngleParameter = numCurves * 180.0f;
-        mMaxAngleParameter = mHalfMaxAngleParameter * 2.0f;
+        int numSegments = numCurves * 2;
+        mSegmentStartTimes = new float[numSegments + 1];
+        for (int i = 0; i < numSegments; i++) {
+            float angleSpeed = speed / mRadiuses[getSegmentCurveIndex(i)] * MathUtils.radDeg;
+            mSegmentStartTimes[i + 1] = mSegmentStartTimes[i] + 180.0f / angleSpeed;
+        }
+        mCycleDuration = mSegmentStartTimes[numSegments];
+        
+        mTime = 0.0f;
         
         float x = mSprite.getX() + COLLISION_PADDING;
         float y = mSprite.getY() + COLLISION_PADDING;
         float width = mSprite.getWidth() - 2.0f * COLLISION_PADDING;
         float height = mSprite.getHeight() - 2.0f * COLLISION_PADDING;
         mCollisionRect = new Rectangle(x, y, width, height);
+        
+        float maxRadius = 0.0f;
+        for (int i = 0; i < numCurves; i++) {
+            maxRadius = Math.max(maxRadius, mRadiuses[i]);
+        }
+        float envelopeMinX = mRotationCenters[0].x - mRadiuses[0] - mCenterOffset.x;
+        float envelopeMaxX = mRotationCenters[numCurves - 1].x + mRadiuses[numCurves - 1] + mCenterOffset.x;
+        float envelopeMinY = rotationCenterY - maxRadius - mCenterOffset.y;
+        float envelopeMaxY = rotationCenterY + maxRadius + mCenterOffset.y;
+        mMovementEnvelope = new Rectangle(envelopeMinX, envelopeMinY,
+                envelopeMaxX - envelopeMinX, envelopeMaxY - envelopeMinY);
     }
     
     private static float[] getRanges(String rangesString) {
@@ -99,9 +119,9 @@ final class EvilTwinEnemy extends EnemyBase {
     }
     
     @Override
-    public void update(float delta) {
-        
-        changePosition(delta);
+    protected void updateImpl(float delta) {
+        mTime += delta;
+        getPositionAt(mTime, mPosition);
         
         mSprite.setPosition(mPosition.x, mPosition.y);
         mCollisionRect.setX(mPosition.x + COLLISION_PADDING);
@@ -109,39 +129,99 @@ final class EvilTwinEnemy extends EnemyBase {
     }
     
     @Override
-    public boolean isCollision(Rectangle rect) {
-        return Intersector.overlapRectangles(rect, mCollisionRect);
+    protected void writeStateImpl(StateWriter writer) {
+        writer.writeFloat(mTime);
     }
     
-    private void changePosition(float delta) {
-        int curveIndex = getCurveIndex();
-        
-        float travelledAngle = mAngleSpeeds[curveIndex] * delta;
-        
-        mAngleParameter += travelledAngle;
-        mAngleParameter = GameUtils.getPositiveModulus(mAngleParameter, mMaxAngleParameter);
-        
-        curveIndex = getCurveIndex();
-        float angle = mAngleParameter <= mHalfMaxAngleParameter ?
-                180.0f - mAngleParameter % 180.0f : mAngleParameter % 180.0f;
-        
-        mPosition.x = mRotationCenters[curveIndex].x +
-                MathUtils.cosDeg(angle) * mRadiuses[curveIndex] - mCenterOffset.x;
-        mPosition.y = mRotationCenters[curveIndex].y +
-                MathUtils.sinDeg(angle) * mRadiuses[curveIndex] - mCenterOffset.y;
+    @Override
+    protected void readStateImpl(StateReader reader) {
+        mTime = reader.readFloat();
+        mCollisionRect.setX(mSprite.getX() + COLLISION_PADDING);
+        mCollisionRect.setY(mSprite.getY() + COLLISION_PADDING);
+    }
+    
+    @Override
+    public Rectangle getRenderBounds() {
+        return mMovementEnvelope;
+    }
+    
+    @Override
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
+        return CollisionUtils.overlapSweptRectangles(rect, movementX, movementY, mCollisionRect);
     }
     
-    private int getCurveIndex() {
-        int numCurves = mAngleSpeeds.length;
+    @Override
+    public Vector2 getPositionAt(float time, Vector2 position) {
+        float cycleTime = time % mCycleDuration;
+        int segmentIndex = getSegmentIndex(cycleTime);
+        float angle = getSegmentAngle(segmentIndex, getSegmentFraction(segmentIndex, cycleTime));
+        
+        int curveIndex = getSegmentCurveIndex(segmentIndex);
+        return position.set(
+                mRotationCenters[curveIndex].x + MathUtils.cosDeg(angle) * mRadiuses[curveIndex] - mCenterOffset.x,
+                mRotationCenters[curveIndex].y + MathUtils.sinDeg(angle) * mRadiuses[curveIndex] - mCenterOffset.y);
+    }
+    
+    @Override
+    public Rectangle getBoundsOver(float startTime, float endTime, Rectangle bounds) {
+        Vector2 startPosition = getPositionAt(startTime, Pools.obtainVector());
+        bounds.set(startPosition.x, startPosition.y, 0.0f, 0.0f);
+        Pools.freeVector(startPosition);
+        
+        float time = startTime;
+        float intervalEndTime = Math.min(endTime, startTime + mCycleDuration);
+        int numSegments = mSegmentStartTimes.length - 1;
+        
+        // interval is split into segments, each one being an arc around a single center
+        for (int i = 0; i <= numSegments && time < intervalEndTime; i++) {
+            float cycleTime = time % mCycleDuration;
+            int segmentIndex = getSegmentIndex(cycleTime);
+            float segmentEndTime = Math.min(intervalEndTime,
+                    time + mSegmentStartTimes[segmentIndex + 1] - cycleTime);
+            
+            float startFraction = getSegmentFraction(segmentIndex, cycleTime);
+            float endFraction = getSegmentFraction(segmentIndex, cycleTime + segmentEndTime - time);
+            float startAngle = Math.min(getSegmentAngle(segmentIndex, startFraction),
+                    getSegmentAngle(segmentIndex, endFraction));
+            float sweep = (endFraction - startFraction) * 180.0f;
+            
+            int curveIndex = getSegmentCurveIndex(segmentIndex);
+            MotionUtils.mergeArcBounds(
+                    mRotationCenters[curveIndex].x - mCenterOffset.x,
+                    mRotationCenters[curveIndex].y - mCenterOffset.y,
+                    mRadiuses[curveIndex], startAngle, sweep, bounds);
+            
+            time = segmentEndTime;
+        }
         
-        int curveIndex;
-        if (mAngleParameter <= mHalfMaxAngleParameter) {
-            curveIndex = (int) (mAngleParameter / 180.0f);
-        } else {
-            curveIndex = numCurves - 1 - (int) ((mAngleParameter - mHalfMaxAngleParameter) / 180.0f);
+        return bounds;
+    }
+    
+    private int getSegmentIndex(float cycleTime) {
+        int numSegments = mSegmentStartTimes.length - 1;
+        for (int i = 1; i < numSegments; i++) {
+            if (cycleTime < mSegmentStartTimes[i]) {
+                return i - 1;
+            }
         }
         
-        curveIndex = MathUtils.clamp(curveIndex, 0, numCurves - 1);
-        return curveIndex;
+        return numSegments - 1;
+    }
+    
+    private float getSegmentFraction(int segmentIndex, float cycleTime) {
+        float segmentStartTime = mSegmentStartTimes[segmentIndex];
+        float segmentDuration = mSegmentStartTimes[segmentIndex + 1] - segmentStartTime;
+        return MathUtils.clamp((cycleTime - segmentStartTime) / segmentDuration, 0.0f, 1.0f);
+    }
+    
+    // upper half of the circle is travelled to the right going forward, and to the left going back
+    private float getSegmentAngle(int segmentIndex, float fraction) {
+        int numCurves = mRadiuses.length;
+        return segmentIndex < numCurves ? 180.0f - fraction * 180.0f : fraction * 180.0f;
+    }
+    
+    private int getSegmentCurveIndex(int segmentIndex) {
+        int numCurves = mRadiuses.length;
+        return segmentIndex < numCurves ? segmentIndex : 2 * numCurves - 1 - segmentIndex;
     }
 }
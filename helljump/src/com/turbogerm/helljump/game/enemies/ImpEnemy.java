@@ -23,15 +23,20 @@
  */
 package com.turbogerm.helljump.game.enemies;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.Pools;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.dataaccess.EnemyData;
+import com.turbogerm.helljump.game.CollisionUtils;
+import com.turbogerm.helljump.game.MotionUtils;
+import com.turbogerm.helljump.game.PeriodicMotion;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-final class ImpEnemy extends EnemyBase {
+final class ImpEnemy extends EnemyBase implements PeriodicMotion {
     
     private static final float SIN_AMPLITUDE = 0.2f;
     private static final float SIN_PERIOD = 0.5f;
@@ -42,34 +47,27 @@ final class ImpEnemy extends EnemyBase {
     private final float mSpeed;
     private final float mRange;
     
-    private final float mLeftLimit;
-    private final float mRightLimit;
-    private boolean mIsRightMovement;
-    
     private final Vector2 mInitialPosition;
     private final Vector2 mPosition;
     
-    private float mSinTime;
+    private float mTime;
     
     private final Rectangle mCollisionRect;
     
-    public ImpEnemy(EnemyData enemyData, int startStep, AssetManager assetManager) {
-        super(enemyData, ResourceNames.ENEMY_IMP_IMAGE_NAME, startStep, assetManager);
+    public ImpEnemy(EnemyData enemyData, int startStep, GameAssets gameAssets) {
+        super(enemyData, ResourceNames.ENEMY_IMP_IMAGE_NAME, startStep, gameAssets);
         
         mInitialPosition = enemyData.getPosition(startStep);
         
         mSpeed = Float.parseFloat(enemyData.getProperty(EnemyData.SPEED_PROPERTY));
         mRange = Float.parseFloat(enemyData.getProperty(EnemyData.RANGE_PROPERTY));
         
-        mLeftLimit = mInitialPosition.x;
-        mRightLimit = mInitialPosition.x + mRange;
-        mIsRightMovement = true;
-        
         mPosition = new Vector2(mInitialPosition);
         
+        // sprite is flipped while imp moves right
         mSprite.flip(true, false);
         
-        mSinTime = 0.0f;
+        mTime = 0.0f;
         
         float x = mSprite.getX() + COLLISION_PADDING;
         float y = mSprite.getY() + COLLISION_PADDING;
@@ -79,41 +77,61 @@ final class ImpEnemy extends EnemyBase {
     }
     
     @Override
-    public void update(float delta) {
-        float travelled = mSpeed * delta;
-        if (!mIsRightMovement) {
-            travelled = -travelled;
-        }
-        
-        changePosition(travelled);
-        
-        mSinTime = (mSinTime + delta) % SIN_PERIOD;
-        mPosition.y = mInitialPosition.y + MathUtils.sinDeg(mSinTime / SIN_PERIOD * 360.0f) * SIN_AMPLITUDE;
+    protected void updateImpl(float delta) {
+        mTime += delta;
+        getPositionAt(mTime, mPosition);
         
         mSprite.setPosition(mPosition.x, mPosition.y);
-        if (mIsRightMovement) {
-            mCollisionRect.setX(mPosition.x + COLLISION_PADDING);
-        } else {
-            mCollisionRect.setX(mPosition.x + COLLISION_PADDING_FRONT);
-        }
-        mCollisionRect.setY(mPosition.y + COLLISION_PADDING);
+        updateFacing();
     }
     
     @Override
-    public boolean isCollision(Rectangle rect) {
-        return Intersector.overlapRectangles(rect, mCollisionRect);
+    protected void writeStateImpl(StateWriter writer) {
+        writer.writeFloat(mTime);
     }
     
-    private void changePosition(float change) {
-        mPosition.x += change;
-        if (mPosition.x <= mLeftLimit) {
-            mIsRightMovement = true;
-            mSprite.flip(true, false);
-        } else if (mPosition.x >= mRightLimit) {
-            mIsRightMovement = false;
+    @Override
+    protected void readStateImpl(StateReader reader) {
+        mTime = reader.readFloat();
+        updateFacing();
+    }
+    
+    // sprite and front collision padding follow the direction of movement
+    private void updateFacing() {
+        boolean isRightMovement = MotionUtils.isPingPongForward(mSpeed * mTime, mRange);
+        if (mSprite.isFlipX() != isRightMovement) {
             mSprite.flip(true, false);
         }
         
-        mPosition.x = MathUtils.clamp(mPosition.x, mLeftLimit, mRightLimit);
+        if (isRightMovement) {
+            mCollisionRect.setX(mSprite.getX() + COLLISION_PADDING);
+        } else {
+            mCollisionRect.setX(mSprite.getX() + COLLISION_PADDING_FRONT);
+        }
+        mCollisionRect.setY(mSprite.getY() + COLLISION_PADDING);
+    }
+    
+    @Override
+    public Vector2 getPositionAt(float time, Vector2 position) {
+        float sinTime = time % SIN_PERIOD;
+        return position.set(
+                mInitialPosition.x + MotionUtils.getPingPongOffset(mSpeed * time, mRange),
+                mInitialPosition.y + MathUtils.sinDeg(sinTime / SIN_PERIOD * 360.0f) * SIN_AMPLITUDE);
+    }
+    
+    // vertical oscillation is short, so its full amplitude is always taken
+    @Override
+    public Rectangle getBoundsOver(float startTime, float endTime, Rectangle bounds) {
+        Vector2 extent = MotionUtils.getPingPongExtent(mSpeed * startTime, mSpeed * endTime, mRange,
+                Pools.obtainVector());
+        bounds.set(mInitialPosition.x + extent.x, mInitialPosition.y - SIN_AMPLITUDE,
+                extent.y - extent.x, 2.0f * SIN_AMPLITUDE);
+        Pools.freeVector(extent);
+        return bounds;
+    }
+    
+    @Override
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
+        return CollisionUtils.overlapSweptRectangles(rect, movementX, movementY, mCollisionRect);
     }
 }
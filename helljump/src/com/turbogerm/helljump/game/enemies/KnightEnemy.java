@@ -23,17 +23,23 @@
  */
 package com.turbogerm.helljump.game.enemies;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.GameRandom;
 import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.germlibrary.util.Pools;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.dataaccess.EnemyData;
+import com.turbogerm.helljump.game.CollisionUtils;
 import com.turbogerm.helljump.game.GameArea;
+import com.turbogerm.helljump.game.MotionUtils;
+import com.turbogerm.helljump.game.PeriodicMotion;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-final class KnightEnemy extends EnemyBase {
+final class KnightEnemy extends EnemyBase implements PeriodicMotion {
     
     private static final float SPEED = 5.0f;
     private static final float TREMOR_ROTATION_LIMITS = 5.0f;
@@ -42,22 +48,27 @@ final class KnightEnemy extends EnemyBase {
     
     private final float mRadius;
     private final float mAngleSpeed;
-    private float mAngleParameter;
+    private float mTime;
     private final Vector2[] mRotationCenters;
     
     private final Vector2 mPosition;
     private final Vector2 mCenterOffset;
     
     private final Rectangle mCollisionRect;
+    private final Rectangle mMovementEnvelope;
     
-    public KnightEnemy(EnemyData enemyData, int startStep, AssetManager assetManager) {
-        super(enemyData, ResourceNames.ENEMY_KNIGHT_IMAGE_NAME, startStep, assetManager);
+    private final GameRandom mCosmeticRandom;
+    
+    public KnightEnemy(EnemyData enemyData, int startStep, GameAssets gameAssets, GameRandom cosmeticRandom) {
+        super(enemyData, ResourceNames.ENEMY_KNIGHT_IMAGE_NAME, startStep, gameAssets);
+        
+        mCosmeticRandom = cosmeticRandom;
         
         float range = GameArea.GAME_AREA_WIDTH - mSprite.getWidth();
         mRadius = range / 4.0f;
         
         mAngleSpeed = SPEED / mRadius * MathUtils.radDeg;
-        mAngleParameter = 0.0f;
+        mTime = 0.0f;
         
         mPosition = new Vector2();
         mCenterOffset = new Vector2(
@@ -76,34 +87,90 @@ final class KnightEnemy extends EnemyBase {
         float width = mSprite.getWidth() - 2.0f * COLLISION_PADDING;
         float height = mSprite.getHeight() - 2.0f * COLLISION_PADDING;
         mCollisionRect = new Rectangle(x, y, width, height);
+        
+        // sprite is rotated by tremor, so its half diagonal is used as extent around the center
+        float halfDiagonal = (float) Math.hypot(mCenterOffset.x, mCenterOffset.y);
+        float envelopeMinX = mRotationCenters[0].x - mRadius - halfDiagonal;
+        float envelopeMaxX = mRotationCenters[1].x + mRadius + halfDiagonal;
+        float envelopeMinY = mRotationCenters[0].y - mRadius - halfDiagonal;
+        float envelopeMaxY = mRotationCenters[0].y + mRadius + halfDiagonal;
+        mMovementEnvelope = new Rectangle(envelopeMinX, envelopeMinY,
+                envelopeMaxX - envelopeMinX, envelopeMaxY - envelopeMinY);
     }
     
     @Override
-    public void update(float delta) {
-        float travelledAngle = mAngleSpeed * delta;
-        changePosition(travelledAngle);
+    protected void updateImpl(float delta) {
+        mTime += delta;
+        getPositionAt(mTime, mPosition);
         
-        mSprite.setRotation(MathUtils.random(-TREMOR_ROTATION_LIMITS, TREMOR_ROTATION_LIMITS));
+        mSprite.setRotation(mCosmeticRandom.random(-TREMOR_ROTATION_LIMITS, TREMOR_ROTATION_LIMITS));
         mSprite.setPosition(mPosition.x, mPosition.y);
         mCollisionRect.setX(mPosition.x + COLLISION_PADDING);
         mCollisionRect.setY(mPosition.y + COLLISION_PADDING);
     }
     
     @Override
-    public boolean isCollision(Rectangle rect) {
-        return Intersector.overlapRectangles(rect, mCollisionRect);
+    protected void writeStateImpl(StateWriter writer) {
+        writer.writeFloat(mTime);
+    }
+    
+    @Override
+    protected void readStateImpl(StateReader reader) {
+        mTime = reader.readFloat();
+        mCollisionRect.setX(mSprite.getX() + COLLISION_PADDING);
+        mCollisionRect.setY(mSprite.getY() + COLLISION_PADDING);
     }
     
-    private void changePosition(float change) {
-        mAngleParameter += change;
-        mAngleParameter = GameUtils.getPositiveModulus(mAngleParameter, 720.0f);
+    @Override
+    public Rectangle getRenderBounds() {
+        return mMovementEnvelope;
+    }
+    
+    @Override
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
+        return CollisionUtils.overlapSweptRectangles(rect, movementX, movementY, mCollisionRect);
+    }
+    
+    // angle parameter goes counterclockwise around first center, and then clockwise around second one
+    @Override
+    public Vector2 getPositionAt(float time, Vector2 position) {
+        float angleParameter = GameUtils.getPositiveModulus(mAngleSpeed * time, 720.0f);
+        
+        float angle = angleParameter <= 360.0f ? angleParameter : 540.0f - angleParameter;
+        int rotationCenterIndex = angleParameter <= 360.0f ? 0 : 1;
+        
+        return position.set(
+                mRotationCenters[rotationCenterIndex].x + MathUtils.cosDeg(angle) * mRadius - mCenterOffset.x,
+                mRotationCenters[rotationCenterIndex].y + MathUtils.sinDeg(angle) * mRadius - mCenterOffset.y);
+    }
+    
+    @Override
+    public Rectangle getBoundsOver(float startTime, float endTime, Rectangle bounds) {
+        Vector2 startPosition = getPositionAt(startTime, Pools.obtainVector());
+        bounds.set(startPosition.x, startPosition.y, 0.0f, 0.0f);
+        Pools.freeVector(startPosition);
+        
+        float startParameter = mAngleSpeed * startTime;
+        float endParameter = Math.min(mAngleSpeed * endTime, startParameter + 720.0f);
         
-        float angle = mAngleParameter <= 360.0f ? mAngleParameter : 540.0f - mAngleParameter;
-        int rotationCenterIndex = mAngleParameter <= 360.0f ? 0 : 1;
+        // interval is split into arcs around a single center
+        float arcStart = startParameter;
+        while (arcStart < endParameter) {
+            float arcIndex = (float) Math.floor(arcStart / 360.0f);
+            float arcEnd = Math.min(endParameter, (arcIndex + 1.0f) * 360.0f);
+            float localStart = arcStart - arcIndex * 360.0f;
+            float sweep = arcEnd - arcStart;
+            
+            int rotationCenterIndex = (int) arcIndex % 2;
+            Vector2 center = mRotationCenters[rotationCenterIndex];
+            // second arc is clockwise, so it is swept counterclockwise from its end
+            float startAngle = rotationCenterIndex == 0 ? localStart : 180.0f - localStart - sweep;
+            MotionUtils.mergeArcBounds(center.x - mCenterOffset.x, center.y - mCenterOffset.y, mRadius,
+                    GameUtils.getPositiveModulus(startAngle, 360.0f), sweep, bounds);
+            
+            arcStart = arcEnd;
+        }
         
-        mPosition.x = mRotationCenters[rotationCenterIndex].x +
-                MathUtils.cosDeg(angle) * mRadius - mCenterOffset.x;
-        mPosition.y = mRotationCenters[rotationCenterIndex].y +
-                MathUtils.sinDeg(angle) * mRadius - mCenterOffset.y;
+        return bounds;
     }
 }
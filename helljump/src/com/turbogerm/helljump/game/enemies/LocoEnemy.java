@@ -23,13 +23,15 @@
  */
 package com.turbogerm.helljump.game.enemies;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.Interpolation;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.dataaccess.EnemyData;
+import com.turbogerm.helljump.game.CollisionUtils;
 import com.turbogerm.helljump.game.GameArea;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class LocoEnemy extends EnemyBase {
@@ -43,8 +45,8 @@ final class LocoEnemy extends EnemyBase {
     
     private final Rectangle mCollisionRect;
     
-    public LocoEnemy(EnemyData enemyData, int startStep, AssetManager assetManager) {
-        super(enemyData, ResourceNames.ENEMY_LOCO_IMAGE_NAME, startStep, assetManager);
+    public LocoEnemy(EnemyData enemyData, int startStep, GameAssets gameAssets) {
+        super(enemyData, ResourceNames.ENEMY_LOCO_IMAGE_NAME, startStep, gameAssets);
         
         mTravelPeriod = Float.parseFloat(enemyData.getProperty(EnemyData.TRAVEL_PERIOD_PROPERTY));
         mTravelHalfPeriod = mTravelPeriod / 2.0f;
@@ -62,7 +64,7 @@ final class LocoEnemy extends EnemyBase {
     }
     
     @Override
-    public void update(float delta) {
+    protected void updateImpl(float delta) {
         mTravelTime = (mTravelTime + delta) % mTravelPeriod;
         float x = mRange * getPositionFraction();
         mSprite.setX(x);
@@ -70,8 +72,19 @@ final class LocoEnemy extends EnemyBase {
     }
     
     @Override
-    public boolean isCollision(Rectangle rect) {
-        return Intersector.overlapRectangles(rect, mCollisionRect);
+    protected void writeStateImpl(StateWriter writer) {
+        writer.writeFloat(mTravelTime);
+    }
+    
+    @Override
+    protected void readStateImpl(StateReader reader) {
+        mTravelTime = reader.readFloat();
+        mCollisionRect.setX(mSprite.getX() + COLLISION_PADDING);
+    }
+    
+    @Override
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
+        return CollisionUtils.overlapSweptRectangles(rect, movementX, movementY, mCollisionRect);
     }
     
     private float getPositionFraction() {
@@ -23,11 +23,11 @@
  */
 package com.turbogerm.helljump.game.enemies;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.Circle;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.turbogerm.helljump.dataaccess.EnemyData;
+import com.turbogerm.helljump.game.CollisionUtils;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class SawEnemy extends EnemyBase {
@@ -37,8 +37,8 @@ public final class SawEnemy extends EnemyBase {
     
     private final Circle mCollisionCircle;
     
-    public SawEnemy(EnemyData enemyData, int startStep, AssetManager assetManager) {
-        super(enemyData, ResourceNames.ENEMY_SAW_IMAGE_NAME, startStep, assetManager);
+    public SawEnemy(EnemyData enemyData, int startStep, GameAssets gameAssets) {
+        super(enemyData, ResourceNames.ENEMY_SAW_IMAGE_NAME, startStep, gameAssets);
         
         float x = mSprite.getX() + mSprite.getWidth() / 2.0f;
         float y = mSprite.getY() + mSprite.getHeight() / 2.0f;
@@ -47,12 +47,12 @@ public final class SawEnemy extends EnemyBase {
     }
     
     @Override
-    public void update(float delta) {
+    protected void updateImpl(float delta) {
         mSprite.rotate(-ROTATION_SPEED * delta);
     }
     
     @Override
-    public boolean isCollision(Rectangle rect) {
-        return Intersector.overlapCircleRectangle(mCollisionCircle, rect);
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
+        return CollisionUtils.overlapSweptRectangleCircle(rect, movementX, movementY, mCollisionCircle);
     }
 }
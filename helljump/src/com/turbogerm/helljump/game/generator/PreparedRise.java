@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.generator;
+
+import com.turbogerm.helljump.game.RandomStreams;
+import com.turbogerm.helljump.game.RiseSectionSource;
+
+// rise planned before its game starts, together with the state of gameplay streams after planning;
+// sections are taken from the source as they are created, so a prepared rise starts only one game
+public final class PreparedRise {
+    
+    private final long mRiseSeed;
+    private final boolean mIsEndless;
+    private final RandomStreams mRandomStreams;
+    private final RiseSectionSource mRiseSectionSource;
+    
+    PreparedRise(long riseSeed, boolean isEndless, RandomStreams randomStreams,
+            RiseSectionSource riseSectionSource) {
+        mRiseSeed = riseSeed;
+        mIsEndless = isEndless;
+        mRandomStreams = randomStreams;
+        mRiseSectionSource = riseSectionSource;
+    }
+    
+    public long getRiseSeed() {
+        return mRiseSeed;
+    }
+    
+    public boolean isEndless() {
+        return mIsEndless;
+    }
+    
+    public RandomStreams getRandomStreams() {
+        return mRandomStreams;
+    }
+    
+    public RiseSectionSource getRiseSectionSource() {
+        return mRiseSectionSource;
+    }
+}
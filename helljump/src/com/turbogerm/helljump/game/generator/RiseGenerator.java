@@ -24,9 +24,9 @@
 package com.turbogerm.helljump.game.generator;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.GameRandom;
 import com.turbogerm.helljump.dataaccess.EnemyData;
 import com.turbogerm.helljump.dataaccess.ItemData;
 import com.turbogerm.helljump.dataaccess.PlatformData;
@@ -38,18 +38,24 @@ import com.turbogerm.helljump.dataaccess.RiseSectionsData;
 import com.turbogerm.helljump.dataaccess.RiseSectionsDataReader;
 import com.turbogerm.helljump.dataaccess.RiseSectionsMetadata;
 import com.turbogerm.helljump.game.GameAreaUtils;
-import com.turbogerm.helljump.game.Rise;
+import com.turbogerm.helljump.game.RandomStreams;
 import com.turbogerm.helljump.game.RiseSection;
+import com.turbogerm.helljump.game.RiseSectionSource;
 import com.turbogerm.helljump.game.enemies.EnemyBase;
 import com.turbogerm.helljump.game.enemies.EnemyFactory;
 import com.turbogerm.helljump.game.items.ItemBase;
 import com.turbogerm.helljump.game.items.ItemFactory;
 import com.turbogerm.helljump.game.platforms.PlatformBase;
 import com.turbogerm.helljump.game.platforms.PlatformFactory;
+import com.turbogerm.helljump.game.platforms.movement.PlatformMovementStore;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class RiseGenerator {
     
+    // has to be increased whenever the same seed would generate a different rise, because replays depend on it
+    public static final int GENERATOR_VERSION = 5;
+    
     private static final int RISE_HEIGHT_STEPS = 5000;
     private static final int RISE_TRESHOLD_4 = 800;
     private static final int RISE_TRESHOLD_10 = 4000;
@@ -63,6 +69,9 @@ public final class RiseGenerator {
     private static final float ENEMY_SECTION_CUMULATIVE_FRACTION;
     
     private static final int RISE_SECTIONS_INITIAL_CAPACITY = 400;
+    private static final int ENDLESS_RISE_PLANNED_SECTIONS_INITIAL_CAPACITY = 5;
+    
+    private static final String[] INITIAL_RISE_SECTION_NAMES = { "initial0", "initial1", "initial2" };
     
     private static final RiseSectionsData PREBUILT_RISE_SECTIONS;
     private static final RiseSectionsMetadata RISE_SECTIONS_METADATA;
@@ -74,7 +83,6 @@ public final class RiseGenerator {
     
     private static final int RISE_SECTION_TYPE_INITIAL_CAPACITY = 10;
     
-    private static final Array<RiseSectionDataBase> RISE_SECTION_SELECTION_LIST;
     private static final int RISE_SECTION_SELECTION_LIST_INITIAL_CAPACITY = 10;
     
     private static final int TRANSITION_SECTION_TYPE = 0;
@@ -121,16 +129,34 @@ public final class RiseGenerator {
                 SPECIAL_RISE_SECTIONS.add(riseSectionDataBase);
             }
         }
-        
-        RISE_SECTION_SELECTION_LIST = new Array<RiseSectionDataBase>(
-                false, RISE_SECTION_SELECTION_LIST_INITIAL_CAPACITY);
     }
     
-    public static Rise generate(AssetManager assetManager) {
-        Array<RiseSectionData> riseSectionsData = new Array<RiseSectionData>(true, RISE_SECTIONS_INITIAL_CAPACITY);
+    // data of sections that start below preparedHeight is generated right away, so creating them later only
+    // creates their objects and sprites; nothing here touches assets, so it can run on any thread
+    public static PreparedRise prepare(long riseSeed, boolean isEndless, float preparedHeight) {
+        RandomStreams randomStreams = new RandomStreams(riseSeed);
+        GameRandom random = randomStreams.getGameplayRandom();
+        PlannedRiseSectionSource riseSectionSource = isEndless ? planEndlessRise(random) : planRise(random);
+        riseSectionSource.prepareRiseSections(preparedHeight);
+        
+        return new PreparedRise(riseSeed, isEndless, randomStreams, riseSectionSource);
+    }
+    
+    // endless rise is planned while it is climbed, with its own random that isn't part of the game state,
+    // so the sections planned depend only on how many of them were planned before
+    private static PlannedRiseSectionSource planEndlessRise(GameRandom random) {
+        return new EndlessRise(new GameRandom(random.nextLong()));
+    }
+    
+    private static PlannedRiseSectionSource planRise(GameRandom random) {
+        
+        // selection list is per call, so rises can be generated concurrently
+        Array<RiseSectionDataBase> selectionList = new Array<RiseSectionDataBase>(
+                false, RISE_SECTION_SELECTION_LIST_INITIAL_CAPACITY);
+        
+        PlannedRise plannedRise = new PlannedRise();
         
         int stepsInRise = 0;
-        RiseSectionData currRiseSection;
         
 //        String typePrefix = "normal";
 //        for (int i = 1; i <= 5; i++) {
@@ -188,47 +214,33 @@ public final class RiseGenerator {
 //            stepsInRise += currRiseSection.getStepRange();
 //        }
         
-        currRiseSection = RiseSectionGenerator.generateRiseSection(RISE_SECTIONS_METADATA.getByName("initial0"));
-        riseSectionsData.add(currRiseSection);
-        stepsInRise += currRiseSection.getStepRange();
-        
-        currRiseSection = RiseSectionGenerator.generateRiseSection(RISE_SECTIONS_METADATA.getByName("initial1"));
-        riseSectionsData.add(currRiseSection);
-        stepsInRise += currRiseSection.getStepRange();
-        
-        currRiseSection = RiseSectionGenerator.generateRiseSection(RISE_SECTIONS_METADATA.getByName("initial2"));
-        riseSectionsData.add(currRiseSection);
-        stepsInRise += currRiseSection.getStepRange();
+        // only the sequence of sections is decided here, and each section is generated from its own seed later
+        for (String initialRiseSectionName : INITIAL_RISE_SECTION_NAMES) {
+            stepsInRise += plannedRise.add(RISE_SECTIONS_METADATA.getByName(initialRiseSectionName), random);
+        }
         
         boolean isTransitionSection = true;
         while (stepsInRise < RISE_HEIGHT_STEPS) {
-            currRiseSection = getRandomRiseSection(stepsInRise, isTransitionSection);
-            riseSectionsData.add(currRiseSection);
-            stepsInRise += currRiseSection.getStepRange();
+            RiseSectionDataBase riseSectionDataBase = getRandomRiseSection(
+                    stepsInRise, isTransitionSection, selectionList, random);
+            stepsInRise += plannedRise.add(riseSectionDataBase, random);
             isTransitionSection = !isTransitionSection;
         }
         
-        adjustLastRiseSection(riseSectionsData);
-        
-        // TODO: only for debugging
-        String[] riseSectionNames = new String[riseSectionsData.size];
-        for (int i = 0; i < riseSectionNames.length; i++) {
-            riseSectionNames[i] = riseSectionsData.get(i).getName();
-        }
-        
-        Array<RiseSection> riseSections = getRiseSections(riseSectionsData, assetManager);
+        plannedRise.adjustLastRiseSection();
         
-        return new Rise(riseSections);
+        return plannedRise;
     }
     
-    private static RiseSectionData getRandomRiseSection(int stepsInRise, boolean isTransitionSection) {
+    private static RiseSectionDataBase getRandomRiseSection(int stepsInRise, boolean isTransitionSection,
+            Array<RiseSectionDataBase> selectionList, GameRandom random) {
         int sectionType;
         boolean revertToStandard;
         if (isTransitionSection) {
             sectionType = TRANSITION_SECTION_TYPE;
             revertToStandard = false;
         } else {
-            float randomRiseSectionNumber = MathUtils.random();
+            float randomRiseSectionNumber = random.random();
             if (randomRiseSectionNumber <= STANDARD_SECTION_CUMULATIVE_FRACTION) {
                 sectionType = STANDARD_SECTION_TYPE;
                 revertToStandard = false;
@@ -243,10 +255,9 @@ public final class RiseGenerator {
         
         Array<RiseSectionDataBase> riseSectionList = getRiseSectionList(sectionType);
         MinMaxDifficulty minMaxDifficulty = getRiseSectionMinMaxDifficulty(sectionType, stepsInRise);
-        RiseSectionData riseSectionData = getRandomRiseSectionData(
-                minMaxDifficulty.minDifficulty, minMaxDifficulty.maxDifficulty, riseSectionList, revertToStandard);
-        
-        return riseSectionData;
+        return getRandomRiseSectionDataBase(
+                minMaxDifficulty.minDifficulty, minMaxDifficulty.maxDifficulty, riseSectionList, revertToStandard,
+                selectionList, random);
     }
     
     private static Array<RiseSectionDataBase> getRiseSectionList(int sectionType) {
@@ -312,54 +323,69 @@ public final class RiseGenerator {
         return new MinMaxDifficulty(minDifficulty, maxDifficulty);
     }
     
-    private static RiseSectionData getRandomRiseSectionData(int minDifficulty, int maxDifficulty,
-            Array<RiseSectionDataBase> riseSectionList, boolean revertToStandard) {
+    private static RiseSectionDataBase getRandomRiseSectionDataBase(int minDifficulty, int maxDifficulty,
+            Array<RiseSectionDataBase> riseSectionList, boolean revertToStandard,
+            Array<RiseSectionDataBase> selectionList, GameRandom random) {
         
         if (maxDifficulty < 0) {
             return null;
         }
         
-        RISE_SECTION_SELECTION_LIST.clear();
+        selectionList.clear();
         
-        for (RiseSectionDataBase riseSectionDataBase : riseSectionList) {
+        for (int i = 0; i < riseSectionList.size; i++) {
+            RiseSectionDataBase riseSectionDataBase = riseSectionList.get(i);
             int difficulty = riseSectionDataBase.getDifficulty();
             if (minDifficulty <= difficulty && difficulty <= maxDifficulty) {
-                RISE_SECTION_SELECTION_LIST.add(riseSectionDataBase);
+                selectionList.add(riseSectionDataBase);
             }
         }
         
-        if (RISE_SECTION_SELECTION_LIST.size > 0) {
-            return getRiseSectionData(RISE_SECTION_SELECTION_LIST.random());
+        if (selectionList.size > 0) {
+            return random.random(selectionList);
         } else {
-            for (RiseSectionDataBase riseSectionDataBase : riseSectionList) {
-                if (RISE_SECTION_SELECTION_LIST.size == 0) {
-                    RISE_SECTION_SELECTION_LIST.add(riseSectionDataBase);
+            for (int i = 0; i < riseSectionList.size; i++) {
+                RiseSectionDataBase riseSectionDataBase = riseSectionList.get(i);
+                if (selectionList.size == 0) {
+                    selectionList.add(riseSectionDataBase);
                 } else {
                     if (revertToStandard) {
-                        return getRandomRiseSectionData(minDifficulty, maxDifficulty, STANDARD_RISE_SECTIONS, false);
+                        return getRandomRiseSectionDataBase(minDifficulty, maxDifficulty, STANDARD_RISE_SECTIONS, false,
+                                selectionList, random);
                     } else {
-                        RiseSectionDataBase selectedRiseSectionDataBase = RISE_SECTION_SELECTION_LIST.first();
+                        RiseSectionDataBase selectedRiseSectionDataBase = selectionList.first();
                         int currentDist = getDifficultyDistance(
                                 selectedRiseSectionDataBase.getDifficulty(), minDifficulty, maxDifficulty);
                         int newDist = getDifficultyDistance(
                                 riseSectionDataBase.getDifficulty(), minDifficulty, maxDifficulty);
                         
                         if (currentDist == newDist) {
-                            RISE_SECTION_SELECTION_LIST.add(riseSectionDataBase);
+                            selectionList.add(riseSectionDataBase);
                         } else if (isNewDifficultyDistanceBetter(currentDist, newDist)) {
-                            RISE_SECTION_SELECTION_LIST.clear();
-                            RISE_SECTION_SELECTION_LIST.add(riseSectionDataBase);
+                            selectionList.clear();
+                            selectionList.add(riseSectionDataBase);
                         }
                     }
                 }
             }
-            return getRiseSectionData(RISE_SECTION_SELECTION_LIST.random());
+            return random.random(selectionList);
+        }
+    }
+    
+    private static int getStepRange(RiseSectionDataBase riseSectionDataBase, GameRandom random) {
+        if (riseSectionDataBase.isMetadata()) {
+            RiseSectionMetadata riseSectionMetadata = (RiseSectionMetadata) riseSectionDataBase;
+            return random.random(riseSectionMetadata.getMinStepRange(), riseSectionMetadata.getMaxStepRange());
+        } else {
+            return ((RiseSectionData) riseSectionDataBase).getStepRange();
         }
     }
     
-    private static RiseSectionData getRiseSectionData(RiseSectionDataBase riseSectionDataBase) {
+    private static RiseSectionData getRiseSectionData(RiseSectionDataBase riseSectionDataBase, int stepRange,
+            GameRandom random) {
         if (riseSectionDataBase.isMetadata()) {
-            return RiseSectionGenerator.generateRiseSection((RiseSectionMetadata) riseSectionDataBase);
+            return RiseSectionGenerator.generateRiseSection(
+                    (RiseSectionMetadata) riseSectionDataBase, stepRange, random);
         } else {
             return (RiseSectionData) riseSectionDataBase;
         }
@@ -381,15 +407,13 @@ public final class RiseGenerator {
                 (newDist < 0 && currentDist > 0);
     }
     
-    private static void adjustLastRiseSection(Array<RiseSectionData> riseSectionsData) {
-        RiseSectionData lastRiseSectionData = riseSectionsData.pop();
-        
+    private static RiseSectionData getAdjustedLastRiseSectionData(RiseSectionData lastRiseSectionData) {
         int lastPlatformStep = lastRiseSectionData.getPlatformsData().peek().getStep();
         int newStepRange = lastPlatformStep + PlatformData.MAX_PLATFORM_DISTANCE_STEPS;
         
         // make sure there is maximum platform distance between last platform and end line
         // this way no platforms will be seen on end background texture
-        RiseSectionData newLastRiseSectionData = new RiseSectionData(
+        return new RiseSectionData(
                 lastRiseSectionData.getType(),
                 lastRiseSectionData.getName(),
                 newStepRange,
@@ -397,28 +421,10 @@ public final class RiseGenerator {
                 lastRiseSectionData.getPlatformsData(),
                 lastRiseSectionData.getEnemiesData(),
                 lastRiseSectionData.getItemsData());
-        
-        riseSectionsData.add(newLastRiseSectionData);
-    }
-    
-    private static Array<RiseSection> getRiseSections(Array<RiseSectionData> riseSectionsData,
-            AssetManager assetManager) {
-        Array<RiseSection> riseSections = new Array<RiseSection>(true, riseSectionsData.size);
-        
-        int id = 0;
-        int startStep = 0;
-        for (RiseSectionData riseSectionData : riseSectionsData) {
-            RiseSection riseSection = getRiseSection(id, startStep, riseSectionData, assetManager);
-            riseSections.add(riseSection);
-            id++;
-            startStep += riseSectionData.getStepRange();
-        }
-        
-        return riseSections;
     }
     
     private static RiseSection getRiseSection(int riseSectionId, int startStep, RiseSectionData riseSectionData,
-            AssetManager assetManager) {
+            GameAssets gameAssets, RandomStreams randomStreams) {
         
         String riseSectionName = riseSectionData.getName();
         int difficulty = riseSectionData.getDifficulty();
@@ -428,8 +434,12 @@ public final class RiseGenerator {
         
         Array<PlatformData> platformsData = riseSectionData.getPlatformsData();
         Array<PlatformBase> platforms = new Array<PlatformBase>(true, platformsData.size);
-        for (PlatformData platformData : platformsData) {
-            PlatformBase platform = PlatformFactory.create(riseSectionId, platformData, startStep, assetManager);
+        PlatformMovementStore platformMovementStore = new PlatformMovementStore(platformsData.size);
+        // prebuilt section data is shared between rises, and cached iterators of its arrays are not thread safe
+        for (int i = 0; i < platformsData.size; i++) {
+            PlatformData platformData = platformsData.get(i);
+            PlatformBase platform = PlatformFactory.create(riseSectionId, platformData, startStep,
+                    platformMovementStore, gameAssets, randomStreams);
             platforms.add(platform);
         }
         
@@ -437,8 +447,9 @@ public final class RiseGenerator {
         Array<EnemyBase> enemies;
         if (enemiesData != null) {
             enemies = new Array<EnemyBase>(true, enemiesData.size);
-            for (EnemyData enemyData : enemiesData) {
-                EnemyBase enemy = EnemyFactory.create(enemyData, startStep, assetManager);
+            for (int i = 0; i < enemiesData.size; i++) {
+                EnemyData enemyData = enemiesData.get(i);
+                EnemyBase enemy = EnemyFactory.create(enemyData, startStep, gameAssets, randomStreams);
                 enemies.add(enemy);
             }
         } else {
@@ -449,12 +460,13 @@ public final class RiseGenerator {
         Array<ItemBase> items;
         if (itemsData != null) {
             items = new Array<ItemBase>(true, itemsData.size);
-            for (ItemData itemData : itemsData) {
-                if (MathUtils.random() > itemData.getAppearanceChance()) {
+            for (int i = 0; i < itemsData.size; i++) {
+                ItemData itemData = itemsData.get(i);
+                if (randomStreams.getGameplayRandom().random() > itemData.getAppearanceChance()) {
                     continue;
                 }
                 
-                ItemBase item = ItemFactory.create(itemData, startStep, assetManager);
+                ItemBase item = ItemFactory.create(itemData, startStep, gameAssets);
                 int attachedToPlatformId = itemData.getAttachedToPlatformId();
                 if (attachedToPlatformId >= 0) {
                     PlatformBase attachedToPlatform = getPlatform(attachedToPlatformId, platforms);
@@ -466,7 +478,8 @@ public final class RiseGenerator {
             items = new Array<ItemBase>(true, 0);
         }
         
-        return new RiseSection(riseSectionId, riseSectionName, difficulty, startY, height, platforms, enemies, items);
+        return new RiseSection(riseSectionId, riseSectionName, difficulty, startY, height,
+                platforms, platformMovementStore, enemies, items, randomStreams);
     }
     
     private static PlatformBase getPlatform(int platformId, Array<PlatformBase> platforms) {
@@ -479,6 +492,205 @@ public final class RiseGenerator {
         return null;
     }
     
+    // place of the section in the rise is decided when it is planned, and its data is generated from its own seed,
+    // either ahead of time or when the section is created
+    private static final class PlannedRiseSection {
+        
+        private final RiseSectionDataBase mRiseSectionDataBase;
+        private final int mStartStep;
+        private int mStepRange;
+        private final long mSeed;
+        private boolean mIsLast;
+        
+        private RiseSectionData mRiseSectionData;
+        private RandomStreams mRandomStreams;
+        
+        public PlannedRiseSection(RiseSectionDataBase riseSectionDataBase, int startStep, GameRandom random) {
+            mRiseSectionDataBase = riseSectionDataBase;
+            mStartStep = startStep;
+            mStepRange = RiseGenerator.getStepRange(riseSectionDataBase, random);
+            mSeed = random.nextLong();
+            mIsLast = false;
+        }
+        
+        // height of the rise depends on platforms of the last section, so that one is generated right away
+        public void setLast() {
+            mIsLast = true;
+            prepare();
+            mStepRange = mRiseSectionData.getStepRange();
+        }
+        
+        public void prepare() {
+            if (mRiseSectionData != null) {
+                return;
+            }
+            
+            mRandomStreams = new RandomStreams(mSeed);
+            RiseSectionData riseSectionData = getRiseSectionData(
+                    mRiseSectionDataBase, mStepRange, mRandomStreams.getGameplayRandom());
+            mRiseSectionData = mIsLast ? getAdjustedLastRiseSectionData(riseSectionData) : riseSectionData;
+        }
+        
+        public RiseSection create(int riseSectionId, GameAssets gameAssets) {
+            prepare();
+            return getRiseSection(riseSectionId, mStartStep, mRiseSectionData, gameAssets, mRandomStreams);
+        }
+        
+        public int getStepRange() {
+            return mStepRange;
+        }
+        
+        public int getEndStep() {
+            return mStartStep + mStepRange;
+        }
+        
+        public float getStartY() {
+            return mStartStep * GameAreaUtils.STEP_HEIGHT;
+        }
+        
+        public float getEndY() {
+            return getEndStep() * GameAreaUtils.STEP_HEIGHT;
+        }
+    }
+    
+    // planned sections are kept in order, and each one is forgotten once it is created or skipped
+    private static abstract class PlannedRiseSectionSource implements RiseSectionSource {
+        
+        protected final Array<PlannedRiseSection> mPlannedRiseSections;
+        private int mNextIndex;
+        
+        public PlannedRiseSectionSource(int plannedRiseSectionsInitialCapacity) {
+            mPlannedRiseSections = new Array<PlannedRiseSection>(true, plannedRiseSectionsInitialCapacity);
+            mNextIndex = 0;
+        }
+        
+        // all sections that start below upperY, and at least the next one, have to be planned afterwards
+        protected abstract void planRiseSections(float upperY);
+        
+        public void prepareRiseSections(float upperY) {
+            planRiseSections(upperY);
+            for (int i = 0; i < mPlannedRiseSections.size; i++) {
+                PlannedRiseSection plannedRiseSection = mPlannedRiseSections.get(i);
+                if (plannedRiseSection.getStartY() >= upperY) {
+                    break;
+                }
+                plannedRiseSection.prepare();
+            }
+        }
+        
+        @Override
+        public boolean hasNextRiseSection() {
+            return mPlannedRiseSections.size > 0;
+        }
+        
+        @Override
+        public float getNextRiseSectionStartY() {
+            return mPlannedRiseSections.first().getStartY();
+        }
+        
+        @Override
+        public float getNextRiseSectionEndY() {
+            return mPlannedRiseSections.first().getEndY();
+        }
+        
+        @Override
+        public RiseSection createNextRiseSection(GameAssets gameAssets) {
+            RiseSection riseSection = mPlannedRiseSections.first().create(mNextIndex, gameAssets);
+            skipNextRiseSection();
+            return riseSection;
+        }
+        
+        @Override
+        public void skipNextRiseSection() {
+            mPlannedRiseSections.removeIndex(0);
+            mNextIndex++;
+            planRiseSections(Float.NEGATIVE_INFINITY);
+        }
+    }
+    
+    private static final class PlannedRise extends PlannedRiseSectionSource {
+        
+        private int mStepsInRise;
+        
+        public PlannedRise() {
+            super(RISE_SECTIONS_INITIAL_CAPACITY);
+            mStepsInRise = 0;
+        }
+        
+        public int add(RiseSectionDataBase riseSectionDataBase, GameRandom random) {
+            PlannedRiseSection plannedRiseSection = new PlannedRiseSection(riseSectionDataBase, mStepsInRise, random);
+            mPlannedRiseSections.add(plannedRiseSection);
+            mStepsInRise = plannedRiseSection.getEndStep();
+            return plannedRiseSection.getStepRange();
+        }
+        
+        public void adjustLastRiseSection() {
+            PlannedRiseSection lastPlannedRiseSection = mPlannedRiseSections.peek();
+            lastPlannedRiseSection.setLast();
+            mStepsInRise = lastPlannedRiseSection.getEndStep();
+        }
+        
+        // whole rise is planned up front
+        @Override
+        protected void planRiseSections(float upperY) {
+        }
+        
+        @Override
+        public float getRiseHeight() {
+            return mStepsInRise * GameAreaUtils.STEP_HEIGHT;
+        }
+    }
+    
+    // only the sections that are about to be created are planned, so nothing grows with the height climbed
+    private static final class EndlessRise extends PlannedRiseSectionSource {
+        
+        private final GameRandom mRandom;
+        private final Array<RiseSectionDataBase> mSelectionList;
+        
+        private int mNumPlannedRiseSections;
+        private int mStepsInRise;
+        
+        public EndlessRise(GameRandom random) {
+            super(ENDLESS_RISE_PLANNED_SECTIONS_INITIAL_CAPACITY);
+            mRandom = random;
+            mSelectionList = new Array<RiseSectionDataBase>(false, RISE_SECTION_SELECTION_LIST_INITIAL_CAPACITY);
+            
+            mNumPlannedRiseSections = 0;
+            mStepsInRise = 0;
+            planRiseSections(Float.NEGATIVE_INFINITY);
+        }
+        
+        @Override
+        protected void planRiseSections(float upperY) {
+            while (mPlannedRiseSections.size == 0 || mStepsInRise * GameAreaUtils.STEP_HEIGHT < upperY) {
+                planNextRiseSection();
+            }
+        }
+        
+        @Override
+        public float getRiseHeight() {
+            return Float.POSITIVE_INFINITY;
+        }
+        
+        // sections follow the same order as in the regular rise, and difficulty stays at its maximum once reached
+        private void planNextRiseSection() {
+            int numInitialRiseSections = INITIAL_RISE_SECTION_NAMES.length;
+            RiseSectionDataBase riseSectionDataBase;
+            if (mNumPlannedRiseSections < numInitialRiseSections) {
+                riseSectionDataBase = RISE_SECTIONS_METADATA.getByName(
+                        INITIAL_RISE_SECTION_NAMES[mNumPlannedRiseSections]);
+            } else {
+                boolean isTransitionSection = (mNumPlannedRiseSections - numInitialRiseSections) % 2 == 0;
+                riseSectionDataBase = getRandomRiseSection(mStepsInRise, isTransitionSection, mSelectionList, mRandom);
+            }
+            
+            PlannedRiseSection plannedRiseSection = new PlannedRiseSection(riseSectionDataBase, mStepsInRise, mRandom);
+            mPlannedRiseSections.add(plannedRiseSection);
+            mStepsInRise = plannedRiseSection.getEndStep();
+            mNumPlannedRiseSections++;
+        }
+    }
+    
     private static class MinMaxDifficulty {
         public final int minDifficulty;
         public final int maxDifficulty;
@@ -26,6 +26,7 @@ package com.turbogerm.helljump.game.generator;
 import java.util.Comparator;
 
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.Sorting;
 import com.turbogerm.helljump.dataaccess.EnemyData;
 import com.turbogerm.helljump.dataaccess.ItemData;
 import com.turbogerm.helljump.dataaccess.PlatformData;
@@ -78,14 +79,14 @@ public final class RiseGeneratorUtils {
     }
     
     public static void sortPlatforms(Array<PlatformData> platformDataList) {
-        platformDataList.sort(PLATFORM_DATA_COMPARATOR);
+        Sorting.sort(platformDataList, PLATFORM_DATA_COMPARATOR);
     }
     
     public static void sortEnemies(Array<EnemyData> enemyDataList) {
-        enemyDataList.sort(ENEMY_DATA_COMPARATOR);
+        Sorting.sort(enemyDataList, ENEMY_DATA_COMPARATOR);
     }
     
     public static void sortItems(Array<ItemData> itemDataList) {
-        itemDataList.sort(ITEM_DATA_COMPARATOR);
+        Sorting.sort(itemDataList, ITEM_DATA_COMPARATOR);
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.generator;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.turbogerm.germlibrary.util.Logger;
+import com.turbogerm.helljump.game.GameSimulation;
+
+// prepares the next rise on a background thread while screens outside of the game are shown,
+// so starting a game only has to create objects and sprites of the first sections
+public final class RisePreparer {
+    
+    private final ExecutorService mExecutor;
+    
+    private Future<PreparedRise> mPreparedRise;
+    private boolean mIsEndless;
+    
+    public RisePreparer() {
+        mExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "RisePreparer");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+    }
+    
+    public void dispose() {
+        mExecutor.shutdownNow();
+    }
+    
+    // seed is picked on the calling thread, since global random is not thread safe
+    public void prepare(final boolean isEndless) {
+        if (mPreparedRise != null && mIsEndless == isEndless) {
+            return;
+        }
+        
+        if (mPreparedRise != null) {
+            mPreparedRise.cancel(false);
+        }
+        
+        final long riseSeed = MathUtils.random.nextLong();
+        mIsEndless = isEndless;
+        mPreparedRise = mExecutor.submit(new Callable<PreparedRise>() {
+            @Override
+            public PreparedRise call() {
+                return RiseGenerator.prepare(riseSeed, isEndless, GameSimulation.RISE_SECTION_CREATION_HEIGHT);
+            }
+        });
+    }
+    
+    // waits for the rise if it is still being prepared; null is returned when no rise of the given kind
+    // was prepared, and the game then generates its rise itself
+    public PreparedRise take(boolean isEndless) {
+        if (mPreparedRise == null || mIsEndless != isEndless) {
+            return null;
+        }
+        
+        Future<PreparedRise> preparedRise = mPreparedRise;
+        mPreparedRise = null;
+        try {
+            return preparedRise.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Logger.error("Failed to prepare rise: %s", e.getCause().getMessage());
+            return null;
+        }
+    }
+}
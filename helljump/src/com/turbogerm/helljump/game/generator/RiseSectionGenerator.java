@@ -23,17 +23,26 @@
  */
 package com.turbogerm.helljump.game.generator;
 
+import java.util.BitSet;
+
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.turbogerm.germlibrary.util.ExceptionThrower;
+import com.turbogerm.germlibrary.util.GameRandom;
 import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.helljump.dataaccess.BasicGeneratorParameters;
+import com.turbogerm.helljump.dataaccess.CrumbleGeneratorParameters;
+import com.turbogerm.helljump.dataaccess.FlameGeneratorParameters;
 import com.turbogerm.helljump.dataaccess.ItemData;
+import com.turbogerm.helljump.dataaccess.JumpBoostGeneratorParameters;
 import com.turbogerm.helljump.dataaccess.PlatformData;
 import com.turbogerm.helljump.dataaccess.PlatformFeatureData;
 import com.turbogerm.helljump.dataaccess.PlatformMovementData;
 import com.turbogerm.helljump.dataaccess.RiseSectionData;
 import com.turbogerm.helljump.dataaccess.RiseSectionMetadata;
+import com.turbogerm.helljump.dataaccess.VisibleOnJumpGeneratorParameters;
 import com.turbogerm.helljump.game.GameArea;
 import com.turbogerm.helljump.game.GameAreaUtils;
 
@@ -87,117 +96,107 @@ final class RiseSectionGenerator {
                 GOLD_COIN_SCORE_ITEM_WEIGHT / totalScoreItemWeigt;
     }
     
-    public static RiseSectionData generateRiseSection(RiseSectionMetadata riseSectionMetadata) {
+    // step range is chosen when the rise is planned, before the section itself is generated
+    public static RiseSectionData generateRiseSection(RiseSectionMetadata riseSectionMetadata, int stepRange,
+            GameRandom random) {
         String generatorType = riseSectionMetadata.getGeneratorType();
         if (RiseSectionMetadata.BASIC_GENERATOR_TYPE.equals(generatorType)) {
-            return generateRiseSectionBasic(riseSectionMetadata);
+            return generateRiseSectionBasic(riseSectionMetadata, stepRange, random);
         } else if (RiseSectionMetadata.JUMP_BOOST_GENERATOR_TYPE.equals(generatorType)) {
-            return generateRiseSectionJumpBoost(riseSectionMetadata);
+            return generateRiseSectionJumpBoost(riseSectionMetadata, stepRange, random);
         } else if (RiseSectionMetadata.VISIBLE_ON_JUMP_GENERATOR_TYPE.equals(generatorType)) {
-            return generateRiseSectionVisibleOnJump(riseSectionMetadata);
+            return generateRiseSectionVisibleOnJump(riseSectionMetadata, stepRange, random);
         } else if (RiseSectionMetadata.CRUMBLE_GENERATOR_TYPE.equals(generatorType)) {
-            return generateRiseSectionCrumble(riseSectionMetadata);
+            return generateRiseSectionCrumble(riseSectionMetadata, stepRange, random);
         } else if (RiseSectionMetadata.FLAME_GENERATOR_TYPE.equals(generatorType)) {
-            return generateRiseSectionFlame(riseSectionMetadata);
+            return generateRiseSectionFlame(riseSectionMetadata, stepRange, random);
         } else {
             ExceptionThrower.throwException("Invalid rise section metadata generator type: %s", generatorType);
             return null;
         }
     }
     
-    private static RiseSectionData generateRiseSectionBasic(RiseSectionMetadata riseSectionMetadata) {
+    private static RiseSectionData generateRiseSectionBasic(RiseSectionMetadata riseSectionMetadata,
+            int stepRange, GameRandom random) {
         
         String type = riseSectionMetadata.getType();
         String name = riseSectionMetadata.getName();
-        int stepRange = MathUtils.random(
-                riseSectionMetadata.getMinStepRange(), riseSectionMetadata.getMaxStepRange());
         int minStepDistance = riseSectionMetadata.getMinStepDistance();
         int maxStepDistance = riseSectionMetadata.getMaxStepDistance();
         int difficulty = riseSectionMetadata.getDifficulty();
+        BasicGeneratorParameters parameters = (BasicGeneratorParameters) riseSectionMetadata.getGeneratorParameters();
         
         Array<PlatformData> platformDataList = new Array<PlatformData>(stepRange);
-        Array<Integer> filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance);
+        IntArray filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance, random);
         
-        float normalPlatformWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.NORMAL_PLATFORM_WEIGHT_PROPERTY));
-        float movingPlatformWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.MOVING_PLATFORM_WEIGHT_PROPERTY));
-        float repositionPlatformWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.REPOSITION_PLATFORM_WEIGHT_PROPERTY));
+        float normalPlatformWeight = parameters.getNormalPlatformWeight();
+        float movingPlatformWeight = parameters.getMovingPlatformWeight();
+        float repositionPlatformWeight = parameters.getRepositionPlatformWeight();
         
         float[] weights = new float[3];
         weights[0] = normalPlatformWeight;
         weights[1] = movingPlatformWeight;
         weights[2] = repositionPlatformWeight;
         
-        Array<Array<Integer>> allPlatformIndexes = getPlatformIndexes(filledSteps.size, weights, 0);
+        Array<IntArray> allPlatformIndexes = getPlatformIndexes(filledSteps.size, weights, 0, random);
         
-        Array<Integer> movingPlatformIndexes = allPlatformIndexes.get(1);
-        Array<Integer> repositionPlatformIndexes = allPlatformIndexes.get(2);
+        IntArray movingPlatformIndexes = allPlatformIndexes.get(1);
+        IntArray repositionPlatformIndexes = allPlatformIndexes.get(2);
         
-        float jumpBoostFraction = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_FRACTION_PROPERTY));
-        float jumpBoostLowWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_LOW_WEIGHT_PROPERTY));
-        float jumpBoostMediumWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_MEDIUM_WEIGHT_PROPERTY));
-        float jumpBoostHighWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_HIGH_WEIGHT_PROPERTY));
+        float jumpBoostFraction = parameters.getJumpBoostFraction();
+        float jumpBoostLowWeight = parameters.getJumpBoostLowWeight();
+        float jumpBoostMediumWeight = parameters.getJumpBoostMediumWeight();
+        float jumpBoostHighWeight = parameters.getJumpBoostHighWeight();
         
         float[] jumpBoostWeights = new float[3];
         jumpBoostWeights[0] = jumpBoostLowWeight;
         jumpBoostWeights[1] = jumpBoostMediumWeight;
         jumpBoostWeights[2] = jumpBoostHighWeight;
         
-        Array<Array<Integer>> allJumpBoostPlatformIndexes = getPlatformIndexes(
-                filledSteps.size, jumpBoostFraction, jumpBoostWeights, 0);
-        
-        float minMovingSpeed = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.MIN_MOVING_SPEED_PROPERTY));
-        float maxMovingSpeed = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.MAX_MOVING_SPEED_PROPERTY));
-        float minMovingRange = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.MIN_MOVING_RANGE_PROPERTY));
-        float maxMovingRange = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.MAX_MOVING_RANGE_PROPERTY));
-        float minRepositionRange = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.MIN_REPOSITION_RANGE_PROPERTY));
-        float maxRepositionRange = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.MAX_REPOSITION_RANGE_PROPERTY));
+        Array<IntArray> allJumpBoostPlatformIndexes = getPlatformIndexes(
+                filledSteps.size, jumpBoostFraction, jumpBoostWeights, 0, random);
+        
+        float minMovingSpeed = parameters.getMinMovingSpeed();
+        float maxMovingSpeed = parameters.getMaxMovingSpeed();
+        float minMovingRange = parameters.getMinMovingRange();
+        float maxMovingRange = parameters.getMaxMovingRange();
+        float minRepositionRange = parameters.getMinRepositionRange();
+        float maxRepositionRange = parameters.getMaxRepositionRange();
         
         for (int i = 0; i < filledSteps.size; i++) {
             int step = filledSteps.get(i);
             
             PlatformMovementData movementData = getMovementData(i, filledSteps,
                     movingPlatformIndexes, minMovingSpeed, maxMovingSpeed, minMovingRange, maxMovingRange,
-                    repositionPlatformIndexes, minRepositionRange, maxRepositionRange);
+                    repositionPlatformIndexes, minRepositionRange, maxRepositionRange, random);
             
-            int offset = getOffset(movementData);
+            int offset = getOffset(movementData, random);
             
-            Array<PlatformFeatureData> featuresData = getFeaturesDataJumpBoost(i, allJumpBoostPlatformIndexes);
+            Array<PlatformFeatureData> featuresData = getFeaturesDataJumpBoost(i, allJumpBoostPlatformIndexes, random);
             
             PlatformData padData = new PlatformData(i, PlatformData.NORMAL_TYPE, step, offset,
                     movementData, featuresData, null);
             platformDataList.add(padData);
         }
         
-        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance);
+        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance, random);
         
         return new RiseSectionData(type, name, stepRange, difficulty, platformDataList, null, itemDataList);
     }
     
-    private static RiseSectionData generateRiseSectionJumpBoost(RiseSectionMetadata riseSectionMetadata) {
+    private static RiseSectionData generateRiseSectionJumpBoost(RiseSectionMetadata riseSectionMetadata,
+            int stepRange, GameRandom random) {
         
         String type = riseSectionMetadata.getType();
         String name = riseSectionMetadata.getName();
-        int stepRange = MathUtils.random(
-                riseSectionMetadata.getMinStepRange(), riseSectionMetadata.getMaxStepRange());
         int minStepDistance = riseSectionMetadata.getMinStepDistance();
         int maxStepDistance = riseSectionMetadata.getMaxStepDistance();
         int difficulty = riseSectionMetadata.getDifficulty();
+        JumpBoostGeneratorParameters parameters =
+                (JumpBoostGeneratorParameters) riseSectionMetadata.getGeneratorParameters();
         
         Array<PlatformData> platformDataList = new Array<PlatformData>(stepRange);
-        Array<Integer> filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance);
+        IntArray filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance, random);
         filledSteps.removeIndex(0);
         filledSteps.removeIndex(0);
         
@@ -209,32 +208,28 @@ final class RiseSectionGenerator {
         }
         filledSteps.sort();
         
-        float jumpBoostLowWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_LOW_WEIGHT_PROPERTY));
-        float jumpBoostMediumWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_MEDIUM_WEIGHT_PROPERTY));
-        float jumpBoostHighWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_HIGH_WEIGHT_PROPERTY));
+        float jumpBoostLowWeight = parameters.getJumpBoostLowWeight();
+        float jumpBoostMediumWeight = parameters.getJumpBoostMediumWeight();
+        float jumpBoostHighWeight = parameters.getJumpBoostHighWeight();
         
         float[] jumpBoostWeights = new float[3];
         jumpBoostWeights[0] = jumpBoostLowWeight;
         jumpBoostWeights[1] = jumpBoostMediumWeight;
         jumpBoostWeights[2] = jumpBoostHighWeight;
         
-        Array<Array<Integer>> allJumpBoostPlatformIndexes = getPlatformIndexes(
-                jumpBoostCount, 1.0f, jumpBoostWeights, numNonJumpBoostSteps);
+        Array<IntArray> allJumpBoostPlatformIndexes = getPlatformIndexes(
+                jumpBoostCount, 1.0f, jumpBoostWeights, numNonJumpBoostSteps, random);
         
-        boolean isCrumble = Boolean.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.CRUMBLE_PROPERTY));
+        boolean isCrumble = parameters.isCrumble();
         
         for (int i = 0; i < filledSteps.size; i++) {
             int step = filledSteps.get(i);
             
             PlatformMovementData movementData = null;
             
-            int offset = getOffset(movementData);
+            int offset = getOffset(movementData, random);
             
-            Array<PlatformFeatureData> featuresData = getFeaturesDataJumpBoost(i, allJumpBoostPlatformIndexes);
+            Array<PlatformFeatureData> featuresData = getFeaturesDataJumpBoost(i, allJumpBoostPlatformIndexes, random);
             
             String platformType = i >= numNonJumpBoostSteps && isCrumble ?
                     PlatformData.CRUMBLE_TYPE : PlatformData.NORMAL_TYPE;
@@ -244,45 +239,43 @@ final class RiseSectionGenerator {
             platformDataList.add(padData);
         }
         
-        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance);
+        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance, random);
         
         return new RiseSectionData(type, name, stepRange, difficulty, platformDataList, null, itemDataList);
     }
     
-    private static RiseSectionData generateRiseSectionVisibleOnJump(RiseSectionMetadata riseSectionMetadata) {
+    private static RiseSectionData generateRiseSectionVisibleOnJump(RiseSectionMetadata riseSectionMetadata,
+            int stepRange, GameRandom random) {
         
         String type = riseSectionMetadata.getType();
         String name = riseSectionMetadata.getName();
-        int stepRange = MathUtils.random(
-                riseSectionMetadata.getMinStepRange(), riseSectionMetadata.getMaxStepRange());
         int minStepDistance = riseSectionMetadata.getMinStepDistance();
         int maxStepDistance = riseSectionMetadata.getMaxStepDistance();
         int difficulty = riseSectionMetadata.getDifficulty();
+        VisibleOnJumpGeneratorParameters parameters =
+                (VisibleOnJumpGeneratorParameters) riseSectionMetadata.getGeneratorParameters();
         
         Array<PlatformData> platformDataList = new Array<PlatformData>(stepRange);
-        Array<Integer> filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance);
+        IntArray filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance, random);
         
-        float normalPlatformWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.NORMAL_PLATFORM_WEIGHT_PROPERTY));
-        float visibleOnJumpPlatformWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.VISIBLE_ON_JUMP_PLATFORM_WEIGHT_PROPERTY));
+        float normalPlatformWeight = parameters.getNormalPlatformWeight();
+        float visibleOnJumpPlatformWeight = parameters.getVisibleOnJumpPlatformWeight();
         
         float[] weights = new float[2];
         weights[0] = normalPlatformWeight;
         weights[1] = visibleOnJumpPlatformWeight;
-        Array<Array<Integer>> allPlatformIndexes = getPlatformIndexes(filledSteps.size - 1, weights, 1);
+        Array<IntArray> allPlatformIndexes = getPlatformIndexes(filledSteps.size - 1, weights, 1, random);
         
-        Array<Integer> visibleOnJumpPlatformIndexes = allPlatformIndexes.get(1);
+        IntArray visibleOnJumpPlatformIndexes = allPlatformIndexes.get(1);
         
-        boolean isCrumble = Boolean.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.CRUMBLE_PROPERTY));
+        boolean isCrumble = parameters.isCrumble();
         
         for (int i = 0; i < filledSteps.size; i++) {
             int step = filledSteps.get(i);
             
             PlatformMovementData movementData = null;
             
-            int offset = getOffset(movementData);
+            int offset = getOffset(movementData, random);
             
             Array<PlatformFeatureData> featuresData = getFeaturesDataVisibleOnJump(i, visibleOnJumpPlatformIndexes);
             
@@ -294,87 +287,81 @@ final class RiseSectionGenerator {
             platformDataList.add(padData);
         }
         
-        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance);
+        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance, random);
         
         return new RiseSectionData(type, name, stepRange, difficulty, platformDataList, null, itemDataList);
     }
     
-    private static RiseSectionData generateRiseSectionCrumble(RiseSectionMetadata riseSectionMetadata) {
+    private static RiseSectionData generateRiseSectionCrumble(RiseSectionMetadata riseSectionMetadata,
+            int stepRange, GameRandom random) {
         
         String type = riseSectionMetadata.getType();
         String name = riseSectionMetadata.getName();
-        int stepRange = MathUtils.random(
-                riseSectionMetadata.getMinStepRange(), riseSectionMetadata.getMaxStepRange());
         int minStepDistance = riseSectionMetadata.getMinStepDistance();
         int maxStepDistance = riseSectionMetadata.getMaxStepDistance();
         int difficulty = riseSectionMetadata.getDifficulty();
+        CrumbleGeneratorParameters parameters =
+                (CrumbleGeneratorParameters) riseSectionMetadata.getGeneratorParameters();
         
         Array<PlatformData> platformDataList = new Array<PlatformData>(stepRange);
-        Array<Integer> filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance);
+        IntArray filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance, random);
         
-        float crumbleFraction = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.CRUMBLE_FRACTION_PROPERTY));
+        float crumbleFraction = parameters.getCrumbleFraction();
         int crumbleCount = (int) (filledSteps.size * crumbleFraction);
         
-        Array<Integer> crumbleIndexes = GameUtils.getRandomIndexes(filledSteps.size, crumbleCount, 0);
+        IntArray crumbleIndexes = GameUtils.getRandomIndexes(filledSteps.size, crumbleCount, 0, random);
         
-        float jumpBoostFraction = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_FRACTION_PROPERTY));
-        float jumpBoostLowWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_LOW_WEIGHT_PROPERTY));
-        float jumpBoostMediumWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_MEDIUM_WEIGHT_PROPERTY));
-        float jumpBoostHighWeight = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.JUMP_BOOST_HIGH_WEIGHT_PROPERTY));
+        float jumpBoostFraction = parameters.getJumpBoostFraction();
+        float jumpBoostLowWeight = parameters.getJumpBoostLowWeight();
+        float jumpBoostMediumWeight = parameters.getJumpBoostMediumWeight();
+        float jumpBoostHighWeight = parameters.getJumpBoostHighWeight();
         
         float[] jumpBoostWeights = new float[3];
         jumpBoostWeights[0] = jumpBoostLowWeight;
         jumpBoostWeights[1] = jumpBoostMediumWeight;
         jumpBoostWeights[2] = jumpBoostHighWeight;
         
-        Array<Array<Integer>> allJumpBoostPlatformIndexes = getPlatformIndexes(
-                filledSteps.size, jumpBoostFraction, jumpBoostWeights, 0);
+        Array<IntArray> allJumpBoostPlatformIndexes = getPlatformIndexes(
+                filledSteps.size, jumpBoostFraction, jumpBoostWeights, 0, random);
         
         for (int i = 0; i < filledSteps.size; i++) {
             int step = filledSteps.get(i);
             
             PlatformMovementData movementData = null;
             
-            int offset = getOffset(movementData);
+            int offset = getOffset(movementData, random);
             
-            Array<PlatformFeatureData> featuresData = getFeaturesDataJumpBoost(i, allJumpBoostPlatformIndexes);
+            Array<PlatformFeatureData> featuresData = getFeaturesDataJumpBoost(i, allJumpBoostPlatformIndexes, random);
             
-            String platformType = crumbleIndexes.contains(i, false) ?
+            String platformType = crumbleIndexes.contains(i) ?
                     PlatformData.CRUMBLE_TYPE : PlatformData.NORMAL_TYPE;
             
             PlatformData padData = new PlatformData(i, platformType, step, offset, movementData, featuresData, null);
             platformDataList.add(padData);
         }
         
-        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance);
+        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance, random);
         
         return new RiseSectionData(type, name, stepRange, difficulty, platformDataList, null, itemDataList);
     }
     
-    private static RiseSectionData generateRiseSectionFlame(RiseSectionMetadata riseSectionMetadata) {
+    private static RiseSectionData generateRiseSectionFlame(RiseSectionMetadata riseSectionMetadata,
+            int stepRange, GameRandom random) {
         
         String type = riseSectionMetadata.getType();
         String name = riseSectionMetadata.getName();
-        int stepRange = MathUtils.random(
-                riseSectionMetadata.getMinStepRange(), riseSectionMetadata.getMaxStepRange());
         int minStepDistance = riseSectionMetadata.getMinStepDistance();
         int maxStepDistance = riseSectionMetadata.getMaxStepDistance();
         int difficulty = riseSectionMetadata.getDifficulty();
+        FlameGeneratorParameters parameters = (FlameGeneratorParameters) riseSectionMetadata.getGeneratorParameters();
         
         Array<PlatformData> platformDataList = new Array<PlatformData>(stepRange);
-        Array<Integer> filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance);
+        IntArray filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance, random);
         
-        int platformsPerStep = Integer.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.PLATFORMS_PER_STEP_PROPERTY));
-        float flameCycleTimeSlice = Float.valueOf(
-                riseSectionMetadata.getProperty(RiseSectionMetadata.FLAME_CYCLE_TIME_SLICE_PROPERTY));
+        int platformsPerStep = parameters.getPlatformsPerStep();
+        float flameCycleTimeSlice = parameters.getFlameCycleTimeSlice();
         
-        Array<Integer> takenOffsets = new Array<Integer>(true, platformsPerStep);
+        IntArray takenOffsets = new IntArray(true, platformsPerStep);
         
         for (int i = 0; i < filledSteps.size; i++) {
             int step = filledSteps.get(i);
@@ -382,7 +369,7 @@ final class RiseSectionGenerator {
             takenOffsets.clear();
             
             for (int j = 0; j < platformsPerStep; j++) {
-                int offset = getRandomAvailableOffset(takenOffsets);
+                int offset = getRandomAvailableOffset(takenOffsets, random);
                 
                 Array<PlatformFeatureData> featuresData = getFeaturesDataFlame(
                         j, platformsPerStep, flameCycleTimeSlice);
@@ -395,60 +382,69 @@ final class RiseSectionGenerator {
             }
         }
         
-        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance);
+        Array<ItemData> itemDataList = getAllItems(platformDataList, stepRange, minStepDistance, random);
         
         return new RiseSectionData(type, name, stepRange, difficulty, platformDataList, null, itemDataList);
     }
     
-    private static Array<Integer> getFilledSteps(int stepRange, int minStepDistance, int maxStepDistance) {
-        Array<Integer> filledSteps = new Array<Integer>(true, stepRange);
+    private static IntArray getFilledSteps(int stepRange, int minStepDistance, int maxStepDistance,
+            GameRandom random) {
+        IntArray filledSteps = new IntArray(true, stepRange);
         int currentStep = 0;
         while (currentStep < stepRange) {
             filledSteps.add(currentStep);
-            currentStep += MathUtils.random(minStepDistance, maxStepDistance);
+            currentStep += random.random(minStepDistance, maxStepDistance);
         }
         
         return filledSteps;
     }
     
-    private static int getRandomAvailableOffset(Array<Integer> takenOffsets) {
-        Array<Integer> availableOffsets = GameUtils.getRange(PlatformData.MAX_PLATFORM_OFFSET + 1);
+    private static int getRandomAvailableOffset(IntArray takenOffsets, GameRandom random) {
+        int numOffsets = PlatformData.MAX_PLATFORM_OFFSET + 1;
+        BitSet invalidatedOffsets = new BitSet(numOffsets);
         
-        for (Integer takenOffset : takenOffsets) {
-            int firstInvalidatedOffset = takenOffset - PlatformData.PLATFORM_WIDTH_OFFSETS + 1;
-            int numInvalidatedOffsets = PlatformData.PLATFORM_WIDTH_OFFSETS * 2 - 1;
-            int lastInvalidatedOffset = firstInvalidatedOffset + numInvalidatedOffsets - 1;
-            for (int i = firstInvalidatedOffset; i <= lastInvalidatedOffset; i++) {
-                availableOffsets.removeValue(i, false);
-            }
+        for (int i = 0; i < takenOffsets.size; i++) {
+            int takenOffset = takenOffsets.get(i);
+            int firstInvalidatedOffset = Math.max(takenOffset - PlatformData.PLATFORM_WIDTH_OFFSETS + 1, 0);
+            int lastInvalidatedOffset = Math.min(takenOffset + PlatformData.PLATFORM_WIDTH_OFFSETS - 1, numOffsets - 1);
+            invalidatedOffsets.set(firstInvalidatedOffset, lastInvalidatedOffset + 1);
+        }
+        
+        int numAvailableOffsets = numOffsets - invalidatedOffsets.cardinality();
+        int availableOffset = invalidatedOffsets.nextClearBit(0);
+        for (int i = random.random(numAvailableOffsets - 1); i > 0; i--) {
+            availableOffset = invalidatedOffsets.nextClearBit(availableOffset + 1);
         }
         
-        return availableOffsets.random();
+        return availableOffset;
     }
     
-    private static Array<Array<Integer>> getPlatformIndexes(int numIndexes, float[] weights, int offset) {
-        return getPlatformIndexes(numIndexes, 1.0f, weights, offset);
+    private static Array<IntArray> getPlatformIndexes(int numIndexes, float[] weights, int offset,
+            GameRandom random) {
+        return getPlatformIndexes(numIndexes, 1.0f, weights, offset, random);
     }
     
-    private static Array<Array<Integer>> getPlatformIndexes(int numIndexes, float totalFraction,
-            float[] weights, int offset) {
+    private static Array<IntArray> getPlatformIndexes(int numIndexes, float totalFraction,
+            float[] weights, int offset, GameRandom random) {
         
-        int[] counts = getCounts(numIndexes, totalFraction, weights);
+        int[] counts = getCounts(numIndexes, totalFraction, weights, random);
         
-        Array<Array<Integer>> allIndexes = new Array<Array<Integer>>(true, weights.length);
+        Array<IntArray> allIndexes = new Array<IntArray>(true, weights.length);
         
-        Array<Integer> takenIndexes = new Array<Integer>();
+        BitSet takenIndexes = new BitSet(numIndexes);
         for (int i = 0; i < weights.length; i++) {
-            Array<Integer> platformIndexes = GameUtils.getRandomIndexes(
-                    numIndexes, counts[i], offset, takenIndexes);
-            takenIndexes.addAll(platformIndexes);
+            IntArray platformIndexes = GameUtils.getRandomIndexes(
+                    numIndexes, counts[i], offset, takenIndexes, random);
+            for (int j = 0; j < platformIndexes.size; j++) {
+                takenIndexes.set(platformIndexes.get(j) - offset);
+            }
             allIndexes.add(platformIndexes);
         }
         
         return allIndexes;
     }
     
-    private static int[] getCounts(int numIndexes, float totalFraction, float[] weights) {
+    private static int[] getCounts(int numIndexes, float totalFraction, float[] weights, GameRandom random) {
         float totalWeight = 0.0f;
         for (float weight : weights) {
             totalWeight += weight;
@@ -478,7 +474,7 @@ final class RiseSectionGenerator {
             cumulativeWeightFractions[weights.length - 1] = 1.0f;
             
             while (adjustmentRequired > 0) {
-                float randomFloat = MathUtils.random();
+                float randomFloat = random.random();
                 for (int i = 0; i < cumulativeWeightFractions.length; i++) {
                     if (randomFloat < cumulativeWeightFractions[i]) {
                         counts[i]++;
@@ -503,31 +499,32 @@ final class RiseSectionGenerator {
         return counts;
     }
     
-    private static PlatformMovementData getMovementData(int index, Array<Integer> filledSteps,
-            Array<Integer> movingPlatformIndexes, float minMovingSpeed, float maxMovingSpeed,
+    private static PlatformMovementData getMovementData(int index, IntArray filledSteps,
+            IntArray movingPlatformIndexes, float minMovingSpeed, float maxMovingSpeed,
             float minMovingRange, float maxMovingRange,
-            Array<Integer> repositionPlatformIndexes, float minRepositionSpeed, float maxRepositionSpeed) {
+            IntArray repositionPlatformIndexes, float minRepositionSpeed, float maxRepositionSpeed,
+            GameRandom random) {
         
         PlatformMovementData movementData;
-        if (movingPlatformIndexes.contains(index, false)) {
-            float movingSpeed = MathUtils.random(minMovingSpeed, maxMovingSpeed);
-            float movingRange = MathUtils.random(minMovingRange, maxMovingRange);
+        if (movingPlatformIndexes.contains(index)) {
+            float movingSpeed = random.random(minMovingSpeed, maxMovingSpeed);
+            float movingRange = random.random(minMovingRange, maxMovingRange);
             
             ObjectMap<String, String> properties = new ObjectMap<String, String>(3);
             properties.put(PlatformMovementData.RANGE_PROPERTY, String.valueOf(movingRange));
             properties.put(PlatformMovementData.SPEED_PROPERTY, String.valueOf(movingSpeed));
             properties.put(PlatformMovementData.INITIAL_OFFSET_PROPERTY,
-                    String.valueOf(MathUtils.random(0.0f, movingRange * 2.0f)));
+                    String.valueOf(random.random(0.0f, movingRange * 2.0f)));
             
             movementData = new PlatformMovementData(PlatformMovementData.HORIZONTAL_MOVEMENT, properties);
-        } else if (repositionPlatformIndexes.contains(index, false)) {
-            float repositionRange = MathUtils.random(minRepositionSpeed, maxRepositionSpeed);
+        } else if (repositionPlatformIndexes.contains(index)) {
+            float repositionRange = random.random(minRepositionSpeed, maxRepositionSpeed);
             
             ObjectMap<String, String> properties = new ObjectMap<String, String>(3);
             properties.put(PlatformMovementData.REPOSITION_TYPE_PROPERTY,
                     PlatformMovementData.REPOSITION_TYPE_EDGE_PROPERTY_VALUE);
             properties.put(PlatformMovementData.INITIAL_OFFSET_PROPERTY,
-                    String.valueOf(MathUtils.randomBoolean() ? 0.0f : repositionRange));
+                    String.valueOf(random.randomBoolean() ? 0.0f : repositionRange));
             properties.put(PlatformMovementData.RANGE_PROPERTY, String.valueOf(repositionRange));
             
             movementData = new PlatformMovementData(PlatformMovementData.REPOSITION_MOVEMENT, properties);
@@ -538,27 +535,27 @@ final class RiseSectionGenerator {
         return movementData;
     }
     
-    private static int getOffset(PlatformMovementData movementData) {
+    private static int getOffset(PlatformMovementData movementData, GameRandom random) {
         
         if (movementData != null) {
             float range = Float.valueOf(movementData.getProperty(PlatformMovementData.RANGE_PROPERTY));
             int rangeInOffsets = MathUtils.ceil(range / GameAreaUtils.OFFSET_WIDTH);
             int maxOffset = PlatformData.MAX_PLATFORM_OFFSET - rangeInOffsets;
-            return MathUtils.random(maxOffset);
+            return random.random(maxOffset);
         } else {
-            return MathUtils.random(PlatformData.MAX_PLATFORM_OFFSET);
+            return random.random(PlatformData.MAX_PLATFORM_OFFSET);
         }
     }
     
     private static Array<PlatformFeatureData> getFeaturesDataJumpBoost(int index,
-            Array<Array<Integer>> allJumpBoostPlatformIndexes) {
+            Array<IntArray> allJumpBoostPlatformIndexes, GameRandom random) {
         
         String jumpBoostPowerString;
-        if (allJumpBoostPlatformIndexes.get(0).contains(index, false)) {
+        if (allJumpBoostPlatformIndexes.get(0).contains(index)) {
             jumpBoostPowerString = PlatformFeatureData.JUMP_BOOST_POWER_LOW_PROPERTY_VALUE;
-        } else if (allJumpBoostPlatformIndexes.get(1).contains(index, false)) {
+        } else if (allJumpBoostPlatformIndexes.get(1).contains(index)) {
             jumpBoostPowerString = PlatformFeatureData.JUMP_BOOST_POWER_MEDIUM_PROPERTY_VALUE;
-        } else if (allJumpBoostPlatformIndexes.get(2).contains(index, false)) {
+        } else if (allJumpBoostPlatformIndexes.get(2).contains(index)) {
             jumpBoostPowerString = PlatformFeatureData.JUMP_BOOST_POWER_HIGH_PROPERTY_VALUE;
         } else {
             jumpBoostPowerString = null;
@@ -571,7 +568,7 @@ final class RiseSectionGenerator {
             
             ObjectMap<String, String> properties = new ObjectMap<String, String>(2);
             properties.put(PlatformFeatureData.JUMP_BOOST_POSITION_PROPERTY,
-                    String.valueOf(MathUtils.random()));
+                    String.valueOf(random.random()));
             properties.put(PlatformFeatureData.JUMP_BOOST_POWER_PROPERTY, jumpBoostPowerString);
             
             PlatformFeatureData featureData = new PlatformFeatureData(PlatformFeatureData.JUMP_BOOST_FEATURE,
@@ -585,10 +582,10 @@ final class RiseSectionGenerator {
     }
     
     private static Array<PlatformFeatureData> getFeaturesDataVisibleOnJump(int index,
-            Array<Integer> visibleOnJumpPlatformIndexes) {
+            IntArray visibleOnJumpPlatformIndexes) {
         
         Array<PlatformFeatureData> featuresData;
-        if (visibleOnJumpPlatformIndexes.contains(index, false)) {
+        if (visibleOnJumpPlatformIndexes.contains(index)) {
             featuresData = new Array<PlatformFeatureData>(true, 1);
             PlatformFeatureData featureData = new PlatformFeatureData(
                     PlatformFeatureData.VISIBLE_ON_JUMP_FEATURE, null);
@@ -623,10 +620,10 @@ final class RiseSectionGenerator {
     }
     
     private static Array<ItemData> getAllItems(Array<PlatformData> platformDataList,
-            int stepRange, int minStepDistance) {
+            int stepRange, int minStepDistance, GameRandom random) {
         
-        ItemData powerUpItem = getPowerUpItem(platformDataList, minStepDistance);
-        Array<ItemData> itemDataList = getScoreItems(stepRange, platformDataList, powerUpItem);
+        ItemData powerUpItem = getPowerUpItem(platformDataList, minStepDistance, random);
+        Array<ItemData> itemDataList = getScoreItems(stepRange, platformDataList, powerUpItem, random);
         if (powerUpItem != null) {
             itemDataList.add(powerUpItem);
         }
@@ -634,23 +631,24 @@ final class RiseSectionGenerator {
         return itemDataList;
     }
     
-    private static ItemData getPowerUpItem(Array<PlatformData> platformDataList, int minStepDistance) {
-        if (minStepDistance > 1 && platformDataList.size > 1 && MathUtils.random() <= POWER_UP_ITEM_CHANCE) {
-            int randomPlatformIndex = MathUtils.random(0, platformDataList.size - 2);
+    private static ItemData getPowerUpItem(Array<PlatformData> platformDataList, int minStepDistance,
+            GameRandom random) {
+        if (minStepDistance > 1 && platformDataList.size > 1 && random.random() <= POWER_UP_ITEM_CHANCE) {
+            int randomPlatformIndex = random.random(0, platformDataList.size - 2);
             PlatformData platformData = platformDataList.get(randomPlatformIndex);
             
-            float itemTypeRandomValue = MathUtils.random();
+            float itemTypeRandomValue = random.random();
             String type;
             float offset;
             if (itemTypeRandomValue <= LIFE_POWER_UP_ITEM_CUMULATIVE_FRACTION) {
                 type = ItemData.LIFE_TYPE;
-                offset = getRandomPowerUpItemOffset(platformData.getOffset(), LIFE_ITEM_WIDTH_OFFSETS);
+                offset = getRandomPowerUpItemOffset(platformData.getOffset(), LIFE_ITEM_WIDTH_OFFSETS, random);
             } else if (itemTypeRandomValue <= BEANS_POWER_UP_ITEM_CUMULATIVE_FRACTION) {
                 type = ItemData.BEANS_TYPE;
-                offset = getRandomPowerUpItemOffset(platformData.getOffset(), BEANS_ITEM_WIDTH_OFFSETS);
+                offset = getRandomPowerUpItemOffset(platformData.getOffset(), BEANS_ITEM_WIDTH_OFFSETS, random);
             } else {
                 type = ItemData.JUMP_SUIT_TYPE;
-                offset = getRandomPowerUpItemOffset(platformData.getOffset(), JUMP_SUIT_ITEM_WIDTH_OFFSETS);
+                offset = getRandomPowerUpItemOffset(platformData.getOffset(), JUMP_SUIT_ITEM_WIDTH_OFFSETS, random);
             }
             
             float step = platformData.getStep() + 0.5f;
@@ -661,28 +659,33 @@ final class RiseSectionGenerator {
         }
     }
     
-    private static float getRandomPowerUpItemOffset(int platformOffset, float itemWidthOffsets) {
-        return platformOffset + MathUtils.random() * (PlatformData.PLATFORM_WIDTH_OFFSETS - itemWidthOffsets);
+    private static float getRandomPowerUpItemOffset(int platformOffset, float itemWidthOffsets, GameRandom random) {
+        return platformOffset + random.random() * (PlatformData.PLATFORM_WIDTH_OFFSETS - itemWidthOffsets);
     }
     
     private static Array<ItemData> getScoreItems(int stepRange, Array<PlatformData> platformDataList,
-            ItemData powerUpItem) {
+            ItemData powerUpItem, GameRandom random) {
         Array<ItemData> itemDataList = new Array<ItemData>(true, SCORE_ITEMS_INITIAL_CAPACITY);
         
-        Array<Integer> possibleSteps = GameUtils.getRange(stepRange);
+        BitSet excludedSteps = new BitSet(stepRange);
         for (PlatformData platformData : platformDataList) {
-            possibleSteps.removeValue(platformData.getStep(), false);
+            excludedSteps.set(platformData.getStep());
         }
         
         if (powerUpItem != null) {
-            possibleSteps.removeValue((int) powerUpItem.getOffset() + 1, false);
+            excludedSteps.set((int) powerUpItem.getOffset() + 1);
+        }
+        
+        IntArray possibleSteps = new IntArray(true, stepRange);
+        for (int step = excludedSteps.nextClearBit(0); step < stepRange; step = excludedSteps.nextClearBit(step + 1)) {
+            possibleSteps.add(step);
         }
         
         int lastItemStepIndex = 0;
         while (lastItemStepIndex < possibleSteps.size) {
-            int itemStepIndex = lastItemStepIndex + getScoreItemDistancePossibleSteps();
+            int itemStepIndex = lastItemStepIndex + getScoreItemDistancePossibleSteps(random);
             if (itemStepIndex < possibleSteps.size) {
-                ItemData itemData = getRandomScoreItem(possibleSteps.get(itemStepIndex));
+                ItemData itemData = getRandomScoreItem(possibleSteps.get(itemStepIndex), random);
                 itemDataList.add(itemData);
             }
             lastItemStepIndex = itemStepIndex;
@@ -691,14 +694,14 @@ final class RiseSectionGenerator {
         return itemDataList;
     }
     
-    private static int getScoreItemDistancePossibleSteps() {
+    private static int getScoreItemDistancePossibleSteps(GameRandom random) {
         return MIN_SCORE_ITEM_DISTANCE_POSSIBLE_STEPS +
-                (int) (MathUtils.random() * (SCORE_ITEM_DISTANCE_POSSIBLE_STEPS_RANGE + 1));
+                (int) (random.random() * (SCORE_ITEM_DISTANCE_POSSIBLE_STEPS_RANGE + 1));
     }
     
-    private static ItemData getRandomScoreItem(float step) {
+    private static ItemData getRandomScoreItem(float step, GameRandom random) {
         
-        float itemTypeRandomValue = MathUtils.random();
+        float itemTypeRandomValue = random.random();
         String type;
         float offset;
         ObjectMap<String, String> properties;
@@ -706,27 +709,27 @@ final class RiseSectionGenerator {
             type = ItemData.COIN_TYPE;
             properties = new ObjectMap<String, String>(1);
             properties.put(ItemData.COIN_TYPE_PROPERTY, ItemData.COIN_TYPE_COPPER_PROPERTY_VALUE);
-            offset = getRandomScoreItemOffset(SCORE_ITEM_WIDTH_OFFSETS);
+            offset = getRandomScoreItemOffset(SCORE_ITEM_WIDTH_OFFSETS, random);
         } else if (itemTypeRandomValue <= SILVER_COIN_SCORE_ITEM_CUMULATIVE_FRACTION) {
             type = ItemData.COIN_TYPE;
             properties = new ObjectMap<String, String>(1);
             properties.put(ItemData.COIN_TYPE_PROPERTY, ItemData.COIN_TYPE_SILVER_PROPERTY_VALUE);
-            offset = getRandomScoreItemOffset(SCORE_ITEM_WIDTH_OFFSETS);
+            offset = getRandomScoreItemOffset(SCORE_ITEM_WIDTH_OFFSETS, random);
         } else if (itemTypeRandomValue <= GOLD_COIN_SCORE_ITEM_CUMULATIVE_FRACTION) {
             type = ItemData.COIN_TYPE;
             properties = new ObjectMap<String, String>(1);
             properties.put(ItemData.COIN_TYPE_PROPERTY, ItemData.COIN_TYPE_GOLD_PROPERTY_VALUE);
-            offset = getRandomScoreItemOffset(SCORE_ITEM_WIDTH_OFFSETS);
+            offset = getRandomScoreItemOffset(SCORE_ITEM_WIDTH_OFFSETS, random);
         } else {
             type = ItemData.SIGNET_TYPE;
             properties = null;
-            offset = getRandomScoreItemOffset(SCORE_ITEM_WIDTH_OFFSETS);
+            offset = getRandomScoreItemOffset(SCORE_ITEM_WIDTH_OFFSETS, random);
         }
         
         return new ItemData(type, step, offset, 1.0f, -1, properties);
     }
     
-    private static float getRandomScoreItemOffset(float itemWidthOffsets) {
-        return MathUtils.random() * (GameArea.GAME_AREA_WIDTH_OFFSETS - itemWidthOffsets);
+    private static float getRandomScoreItemOffset(float itemWidthOffsets, GameRandom random) {
+        return random.random() * (GameArea.GAME_AREA_WIDTH_OFFSETS - itemWidthOffsets);
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.host;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.badlogic.gdx.utils.Array;
+
+// ticks many sessions on a fixed pool of worker threads; every session is owned by a single worker,
+// so sessions need no locking, and the only state shared between them is read only rise data
+public final class SimulationHost {
+    
+    private final Array<SimulationSession> mSessions;
+    private final int mNumThreads;
+    private final float mUpdateStep;
+    
+    public SimulationHost(Array<SimulationSession> sessions, int numThreads, float updateStep) {
+        mSessions = sessions;
+        mNumThreads = Math.max(Math.min(numThreads, sessions.size), 1);
+        mUpdateStep = updateStep;
+    }
+    
+    // runs all sessions for the given wall clock time, and returns the number of ticks of all sessions together
+    public long run(long durationMillis) throws InterruptedException, ExecutionException {
+        final AtomicBoolean isRunning = new AtomicBoolean(true);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(mNumThreads);
+        Array<Future<Long>> results = new Array<Future<Long>>(true, mNumThreads);
+        for (int i = 0; i < mNumThreads; i++) {
+            final Array<SimulationSession> workerSessions = getWorkerSessions(i);
+            results.add(executor.submit(new Callable<Long>() {
+                @Override
+                public Long call() {
+                    return runWorker(workerSessions, isRunning);
+                }
+            }));
+        }
+        
+        // when one worker fails the others are stopped too, so the pool doesn't keep the process alive
+        try {
+            Thread.sleep(durationMillis);
+            isRunning.set(false);
+            
+            long numTicks = 0L;
+            for (int i = 0; i < results.size; i++) {
+                numTicks += results.get(i).get();
+            }
+            return numTicks;
+        } finally {
+            isRunning.set(false);
+            executor.shutdown();
+        }
+    }
+    
+    private Array<SimulationSession> getWorkerSessions(int workerIndex) {
+        Array<SimulationSession> workerSessions = new Array<SimulationSession>(
+                true, mSessions.size / mNumThreads + 1);
+        for (int i = workerIndex; i < mSessions.size; i += mNumThreads) {
+            workerSessions.add(mSessions.get(i));
+        }
+        
+        return workerSessions;
+    }
+    
+    // sessions are ticked in turns, so all of them advance at about the same rate
+    private long runWorker(Array<SimulationSession> workerSessions, AtomicBoolean isRunning) {
+        long numTicks = 0L;
+        while (isRunning.get()) {
+            for (int i = 0; i < workerSessions.size; i++) {
+                workerSessions.get(i).tick(mUpdateStep);
+            }
+            numTicks += workerSessions.size;
+        }
+        
+        return numTicks;
+    }
+    
+    public Array<SimulationSession> getSessions() {
+        return mSessions;
+    }
+}
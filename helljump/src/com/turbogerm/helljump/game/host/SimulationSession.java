@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.host;
+
+import com.turbogerm.helljump.game.GameSimulation;
+import com.turbogerm.helljump.game.input.GameInputSource;
+import com.turbogerm.helljump.game.replay.ReplayFormat;
+
+// one game with its own input; when the game is over a new rise is started on the next tick
+public final class SimulationSession {
+    
+    private final GameSimulation mGameSimulation;
+    private final GameInputSource mInputSource;
+    
+    private long mNumTicks;
+    private int mNumFinishedGames;
+    
+    public SimulationSession(GameSimulation gameSimulation, GameInputSource inputSource) {
+        mGameSimulation = gameSimulation;
+        mInputSource = inputSource;
+        
+        mNumTicks = 0L;
+        mNumFinishedGames = 0;
+    }
+    
+    // input is quantized the same way game area does it, so the session plays exactly like a recorded game
+    public void tick(float delta) {
+        if (mGameSimulation.isGameOver()) {
+            mGameSimulation.reset(mGameSimulation.isEndless());
+            mInputSource.reset();
+            mNumFinishedGames++;
+        }
+        
+        int quantizedHorizontalSpeed = ReplayFormat.quantizeHorizontalSpeed(
+                mInputSource.getHorizontalSpeed(mGameSimulation));
+        mGameSimulation.update(ReplayFormat.dequantizeHorizontalSpeed(quantizedHorizontalSpeed), delta);
+        mNumTicks++;
+    }
+    
+    public GameSimulation getGameSimulation() {
+        return mGameSimulation;
+    }
+    
+    public long getNumTicks() {
+        return mNumTicks;
+    }
+    
+    public int getNumFinishedGames() {
+        return mNumFinishedGames;
+    }
+}
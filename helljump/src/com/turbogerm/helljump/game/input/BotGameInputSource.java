@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.input;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.helljump.dataaccess.PlatformData;
+import com.turbogerm.helljump.game.GameSimulation;
+import com.turbogerm.helljump.game.character.GameCharacter;
+import com.turbogerm.helljump.game.platforms.PlatformBase;
+
+// steers towards the highest visible platform that character can still land on
+public final class BotGameInputSource implements GameInputSource {
+    
+    private static final float MAX_HORIZONTAL_SPEED = 10.0f;
+    private static final float STEERING_GAIN = 8.0f;
+    
+    @Override
+    public void reset() {
+    }
+    
+    @Override
+    public float getHorizontalSpeed(GameSimulation gameSimulation) {
+        GameCharacter character = gameSimulation.getCharacter();
+        Vector2 position = character.getPosition();
+        Vector2 speed = character.getSpeed();
+        
+        float risingSpeed = Math.max(speed.y, 0.0f);
+        float apexY = position.y + risingSpeed * risingSpeed / (2.0f * GameCharacter.GRAVITY);
+        float characterCenterX = position.x + GameCharacter.CHARACTER_CENTER_X_OFFSET;
+        
+        PlatformBase target = null;
+        float targetY = 0.0f;
+        Array<PlatformBase> visiblePlatforms = gameSimulation.getVisiblePlatforms();
+        for (int i = 0; i < visiblePlatforms.size; i++) {
+            PlatformBase platform = visiblePlatforms.get(i);
+            float platformY = platform.getPosition().y + PlatformData.PLATFORM_HEIGHT;
+            if (platformY <= apexY && (target == null || platformY > targetY)) {
+                target = platform;
+                targetY = platformY;
+            }
+        }
+        
+        if (target == null) {
+            return 0.0f;
+        }
+        
+        float targetCenterX = target.getPosition().x + PlatformData.PLATFORM_WIDTH / 2.0f;
+        return MathUtils.clamp((targetCenterX - characterCenterX) * STEERING_GAIN,
+                -MAX_HORIZONTAL_SPEED, MAX_HORIZONTAL_SPEED);
+    }
+}
@@ -21,28 +21,28 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package com.turbogerm.helljump.game;
+package com.turbogerm.helljump.game.input;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Input.Keys;
+import com.turbogerm.helljump.game.GameSimulation;
 
-final class GameInput {
+public final class KeyboardGameInputSource implements GameInputSource {
     
     private static final float DEFAULT_HORIZONTAL_SPEED = 10.0f;
-    private static final float ACCELEROMETER_SPEED_MULTIPLIER = 3.75f;
     
-    public static float getHorizontalSpeed() {
-        if (Gdx.app.getType() == ApplicationType.Desktop) {
-            if (Gdx.input.isKeyPressed(Keys.LEFT) && !Gdx.input.isKeyPressed(Keys.RIGHT)) {
-                return -DEFAULT_HORIZONTAL_SPEED;
-            } else if (Gdx.input.isKeyPressed(Keys.RIGHT) && !Gdx.input.isKeyPressed(Keys.LEFT)) {
-                return DEFAULT_HORIZONTAL_SPEED;
-            } else {
-                return 0.0f;
-            }
-        } else if (Gdx.app.getType() == ApplicationType.Android) {
-            return -Gdx.input.getAccelerometerX() * ACCELEROMETER_SPEED_MULTIPLIER;
+    @Override
+    public void reset() {
+    }
+    
+    @Override
+    public float getHorizontalSpeed(GameSimulation gameSimulation) {
+        boolean isLeftPressed = Gdx.input.isKeyPressed(Keys.LEFT);
+        boolean isRightPressed = Gdx.input.isKeyPressed(Keys.RIGHT);
+        if (isLeftPressed && !isRightPressed) {
+            return -DEFAULT_HORIZONTAL_SPEED;
+        } else if (isRightPressed && !isLeftPressed) {
+            return DEFAULT_HORIZONTAL_SPEED;
         } else {
             return 0.0f;
         }
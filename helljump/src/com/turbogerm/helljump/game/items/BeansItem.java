@@ -23,10 +23,10 @@
  */
 package com.turbogerm.helljump.game.items;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.turbogerm.helljump.dataaccess.ItemData;
+import com.turbogerm.helljump.game.CollisionUtils;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class BeansItem extends ItemBase {
@@ -35,8 +35,8 @@ final class BeansItem extends ItemBase {
     
     private final Rectangle mCollisionRect;
     
-    public BeansItem(ItemData itemData, int startStep, AssetManager assetManager) {
-        super(itemData, ResourceNames.ITEM_BEANS_IMAGE_NAME, startStep, assetManager);
+    public BeansItem(ItemData itemData, int startStep, GameAssets gameAssets) {
+        super(itemData, ResourceNames.ITEM_BEANS_IMAGE_NAME, startStep, gameAssets);
         
         mCollisionRect = new Rectangle();
         
@@ -52,8 +52,8 @@ final class BeansItem extends ItemBase {
     }
     
     @Override
-    public boolean isCollision(Rectangle rect) {
-        return Intersector.overlapRectangles(rect, mCollisionRect);
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
+        return CollisionUtils.overlapSweptRectangles(rect, movementX, movementY, mCollisionRect);
     }
     
     @Override
@@ -23,11 +23,11 @@
  */
 package com.turbogerm.helljump.game.items;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.Circle;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.turbogerm.helljump.dataaccess.ItemData;
+import com.turbogerm.helljump.game.CollisionUtils;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class CoinItem extends ItemBase {
@@ -42,8 +42,8 @@ public final class CoinItem extends ItemBase {
     
     private final Circle mCollisionCircle;
     
-    public CoinItem(ItemData itemData, int startStep, AssetManager assetManager) {
-        super(itemData, getImageName(itemData), startStep, assetManager);
+    public CoinItem(ItemData itemData, int startStep, GameAssets gameAssets) {
+        super(itemData, getImageName(itemData), startStep, gameAssets);
         
         mCoinScore = getCoinScore(itemData);
         
@@ -66,8 +66,8 @@ public final class CoinItem extends ItemBase {
     }
     
     @Override
-    public boolean isCollision(Rectangle rect) {
-        return Intersector.overlapCircleRectangle(mCollisionCircle, rect);
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
+        return CollisionUtils.overlapSweptRectangleCircle(rect, movementX, movementY, mCollisionCircle);
     }
     
     private static String getImageName(ItemData itemData) {
@@ -23,23 +23,28 @@
  */
 package com.turbogerm.helljump.game.items;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.BitmapFont.TextBounds;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.TimerWheel;
+import com.turbogerm.germlibrary.util.WheelTimer;
+import com.turbogerm.germlibrary.util.WheelTimerListener;
 import com.turbogerm.helljump.HellJump;
 import com.turbogerm.helljump.dataaccess.ItemData;
+import com.turbogerm.helljump.game.CollisionGridObject;
 import com.turbogerm.helljump.game.GameAreaUtils;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-public abstract class ItemBase {
+public abstract class ItemBase implements CollisionGridObject {
     
     public static final int FART_EFFECT = 0;
     public static final int SHIELD_EFFECT = 1;
@@ -62,54 +67,112 @@ public abstract class ItemBase {
     protected final Vector2 mSize;
     protected final float mRadius;
     
+    private final Rectangle mCollisionBounds;
+    
     private int mItemState;
     
-    private float mTextCountdown;
+    private final WheelTimer mTextTimer;
+    private TimerWheel mTimerWheel;
     
     private String mPickedUpText;
     private boolean mIsPickedUpTextBoundsDirty;
     private final Vector2 mPickedUpTextBounds;
     
-    public ItemBase(ItemData itemData, String imageName, int startStep, AssetManager assetManager) {
+    private float mUpdatedTime;
+    private final Vector2 mPreviousPosition;
+    
+    public ItemBase(ItemData itemData, String imageName, int startStep, GameAssets gameAssets) {
         
         mInitialPosition = itemData.getPosition(startStep);
         mOffsetFromPlatform = new Vector2();
         
         mPosition = new Vector2(mInitialPosition);
+        mPreviousPosition = new Vector2(mInitialPosition);
         
-        TextureAtlas atlas = assetManager.get(ResourceNames.ITEMS_ATLAS);
-        mSprite = atlas.createSprite(imageName);
+        mSprite = gameAssets.createSprite(ResourceNames.ITEMS_ATLAS, imageName);
         GameUtils.multiplySpriteSize(mSprite, GameAreaUtils.PIXEL_TO_METER);
         GameUtils.setSpriteOriginCenter(mSprite);
         
         mSize = new Vector2(mSprite.getWidth(), mSprite.getHeight());
         mRadius = mSize.x / 2.0f;
         
+        mCollisionBounds = new Rectangle();
+        
         mItemState = EXISTING_STATE;
         
-        mTextCountdown = TEXT_COUNTDOWN_DURATION;
+        mTextTimer = new WheelTimer(new WheelTimerListener() {
+            @Override
+            public void onTimerExpired(WheelTimer timer) {
+                mItemState = GONE_STATE;
+            }
+        });
         
         mPickedUpTextBounds = new Vector2();
     }
     
-    public final void update(float delta) {
+    public final void update(float updateStartTime, float delta) {
+        // item was dormant, so it is fast-forwarded before the regular update
+        if (mUpdatedTime < updateStartTime) {
+            updateExisting(updateStartTime - mUpdatedTime);
+        }
+        mUpdatedTime = updateStartTime + delta;
+        
+        updateExisting(delta);
+    }
+    
+    private void updateExisting(float delta) {
         if (mItemState == EXISTING_STATE) {
             updateImpl(delta);
-        } else if (mItemState == TEXT_STATE) {
-            mTextCountdown -= delta;
-            if (mTextCountdown <= 0.0f) {
-                mTextCountdown = 0.0f;
-                mItemState = GONE_STATE;
-            }
         }
     }
     
     protected void updateImpl(float delta) {
     }
     
-    public final void render(SpriteBatch batch) {
+    // item starts as dormant
+    public void activate(float gameTime, TimerWheel timerWheel) {
+        mUpdatedTime = gameTime;
+        mTimerWheel = timerWheel;
+    }
+    
+    public void deactivate() {
+        mTextTimer.cancel();
+    }
+    
+    public final void writeState(StateWriter writer) {
+        writer.writeInt(mItemState);
+        mTimerWheel.writeTimerState(mTextTimer, writer);
+        writer.writeString(mPickedUpText);
+        writer.writeFloat(mUpdatedTime);
+        writer.writeFloat(mPosition.x);
+        writer.writeFloat(mPosition.y);
+        writer.writeFloat(mPreviousPosition.x);
+        writer.writeFloat(mPreviousPosition.y);
+        writer.writeFloat(mSprite.getRotation());
+    }
+    
+    public final void readState(StateReader reader) {
+        mItemState = reader.readInt();
+        mTimerWheel.readTimerState(mTextTimer, reader);
+        setPickedUpText(reader.readString());
+        mUpdatedTime = reader.readFloat();
+        mPosition.x = reader.readFloat();
+        mPosition.y = reader.readFloat();
+        mPreviousPosition.x = reader.readFloat();
+        mPreviousPosition.y = reader.readFloat();
+        mSprite.setRotation(reader.readFloat());
+        
+        updatePositionImpl();
+    }
+    
+    // sprite is drawn between its last two positions, and is then returned to current position
+    public final void render(SpriteBatch batch, float alpha) {
         if (mItemState == EXISTING_STATE) {
+            float offsetX = (mPreviousPosition.x - mPosition.x) * (1.0f - alpha);
+            float offsetY = (mPreviousPosition.y - mPosition.y) * (1.0f - alpha);
+            mSprite.translate(offsetX, offsetY);
             mSprite.draw(batch);
+            mSprite.translate(-offsetX, -offsetY);
         }
     }
     
@@ -120,7 +183,7 @@ public abstract class ItemBase {
                 mPickedUpTextBounds.set(textBounds.width, textBounds.height);
                 mIsPickedUpTextBoundsDirty = false;
             }
-            float alpha = mTextCountdown / TEXT_COUNTDOWN_DURATION;
+            float alpha = mTextTimer.getRemaining() / TEXT_COUNTDOWN_DURATION;
             Color c = itemFont.getColor();
             itemFont.setColor(c.r, c.g, c.b, alpha);
             float textX = (mPosition.x + mSize.x / 2.0f) * GameAreaUtils.METER_TO_PIXEL -
@@ -138,7 +201,9 @@ public abstract class ItemBase {
                 mInitialPosition.y - platformInitialPosition.y);
     }
     
+    // items only move with their platforms, so previous position is kept whenever platform moves them
     public final void updatePosition(Vector2 platformPosition) {
+        mPreviousPosition.set(mPosition);
         mPosition.set(
                 platformPosition.x + mOffsetFromPlatform.x,
                 platformPosition.y + mOffsetFromPlatform.y);
@@ -150,12 +215,39 @@ public abstract class ItemBase {
     
     public void pickUp() {
         mItemState = TEXT_STATE;
+        mTimerWheel.schedule(mTextTimer, TEXT_COUNTDOWN_DURATION);
+    }
+    
+    // rect moved by the given movement during the tick, and is tested against the path of the item
+    public final boolean isCollision(Rectangle rect, Vector2 rectMovement) {
+        return isCollision(rect,
+                rectMovement.x - (mPosition.x - mPreviousPosition.x),
+                rectMovement.y - (mPosition.y - mPreviousPosition.y));
     }
     
-    public boolean isCollision(Rectangle rect) {
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
         return false;
     }
     
+    public Rectangle getRenderBounds() {
+        return mSprite.getBoundingRectangle();
+    }
+    
+    @Override
+    public Rectangle getCollisionBounds() {
+        float minX = Math.min(mPosition.x, mPreviousPosition.x);
+        float minY = Math.min(mPosition.y, mPreviousPosition.y);
+        float maxX = Math.max(mPosition.x, mPreviousPosition.x) + mSize.x;
+        float maxY = Math.max(mPosition.y, mPreviousPosition.y) + mSize.y;
+        mCollisionBounds.set(minX, minY, maxX - minX, maxY - minY);
+        return mCollisionBounds;
+    }
+    
+    @Override
+    public boolean isCollidable() {
+        return isExisting();
+    }
+    
     public boolean isExisting() {
         return mItemState == EXISTING_STATE;
     }
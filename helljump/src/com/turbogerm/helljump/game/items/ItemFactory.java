@@ -23,29 +23,29 @@
  */
 package com.turbogerm.helljump.game.items;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.turbogerm.germlibrary.util.ExceptionThrower;
 import com.turbogerm.helljump.dataaccess.ItemData;
+import com.turbogerm.helljump.resources.GameAssets;
 
 public final class ItemFactory {
     
-    public static ItemBase create(ItemData itemData, int startStep, AssetManager assetManager) {
+    public static ItemBase create(ItemData itemData, int startStep, GameAssets gameAssets) {
         
         String type = itemData.getType();
         if (ItemData.BEANS_TYPE.equals(type)) {
-            return new BeansItem(itemData, startStep, assetManager);
+            return new BeansItem(itemData, startStep, gameAssets);
         } else if (ItemData.SHIELD_TYPE.equals(type)) {
-            return new ShieldItem(itemData, startStep, assetManager);
+            return new ShieldItem(itemData, startStep, gameAssets);
         } else if (ItemData.JUMP_SUIT_TYPE.equals(type)) {
-            return new JumpSuitItem(itemData, startStep, assetManager);
+            return new JumpSuitItem(itemData, startStep, gameAssets);
         } else if (ItemData.LIFE_TYPE.equals(type)) {
-            return new LifeItem(itemData, startStep, assetManager);
+            return new LifeItem(itemData, startStep, gameAssets);
         } else if (ItemData.COIN_TYPE.equals(type)) {
-            return new CoinItem(itemData, startStep, assetManager);
+            return new CoinItem(itemData, startStep, gameAssets);
         } else if (ItemData.SIGNET_TYPE.equals(type)) {
-            return new SignetItem(itemData, startStep, assetManager);
+            return new SignetItem(itemData, startStep, gameAssets);
         } else if (ItemData.BLACK_BOX_TYPE.equals(type)) {
-            return new BlackBoxItem(itemData, startStep, assetManager);
+            return new BlackBoxItem(itemData, startStep, gameAssets);
         } else {
             ExceptionThrower.throwException("Invalid item type: %s", type);
             return null;
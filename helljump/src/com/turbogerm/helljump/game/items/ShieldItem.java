@@ -23,11 +23,11 @@
  */
 package com.turbogerm.helljump.game.items;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.Circle;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.turbogerm.helljump.dataaccess.ItemData;
+import com.turbogerm.helljump.game.CollisionUtils;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class ShieldItem extends ItemBase {
@@ -36,8 +36,8 @@ final class ShieldItem extends ItemBase {
     
     private final Circle mCollisionCircle;
     
-    public ShieldItem(ItemData itemData, int startStep, AssetManager assetManager) {
-        super(itemData, ResourceNames.ITEM_SHIELD_IMAGE_NAME, startStep, assetManager);
+    public ShieldItem(ItemData itemData, int startStep, GameAssets gameAssets) {
+        super(itemData, ResourceNames.ITEM_SHIELD_IMAGE_NAME, startStep, gameAssets);
         
         mCollisionCircle = new Circle();
         
@@ -53,8 +53,8 @@ final class ShieldItem extends ItemBase {
     }
     
     @Override
-    public boolean isCollision(Rectangle rect) {
-        return Intersector.overlapCircleRectangle(mCollisionCircle, rect);
+    protected boolean isCollision(Rectangle rect, float movementX, float movementY) {
+        return CollisionUtils.overlapSweptRectangleCircle(rect, movementX, movementY, mCollisionCircle);
     }
     
     @Override
@@ -23,35 +23,52 @@
  */
 package com.turbogerm.helljump.game.platforms;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.WheelTimer;
 import com.turbogerm.helljump.dataaccess.PlatformData;
 import com.turbogerm.helljump.game.PlatformToCharCollisionData;
+import com.turbogerm.helljump.game.RandomStreams;
+import com.turbogerm.helljump.game.platforms.movement.PlatformMovementStore;
+import com.turbogerm.helljump.resources.GameAssets;
 
 public final class CrumblePlatform extends PlatformBase {
     
     private static final float CRUMBLING_COUNTDOWN_DURATION = 1.0f;
     
     private boolean mIsCrumbling;
-    private float mCrumblingCountdown;
+    private final WheelTimer mCrumblingTimer;
     
-    public CrumblePlatform(int riseSectionId, PlatformData platformData, int startStep, AssetManager assetManager) {
-        super(riseSectionId, platformData, startStep, assetManager);
+    public CrumblePlatform(int riseSectionId, PlatformData platformData, int startStep,
+            PlatformMovementStore movementStore, GameAssets gameAssets, RandomStreams randomStreams) {
+        super(riseSectionId, platformData, startStep, movementStore, gameAssets, randomStreams);
         
         mIsCrumbling = false;
-        mCrumblingCountdown = CRUMBLING_COUNTDOWN_DURATION;
+        mCrumblingTimer = new WheelTimer();
     }
     
     @Override
     protected void updateImpl(float delta, Vector2 c1, Vector2 c2, PlatformToCharCollisionData collisionData) {
         if (mIsCrumbling) {
-            mCrumblingCountdown -= delta;
-            mPlatformModifier.spriteColor.a = mCrumblingCountdown / CRUMBLING_COUNTDOWN_DURATION;
+            mPlatformModifier.spriteColor.a = mCrumblingTimer.getRemaining() / CRUMBLING_COUNTDOWN_DURATION;
         }
         
         super.updateImpl(delta, c1, c2, collisionData);
     }
     
+    @Override
+    protected void writeStateImpl(StateWriter writer) {
+        writer.writeBoolean(mIsCrumbling);
+        mTimerWheel.writeTimerState(mCrumblingTimer, writer);
+    }
+    
+    @Override
+    protected void readStateImpl(StateReader reader) {
+        mIsCrumbling = reader.readBoolean();
+        mTimerWheel.readTimerState(mCrumblingTimer, reader);
+    }
+    
     @Override
     public boolean isCollision(Vector2 c1, Vector2 c2, Vector2 intersection) {
         
@@ -59,6 +76,8 @@ public final class CrumblePlatform extends PlatformBase {
             boolean isCollision = super.isCollision(c1, c2, intersection);
             if (isCollision) {
                 mIsCrumbling = true;
+                stopMovement();
+                mTimerWheel.schedule(mCrumblingTimer, CRUMBLING_COUNTDOWN_DURATION);
             }
             
             return isCollision;
@@ -70,11 +89,7 @@ public final class CrumblePlatform extends PlatformBase {
     
     @Override
     protected boolean isActiveInternal() {
-        return mCrumblingCountdown > 0.0f;
-    }
-    
-    @Override
-    protected boolean isMovingInternal() {
-        return !mIsCrumbling;
+        return !mIsCrumbling || mCrumblingTimer.isScheduled();
     }
+
 }
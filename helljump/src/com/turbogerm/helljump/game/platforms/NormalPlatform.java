@@ -23,12 +23,15 @@
  */
 package com.turbogerm.helljump.game.platforms;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.turbogerm.helljump.dataaccess.PlatformData;
+import com.turbogerm.helljump.game.RandomStreams;
+import com.turbogerm.helljump.game.platforms.movement.PlatformMovementStore;
+import com.turbogerm.helljump.resources.GameAssets;
 
 final class NormalPlatform extends PlatformBase {
     
-    public NormalPlatform(int riseSectionId, PlatformData platformData, int startStep, AssetManager assetManager) {
-        super(riseSectionId, platformData, startStep, assetManager);
+    public NormalPlatform(int riseSectionId, PlatformData platformData, int startStep,
+            PlatformMovementStore movementStore, GameAssets gameAssets, RandomStreams randomStreams) {
+        super(riseSectionId, platformData, startStep, movementStore, gameAssets, randomStreams);
     }
 }
@@ -25,20 +25,25 @@ package com.turbogerm.helljump.game.platforms;
 
 import java.util.Comparator;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.turbogerm.germlibrary.util.GameRandom;
 import com.turbogerm.germlibrary.util.Pools;
+import com.turbogerm.germlibrary.util.Sorting;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.TimerWheel;
 import com.turbogerm.helljump.dataaccess.PlatformData;
 import com.turbogerm.helljump.dataaccess.PlatformFeatureData;
+import com.turbogerm.helljump.game.CollisionEffectHandler;
 import com.turbogerm.helljump.game.CollisionEffects;
 import com.turbogerm.helljump.game.GameArea;
 import com.turbogerm.helljump.game.PlatformToCharCollisionData;
+import com.turbogerm.helljump.game.RandomStreams;
 import com.turbogerm.helljump.game.character.GameCharacter;
 import com.turbogerm.helljump.game.items.ItemBase;
 import com.turbogerm.helljump.game.platforms.features.PlatformFeatureBase;
@@ -46,6 +51,8 @@ import com.turbogerm.helljump.game.platforms.features.PlatformFeatureFactory;
 import com.turbogerm.helljump.game.platforms.features.PlatformModifier;
 import com.turbogerm.helljump.game.platforms.movement.PlatformMovementBase;
 import com.turbogerm.helljump.game.platforms.movement.PlatformMovementFactory;
+import com.turbogerm.helljump.game.platforms.movement.PlatformMovementStore;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public abstract class PlatformBase {
@@ -77,6 +84,7 @@ public abstract class PlatformBase {
     
     protected final Sprite mSprite;
     protected final PlatformModifier mPlatformModifier;
+    protected TimerWheel mTimerWheel;
     
     private final PlatformMovementBase mPlatformMovement;
     private final boolean mHasVerticalMovement;
@@ -86,43 +94,52 @@ public abstract class PlatformBase {
     
     private final Array<ItemBase> mAttachedItems;
     
+    private float mUpdatedTime;
+    
     public PlatformBase(int riseSectionId, PlatformData platformData, int startStep,
-            AssetManager assetManager) {
+            PlatformMovementStore movementStore, GameAssets gameAssets, RandomStreams randomStreams) {
         
         mRiseSectionId = riseSectionId;
         mPlatformId = platformData.getId();
         
         mInitialPosition =  platformData.getPosition(startStep);
         
-        TextureAtlas atlas = assetManager.get(ResourceNames.PLATFORMS_ATLAS);
-        mSprite = atlas.createSprite(getImageName(platformData));
+        mSprite = gameAssets.createSprite(ResourceNames.PLATFORMS_ATLAS,
+                getImageName(platformData, randomStreams.getCosmeticRandom()));
         mSprite.setBounds(mInitialPosition.x, mInitialPosition.y,
                 PlatformData.PLATFORM_WIDTH, PlatformData.PLATFORM_HEIGHT);
         mPlatformModifier = new PlatformModifier();
         
         mPlatformMovement = PlatformMovementFactory.create(platformData.getMovementData(), mInitialPosition,
-                assetManager);
+                movementStore, gameAssets, randomStreams);
         mHasVerticalMovement = mPlatformMovement.hasVerticalMovement();
         
-        Array<PlatformFeatureBase> platformFeatures = getPlatformFeatures(platformData.getFeaturesData(), assetManager);
+        Array<PlatformFeatureBase> platformFeatures = getPlatformFeatures(platformData.getFeaturesData(), gameAssets);
         mPlatformFeatures = platformFeatures != null ? platformFeatures : new Array<PlatformFeatureBase>(true, 0);
         
         mPlatformFeaturesForRendering = new Array<PlatformFeatureBase>(mPlatformFeatures);
-        mPlatformFeaturesForRendering.sort(PLATFORM_FEATURE_RENDER_COMPARATOR);
+        Sorting.sort(mPlatformFeaturesForRendering, PLATFORM_FEATURE_RENDER_COMPARATOR);
         
         mAttachedItems = new Array<ItemBase>(ATTACHED_ITEMS_INITIAL_CAPACITY);
     }
     
-    public final void update(float delta, Vector2 c1, Vector2 c2, PlatformToCharCollisionData collisionData) {
+    public final void update(float updateStartTime, float delta, Vector2 c1, Vector2 c2,
+            PlatformToCharCollisionData collisionData) {
+        
+        // platform was dormant, so it is fast-forwarded before the regular update
+        if (mUpdatedTime < updateStartTime) {
+            catchUpImpl(updateStartTime - mUpdatedTime);
+        }
+        mUpdatedTime = updateStartTime + delta;
+        
+        updateImpl(delta, c1, c2, collisionData);
+        
         // if platform can move up, additional platform to char collision must be checked
         if (mHasVerticalMovement && collisionData.isEnabled) {
-            Vector2 position = getPosition();
-            Vector2 p1 = Pools.obtainVector();
-            p1.set(position.x, position.y + PlatformData.PLATFORM_HEIGHT);
+            Vector2 p1 = mPlatformMovement.getPreviousPosition(Pools.obtainVector());
+            p1.y += PlatformData.PLATFORM_HEIGHT;
             
-            updateImpl(delta, c1, c2, collisionData);
-            
-            position = getPosition();
+            Vector2 position = getPosition();
             Vector2 p2 = Pools.obtainVector();
             p2.set(position.x, position.y + PlatformData.PLATFORM_HEIGHT);
             
@@ -138,60 +155,126 @@ public abstract class PlatformBase {
             
             Pools.freeVector(p1);
             Pools.freeVector(p2);
-        } else {
-            updateImpl(delta, c1, c2, collisionData);
         }
     }
     
     protected void updateImpl(float delta, Vector2 c1, Vector2 c2, PlatformToCharCollisionData collisionData) {
+        mPlatformMovement.update(delta);
+        updateAttachedItemsPosition();
+        
+        updatePlatformModifier();
+    }
+    
+    protected void catchUpImpl(float delta) {
+        mPlatformMovement.catchUp(delta);
+        updateAttachedItemsPosition();
+        
+        updatePlatformModifier();
+    }
+    
+    // platform starts as dormant, and feature timers start running
+    public void activate(float gameTime, TimerWheel timerWheel) {
+        mUpdatedTime = gameTime;
+        mTimerWheel = timerWheel;
+        
         for (PlatformFeatureBase platformFeature : mPlatformFeatures) {
-            platformFeature.update(delta);
+            platformFeature.activate(timerWheel);
         }
-        
-        if (isMovingInternal()) {
-            mPlatformMovement.update(delta);
-            Vector2 position = getPosition();
-            for (ItemBase item : mAttachedItems) {
-                item.updatePosition(position);
-            }
+    }
+    
+    public void deactivate() {
+        for (PlatformFeatureBase platformFeature : mPlatformFeatures) {
+            platformFeature.deactivate();
         }
+    }
+    
+    // attached items are saved with the other items of the section, so their positions are not touched here
+    public final void writeState(StateWriter writer) {
+        writer.writeFloat(mUpdatedTime);
+        mPlatformMovement.writeState(writer);
+        for (int i = 0; i < mPlatformFeatures.size; i++) {
+            mPlatformFeatures.get(i).writeState(writer);
+        }
+        writeStateImpl(writer);
+    }
+    
+    public final void readState(StateReader reader) {
+        mUpdatedTime = reader.readFloat();
+        mPlatformMovement.readState(reader);
+        for (int i = 0; i < mPlatformFeatures.size; i++) {
+            mPlatformFeatures.get(i).readState(reader);
+        }
+        readStateImpl(reader);
         
         updatePlatformModifier();
     }
     
-    public final void render(SpriteBatch batch) {
+    protected void writeStateImpl(StateWriter writer) {
+    }
+    
+    protected void readStateImpl(StateReader reader) {
+    }
+    
+    public final void render(SpriteBatch batch, float alpha) {
+        
+        // platform is drawn between its last two positions
+        Vector2 position = mPlatformMovement.getPreviousPosition(Pools.obtainVector()).lerp(getPosition(), alpha);
         
         Color spriteColor = mPlatformModifier.spriteColor;
         for (PlatformFeatureBase platformFeature : mPlatformFeaturesForRendering) {
-            platformFeature.render(batch, getPosition(), spriteColor);
+            platformFeature.render(batch, position, spriteColor);
         }
         
         if (mPlatformModifier.isPlatformVisible) {
-            Vector2 position = getPosition();
             mSprite.setPosition(position.x, position.y);
             mSprite.setColor(mPlatformModifier.spriteColor);
             mSprite.draw(batch);
         }
         
-        mPlatformMovement.render(batch, spriteColor.a);
+        mPlatformMovement.render(batch, position, spriteColor.a);
+        
+        Pools.freeVector(position);
+    }
+    
+    public boolean isCollisionCandidate(float segmentMinX, float segmentMaxX, float segmentMinY, float segmentMaxY) {
+        Vector2 position = getPosition();
+        float pY = position.y + PlatformData.PLATFORM_HEIGHT;
+        if (pY < segmentMinY || pY > segmentMaxY) {
+            return false;
+        }
+        
+        float pX1 = position.x - GameCharacter.COLLISION_LINE_LENGTH;
+        float pX2 = position.x + PlatformData.PLATFORM_WIDTH - GameCharacter.COLLISION_WIDTH_OFFSET;
+        return segmentMaxX >= pX1 && pX2 >= segmentMinX;
     }
     
     public boolean isCollision(Vector2 c1, Vector2 c2, Vector2 intersection) {
         
         Vector2 position = getPosition();
-        Vector2 p1 = Pools.obtainVector();
-        Vector2 p2 = Pools.obtainVector();
         
         float pY = position.y + PlatformData.PLATFORM_HEIGHT;
-        p1.set(position.x - GameCharacter.COLLISION_LINE_LENGTH, pY);
-        p2.set(position.x + PlatformData.PLATFORM_WIDTH - GameCharacter.COLLISION_WIDTH_OFFSET, pY);
+        float pX1 = position.x - GameCharacter.COLLISION_LINE_LENGTH;
+        float pX2 = position.x + PlatformData.PLATFORM_WIDTH - GameCharacter.COLLISION_WIDTH_OFFSET;
         
-        boolean isIntersection = Intersector.intersectSegments(c1, c2, p1, p2, intersection);
+        // platform collision line is horizontal, so segment intersection reduces to
+        // finding where character segment crosses platform y
+        float dy = c2.y - c1.y;
+        if (dy == 0.0f) {
+            return false;
+        }
         
-        Pools.freeVector(p1);
-        Pools.freeVector(p2);
+        float t = (pY - c1.y) / dy;
+        if (t < 0.0f || t > 1.0f) {
+            return false;
+        }
         
-        return isIntersection;
+        float x = c1.x + (c2.x - c1.x) * t;
+        if (x < pX1 || x > pX2) {
+            return false;
+        }
+        
+        intersection.set(x, pY);
+        return true;
     }
     
     public boolean isActive(float visibleAreaPosition, float visiblePlatformsAreaPadding) {
@@ -205,11 +288,15 @@ public abstract class PlatformBase {
         return position.y >= activeRangeLower && position.y <= activeRangeUpper;
     }
     
-    public void applyEffect(int collisionEffect) {
-        mPlatformMovement.applyEffect(collisionEffect);
+    public void getEffectHandlers(int collisionEffect, Array<CollisionEffectHandler> effectHandlers) {
+        if (mPlatformMovement.isEffectHandled(collisionEffect)) {
+            effectHandlers.add(mPlatformMovement);
+        }
         
         for (PlatformFeatureBase feature : mPlatformFeatures) {
-            feature.applyEffect(collisionEffect);
+            if (feature.isEffectHandled(collisionEffect)) {
+                effectHandlers.add(feature);
+            }
         }
     }
     
@@ -218,12 +305,19 @@ public abstract class PlatformBase {
         mAttachedItems.add(item);
     }
     
+    protected final void stopMovement() {
+        mPlatformMovement.setMoving(false);
+    }
+    
     protected boolean isActiveInternal() {
         return true;
     }
     
-    protected boolean isMovingInternal() {
-        return true;
+    private void updateAttachedItemsPosition() {
+        Vector2 position = getPosition();
+        for (ItemBase item : mAttachedItems) {
+            item.updatePosition(position);
+        }
     }
     
     private void updatePlatformModifier() {
@@ -263,25 +357,34 @@ public abstract class PlatformBase {
         return mPlatformMovement.getPosition();
     }
     
-    private static String getImageName(PlatformData platformData) {
+    public float getMinPositionY() {
+        return mPlatformMovement.getMinPositionY();
+    }
+    
+    public float getMaxPositionY() {
+        return mPlatformMovement.getMaxPositionY();
+    }
+    
+    private static String getImageName(PlatformData platformData, GameRandom cosmeticRandom) {
         String platformType = platformData.getPlatformType();
         if (PlatformData.CRUMBLE_TYPE.equals(platformType)) {
             return ResourceNames.PLATFORM_CRUMBLE_IMAGE_NAME;
         } else {
-            return ResourceNames.getRandomPlatformNormalImageName();
+            return ResourceNames.getRandomPlatformNormalImageName(cosmeticRandom);
         }
     }
     
     private static Array<PlatformFeatureBase> getPlatformFeatures(Array<PlatformFeatureData> featuresData,
-            AssetManager assetManager) {
+            GameAssets gameAssets) {
         
         if (featuresData == null) {
             return null;
         }
         
         Array<PlatformFeatureBase> platformFeatures = new Array<PlatformFeatureBase>(true, featuresData.size);
-        for (PlatformFeatureData featureData : featuresData) {
-            PlatformFeatureBase platformFeature = PlatformFeatureFactory.create(featureData, assetManager);
+        for (int i = 0; i < featuresData.size; i++) {
+            PlatformFeatureData featureData = featuresData.get(i);
+            PlatformFeatureBase platformFeature = PlatformFeatureFactory.create(featureData, gameAssets);
             platformFeatures.add(platformFeature);
         }
         
@@ -23,20 +23,24 @@
  */
 package com.turbogerm.helljump.game.platforms;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.turbogerm.germlibrary.util.ExceptionThrower;
 import com.turbogerm.helljump.dataaccess.PlatformData;
+import com.turbogerm.helljump.game.RandomStreams;
+import com.turbogerm.helljump.game.platforms.movement.PlatformMovementStore;
+import com.turbogerm.helljump.resources.GameAssets;
 
 public final class PlatformFactory {
     
     public static PlatformBase create(int riseSectionId, PlatformData platformData, int startStep,
-            AssetManager assetManager) {
+            PlatformMovementStore movementStore, GameAssets gameAssets, RandomStreams randomStreams) {
         
         String platformType = platformData.getPlatformType();
         if (PlatformData.NORMAL_TYPE.equals(platformType)) {
-            return new NormalPlatform(riseSectionId, platformData, startStep, assetManager);
+            return new NormalPlatform(riseSectionId, platformData, startStep, movementStore, gameAssets,
+                    randomStreams);
         } else if (PlatformData.CRUMBLE_TYPE.equals(platformType)) {
-            return new CrumblePlatform(riseSectionId, platformData, startStep, assetManager);
+            return new CrumblePlatform(riseSectionId, platformData, startStep, movementStore, gameAssets,
+                    randomStreams);
         } else {
             ExceptionThrower.throwException("Invalid platform type: %s", platformType);
             return null;
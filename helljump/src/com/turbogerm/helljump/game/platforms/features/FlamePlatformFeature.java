@@ -23,19 +23,22 @@
  */
 package com.turbogerm.helljump.game.platforms.features;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import com.turbogerm.germlibrary.util.ColorInterpolator;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.TimerWheel;
+import com.turbogerm.germlibrary.util.WheelTimer;
+import com.turbogerm.germlibrary.util.WheelTimerListener;
 import com.turbogerm.helljump.dataaccess.PlatformData;
 import com.turbogerm.helljump.dataaccess.PlatformFeatureData;
 import com.turbogerm.helljump.game.CollisionEffects;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class FlamePlatformFeature extends PlatformFeatureBase {
@@ -51,11 +54,9 @@ final class FlamePlatformFeature extends PlatformFeatureBase {
     private static final Color DORMANT_COLOR;
     
     private final Animation mFireAnimation;
-    private float mFireAnimationTime = 0.0f;
     
     private final FlameStateMachine mFlameStateMachine;
-    private boolean mIsFlameActive;
-    private float mFirstCycleCountdown;
+    private final float mFirstCycleOffset;
     
     private final ColorInterpolator mColorInterpolator;
     
@@ -66,9 +67,9 @@ final class FlamePlatformFeature extends PlatformFeatureBase {
         DORMANT_COLOR.a = 1.0f;
     }
     
-    public FlamePlatformFeature(PlatformFeatureData featureData, AssetManager assetManager) {
+    public FlamePlatformFeature(PlatformFeatureData featureData, GameAssets gameAssets) {
         
-        mFirstCycleCountdown = Float.valueOf(
+        mFirstCycleOffset = Float.valueOf(
                 featureData.getProperty(PlatformFeatureData.FLAME_CYCLE_OFFSET_PROPERTY));
         float flameDuration = Float.valueOf(
                 featureData.getProperty(PlatformFeatureData.FLAME_FLAME_DURATION_PROPERTY));
@@ -78,12 +79,10 @@ final class FlamePlatformFeature extends PlatformFeatureBase {
                 featureData.getProperty(PlatformFeatureData.FLAME_TRANSITION_DURATION_PROPERTY));
         
         mFlameStateMachine = new FlameStateMachine(flameDuration, dormantDuration, transitionDuration);
-        mIsFlameActive = false;
         
-        TextureAtlas platformsAtlas = assetManager.get(ResourceNames.PLATFORMS_ATLAS);
-        Array<AtlasRegion> fireAtlasRegions = platformsAtlas.findRegions(ResourceNames.PLATFORM_FIRE_IMAGE_NAME);
-        mFireAnimation = new Animation(FIRE_FRAME_DURATION, fireAtlasRegions, Animation.LOOP);
-        mFireAnimationTime = 0.0f;
+        Array<? extends TextureRegion> fireRegions = gameAssets.findRegions(
+                ResourceNames.PLATFORMS_ATLAS, ResourceNames.PLATFORM_FIRE_IMAGE_NAME);
+        mFireAnimation = new Animation(FIRE_FRAME_DURATION, fireRegions, Animation.LOOP);
         
         mRenderPrecedence = RENDER_PRECEDENCE;
         mContactPrecendence = CONTACT_PRECEDENCE;
@@ -92,35 +91,30 @@ final class FlamePlatformFeature extends PlatformFeatureBase {
     }
     
     @Override
-    public void update(float delta) {
-        if (mFirstCycleCountdown > 0.0f) {
-            mFirstCycleCountdown -= delta;
-            if (mFirstCycleCountdown >= 0.0f) {
-                delta = 0.0f;
-            } else {
-                delta = -mFirstCycleCountdown;
-                mFirstCycleCountdown = 0.0f;
-            }
-        }
-        
-        mFlameStateMachine.update(delta);
-        
-        if (mFlameStateMachine.getCurrentState() == FlameStateMachine.FLAME) {
-            if (!mIsFlameActive) {
-                mIsFlameActive = true;
-                mFireAnimationTime = 0.0f;
-            } else {
-                mFireAnimationTime += delta;
-            }
-        } else {
-            mIsFlameActive = false;
-        }
+    public void activate(TimerWheel timerWheel) {
+        super.activate(timerWheel);
+        mFlameStateMachine.start(timerWheel, mFirstCycleOffset);
+    }
+    
+    @Override
+    public void deactivate() {
+        mFlameStateMachine.stop();
+    }
+    
+    @Override
+    public void writeState(StateWriter writer) {
+        mFlameStateMachine.writeState(writer);
+    }
+    
+    @Override
+    public void readState(StateReader reader) {
+        mFlameStateMachine.readState(reader);
     }
     
     @Override
     public void render(SpriteBatch batch, Vector2 platformPosition, Color color) {
-        if (mIsFlameActive) {
-            TextureRegion fireAnimationFrame = mFireAnimation.getKeyFrame(mFireAnimationTime);
+        if (isFlameActive()) {
+            TextureRegion fireAnimationFrame = mFireAnimation.getKeyFrame(mFlameStateMachine.getStateElapsed());
             batch.draw(fireAnimationFrame,
                     platformPosition.x, platformPosition.y + PlatformData.PLATFORM_HEIGHT,
                     FIRE_SPRITE_WIDTH, FIRE_SPRITE_HEIGHT);
@@ -157,7 +151,7 @@ final class FlamePlatformFeature extends PlatformFeatureBase {
     
     @Override
     public boolean isContact(float relativeCollisionPointX) {
-        return mIsFlameActive;
+        return isFlameActive();
     }
     
     @Override
@@ -165,7 +159,11 @@ final class FlamePlatformFeature extends PlatformFeatureBase {
         collisionEffects.set(CollisionEffects.BURN);
     }
     
-    private static class FlameStateMachine {
+    private boolean isFlameActive() {
+        return mFlameStateMachine.getCurrentState() == FlameStateMachine.FLAME;
+    }
+    
+    private static class FlameStateMachine implements WheelTimerListener {
         
         public static final int DORMANT = 0;
         public static final int TRANSITION1 = 1;
@@ -176,11 +174,12 @@ final class FlamePlatformFeature extends PlatformFeatureBase {
         private final float[] mStateDurations;
         
         private int mCurrentState;
-        private float mCurrentStateElapsed;
+        private final WheelTimer mStateTimer;
+        private TimerWheel mTimerWheel;
         
         public FlameStateMachine(float flameDuration, float dormantDuration, float transitionDuration) {
             mCurrentState = DORMANT;
-            mCurrentStateElapsed = 0.0f;
+            mStateTimer = new WheelTimer(this);
             
             mStateDurations = new float[STATE_COUNT];
             mStateDurations[FLAME] = flameDuration;
@@ -189,21 +188,43 @@ final class FlamePlatformFeature extends PlatformFeatureBase {
             mStateDurations[TRANSITION2] = transitionDuration;
         }
         
-        public void update(float delta) {
-            mCurrentStateElapsed += delta;
-            
-            if (mCurrentStateElapsed >= mStateDurations[mCurrentState]) {
-                mCurrentStateElapsed -= mStateDurations[mCurrentState];
-                mCurrentState = (mCurrentState + 1) % STATE_COUNT;
-            }
+        // first dormant state is prolonged by the cycle offset
+        public void start(TimerWheel timerWheel, float firstCycleOffset) {
+            mTimerWheel = timerWheel;
+            mCurrentState = DORMANT;
+            mTimerWheel.schedule(mStateTimer, firstCycleOffset + mStateDurations[DORMANT]);
+        }
+        
+        public void stop() {
+            mStateTimer.cancel();
+        }
+        
+        public void writeState(StateWriter writer) {
+            writer.writeInt(mCurrentState);
+            mTimerWheel.writeTimerState(mStateTimer, writer);
+        }
+        
+        public void readState(StateReader reader) {
+            mCurrentState = reader.readInt();
+            mTimerWheel.readTimerState(mStateTimer, reader);
+        }
+        
+        @Override
+        public void onTimerExpired(WheelTimer timer) {
+            mCurrentState = (mCurrentState + 1) % STATE_COUNT;
+            mTimerWheel.scheduleNext(mStateTimer, mStateDurations[mCurrentState]);
         }
         
         public int getCurrentState() {
             return mCurrentState;
         }
         
+        public float getStateElapsed() {
+            return mStateTimer.getElapsed();
+        }
+        
         public float getStateElapsedFraction() {
-            return mCurrentStateElapsed / mStateDurations[mCurrentState];
+            return mStateTimer.getElapsedFraction();
         }
     }
 }
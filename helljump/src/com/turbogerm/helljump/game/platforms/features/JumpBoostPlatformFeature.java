@@ -23,16 +23,18 @@
  */
 package com.turbogerm.helljump.game.platforms.features;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.WheelTimer;
 import com.turbogerm.helljump.dataaccess.PlatformData;
 import com.turbogerm.helljump.dataaccess.PlatformFeatureData;
 import com.turbogerm.helljump.game.CollisionEffects;
 import com.turbogerm.helljump.game.character.GameCharacter;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class JumpBoostPlatformFeature extends PlatformFeatureBase {
@@ -68,25 +70,23 @@ final class JumpBoostPlatformFeature extends PlatformFeatureBase {
     
     private final Sprite mDischargeSprite;
     private final Vector2 mDischargeInitialOffset;
-    private float mDischargeElapsed;
+    private final WheelTimer mDischargeTimer;
     
     private final float mCraterWidth;
     private final float mJumpBoostSpeed;
     private final float mSoundVolume;
     
-    public JumpBoostPlatformFeature(PlatformFeatureData featureData, AssetManager assetManager) {
+    public JumpBoostPlatformFeature(PlatformFeatureData featureData, GameAssets gameAssets) {
         
         String powerString = featureData.getProperty(PlatformFeatureData.JUMP_BOOST_POWER_PROPERTY);
         JumpPowerData powerData = getJumpPowerData(powerString);
         
         mCraterWidth = powerData.craterWidth;
         
-        TextureAtlas platformsAtlas = assetManager.get(ResourceNames.PLATFORMS_ATLAS);
-        
-        mCraterSprite = platformsAtlas.createSprite(powerData.craterImageName);
+        mCraterSprite = gameAssets.createSprite(ResourceNames.PLATFORMS_ATLAS, powerData.craterImageName);
         mCraterSprite.setSize(mCraterWidth, CRATER_HEIGHT);
         
-        mDischargeSprite = platformsAtlas.createSprite(powerData.dischargeImageName);
+        mDischargeSprite = gameAssets.createSprite(ResourceNames.PLATFORMS_ATLAS, powerData.dischargeImageName);
         mDischargeSprite.setSize(powerData.dischargeWidth, powerData.dischargeHeight);
         
         mJumpBoostSpeed = powerData.speed;
@@ -102,25 +102,17 @@ final class JumpBoostPlatformFeature extends PlatformFeatureBase {
                 mCraterOffset.x + (mCraterWidth - powerData.dischargeWidth) / 2.0f,
                 mCraterOffset.y + CRATER_HEIGHT);
         
-        mDischargeElapsed = DISCHARGE_DURATION;
+        mDischargeTimer = new WheelTimer();
         
         mRenderPrecedence = RENDER_PRECEDENCE;
         mContactPrecendence = CONTACT_PRECEDENCE;
     }
     
-    @Override
-    public void update(float delta) {
-        
-        if (mDischargeElapsed < DISCHARGE_DURATION) {
-            mDischargeElapsed += delta;
-        }
-    }
-    
     @Override
     public void render(SpriteBatch batch, Vector2 platformPosition, Color color) {
         
-        if (mDischargeElapsed < DISCHARGE_DURATION) {
-            float dischargeAlpha = 1.0f - mDischargeElapsed / DISCHARGE_DURATION;
+        if (mDischargeTimer.isScheduled()) {
+            float dischargeAlpha = 1.0f - mDischargeTimer.getElapsedFraction();
             
             mDischargeSprite.setPosition(
                     platformPosition.x + mDischargeInitialOffset.x,
@@ -147,6 +139,16 @@ final class JumpBoostPlatformFeature extends PlatformFeatureBase {
         return charX2 >= featureX1 && featureX2 >= charX1;
     }
     
+    @Override
+    public void writeState(StateWriter writer) {
+        mTimerWheel.writeTimerState(mDischargeTimer, writer);
+    }
+    
+    @Override
+    public void readState(StateReader reader) {
+        mTimerWheel.readTimerState(mDischargeTimer, reader);
+    }
+    
     @Override
     public void applyContact(CollisionEffects collisionEffects) {
         collisionEffects.set(CollisionEffects.JUMP_BOOST, CollisionEffects.JUMP_BOOST_SPEED_INDEX, mJumpBoostSpeed);
@@ -156,7 +158,7 @@ final class JumpBoostPlatformFeature extends PlatformFeatureBase {
     }
     
     private void startDischarge() {
-        mDischargeElapsed = 0.0f;
+        mTimerWheel.schedule(mDischargeTimer, DISCHARGE_DURATION);
     }
     
     private static JumpPowerData getJumpPowerData(String powerString) {
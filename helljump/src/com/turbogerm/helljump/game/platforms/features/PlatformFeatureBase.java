@@ -26,14 +26,30 @@ package com.turbogerm.helljump.game.platforms.features;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.TimerWheel;
+import com.turbogerm.helljump.game.CollisionEffectHandler;
 import com.turbogerm.helljump.game.CollisionEffects;
 
-public abstract class PlatformFeatureBase {
+public abstract class PlatformFeatureBase implements CollisionEffectHandler {
     
     protected float mRenderPrecedence;
     protected float mContactPrecendence;
     
-    public void update(float delta) {
+    protected TimerWheel mTimerWheel;
+    
+    public void activate(TimerWheel timerWheel) {
+        mTimerWheel = timerWheel;
+    }
+    
+    public void deactivate() {
+    }
+    
+    public void writeState(StateWriter writer) {
+    }
+    
+    public void readState(StateReader reader) {
     }
     
     public void render(SpriteBatch batch, Vector2 platformPosition, Color color) {
@@ -46,6 +62,12 @@ public abstract class PlatformFeatureBase {
     public void applyModifier(PlatformModifier modifier) {
     }
     
+    @Override
+    public boolean isEffectHandled(int collisionEffect) {
+        return false;
+    }
+    
+    @Override
     public void applyEffect(int collisionEffect) {
     }
     
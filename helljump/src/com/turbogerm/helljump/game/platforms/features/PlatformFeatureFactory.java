@@ -23,21 +23,21 @@
  */
 package com.turbogerm.helljump.game.platforms.features;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.turbogerm.germlibrary.util.ExceptionThrower;
 import com.turbogerm.helljump.dataaccess.PlatformFeatureData;
+import com.turbogerm.helljump.resources.GameAssets;
 
 public final class PlatformFeatureFactory {
     
-public static PlatformFeatureBase create(PlatformFeatureData featureData, AssetManager assetManager) {
+public static PlatformFeatureBase create(PlatformFeatureData featureData, GameAssets gameAssets) {
         
         String featureType = featureData.getFeatureType();
         if (PlatformFeatureData.JUMP_BOOST_FEATURE.equals(featureType)) {
-            return new JumpBoostPlatformFeature(featureData, assetManager);
+            return new JumpBoostPlatformFeature(featureData, gameAssets);
         } else if (PlatformFeatureData.FLAME_FEATURE.equals(featureType)) {
-            return new FlamePlatformFeature(featureData, assetManager);
+            return new FlamePlatformFeature(featureData, gameAssets);
         } else if (PlatformFeatureData.VISIBLE_ON_JUMP_FEATURE.equals(featureType)) {
-            return new VisibleOnJumpFeature(featureData, assetManager);
+            return new VisibleOnJumpFeature(featureData, gameAssets);
         } else {
             ExceptionThrower.throwException("Invalid platform feature type: %s", featureType);
             return null;
@@ -23,37 +23,49 @@
  */
 package com.turbogerm.helljump.game.platforms.features;
 
-import com.badlogic.gdx.assets.AssetManager;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.germlibrary.util.WheelTimer;
 import com.turbogerm.helljump.dataaccess.PlatformFeatureData;
 import com.turbogerm.helljump.game.CollisionEffects;
+import com.turbogerm.helljump.resources.GameAssets;
 
 final class VisibleOnJumpFeature extends PlatformFeatureBase {
     
     private static final float VISIBILITY_DURATION = 0.5f;
     
-    private float mVisibilityCountdown;
+    private final WheelTimer mVisibilityTimer;
     
-    public VisibleOnJumpFeature(PlatformFeatureData featureData, AssetManager assetManager) {
+    public VisibleOnJumpFeature(PlatformFeatureData featureData, GameAssets gameAssets) {
         
-        mVisibilityCountdown = 0.0f;
+        mVisibilityTimer = new WheelTimer();
     }
     
     @Override
-    public void update(float delta) {
-        if (mVisibilityCountdown > 0.0f) {
-            mVisibilityCountdown -= delta;
-        }
+    public void writeState(StateWriter writer) {
+        mTimerWheel.writeTimerState(mVisibilityTimer, writer);
+    }
+    
+    @Override
+    public void readState(StateReader reader) {
+        mTimerWheel.readTimerState(mVisibilityTimer, reader);
     }
     
     @Override
     public void applyModifier(PlatformModifier modifier) {
-        modifier.isPlatformVisible = mVisibilityCountdown > 0.0f;
-        modifier.spriteColor.set(1.0f, 1.0f, 1.0f, mVisibilityCountdown / VISIBILITY_DURATION);
+        modifier.isPlatformVisible = mVisibilityTimer.isScheduled();
+        modifier.spriteColor.set(1.0f, 1.0f, 1.0f, mVisibilityTimer.getRemaining() / VISIBILITY_DURATION);
     }
     
+    @Override
+    public boolean isEffectHandled(int collisionEffect) {
+        return collisionEffect == CollisionEffects.VISIBLE_ON_JUMP;
+    }
+    
+    @Override
     public void applyEffect(int collisionEffect) {
         if (collisionEffect == CollisionEffects.VISIBLE_ON_JUMP) {
-            mVisibilityCountdown = VISIBILITY_DURATION;
+            mTimerWheel.schedule(mVisibilityTimer, VISIBILITY_DURATION);
         }
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.platforms.movement;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.helljump.game.MotionUtils;
+
+// angle speed is signed, positive for counterclockwise movement
+final class CircularMovementBatch {
+    
+    private int mSize;
+    
+    private final float[] mCenterXs;
+    private final float[] mCenterYs;
+    private final float[] mRadiuses;
+    private final float[] mInitialAngles;
+    private final float[] mAngleSpeeds;
+    
+    private final float[] mTimes;
+    private final float[] mTimeScales;
+    
+    private final float[] mPositionXs;
+    private final float[] mPositionYs;
+    private final float[] mPreviousPositionXs;
+    private final float[] mPreviousPositionYs;
+    
+    public CircularMovementBatch(int capacity) {
+        mSize = 0;
+        
+        mCenterXs = new float[capacity];
+        mCenterYs = new float[capacity];
+        mRadiuses = new float[capacity];
+        mInitialAngles = new float[capacity];
+        mAngleSpeeds = new float[capacity];
+        
+        mTimes = new float[capacity];
+        mTimeScales = new float[capacity];
+        
+        mPositionXs = new float[capacity];
+        mPositionYs = new float[capacity];
+        mPreviousPositionXs = new float[capacity];
+        mPreviousPositionYs = new float[capacity];
+    }
+    
+    public int add(float centerX, float centerY, float radius, float initialAngle, float angleSpeed) {
+        int index = mSize;
+        mSize++;
+        
+        mCenterXs[index] = centerX;
+        mCenterYs[index] = centerY;
+        mRadiuses[index] = radius;
+        mInitialAngles[index] = initialAngle;
+        mAngleSpeeds[index] = angleSpeed;
+        
+        mTimes[index] = 0.0f;
+        mTimeScales[index] = 1.0f;
+        
+        float angle = GameUtils.getPositiveModulus(initialAngle, 360.0f);
+        mPositionXs[index] = centerX + MathUtils.cosDeg(angle) * radius;
+        mPositionYs[index] = centerY + MathUtils.sinDeg(angle) * radius;
+        mPreviousPositionXs[index] = mPositionXs[index];
+        mPreviousPositionYs[index] = mPositionYs[index];
+        
+        return index;
+    }
+    
+    public void update(float delta) {
+        for (int i = 0; i < mSize; i++) {
+            mTimes[i] += delta * mTimeScales[i];
+        }
+        
+        System.arraycopy(mPositionXs, 0, mPreviousPositionXs, 0, mSize);
+        System.arraycopy(mPositionYs, 0, mPreviousPositionYs, 0, mSize);
+        
+        for (int i = 0; i < mSize; i++) {
+            float angle = GameUtils.getPositiveModulus(mInitialAngles[i] + mAngleSpeeds[i] * mTimes[i], 360.0f);
+            mPositionXs[i] = mCenterXs[i] + MathUtils.cosDeg(angle) * mRadiuses[i];
+            mPositionYs[i] = mCenterYs[i] + MathUtils.sinDeg(angle) * mRadiuses[i];
+        }
+    }
+    
+    public void writeState(StateWriter writer) {
+        for (int i = 0; i < mSize; i++) {
+            writer.writeFloat(mTimes[i]);
+            writer.writeFloat(mTimeScales[i]);
+            writer.writeFloat(mPositionXs[i]);
+            writer.writeFloat(mPositionYs[i]);
+            writer.writeFloat(mPreviousPositionXs[i]);
+            writer.writeFloat(mPreviousPositionYs[i]);
+        }
+    }
+    
+    public void readState(StateReader reader) {
+        for (int i = 0; i < mSize; i++) {
+            mTimes[i] = reader.readFloat();
+            mTimeScales[i] = reader.readFloat();
+            mPositionXs[i] = reader.readFloat();
+            mPositionYs[i] = reader.readFloat();
+            mPreviousPositionXs[i] = reader.readFloat();
+            mPreviousPositionYs[i] = reader.readFloat();
+        }
+    }
+    
+    public void setMoving(int index, boolean isMoving) {
+        mTimeScales[index] = isMoving ? 1.0f : 0.0f;
+    }
+    
+    public Vector2 getPosition(int index, Vector2 position) {
+        return position.set(mPositionXs[index], mPositionYs[index]);
+    }
+    
+    public Vector2 getPreviousPosition(int index, Vector2 previousPosition) {
+        return previousPosition.set(mPreviousPositionXs[index], mPreviousPositionYs[index]);
+    }
+    
+    public Vector2 getPositionAt(int index, float time, Vector2 position) {
+        float angle = GameUtils.getPositiveModulus(mInitialAngles[index] + mAngleSpeeds[index] * time, 360.0f);
+        return position.set(
+                mCenterXs[index] + MathUtils.cosDeg(angle) * mRadiuses[index],
+                mCenterYs[index] + MathUtils.sinDeg(angle) * mRadiuses[index]);
+    }
+    
+    public Rectangle getBoundsOver(int index, float startTime, float endTime, Rectangle bounds) {
+        float angleSpeed = mAngleSpeeds[index];
+        
+        // clockwise arc is swept counterclockwise from its end
+        float sweepStartTime = angleSpeed >= 0.0f ? startTime : endTime;
+        float startAngle = GameUtils.getPositiveModulus(mInitialAngles[index] + angleSpeed * sweepStartTime, 360.0f);
+        float sweepAngle = Math.abs(angleSpeed) * (endTime - startTime);
+        
+        float centerX = mCenterXs[index];
+        float centerY = mCenterYs[index];
+        float radius = mRadiuses[index];
+        bounds.set(centerX + MathUtils.cosDeg(startAngle) * radius,
+                centerY + MathUtils.sinDeg(startAngle) * radius, 0.0f, 0.0f);
+        MotionUtils.mergeArcBounds(centerX, centerY, radius, startAngle, sweepAngle, bounds);
+        return bounds;
+    }
+    
+    public float getCenterY(int index) {
+        return mCenterYs[index];
+    }
+    
+    public float getRadius(int index) {
+        return mRadiuses[index];
+    }
+}
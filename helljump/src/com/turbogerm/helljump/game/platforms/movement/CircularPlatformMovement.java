@@ -23,53 +23,61 @@
  */
 package com.turbogerm.helljump.game.platforms.movement;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.turbogerm.germlibrary.util.GameUtils;
 import com.turbogerm.helljump.dataaccess.PlatformMovementData;
+import com.turbogerm.helljump.game.PeriodicMotion;
 import com.turbogerm.helljump.game.platforms.features.PlatformModifier;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-public final class CircularPlatformMovement extends PlatformMovementBase {
+public final class CircularPlatformMovement extends PlatformMovementBase implements PeriodicMotion {
     
-    private final float mRadius;
-    private final float mSpeed;
-    private final boolean mIsCcw;
+    private final float mMinPositionY;
+    private final float mMaxPositionY;
     
-    private final float mAngleSpeed;
-    private float mAngle;
-    private final Vector2 mRotationCenter;
+    private final CircularMovementBatch mBatch;
+    private final int mIndex;
     
     public CircularPlatformMovement(PlatformMovementData movementData, Vector2 initialPosition,
-            AssetManager assetManager) {
+            PlatformMovementStore movementStore, GameAssets gameAssets) {
         super(initialPosition, ResourceNames.PLATFORM_ENGINE_NORMAL_IMAGE_NAME,
-                ResourceNames.PARTICLE_ENGINE_NORMAL, assetManager);
+                ResourceNames.PARTICLE_ENGINE_NORMAL, gameAssets);
         
-        mRadius = Float.parseFloat(movementData.getProperty(PlatformMovementData.RADIUS_PROPERTY));
-        mSpeed = Float.parseFloat(movementData.getProperty(PlatformMovementData.SPEED_PROPERTY));
-        mIsCcw = PlatformMovementData.DIRECTION_CCW_PROPERTY_VALUE.equals(
+        float radius = Float.parseFloat(movementData.getProperty(PlatformMovementData.RADIUS_PROPERTY));
+        float speed = Float.parseFloat(movementData.getProperty(PlatformMovementData.SPEED_PROPERTY));
+        boolean isCcw = PlatformMovementData.DIRECTION_CCW_PROPERTY_VALUE.equals(
                 movementData.getProperty(PlatformMovementData.DIRECTION_PROPERTY));
         
-        mAngleSpeed = mSpeed / mRadius * MathUtils.radDeg;
-        mAngle = 0.0f;
-        mRotationCenter = new Vector2(
-                initialPosition.x + PLATFORM_CENTER_OFFSET.x + mRadius,
-                initialPosition.y + PLATFORM_CENTER_OFFSET.y);
+        float angleSpeed = speed / radius * MathUtils.radDeg;
+        float initialAngle = Float.parseFloat(movementData.getProperty(PlatformMovementData.INITIAL_DEGREES_PROPERTY));
         
-        float initialDegrees = Float
-                .parseFloat(movementData.getProperty(PlatformMovementData.INITIAL_DEGREES_PROPERTY));
-        changePosition(initialDegrees);
+        // platform center circles around its rotation center, so platform position circles around the same point
+        // shifted by platform center offset
+        float centerX = initialPosition.x + radius;
+        float centerY = initialPosition.y;
+        mMinPositionY = centerY - radius;
+        mMaxPositionY = centerY + radius;
+        
+        mBatch = movementStore.getCircularBatch();
+        mIndex = mBatch.add(centerX, centerY, radius, initialAngle, isCcw ? angleSpeed : -angleSpeed);
+        mBatch.getPosition(mIndex, mPosition);
     }
     
     @Override
-    protected void updateImpl(float delta) {
-        float travelledAngle = mAngleSpeed * delta;
-        if (!mIsCcw) {
-            travelledAngle = -travelledAngle;
-        }
-        
-        changePosition(travelledAngle);
+    public Vector2 getPosition() {
+        return mBatch.getPosition(mIndex, mPosition);
+    }
+    
+    @Override
+    public Vector2 getPreviousPosition(Vector2 previousPosition) {
+        return mBatch.getPreviousPosition(mIndex, previousPosition);
+    }
+    
+    @Override
+    protected void setMovingImpl(boolean isMoving) {
+        mBatch.setMoving(mIndex, isMoving);
     }
     
     @Override
@@ -77,12 +85,24 @@ public final class CircularPlatformMovement extends PlatformMovementBase {
         modifier.spriteColor.set(0.8f, 0.36f, 0.36f, 1.0f);
     }
     
-    private void changePosition(float change) {
-        mAngle += change;
-        mAngle = GameUtils.getPositiveModulus(mAngle, 360.0f);
-        
-        mPosition.x = mRotationCenter.x + MathUtils.cosDeg(mAngle) * mRadius - PLATFORM_CENTER_OFFSET.x;
-        mPosition.y = mRotationCenter.y + MathUtils.sinDeg(mAngle) * mRadius - PLATFORM_CENTER_OFFSET.y;
+    @Override
+    public Vector2 getPositionAt(float time, Vector2 position) {
+        return mBatch.getPositionAt(mIndex, time, position);
+    }
+    
+    @Override
+    public Rectangle getBoundsOver(float startTime, float endTime, Rectangle bounds) {
+        return mBatch.getBoundsOver(mIndex, startTime, endTime, bounds);
+    }
+    
+    @Override
+    public float getMinPositionY() {
+        return mMinPositionY;
+    }
+    
+    @Override
+    public float getMaxPositionY() {
+        return mMaxPositionY;
     }
     
     @Override
@@ -23,67 +23,64 @@
  */
 package com.turbogerm.helljump.game.platforms.movement;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.helljump.dataaccess.PlatformMovementData;
+import com.turbogerm.helljump.game.PeriodicMotion;
 import com.turbogerm.helljump.game.platforms.features.PlatformModifier;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-public final class HorizontalPlatformMovement extends PlatformMovementBase {
+public final class HorizontalPlatformMovement extends PlatformMovementBase implements PeriodicMotion {
     
-    private final float mRange;
-    private final float mSpeed;
-    
-    private final float mLeftLimit;
-    private final float mRightLimit;
-    private boolean mIsRightMovement;
+    private final PingPongMovementBatch mBatch;
+    private final int mIndex;
     
     public HorizontalPlatformMovement(PlatformMovementData movementData, Vector2 initialPosition,
-            AssetManager assetManager) {
+            PlatformMovementStore movementStore, GameAssets gameAssets) {
         super(initialPosition, ResourceNames.PLATFORM_ENGINE_NORMAL_IMAGE_NAME,
-                ResourceNames.PARTICLE_ENGINE_NORMAL, assetManager);
-        
-        mRange = Float.parseFloat(movementData.getProperty(PlatformMovementData.RANGE_PROPERTY));
-        mSpeed = Float.parseFloat(movementData.getProperty(PlatformMovementData.SPEED_PROPERTY));
+                ResourceNames.PARTICLE_ENGINE_NORMAL, gameAssets);
         
-        mLeftLimit = initialPosition.x;
-        mRightLimit = initialPosition.x + mRange;
+        float range = Float.parseFloat(movementData.getProperty(PlatformMovementData.RANGE_PROPERTY));
+        float speed = Float.parseFloat(movementData.getProperty(PlatformMovementData.SPEED_PROPERTY));
         
+        // initial offset past the range means platform starts on its way back
         float initialOffset = Float.parseFloat(movementData.getProperty(PlatformMovementData.INITIAL_OFFSET_PROPERTY));
-        if (initialOffset <= mRange) {
-            changePosition(initialOffset);
-            mIsRightMovement = true;
-        } else {
-            changePosition(mRange - initialOffset % mRange);
-            mIsRightMovement = false;
-        }
+        float initialDistance = initialOffset <= range ? initialOffset : range + initialOffset % range;
+        
+        mBatch = movementStore.getPingPongBatch();
+        mIndex = mBatch.add(initialPosition.x, initialPosition.y, 1.0f, 0.0f, range, speed, initialDistance);
+        mBatch.getPosition(mIndex, mPosition);
     }
     
     @Override
-    protected void updateImpl(float delta) {
-        float travelled = mSpeed * delta;
-        if (!mIsRightMovement) {
-            travelled = -travelled;
-        }
-        
-        changePosition(travelled);
+    public Vector2 getPosition() {
+        return mBatch.getPosition(mIndex, mPosition);
     }
     
     @Override
-    public void applyModifier(PlatformModifier modifier) {
-        modifier.spriteColor.set(0.5f, 0.5f, 0.0f, 1.0f);
+    public Vector2 getPreviousPosition(Vector2 previousPosition) {
+        return mBatch.getPreviousPosition(mIndex, previousPosition);
     }
     
-    private void changePosition(float change) {
-        mPosition.x += change;
-        if (mPosition.x <= mLeftLimit) {
-            mIsRightMovement = true;
-        } else if (mPosition.x >= mRightLimit) {
-            mIsRightMovement = false;
-        }
-        
-        mPosition.x = MathUtils.clamp(mPosition.x, mLeftLimit, mRightLimit);
+    @Override
+    protected void setMovingImpl(boolean isMoving) {
+        mBatch.setMoving(mIndex, isMoving);
+    }
+    
+    @Override
+    public Vector2 getPositionAt(float time, Vector2 position) {
+        return mBatch.getPositionAt(mIndex, time, position);
+    }
+    
+    @Override
+    public Rectangle getBoundsOver(float startTime, float endTime, Rectangle bounds) {
+        return mBatch.getBoundsOver(mIndex, startTime, endTime, bounds);
+    }
+    
+    @Override
+    public void applyModifier(PlatformModifier modifier) {
+        modifier.spriteColor.set(0.5f, 0.5f, 0.0f, 1.0f);
     }
     
     @Override
@@ -23,20 +23,20 @@
  */
 package com.turbogerm.helljump.game.platforms.movement;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class NullPlatformMovement extends PlatformMovementBase {
     
-    public NullPlatformMovement(Vector2 initialPosition, AssetManager assetManager) {
+    public NullPlatformMovement(Vector2 initialPosition, GameAssets gameAssets) {
         super(initialPosition, ResourceNames.PLATFORM_ENGINE_NORMAL_IMAGE_NAME,
-                ResourceNames.PARTICLE_ENGINE_NORMAL, assetManager);
+                ResourceNames.PARTICLE_ENGINE_NORMAL, gameAssets);
     }
     
     @Override
-    public void render(SpriteBatch batch, float alpha) {
+    public void render(SpriteBatch batch, Vector2 position, float alpha) {
     }
     
     @Override
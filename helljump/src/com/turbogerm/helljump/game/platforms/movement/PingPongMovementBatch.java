@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.platforms.movement;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.Pools;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.helljump.game.MotionUtils;
+
+// horizontal and vertical movements differ only in direction, so they share a single batch
+final class PingPongMovementBatch {
+    
+    private int mSize;
+    
+    private final float[] mBaseXs;
+    private final float[] mBaseYs;
+    private final float[] mDirectionXs;
+    private final float[] mDirectionYs;
+    private final float[] mRanges;
+    private final float[] mSpeeds;
+    private final float[] mInitialDistances;
+    
+    private final float[] mTimes;
+    private final float[] mTimeScales;
+    
+    private final float[] mPositionXs;
+    private final float[] mPositionYs;
+    private final float[] mPreviousPositionXs;
+    private final float[] mPreviousPositionYs;
+    
+    public PingPongMovementBatch(int capacity) {
+        mSize = 0;
+        
+        mBaseXs = new float[capacity];
+        mBaseYs = new float[capacity];
+        mDirectionXs = new float[capacity];
+        mDirectionYs = new float[capacity];
+        mRanges = new float[capacity];
+        mSpeeds = new float[capacity];
+        mInitialDistances = new float[capacity];
+        
+        mTimes = new float[capacity];
+        mTimeScales = new float[capacity];
+        
+        mPositionXs = new float[capacity];
+        mPositionYs = new float[capacity];
+        mPreviousPositionXs = new float[capacity];
+        mPreviousPositionYs = new float[capacity];
+    }
+    
+    public int add(float baseX, float baseY, float directionX, float directionY,
+            float range, float speed, float initialDistance) {
+        int index = mSize;
+        mSize++;
+        
+        mBaseXs[index] = baseX;
+        mBaseYs[index] = baseY;
+        mDirectionXs[index] = directionX;
+        mDirectionYs[index] = directionY;
+        mRanges[index] = range;
+        mSpeeds[index] = speed;
+        mInitialDistances[index] = initialDistance;
+        
+        mTimes[index] = 0.0f;
+        mTimeScales[index] = 1.0f;
+        
+        float offset = MotionUtils.getPingPongOffset(initialDistance, range);
+        mPositionXs[index] = baseX + directionX * offset;
+        mPositionYs[index] = baseY + directionY * offset;
+        mPreviousPositionXs[index] = mPositionXs[index];
+        mPreviousPositionYs[index] = mPositionYs[index];
+        
+        return index;
+    }
+    
+    public void update(float delta) {
+        for (int i = 0; i < mSize; i++) {
+            mTimes[i] += delta * mTimeScales[i];
+        }
+        
+        System.arraycopy(mPositionXs, 0, mPreviousPositionXs, 0, mSize);
+        System.arraycopy(mPositionYs, 0, mPreviousPositionYs, 0, mSize);
+        
+        for (int i = 0; i < mSize; i++) {
+            float offset = MotionUtils.getPingPongOffset(mInitialDistances[i] + mSpeeds[i] * mTimes[i], mRanges[i]);
+            mPositionXs[i] = mBaseXs[i] + mDirectionXs[i] * offset;
+            mPositionYs[i] = mBaseYs[i] + mDirectionYs[i] * offset;
+        }
+    }
+    
+    public void writeState(StateWriter writer) {
+        for (int i = 0; i < mSize; i++) {
+            writer.writeFloat(mTimes[i]);
+            writer.writeFloat(mTimeScales[i]);
+            writer.writeFloat(mPositionXs[i]);
+            writer.writeFloat(mPositionYs[i]);
+            writer.writeFloat(mPreviousPositionXs[i]);
+            writer.writeFloat(mPreviousPositionYs[i]);
+        }
+    }
+    
+    public void readState(StateReader reader) {
+        for (int i = 0; i < mSize; i++) {
+            mTimes[i] = reader.readFloat();
+            mTimeScales[i] = reader.readFloat();
+            mPositionXs[i] = reader.readFloat();
+            mPositionYs[i] = reader.readFloat();
+            mPreviousPositionXs[i] = reader.readFloat();
+            mPreviousPositionYs[i] = reader.readFloat();
+        }
+    }
+    
+    public void setMoving(int index, boolean isMoving) {
+        mTimeScales[index] = isMoving ? 1.0f : 0.0f;
+    }
+    
+    public Vector2 getPosition(int index, Vector2 position) {
+        return position.set(mPositionXs[index], mPositionYs[index]);
+    }
+    
+    public Vector2 getPreviousPosition(int index, Vector2 previousPosition) {
+        return previousPosition.set(mPreviousPositionXs[index], mPreviousPositionYs[index]);
+    }
+    
+    public Vector2 getPositionAt(int index, float time, Vector2 position) {
+        float offset = MotionUtils.getPingPongOffset(mInitialDistances[index] + mSpeeds[index] * time, mRanges[index]);
+        return position.set(mBaseXs[index] + mDirectionXs[index] * offset, mBaseYs[index] + mDirectionYs[index] * offset);
+    }
+    
+    public Rectangle getBoundsOver(int index, float startTime, float endTime, Rectangle bounds) {
+        float initialDistance = mInitialDistances[index];
+        float speed = mSpeeds[index];
+        Vector2 extent = MotionUtils.getPingPongExtent(
+                initialDistance + speed * startTime, initialDistance + speed * endTime, mRanges[index],
+                Pools.obtainVector());
+        
+        float directionX = mDirectionXs[index];
+        float directionY = mDirectionYs[index];
+        bounds.set(mBaseXs[index] + directionX * extent.x, mBaseYs[index] + directionY * extent.x,
+                directionX * (extent.y - extent.x), directionY * (extent.y - extent.x));
+        Pools.freeVector(extent);
+        return bounds;
+    }
+}
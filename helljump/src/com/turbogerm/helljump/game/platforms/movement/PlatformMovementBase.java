@@ -23,21 +23,21 @@
  */
 package com.turbogerm.helljump.game.platforms.movement;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.germlibrary.util.GameUtils;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.dataaccess.PlatformData;
+import com.turbogerm.helljump.game.CollisionEffectHandler;
 import com.turbogerm.helljump.game.CollisionEffects;
 import com.turbogerm.helljump.game.platforms.features.PlatformModifier;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-public abstract class PlatformMovementBase {
-    
-    protected static final Vector2 PLATFORM_CENTER_OFFSET;
+public abstract class PlatformMovementBase implements CollisionEffectHandler {
     
     private static final float ENGINE_WIDTH = 0.4f;
     private static final float ENGINE_HEIGHT = 0.4f;
@@ -48,33 +48,72 @@ public abstract class PlatformMovementBase {
     private final ParticleEffect mEngineEffect;
     
     protected final Vector2 mPosition;
-    
-    static {
-        PLATFORM_CENTER_OFFSET = new Vector2(PlatformData.PLATFORM_WIDTH / 2.0f, PlatformData.PLATFORM_HEIGHT / 2.0f);
-    }
+    private final Vector2 mPreviousPosition;
+    private boolean mIsMoving;
     
     public PlatformMovementBase(Vector2 initialPosition, String engineImageName, String particleName,
-            AssetManager assetManager) {
+            GameAssets gameAssets) {
         
-        TextureAtlas platformsAtlas = assetManager.get(ResourceNames.PLATFORMS_ATLAS);
-        mEngineSprite = platformsAtlas.createSprite(engineImageName);
+        mEngineSprite = gameAssets.createSprite(ResourceNames.PLATFORMS_ATLAS, engineImageName);
         mEngineSprite.setSize(ENGINE_WIDTH, ENGINE_HEIGHT);
         
-        mEngineEffect = new ParticleEffect((ParticleEffect) assetManager.get(particleName));
+        mEngineEffect = gameAssets.createParticleEffect(particleName);
         
         mPosition = new Vector2(initialPosition);
+        mPreviousPosition = new Vector2(initialPosition);
+        mIsMoving = true;
     }
     
     public final void update(float delta) {
-        mEngineEffect.update(delta);
-        updateImpl(delta);
+        mPreviousPosition.set(mPosition);
+        if (mIsMoving) {
+            mEngineEffect.update(delta);
+            updateImpl(delta);
+        }
+    }
+    
+    // engine effect is purely cosmetic, so it is not fast-forwarded
+    public final void catchUp(float delta) {
+        if (mIsMoving) {
+            catchUpImpl(delta);
+        }
+        mPreviousPosition.set(mPosition);
     }
     
     protected void updateImpl(float delta) {
     }
     
-    public void render(SpriteBatch batch, float alpha) {
-        mEngineSprite.setPosition(mPosition.x + ENGINE_X_OFFSET, mPosition.y + ENGINE_Y_OFFSET);
+    protected void catchUpImpl(float delta) {
+        updateImpl(delta);
+    }
+    
+    // state of batched movements is kept in their store, which is saved separately
+    public final void writeState(StateWriter writer) {
+        writer.writeFloat(mPosition.x);
+        writer.writeFloat(mPosition.y);
+        writer.writeFloat(mPreviousPosition.x);
+        writer.writeFloat(mPreviousPosition.y);
+        writer.writeBoolean(mIsMoving);
+        writeStateImpl(writer);
+    }
+    
+    public final void readState(StateReader reader) {
+        mPosition.x = reader.readFloat();
+        mPosition.y = reader.readFloat();
+        mPreviousPosition.x = reader.readFloat();
+        mPreviousPosition.y = reader.readFloat();
+        mIsMoving = reader.readBoolean();
+        readStateImpl(reader);
+    }
+    
+    protected void writeStateImpl(StateWriter writer) {
+    }
+    
+    protected void readStateImpl(StateReader reader) {
+    }
+    
+    public void render(SpriteBatch batch, Vector2 position, float alpha) {
+        mEngineSprite.setPosition(position.x + ENGINE_X_OFFSET, position.y + ENGINE_Y_OFFSET);
         mEngineSprite.draw(batch);
         
         GameUtils.setSpriteAlpha(mEngineSprite, alpha);
@@ -90,6 +129,12 @@ public abstract class PlatformMovementBase {
     public void applyContact(CollisionEffects collisionEffects) {
     }
     
+    @Override
+    public boolean isEffectHandled(int collisionEffect) {
+        return false;
+    }
+    
+    @Override
     public void applyEffect(int collisionEffect) {
     }
     
@@ -97,5 +142,26 @@ public abstract class PlatformMovementBase {
         return mPosition;
     }
     
+    // position before the last update
+    public Vector2 getPreviousPosition(Vector2 previousPosition) {
+        return previousPosition.set(mPreviousPosition);
+    }
+    
+    public final void setMoving(boolean isMoving) {
+        mIsMoving = isMoving;
+        setMovingImpl(isMoving);
+    }
+    
+    protected void setMovingImpl(boolean isMoving) {
+    }
+    
+    public float getMinPositionY() {
+        return mPosition.y;
+    }
+    
+    public float getMaxPositionY() {
+        return mPosition.y;
+    }
+    
     public abstract boolean hasVerticalMovement();
 }
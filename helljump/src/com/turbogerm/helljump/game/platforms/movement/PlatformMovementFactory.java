@@ -23,28 +23,31 @@
  */
 package com.turbogerm.helljump.game.platforms.movement;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.germlibrary.util.ExceptionThrower;
 import com.turbogerm.helljump.dataaccess.PlatformMovementData;
+import com.turbogerm.helljump.game.RandomStreams;
+import com.turbogerm.helljump.resources.GameAssets;
 
 public final class PlatformMovementFactory {
     
-    public static PlatformMovementBase create(PlatformMovementData movementData, Vector2 initialPosition, AssetManager assetManager) {
+    public static PlatformMovementBase create(PlatformMovementData movementData, Vector2 initialPosition,
+            PlatformMovementStore movementStore, GameAssets gameAssets, RandomStreams randomStreams) {
         
         if (movementData == null) {
-            return new NullPlatformMovement(initialPosition, assetManager);
+            return new NullPlatformMovement(initialPosition, gameAssets);
         }
         
         String movementType = movementData.getMovementType();
         if (PlatformMovementData.HORIZONTAL_MOVEMENT.equals(movementType)) {
-            return new HorizontalPlatformMovement(movementData, initialPosition, assetManager);
+            return new HorizontalPlatformMovement(movementData, initialPosition, movementStore, gameAssets);
         } else if (PlatformMovementData.VERTICAL_MOVEMENT.equals(movementType)) {
-            return new VerticalPlatformMovement(movementData, initialPosition, assetManager);
+            return new VerticalPlatformMovement(movementData, initialPosition, movementStore, gameAssets);
         } else if (PlatformMovementData.CIRCULAR_MOVEMENT.equals(movementType)) {
-            return new CircularPlatformMovement(movementData, initialPosition, assetManager);
+            return new CircularPlatformMovement(movementData, initialPosition, movementStore, gameAssets);
         } else if (PlatformMovementData.REPOSITION_MOVEMENT.equals(movementType)) {
-            return new RepositionPlatformMovement(movementData, initialPosition, assetManager);
+            return new RepositionPlatformMovement(movementData, initialPosition, gameAssets,
+                    randomStreams.getGameplayRandom());
         } else {
             ExceptionThrower.throwException("Invalid platform movement type: %s", movementType);
             return null;
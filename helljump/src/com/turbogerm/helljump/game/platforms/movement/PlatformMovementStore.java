@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.platforms.movement;
+
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+
+// simulation state of periodic platform movements in a rise section is kept in primitive arrays,
+// and is updated in batches per movement type, while movement objects only read from it
+public final class PlatformMovementStore {
+    
+    private final PingPongMovementBatch mPingPongBatch;
+    private final CircularMovementBatch mCircularBatch;
+    
+    public PlatformMovementStore(int capacity) {
+        mPingPongBatch = new PingPongMovementBatch(capacity);
+        mCircularBatch = new CircularMovementBatch(capacity);
+    }
+    
+    public void update(float delta) {
+        mPingPongBatch.update(delta);
+        mCircularBatch.update(delta);
+    }
+    
+    public void writeState(StateWriter writer) {
+        mPingPongBatch.writeState(writer);
+        mCircularBatch.writeState(writer);
+    }
+    
+    public void readState(StateReader reader) {
+        mPingPongBatch.readState(reader);
+        mCircularBatch.readState(reader);
+    }
+    
+    PingPongMovementBatch getPingPongBatch() {
+        return mPingPongBatch;
+    }
+    
+    CircularMovementBatch getCircularBatch() {
+        return mCircularBatch;
+    }
+}
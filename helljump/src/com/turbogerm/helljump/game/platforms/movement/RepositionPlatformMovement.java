@@ -23,12 +23,15 @@
  */
 package com.turbogerm.helljump.game.platforms.movement;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.germlibrary.util.GameRandom;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.dataaccess.PlatformMovementData;
 import com.turbogerm.helljump.game.CollisionEffects;
 import com.turbogerm.helljump.game.platforms.features.PlatformModifier;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 final class RepositionPlatformMovement extends PlatformMovementBase {
@@ -45,10 +48,14 @@ final class RepositionPlatformMovement extends PlatformMovementBase {
     
     private float mSpeed;
     
+    private final GameRandom mGameplayRandom;
+    
     public RepositionPlatformMovement(PlatformMovementData movementData, Vector2 initialPosition,
-            AssetManager assetManager) {
+            GameAssets gameAssets, GameRandom gameplayRandom) {
         super(initialPosition, ResourceNames.PLATFORM_ENGINE_REPOSITION_IMAGE_NAME,
-                ResourceNames.PARTICLE_ENGINE_REPOSITION, assetManager);
+                ResourceNames.PARTICLE_ENGINE_REPOSITION, gameAssets);
+        
+        mGameplayRandom = gameplayRandom;
         
         mRange = Float.parseFloat(movementData.getProperty(PlatformMovementData.RANGE_PROPERTY));
         
@@ -84,6 +91,18 @@ final class RepositionPlatformMovement extends PlatformMovementBase {
         }
     }
     
+    @Override
+    protected void writeStateImpl(StateWriter writer) {
+        writer.writeFloat(mTargetPosition);
+        writer.writeFloat(mSpeed);
+    }
+    
+    @Override
+    protected void readStateImpl(StateReader reader) {
+        mTargetPosition = reader.readFloat();
+        mSpeed = reader.readFloat();
+    }
+    
     @Override
     public void applyModifier(PlatformModifier modifier) {
         modifier.spriteColor.set(0.5f, 0.0f, 0.0f, 1.0f);
@@ -94,6 +113,11 @@ final class RepositionPlatformMovement extends PlatformMovementBase {
         collisionEffects.set(CollisionEffects.REPOSITION_PLATFORMS);
     }
     
+    @Override
+    public boolean isEffectHandled(int collisionEffect) {
+        return collisionEffect == CollisionEffects.REPOSITION_PLATFORMS;
+    }
+    
     @Override
     public void applyEffect(int collisionEffect) {
         if (collisionEffect == CollisionEffects.REPOSITION_PLATFORMS) {
@@ -112,7 +136,7 @@ final class RepositionPlatformMovement extends PlatformMovementBase {
     
     private void reposition() {
         if (mIsRandomMovement) {
-            mTargetPosition = MathUtils.random(mLeftLimit, mRightLimit);
+            mTargetPosition = mGameplayRandom.random(mLeftLimit, mRightLimit);
         } else {
             if (mPosition.x == mLeftLimit) {
                 mTargetPosition = mRightLimit;
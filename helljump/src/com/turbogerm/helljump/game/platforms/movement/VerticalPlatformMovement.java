@@ -23,62 +23,65 @@
  */
 package com.turbogerm.helljump.game.platforms.movement;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.turbogerm.helljump.dataaccess.PlatformMovementData;
+import com.turbogerm.helljump.game.PeriodicMotion;
 import com.turbogerm.helljump.game.platforms.features.PlatformModifier;
+import com.turbogerm.helljump.resources.GameAssets;
 import com.turbogerm.helljump.resources.ResourceNames;
 
-public final class VerticalPlatformMovement extends PlatformMovementBase {
-    
-    private final float mRange;
-    private final float mSpeed;
+public final class VerticalPlatformMovement extends PlatformMovementBase implements PeriodicMotion {
     
     private final float mBottomLimit;
     private final float mTopLimit;
-    private boolean mIsUpMovement;
     
-    public VerticalPlatformMovement(PlatformMovementData movementData, Vector2 initialPosition, AssetManager assetManager) {
+    private final PingPongMovementBatch mBatch;
+    private final int mIndex;
+    
+    public VerticalPlatformMovement(PlatformMovementData movementData, Vector2 initialPosition,
+            PlatformMovementStore movementStore, GameAssets gameAssets) {
         super(initialPosition, ResourceNames.PLATFORM_ENGINE_NORMAL_IMAGE_NAME,
-                ResourceNames.PARTICLE_ENGINE_NORMAL, assetManager);
+                ResourceNames.PARTICLE_ENGINE_NORMAL, gameAssets);
         
-        mRange = Float.parseFloat(movementData.getProperty(PlatformMovementData.RANGE_PROPERTY));
-        mSpeed = Float.parseFloat(movementData.getProperty(PlatformMovementData.SPEED_PROPERTY));
+        float range = Float.parseFloat(movementData.getProperty(PlatformMovementData.RANGE_PROPERTY));
+        float speed = Float.parseFloat(movementData.getProperty(PlatformMovementData.SPEED_PROPERTY));
         
         mBottomLimit = initialPosition.y;
-        mTopLimit = initialPosition.y + mRange;
-        mIsUpMovement = true;
+        mTopLimit = initialPosition.y + range;
         
+        // initial offset past the range means platform starts on its way down
         float initialOffset = Float.parseFloat(movementData.getProperty(PlatformMovementData.INITIAL_OFFSET_PROPERTY));
-        if (initialOffset <= mRange) {
-            changePosition(initialOffset);
-            mIsUpMovement = true;
-        } else {
-            changePosition(mRange - initialOffset % mRange);
-            mIsUpMovement = false;
-        }
+        float initialDistance = initialOffset <= range ? initialOffset : range + initialOffset % range;
+        
+        mBatch = movementStore.getPingPongBatch();
+        mIndex = mBatch.add(initialPosition.x, initialPosition.y, 0.0f, 1.0f, range, speed, initialDistance);
+        mBatch.getPosition(mIndex, mPosition);
     }
     
     @Override
-    protected void updateImpl(float delta) {
-        float travelled = mSpeed * delta;
-        if (!mIsUpMovement) {
-            travelled = -travelled;
-        }
-        
-        changePosition(travelled);
+    public Vector2 getPosition() {
+        return mBatch.getPosition(mIndex, mPosition);
     }
     
-    private void changePosition(float change) {
-        mPosition.y += change;
-        if (mPosition.y <= mBottomLimit){
-            mIsUpMovement = true;
-        } else if (mPosition.y >= mTopLimit) {
-            mIsUpMovement = false;
-        }
-        
-        mPosition.y = MathUtils.clamp(mPosition.y, mBottomLimit, mTopLimit);
+    @Override
+    public Vector2 getPreviousPosition(Vector2 previousPosition) {
+        return mBatch.getPreviousPosition(mIndex, previousPosition);
+    }
+    
+    @Override
+    protected void setMovingImpl(boolean isMoving) {
+        mBatch.setMoving(mIndex, isMoving);
+    }
+    
+    @Override
+    public Vector2 getPositionAt(float time, Vector2 position) {
+        return mBatch.getPositionAt(mIndex, time, position);
+    }
+    
+    @Override
+    public Rectangle getBoundsOver(float startTime, float endTime, Rectangle bounds) {
+        return mBatch.getBoundsOver(mIndex, startTime, endTime, bounds);
     }
     
     @Override
@@ -86,6 +89,16 @@ public final class VerticalPlatformMovement extends PlatformMovementBase {
         modifier.spriteColor.set(0.7f, 0.13f, 0.13f, 1.0f);
     }
     
+    @Override
+    public float getMinPositionY() {
+        return mBottomLimit;
+    }
+    
+    @Override
+    public float getMaxPositionY() {
+        return mTopLimit;
+    }
+    
     @Override
     public boolean hasVerticalMovement() {
         return true;
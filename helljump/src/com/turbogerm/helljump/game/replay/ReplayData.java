@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.replay;
+
+import com.badlogic.gdx.utils.FloatArray;
+
+public final class ReplayData {
+    
+    private final int mGeneratorVersion;
+    private final int mSimulationVersion;
+    private final long mRiseSeed;
+    private final boolean mIsEndless;
+    private final FloatArray mHorizontalSpeeds;
+    private final int mScore;
+    
+    public ReplayData(int generatorVersion, int simulationVersion, long riseSeed, boolean isEndless,
+            FloatArray horizontalSpeeds, int score) {
+        mGeneratorVersion = generatorVersion;
+        mSimulationVersion = simulationVersion;
+        mRiseSeed = riseSeed;
+        mIsEndless = isEndless;
+        mHorizontalSpeeds = horizontalSpeeds;
+        mScore = score;
+    }
+    
+    public int getGeneratorVersion() {
+        return mGeneratorVersion;
+    }
+    
+    public int getSimulationVersion() {
+        return mSimulationVersion;
+    }
+    
+    public long getRiseSeed() {
+        return mRiseSeed;
+    }
+    
+    public boolean isEndless() {
+        return mIsEndless;
+    }
+    
+    public FloatArray getHorizontalSpeeds() {
+        return mHorizontalSpeeds;
+    }
+    
+    public int getScore() {
+        return mScore;
+    }
+}
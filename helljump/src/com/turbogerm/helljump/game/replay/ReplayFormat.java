@@ -0,0 +1,56 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.replay;
+
+// replay file layout:
+//   magic (4 bytes), format version (1 byte), generator version (varint), simulation version (varint),
+//   rise seed (8 bytes), endless rise flag (1 byte)
+//   input runs, each as zigzag varint delta from previous run value and varint run length
+//   end marker (zero delta and zero run length), final score (varint)
+public final class ReplayFormat {
+    
+    public static final int MAGIC = 0x484A5250;
+    public static final int FORMAT_VERSION = 3;
+    
+    public static final int END_MARKER_RUN_LENGTH = 0;
+    
+    // accelerometer noise below the step doesn't break runs
+    private static final float HORIZONTAL_SPEED_STEP = 0.125f;
+    
+    public static int quantizeHorizontalSpeed(float horizontalSpeed) {
+        return Math.round(horizontalSpeed / HORIZONTAL_SPEED_STEP);
+    }
+    
+    public static float dequantizeHorizontalSpeed(int quantizedHorizontalSpeed) {
+        return quantizedHorizontalSpeed * HORIZONTAL_SPEED_STEP;
+    }
+    
+    public static int encodeZigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+    
+    public static int decodeZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.FloatArray;
+import com.turbogerm.germlibrary.util.ExceptionThrower;
+
+public final class ReplayReader {
+    
+    private static final int INITIAL_HORIZONTAL_SPEEDS_CAPACITY = 5000;
+    
+    private final String mName;
+    private final byte[] mBytes;
+    private int mPosition;
+    
+    private ReplayReader(String name, byte[] bytes) {
+        mName = name;
+        mBytes = bytes;
+        mPosition = 0;
+    }
+    
+    public static ReplayData read(FileHandle fileHandle) {
+        ReplayReader reader = new ReplayReader(fileHandle.name(), fileHandle.readBytes());
+        return reader.readReplay();
+    }
+    
+    private ReplayData readReplay() {
+        int magic = (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        if (magic != ReplayFormat.MAGIC) {
+            ExceptionThrower.throwException("Replay %s has invalid header", mName);
+        }
+        
+        int formatVersion = readByte();
+        if (formatVersion != ReplayFormat.FORMAT_VERSION) {
+            ExceptionThrower.throwException("Replay %s has unsupported format version %d", mName, formatVersion);
+        }
+        
+        int generatorVersion = readVarInt();
+        int simulationVersion = readVarInt();
+        long riseSeed = 0L;
+        for (int i = 0; i < 8; i++) {
+            riseSeed = (riseSeed << 8) | readByte();
+        }
+        boolean isEndless = readByte() != 0;
+        
+        FloatArray horizontalSpeeds = new FloatArray(true, INITIAL_HORIZONTAL_SPEEDS_CAPACITY);
+        int runValue = 0;
+        while (true) {
+            runValue += ReplayFormat.decodeZigZag(readVarInt());
+            int runLength = readVarInt();
+            if (runLength == ReplayFormat.END_MARKER_RUN_LENGTH) {
+                break;
+            }
+            
+            float horizontalSpeed = ReplayFormat.dequantizeHorizontalSpeed(runValue);
+            for (int i = 0; i < runLength; i++) {
+                horizontalSpeeds.add(horizontalSpeed);
+            }
+        }
+        
+        int score = readVarInt();
+        
+        return new ReplayData(generatorVersion, simulationVersion, riseSeed, isEndless, horizontalSpeeds, score);
+    }
+    
+    private int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        
+        ExceptionThrower.throwException("Replay %s has invalid number at %d", mName, mPosition);
+        return 0;
+    }
+    
+    private int readByte() {
+        if (mPosition >= mBytes.length) {
+            ExceptionThrower.throwException("Replay %s is truncated", mName);
+        }
+        
+        int b = mBytes[mPosition] & 0xFF;
+        mPosition++;
+        return b;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.replay;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.turbogerm.germlibrary.util.Logger;
+
+// input is run-length encoded, so only changes of horizontal speed reach the buffer
+public final class ReplayRecorder {
+    
+    private static final int BUFFER_SIZE = 1024;
+    
+    private final byte[] mBuffer;
+    private int mBufferPosition;
+    
+    private OutputStream mOutputStream;
+    
+    private int mPreviousRunValue;
+    private int mRunValue;
+    private int mRunLength;
+    private int mNumSteps;
+    
+    public ReplayRecorder() {
+        mBuffer = new byte[BUFFER_SIZE];
+    }
+    
+    public void start(OutputStream outputStream, long riseSeed, boolean isEndless, int generatorVersion,
+            int simulationVersion) {
+        closeOutputStream();
+        
+        mOutputStream = outputStream;
+        mBufferPosition = 0;
+        mPreviousRunValue = 0;
+        mRunValue = 0;
+        mRunLength = 0;
+        mNumSteps = 0;
+        
+        writeByte(ReplayFormat.MAGIC >>> 24);
+        writeByte(ReplayFormat.MAGIC >>> 16);
+        writeByte(ReplayFormat.MAGIC >>> 8);
+        writeByte(ReplayFormat.MAGIC);
+        writeByte(ReplayFormat.FORMAT_VERSION);
+        writeVarInt(generatorVersion);
+        writeVarInt(simulationVersion);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            writeByte((int) (riseSeed >>> shift));
+        }
+        writeByte(isEndless ? 1 : 0);
+    }
+    
+    public void record(int quantizedHorizontalSpeed) {
+        if (!isRecording()) {
+            return;
+        }
+        
+        mNumSteps++;
+        if (mRunLength > 0 && quantizedHorizontalSpeed == mRunValue) {
+            mRunLength++;
+            return;
+        }
+        
+        writeRun();
+        mRunValue = quantizedHorizontalSpeed;
+        mRunLength = 1;
+    }
+    
+    public void finish(int score) {
+        if (!isRecording()) {
+            return;
+        }
+        
+        writeRun();
+        writeVarInt(ReplayFormat.encodeZigZag(0));
+        writeVarInt(ReplayFormat.END_MARKER_RUN_LENGTH);
+        writeVarInt(score);
+        
+        flush();
+        closeOutputStream();
+    }
+    
+    public boolean isRecording() {
+        return mOutputStream != null;
+    }
+    
+    public int getNumSteps() {
+        return mNumSteps;
+    }
+    
+    private void writeRun() {
+        if (mRunLength == 0) {
+            return;
+        }
+        
+        writeVarInt(ReplayFormat.encodeZigZag(mRunValue - mPreviousRunValue));
+        writeVarInt(mRunLength);
+        mPreviousRunValue = mRunValue;
+    }
+    
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+    
+    private void writeByte(int value) {
+        if (mBufferPosition >= mBuffer.length) {
+            flush();
+        }
+        
+        mBuffer[mBufferPosition] = (byte) value;
+        mBufferPosition++;
+    }
+    
+    private void flush() {
+        if (mOutputStream != null) {
+            try {
+                mOutputStream.write(mBuffer, 0, mBufferPosition);
+            } catch (IOException e) {
+                // game goes on without the replay
+                Logger.error("Failed to write replay: %s", e.getMessage());
+                closeOutputStream();
+            }
+        }
+        
+        mBufferPosition = 0;
+    }
+    
+    private void closeOutputStream() {
+        if (mOutputStream == null) {
+            return;
+        }
+        
+        try {
+            mOutputStream.close();
+        } catch (IOException e) {
+            Logger.error("Failed to close replay: %s", e.getMessage());
+        }
+        
+        mOutputStream = null;
+    }
+}
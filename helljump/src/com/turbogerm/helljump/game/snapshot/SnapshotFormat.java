@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.snapshot;
+
+import com.turbogerm.germlibrary.util.ExceptionThrower;
+import com.turbogerm.germlibrary.util.StateReader;
+import com.turbogerm.germlibrary.util.StateWriter;
+import com.turbogerm.helljump.game.GameSimulation;
+import com.turbogerm.helljump.game.generator.RiseGenerator;
+
+// snapshot layout:
+//   magic (4 bytes), format version (4 bytes), generator version (4 bytes)
+//   game simulation state, starting with the rise seed and endless rise flag
+// rise is not stored, it is generated again from the seed, so snapshot of other generator version is rejected
+public final class SnapshotFormat {
+    
+    public static final int MAGIC = 0x484A5353;
+    public static final int FORMAT_VERSION = 3;
+    
+    public static void write(GameSimulation gameSimulation, StateWriter writer) {
+        writer.writeInt(MAGIC);
+        writer.writeInt(FORMAT_VERSION);
+        writer.writeInt(RiseGenerator.GENERATOR_VERSION);
+        gameSimulation.writeState(writer);
+    }
+    
+    public static void read(GameSimulation gameSimulation, StateReader reader) {
+        if (reader.readInt() != MAGIC) {
+            ExceptionThrower.throwException("Snapshot has invalid header");
+        }
+        
+        int formatVersion = reader.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            ExceptionThrower.throwException("Snapshot has unsupported format version %d", formatVersion);
+        }
+        
+        int generatorVersion = reader.readInt();
+        if (generatorVersion != RiseGenerator.GENERATOR_VERSION) {
+            ExceptionThrower.throwException("Snapshot was made by generator version %d, current version is %d",
+                    generatorVersion, RiseGenerator.GENERATOR_VERSION);
+        }
+        
+        gameSimulation.readState(reader);
+        
+        if (!reader.isAtEnd()) {
+            ExceptionThrower.throwException("Snapshot has unexpected data after game state");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.game.snapshot;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.turbogerm.germlibrary.util.Logger;
+import com.turbogerm.germlibrary.util.StateWriter;
+
+// file access runs on a single background thread, so saving doesn't stall rendering, and since
+// tasks run in order, loading always sees the result of the saves and deletes queued before it
+public final class SnapshotStore {
+    
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    
+    private final ExecutorService mExecutor;
+    
+    public SnapshotStore() {
+        mExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "snapshot-store");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+    
+    // bytes are copied, so the writer can be reused right away;
+    // file is replaced only once it is completely written, so killed process never leaves half a snapshot
+    public void save(StateWriter writer, final FileHandle fileHandle) {
+        final byte[] bytes = new byte[writer.getSize()];
+        System.arraycopy(writer.getBytes(), 0, bytes, 0, bytes.length);
+        
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    FileHandle tempFileHandle = fileHandle.sibling(fileHandle.name() + TEMP_FILE_SUFFIX);
+                    tempFileHandle.writeBytes(bytes, false);
+                    tempFileHandle.moveTo(fileHandle);
+                } catch (RuntimeException e) {
+                    // game goes on, it just can't be resumed after the process is gone
+                    Logger.error("Failed to write snapshot: %s", e.getMessage());
+                }
+            }
+        });
+    }
+    
+    public void delete(final FileHandle fileHandle) {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                fileHandle.delete();
+            }
+        });
+    }
+    
+    // returns null if there is no snapshot
+    public byte[] load(final FileHandle fileHandle) {
+        try {
+            return mExecutor.submit(new Callable<byte[]>() {
+                @Override
+                public byte[] call() {
+                    return fileHandle.exists() ? fileHandle.readBytes() : null;
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Logger.error("Failed to read snapshot: %s", e.getCause().getMessage());
+            return null;
+        }
+    }
+    
+    public void dispose() {
+        mExecutor.shutdown();
+    }
+}
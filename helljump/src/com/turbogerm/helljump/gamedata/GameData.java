@@ -26,11 +26,13 @@ package com.turbogerm.helljump.gamedata;
 public final class GameData {
     
     private int mScore;
+    private boolean mIsEndless;
     
     private final HighScoresData mHighScoresData;
     
     public GameData() {
         mScore = 0;
+        mIsEndless = false;
         mHighScoresData = new HighScoresData();
     }
     
@@ -46,6 +48,14 @@ public final class GameData {
         mScore = score;
     }
     
+    public boolean isEndless() {
+        return mIsEndless;
+    }
+    
+    public void setEndless(boolean isEndless) {
+        mIsEndless = isEndless;
+    }
+    
     public HighScoresData getHighScoresData() {
         return mHighScoresData;
     }
@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.resources;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.turbogerm.germlibrary.util.ExceptionThrower;
+
+// sprites have no texture and are only sized from atlas description, so nothing needs a GL context;
+// such sprites must never be drawn
+public final class HeadlessGameAssets implements GameAssets {
+    
+    // atlas parser reads lines into a static buffer, so atlases are parsed one at a time
+    private static final Object ATLAS_PARSING_LOCK = new Object();
+    
+    private final ObjectMap<String, ObjectMap<String, Region>> mAtlasRegions;
+    private final Array<TextureRegion> mEmptyRegions;
+    private final Sound mSilentSound;
+    
+    public HeadlessGameAssets() {
+        mAtlasRegions = new ObjectMap<String, ObjectMap<String, Region>>();
+        mEmptyRegions = new Array<TextureRegion>(true, 0);
+        mSilentSound = new SilentSound();
+    }
+    
+    @Override
+    public Sprite createSprite(String atlasName, String imageName) {
+        Region region = getRegions(atlasName).get(imageName);
+        if (region == null) {
+            ExceptionThrower.throwException("Image %s does not exist in atlas %s", imageName, atlasName);
+        }
+        
+        Sprite sprite = new Sprite();
+        sprite.setSize(region.originalWidth, region.originalHeight);
+        return sprite;
+    }
+    
+    @Override
+    public Array<? extends TextureRegion> findRegions(String atlasName, String imageName) {
+        return mEmptyRegions;
+    }
+    
+    @Override
+    public ParticleEffect createParticleEffect(String particleName) {
+        return new ParticleEffect();
+    }
+    
+    @Override
+    public Sound getSound(String soundName) {
+        return mSilentSound;
+    }
+    
+    private ObjectMap<String, Region> getRegions(String atlasName) {
+        ObjectMap<String, Region> regions = mAtlasRegions.get(atlasName);
+        if (regions != null) {
+            return regions;
+        }
+        
+        FileHandle atlasFileHandle = Gdx.files.internal(atlasName);
+        TextureAtlasData atlasData;
+        synchronized (ATLAS_PARSING_LOCK) {
+            atlasData = new TextureAtlasData(atlasFileHandle, atlasFileHandle.parent(), false);
+        }
+        
+        // same as with loaded atlas, first region with given name is used
+        regions = new ObjectMap<String, Region>();
+        for (Region region : atlasData.getRegions()) {
+            if (!regions.containsKey(region.name)) {
+                regions.put(region.name, region);
+            }
+        }
+        
+        mAtlasRegions.put(atlasName, regions);
+        return regions;
+    }
+}
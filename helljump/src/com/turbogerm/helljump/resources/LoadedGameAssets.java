@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.resources;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+public final class LoadedGameAssets implements GameAssets {
+    
+    private final AssetManager mAssetManager;
+    
+    public LoadedGameAssets(AssetManager assetManager) {
+        mAssetManager = assetManager;
+    }
+    
+    @Override
+    public Sprite createSprite(String atlasName, String imageName) {
+        TextureAtlas atlas = mAssetManager.get(atlasName);
+        return atlas.createSprite(imageName);
+    }
+    
+    @Override
+    public Array<? extends TextureRegion> findRegions(String atlasName, String imageName) {
+        TextureAtlas atlas = mAssetManager.get(atlasName);
+        return atlas.findRegions(imageName);
+    }
+    
+    @Override
+    public ParticleEffect createParticleEffect(String particleName) {
+        return new ParticleEffect((ParticleEffect) mAssetManager.get(particleName));
+    }
+    
+    @Override
+    public Sound getSound(String soundName) {
+        return mAssetManager.get(soundName);
+    }
+}
@@ -24,6 +24,7 @@
 package com.turbogerm.helljump.resources;
 
 import com.badlogic.gdx.math.MathUtils;
+import com.turbogerm.germlibrary.util.GameRandom;
 
 public final class ResourceNames {
     
@@ -99,8 +100,8 @@ public final class ResourceNames {
         return String.format(ResourceNames.PLATFORM_NORMAL_IMAGE_NAME_FORMAT, index);
     }
     
-    public static String getRandomPlatformNormalImageName() {
-        int index = MathUtils.random(PLATFORM_NORMAL_IMAGE_COUNT - 1);
+    public static String getRandomPlatformNormalImageName(GameRandom random) {
+        int index = random.random(PLATFORM_NORMAL_IMAGE_COUNT - 1);
         return getPlatformNormalImageName(index);
     }
     
@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ * 
+ * Copyright (c) 2013 Goran Mrzljak
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.turbogerm.helljump.resources;
+
+import com.badlogic.gdx.audio.Sound;
+
+final class SilentSound implements Sound {
+    
+    @Override
+    public long play() {
+        return 0;
+    }
+    
+    @Override
+    public long play(float volume) {
+        return 0;
+    }
+    
+    @Override
+    public long play(float volume, float pitch, float pan) {
+        return 0;
+    }
+    
+    @Override
+    public long loop() {
+        return 0;
+    }
+    
+    @Override
+    public long loop(float volume) {
+        return 0;
+    }
+    
+    @Override
+    public long loop(float volume, float pitch, float pan) {
+        return 0;
+    }
+    
+    @Override
+    public void stop() {
+    }
+    
+    @Override
+    public void dispose() {
+    }
+    
+    @Override
+    public void stop(long soundId) {
+    }
+    
+    @Override
+    public void setLooping(long soundId, boolean looping) {
+    }
+    
+    @Override
+    public void setPitch(long soundId, float pitch) {
+    }
+    
+    @Override
+    public void setVolume(long soundId, float volume) {
+    }
+    
+    @Override
+    public void setPan(long soundId, float pan, float volume) {
+    }
+    
+    @Override
+    public void setPriority(long soundId, int priority) {
+    }
+}
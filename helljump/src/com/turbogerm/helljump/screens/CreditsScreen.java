@@ -81,7 +81,7 @@ public final class CreditsScreen extends ScreenBase {
     }
     
     @Override
-    public void renderImpl() {
+    public void renderImpl(float alpha) {
         mBatch.begin();
         mScreenBackground.render(mBatch);
         mBatch.end();
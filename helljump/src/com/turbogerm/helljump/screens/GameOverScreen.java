@@ -106,6 +106,8 @@ public final class GameOverScreen extends ScreenBase {
         
         mScreenBackground.reset();
         
+        mGame.getRisePreparer().prepare(mGameData.isEndless());
+        
         int score = mGameData.getScore();
         
         String gameOverText = String.format("Game over!\nYour score is:\n%d", score);
@@ -129,7 +131,7 @@ public final class GameOverScreen extends ScreenBase {
     }
     
     @Override
-    public void renderImpl() {
+    public void renderImpl(float alpha) {
         mBatch.begin();
         mScreenBackground.render(mBatch);
         mBatch.end();
@@ -71,6 +71,8 @@ public final class HighScoreScreen extends ScreenBase {
         
         mScreenBackground.reset();
         
+        mGame.getRisePreparer().prepare(mGameData.isEndless());
+        
         mGuiStage.clear();
         
         LabelStyle labelStyle = new LabelStyle(mGuiSkin.get(LabelStyle.class));
@@ -118,7 +120,7 @@ public final class HighScoreScreen extends ScreenBase {
     }
     
     @Override
-    public void renderImpl() {
+    public void renderImpl(float alpha) {
         mBatch.begin();
         mScreenBackground.render(mBatch);
         mBatch.end();
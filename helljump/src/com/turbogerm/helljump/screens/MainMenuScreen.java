@@ -29,6 +29,9 @@ import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
+import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.turbogerm.germlibrary.controls.CustomButtonAction;
 import com.turbogerm.germlibrary.controls.CustomImageButton;
 import com.turbogerm.helljump.HellJump;
@@ -46,6 +49,8 @@ public final class MainMenuScreen extends ScreenBase {
     private static final float START_BUTTON_Y = 500.0f;
     private static final float HIGH_SCORE_BUTTON_Y = 400.0f;
     private static final float CREDITS_BUTTON_Y = 300.0f;
+    private static final float ENDLESS_BUTTON_Y = 200.0f;
+    private static final float ENDLESS_BUTTON_HEIGHT = 80.0f;
     
     private final ScreenBackground mScreenBackground;
     
@@ -96,6 +101,16 @@ public final class MainMenuScreen extends ScreenBase {
                 getCreditsAction(),
                 mAssetManager);
         creditsButton.addToStage(mGuiStage);
+        
+        TextButtonStyle endlessButtonStyle = new TextButtonStyle(mGuiSkin.get(TextButtonStyle.class));
+        endlessButtonStyle.font = mGuiSkin.getFont("xl-font");
+        
+        TextButton endlessButton = new TextButton("Endless", mGuiSkin);
+        endlessButton.setStyle(endlessButtonStyle);
+        endlessButton.setBounds(BUTTON_X, ENDLESS_BUTTON_Y,
+                HellJump.VIEWPORT_WIDTH - 2.0f * BUTTON_X, ENDLESS_BUTTON_HEIGHT);
+        endlessButton.addListener(getEndlessListener());
+        mGuiStage.addActor(endlessButton);
     }
     
     @Override
@@ -103,6 +118,8 @@ public final class MainMenuScreen extends ScreenBase {
         super.show();
         
         mScreenBackground.reset();
+        
+        mGame.getRisePreparer().prepare(mGameData.isEndless());
     }
     
     @Override
@@ -111,7 +128,7 @@ public final class MainMenuScreen extends ScreenBase {
     }
     
     @Override
-    public void renderImpl() {
+    public void renderImpl(float alpha) {
         mBatch.begin();
         mScreenBackground.render(mBatch);
         mTitleSprite.draw(mBatch);
@@ -140,6 +157,18 @@ public final class MainMenuScreen extends ScreenBase {
             
             @Override
             public void invoke() {
+                mGameData.setEndless(false);
+                mGame.setScreen(HellJump.PLAY_SCREEN_NAME);
+            }
+        };
+    }
+    
+    private ClickListener getEndlessListener() {
+        return new ClickListener() {
+            
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                mGameData.setEndless(true);
                 mGame.setScreen(HellJump.PLAY_SCREEN_NAME);
             }
         };
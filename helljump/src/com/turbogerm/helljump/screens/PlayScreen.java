@@ -23,7 +23,9 @@
  */
 package com.turbogerm.helljump.screens;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -37,10 +39,14 @@ import com.badlogic.gdx.utils.Array;
 import com.turbogerm.germlibrary.controls.CustomButtonAction;
 import com.turbogerm.germlibrary.controls.CustomImageButton;
 import com.turbogerm.germlibrary.controls.CustomImageButtonStyleData;
+import com.turbogerm.germlibrary.util.StateWriter;
 import com.turbogerm.helljump.HellJump;
 import com.turbogerm.helljump.debug.DebugData;
 import com.turbogerm.helljump.game.GameArea;
 import com.turbogerm.helljump.game.RisePositionScroll;
+import com.turbogerm.helljump.game.generator.PreparedRise;
+import com.turbogerm.helljump.game.input.GameInputSourceFactory;
+import com.turbogerm.helljump.game.snapshot.SnapshotStore;
 import com.turbogerm.helljump.resources.ResourceNames;
 
 public final class PlayScreen extends ScreenBase {
@@ -48,7 +54,12 @@ public final class PlayScreen extends ScreenBase {
     private static final int BUTTON_STYLE_PAUSE = 0;
     private static final int BUTTON_STYLE_PLAY = 1;
     
+    private static final String REPLAY_FILE_NAME_FORMAT = "replays/%d.hjr";
+    private static final String SNAPSHOT_FILE_NAME = "snapshot.hjs";
+    
     private final GameArea mGameArea;
+    private final SnapshotStore mSnapshotStore;
+    private final StateWriter mSnapshotWriter;
     
     private final Label mScoreLabel;
     private final Image mLivesImage;
@@ -56,6 +67,7 @@ public final class PlayScreen extends ScreenBase {
     
     private CustomImageButton mPlayPauseButton;
     private boolean mIsPaused;
+    private int mNumRewoundFrames;
     
     // TODO: remove, only for testing
     private final Label mDebugLabel;
@@ -68,7 +80,10 @@ public final class PlayScreen extends ScreenBase {
         
         mGuiStage.addListener(getStageInputListener());
         
-        mGameArea = new GameArea(mCameraData, mAssetManager, mResources.getItemFont());
+        mGameArea = new GameArea(mCameraData, mAssetManager, mResources.getItemFont(),
+                GameInputSourceFactory.createDefault());
+        mSnapshotStore = new SnapshotStore();
+        mSnapshotWriter = new StateWriter();
         
         LabelStyle scoreLabelStyle = new LabelStyle(mGuiSkin.get(LabelStyle.class));
         scoreLabelStyle.font = mGuiSkin.getFont("xxxl-font");
@@ -106,8 +121,22 @@ public final class PlayScreen extends ScreenBase {
     @Override
     public void show() {
         super.show();
-        mGameArea.reset();
-        setPaused(false);
+        
+        // game interrupted by the end of the process is resumed paused, so player has time to get ready;
+        // resumed game is not recorded, since replay can only be played from the start of the rise
+        byte[] snapshot = mSnapshotStore.load(getSnapshotFileHandle());
+        boolean isResumed = snapshot != null && mGameArea.restoreSnapshot(snapshot);
+        if (!isResumed) {
+            PreparedRise preparedRise = mGame.getRisePreparer().take(mGameData.isEndless());
+            if (preparedRise != null) {
+                mGameArea.reset(preparedRise);
+            } else {
+                mGameArea.reset(mGameData.isEndless());
+            }
+            mGameArea.startRecording(Gdx.files.local(
+                    String.format(REPLAY_FILE_NAME_FORMAT, System.currentTimeMillis())).write(false));
+        }
+        setPaused(isResumed);
     }
     
     @Override
@@ -123,14 +152,14 @@ public final class PlayScreen extends ScreenBase {
     }
     
     @Override
-    public void renderImpl() {
+    public void renderImpl(float alpha) {
         
         setGuiPositions();
         
         mScoreLabel.setText(String.valueOf(mGameArea.getScore()));
         mLivesLabel.setText("x" + String.valueOf(mGameArea.getLives()));
         
-        mGameArea.render();
+        mGameArea.render(alpha);
         
         mBatch.begin();
         mRisePositionScroll.setRiseHeight(mGameArea.getRiseHeight());
@@ -147,12 +176,22 @@ public final class PlayScreen extends ScreenBase {
     
     @Override
     public void hide() {
+        // game left before it was over still gets a complete replay
+        mGameArea.finishRecording();
+        mSnapshotStore.delete(getSnapshotFileHandle());
         super.hide();
     }
     
     @Override
     public void pause() {
         setPaused(true);
+        
+        // process may be killed while in background, so game is saved to be resumed on next start
+        if (!mGameArea.isGameOver()) {
+            mSnapshotWriter.reset();
+            mGameArea.writeSnapshot(mSnapshotWriter);
+            mSnapshotStore.save(mSnapshotWriter, getSnapshotFileHandle());
+        }
     }
     
     @Override
@@ -161,15 +200,21 @@ public final class PlayScreen extends ScreenBase {
     
     @Override
     public void dispose() {
+        mSnapshotStore.dispose();
         super.dispose();
     }
     
+    private static FileHandle getSnapshotFileHandle() {
+        return Gdx.files.local(SNAPSHOT_FILE_NAME);
+    }
+    
     private void togglePause() {
         setPaused(!mIsPaused);
     }
     
     private void setPaused(boolean isPaused) {
         mIsPaused = isPaused;
+        mNumRewoundFrames = 0;
         if (mIsPaused) {
             mPlayPauseButton.setStyle(BUTTON_STYLE_PLAY);
         } else {
@@ -236,6 +281,16 @@ public final class PlayScreen extends ScreenBase {
                     return true;
                 }
                 
+                // paused game is rewound tick by tick, and continues from the rewound tick when unpaused
+                if (mIsPaused && (keycode == Keys.LEFT || keycode == Keys.RIGHT)) {
+                    int numRewoundFrames = mNumRewoundFrames + (keycode == Keys.LEFT ? 1 : -1);
+                    if (numRewoundFrames >= 0 && numRewoundFrames < mGameArea.getNumRewindFrames()) {
+                        mNumRewoundFrames = numRewoundFrames;
+                        mGameArea.rewind(mNumRewoundFrames);
+                    }
+                    return true;
+                }
+                
                 return false;
             }
             
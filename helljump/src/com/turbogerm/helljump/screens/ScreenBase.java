@@ -96,7 +96,7 @@ public abstract class ScreenBase implements Screen {
     }
     
     @Override
-    public final void render() {
+    public final void render(float alpha) {
         
         if (mClearColor != null) {
             Gdx.gl.glClearColor(mClearColor.r, mClearColor.g, mClearColor.b, mClearColor.a);
@@ -107,7 +107,7 @@ public abstract class ScreenBase implements Screen {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         
         mBatch.setProjectionMatrix(mCameraData.getGuiMatrix());
-        renderImpl();
+        renderImpl(alpha);
         
         mGuiStage.draw();
     }
@@ -115,7 +115,7 @@ public abstract class ScreenBase implements Screen {
     protected void updateImpl(float delta) {
     }
     
-    protected void renderImpl() {
+    protected void renderImpl(float alpha) {
     }
     
     @Override
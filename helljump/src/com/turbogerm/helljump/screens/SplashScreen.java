@@ -93,7 +93,7 @@ public final class SplashScreen extends ScreenBase {
     }
     
     @Override
-    protected void renderImpl() {
+    protected void renderImpl(float alpha) {
         mBatch.begin();
         mScreenBackground.render(mBatch);
         mPlatformSprite.draw(mBatch);